@@ -4,7 +4,7 @@ import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.impexp.EntityInputStream;
 import io.apicurio.registry.types.Current;
 import io.apicurio.registry.utils.impexp.Entity;
-import io.apicurio.registry.utils.impexp.EntityReader;
+import io.apicurio.registry.utils.impexp.EntityInput;
 import io.quarkus.runtime.StartupEvent;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
@@ -16,9 +16,7 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.Optional;
-import java.util.zip.ZipInputStream;
 
 @ApplicationScoped
 public class ImportLifecycleBean {
@@ -39,8 +37,7 @@ public class ImportLifecycleBean {
             final URL registryImportUrl = registryImportUrlProp.get();
             try (final InputStream registryImportZip = new BufferedInputStream(registryImportUrl.openStream())) {
                 log.info("Importing {} on startup.", registryImportUrl);
-                final ZipInputStream zip = new ZipInputStream(registryImportZip, StandardCharsets.UTF_8);
-                final EntityReader reader = new EntityReader(zip);
+                final EntityInput reader = EntityInput.open(registryImportZip);
                 try (EntityInputStream stream = new EntityInputStream() {
                     @Override
                     public Entity nextEntity() {
@@ -54,7 +51,7 @@ public class ImportLifecycleBean {
 
                     @Override
                     public void close() throws IOException {
-                        zip.close();
+                        reader.close();
                     }
                 }) {
                     storage.importData(stream);
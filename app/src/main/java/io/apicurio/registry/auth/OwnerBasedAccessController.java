@@ -22,7 +22,6 @@ import javax.interceptor.InvocationContext;
 
 import io.apicurio.registry.storage.NotFoundException;
 import io.apicurio.registry.storage.RegistryStorage;
-import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.GroupMetaDataDto;
 import io.apicurio.registry.types.Current;
 import io.quarkus.security.identity.SecurityIdentity;
@@ -88,8 +87,7 @@ public class OwnerBasedAccessController implements IAccessController {
 
     private boolean verifyArtifactCreatedBy(String groupId, String artifactId) {
         try {
-            ArtifactMetaDataDto dto = storage.getArtifactMetaData(groupId, artifactId);
-            String createdBy = dto.getCreatedBy();
+            String createdBy = storage.getArtifactCreatedBy(groupId, artifactId);
             return createdBy == null || createdBy.equals(securityIdentity.getPrincipal().getName());
         } catch (NotFoundException nfe) {
             // If the artifact is not found, then return true and let the operation proceed
@@ -101,8 +99,7 @@ public class OwnerBasedAccessController implements IAccessController {
 
     private boolean verifyArtifactCreatedBy(long globalId) {
         try {
-            ArtifactMetaDataDto dto = storage.getArtifactMetaData(globalId);
-            String createdBy = dto.getCreatedBy();
+            String createdBy = storage.getArtifactCreatedBy(globalId);
             return createdBy == null || createdBy.equals(securityIdentity.getPrincipal().getName());
         } catch (NotFoundException nfe) {
             // If the artifact is not found, then return true and let the operation proceed
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.events;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+import io.apicurio.registry.storage.impl.sql.HandleFactory;
+import io.apicurio.registry.storage.impl.sql.SqlStatements;
+import io.apicurio.registry.storage.impl.sql.jdb.Update;
+
+/**
+ * The <code>outbox</code> table, where events are written in the same transaction as the change that
+ * triggered them, and read back by the {@link EventOutboxRelay}.
+ * <p>
+ * With the SQL storage the event is only stored if the change is committed.  With the KafkaSQL storage
+ * the event is stored in the local database of the node that handled the change, once the change was
+ * accepted by the Kafka topic.
+ */
+@ApplicationScoped
+public class EventOutbox {
+
+    @Inject
+    HandleFactory handles;
+
+    @Inject
+    SqlStatements sqlStatements;
+
+    /**
+     * Runs the given change in a transaction, which the {@link #append(String, String, byte[])} of its event joins.
+     */
+    @Transactional
+    public <T> T inTransaction(Supplier<T> change) {
+        return change.get();
+    }
+
+    /**
+     * Stores an event, joining the current transaction.
+     */
+    @Transactional
+    public void append(String type, String artifactId, byte[] data) {
+        handles.withHandleNoException( handle -> {
+            handle.createUpdate(sqlStatements.insertOutboxEvent())
+                .bind(0, type)
+                .bind(1, artifactId)
+                .bind(2, data)
+                .bind(3, new Date())
+                .execute();
+            return null;
+        });
+    }
+
+    /**
+     * Passes the oldest stored events, in order, to the given publisher and deletes them.  The events are
+     * locked until the transaction ends, so they are relayed by a single node at a time.  If the
+     * transaction fails after publishing, the events are published again by the next relay.
+     * <p>
+     * Publishing only hands the events over to the sinks, which deliver them asynchronously, so an event
+     * is published at least once but can still be lost if the node stops before its sink delivered it.
+     * @return the number of relayed events
+     */
+    @Transactional
+    public int relay(int batchSize, Consumer<OutboxEvent> publisher) {
+        return handles.withHandleNoException( handle -> {
+            List<OutboxEvent> events = handle.createQuery(sqlStatements.selectOutboxEvents())
+                .bind(0, batchSize)
+                .map(rs -> new OutboxEvent(rs.getLong("id"), rs.getString("type"), rs.getString("artifactId"), rs.getBytes("data")))
+                .list();
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            events.forEach(publisher);
+
+            // delete by id rather than by range, events of transactions that commit later may have lower ids
+            Update delete = handle.createUpdate(sqlStatements.deleteOutboxEvents(events.size()));
+            for (int i = 0; i < events.size(); i++) {
+                delete.bind(i, events.get(i).id);
+            }
+            delete.execute();
+            return events.size();
+        });
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.events;
+
+import static io.quarkus.scheduler.Scheduled.ConcurrentExecution.SKIP;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import io.quarkus.scheduler.Scheduled;
+
+/**
+ * Periodically publishes the events stored in the {@link EventOutbox} to the configured sinks, in batches,
+ * when the outbox mode is enabled.
+ */
+@ApplicationScoped
+public class EventOutboxRelay {
+
+    @Inject
+    Logger log;
+
+    @Inject
+    EventOutbox outbox;
+
+    @Inject
+    EventsServiceImpl eventsService;
+
+    @ConfigProperty(name = "registry.events.outbox.relay.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @Scheduled(concurrentExecution = SKIP, every = "{registry.events.outbox.relay.every}")
+    void run() {
+        if (!eventsService.isOutboxEnabled()) {
+            return;
+        }
+        try {
+            relay();
+        } catch (Exception ex) {
+            log.error("Exception thrown when relaying events from the outbox", ex);
+        }
+    }
+
+    /**
+     * Relay batches, each in its own transaction, until the outbox is empty.
+     */
+    void relay() {
+        int relayed;
+        do {
+            relayed = outbox.relay(batchSize, eventsService::publish);
+            if (relayed > 0) {
+                log.debug("Relayed {} events from the outbox", relayed);
+            }
+        } while (relayed >= batchSize);
+    }
+
+}
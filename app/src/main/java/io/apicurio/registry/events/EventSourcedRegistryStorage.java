@@ -18,6 +18,8 @@ package io.apicurio.registry.events;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
@@ -46,6 +48,9 @@ import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.types.RuleType;
 
 /**
+ * Fires an event for every change.  In outbox mode changes are wrapped in a transaction, so that the event
+ * is stored in the same transaction as the change, see {@link EventOutbox}.
+ *
  * @author Fabian Martinez
  */
 @ApplicationScoped
@@ -54,6 +59,20 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecorator {
     @Inject
     EventsService eventsService;
 
+    @Inject
+    EventOutbox outbox;
+
+    /**
+     * Runs the given change, in a transaction in outbox mode, so that the event is stored in the outbox in the
+     * same transaction as the change.  Otherwise the event is published once the change returns.
+     */
+    private <T> T inTransaction(Supplier<T> change) {
+        if (eventsService.isOutboxEnabled()) {
+            return outbox.inTransaction(change);
+        }
+        return change.get();
+    }
+
     private void fireEvent(RegistryEventType type, String artifactId, Object data, Throwable error) {
         if (error == null && data != null) {
             eventsService.triggerEvent(type, Optional.ofNullable(artifactId), data);
@@ -78,37 +97,45 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecorator {
 
     @Override
     public void updateArtifactState(String groupId, String artifactId, ArtifactState state) throws ArtifactNotFoundException, RegistryStorageException {
-        delegate.updateArtifactState(groupId, artifactId, state);
-        ArtifactStateChange data = new ArtifactStateChange();
-        data.setGroupId(groupId);
-        data.setArtifactId(artifactId);
-        data.setState(state.value());
-        fireEvent(RegistryEventType.ARTIFACT_STATE_CHANGED, artifactId, data, null);
+        inTransaction(() -> {
+            delegate.updateArtifactState(groupId, artifactId, state);
+            ArtifactStateChange data = new ArtifactStateChange();
+            data.setGroupId(groupId);
+            data.setArtifactId(artifactId);
+            data.setState(state.value());
+            fireEvent(RegistryEventType.ARTIFACT_STATE_CHANGED, artifactId, data, null);
+            return null;
+        });
     }
 
     @Override
     public void updateArtifactState(String groupId, String artifactId, String version, ArtifactState state)
             throws ArtifactNotFoundException, VersionNotFoundException, RegistryStorageException {
-        delegate.updateArtifactState(groupId, artifactId, version, state);
-        ArtifactStateChange data = new ArtifactStateChange();
-        data.setGroupId(groupId);
-        data.setArtifactId(artifactId);
-        data.setState(state.value());
-        data.setVersion(version);
-        fireEvent(RegistryEventType.ARTIFACT_STATE_CHANGED, artifactId, data, null);
+        inTransaction(() -> {
+            delegate.updateArtifactState(groupId, artifactId, version, state);
+            ArtifactStateChange data = new ArtifactStateChange();
+            data.setGroupId(groupId);
+            data.setArtifactId(artifactId);
+            data.setState(state.value());
+            data.setVersion(version);
+            fireEvent(RegistryEventType.ARTIFACT_STATE_CHANGED, artifactId, data, null);
+            return null;
+        });
     }
 
     @Override
     public ArtifactMetaDataDto createArtifact(String groupId, String artifactId,
             String version, ArtifactType artifactType, ContentHandle content)
             throws ArtifactAlreadyExistsException, RegistryStorageException {
-        ArtifactMetaDataDto meta = delegate.createArtifact(groupId, artifactId, version, artifactType, content);
-        ArtifactId data = new ArtifactId();
-        data.setGroupId(groupId);
-        data.setArtifactId(artifactId);
-        data.setVersion(meta.getVersion());
-        fireEvent(RegistryEventType.ARTIFACT_CREATED, artifactId, data, null);
-        return meta;
+        return inTransaction(() -> {
+            ArtifactMetaDataDto meta = delegate.createArtifact(groupId, artifactId, version, artifactType, content);
+            ArtifactId data = new ArtifactId();
+            data.setGroupId(groupId);
+            data.setArtifactId(artifactId);
+            data.setVersion(meta.getVersion());
+            fireEvent(RegistryEventType.ARTIFACT_CREATED, artifactId, data, null);
+            return meta;
+        });
     }
 
     /**
@@ -117,31 +144,38 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecorator {
     @Override
     public ArtifactMetaDataDto createArtifactWithMetadata(String groupId, String artifactId, String version,
             ArtifactType artifactType, ContentHandle content, EditableArtifactMetaDataDto metaData) throws ArtifactAlreadyExistsException, RegistryStorageException {
-        ArtifactMetaDataDto meta = delegate.createArtifactWithMetadata(groupId, artifactId, version, artifactType, content, metaData);
-        ArtifactId data = new ArtifactId();
-        data.setGroupId(groupId);
-        data.setArtifactId(artifactId);
-        data.setVersion(meta.getVersion());
-        fireEvent(RegistryEventType.ARTIFACT_CREATED, artifactId, data, null);
-        return meta;
+        return inTransaction(() -> {
+            ArtifactMetaDataDto meta = delegate.createArtifactWithMetadata(groupId, artifactId, version, artifactType, content, metaData);
+            ArtifactId data = new ArtifactId();
+            data.setGroupId(groupId);
+            data.setArtifactId(artifactId);
+            data.setVersion(meta.getVersion());
+            fireEvent(RegistryEventType.ARTIFACT_CREATED, artifactId, data, null);
+            return meta;
+        });
     }
 
     @Override
     public List<String> deleteArtifact(String groupId, String artifactId) throws ArtifactNotFoundException, RegistryStorageException {
-        List<String> set = delegate.deleteArtifact(groupId, artifactId);
-        ArtifactId data = new ArtifactId();
-        data.setGroupId(groupId);
-        data.setArtifactId(artifactId);
-        fireEvent(RegistryEventType.ARTIFACT_DELETED, artifactId, data, null);
-        return set;
+        return inTransaction(() -> {
+            List<String> set = delegate.deleteArtifact(groupId, artifactId);
+            ArtifactId data = new ArtifactId();
+            data.setGroupId(groupId);
+            data.setArtifactId(artifactId);
+            fireEvent(RegistryEventType.ARTIFACT_DELETED, artifactId, data, null);
+            return set;
+        });
     }
 
     @Override
     public void deleteArtifacts(String groupId) throws RegistryStorageException {
-        delegate.deleteArtifacts(groupId);
-        ArtifactId data = new ArtifactId();
-        data.setGroupId(groupId);
-        fireEvent(RegistryEventType.ARTIFACTS_IN_GROUP_DELETED, groupId, data, null);
+        inTransaction(() -> {
+            delegate.deleteArtifacts(groupId);
+            ArtifactId data = new ArtifactId();
+            data.setGroupId(groupId);
+            fireEvent(RegistryEventType.ARTIFACTS_IN_GROUP_DELETED, groupId, data, null);
+            return null;
+        });
     }
 
     @Override
@@ -162,25 +196,29 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecorator {
     @Override
     public ArtifactMetaDataDto updateArtifact(String groupId, String artifactId, String version, ArtifactType artifactType, ContentHandle content)
             throws ArtifactNotFoundException, RegistryStorageException {
-        ArtifactMetaDataDto meta = delegate.updateArtifact(groupId, artifactId, version, artifactType, content);
-        ArtifactId data = new ArtifactId();
-        data.setGroupId(groupId);
-        data.setArtifactId(artifactId);
-        data.setVersion(meta.getVersion());
-        fireEvent(RegistryEventType.ARTIFACT_UPDATED, artifactId, data, null);
-        return meta;
+        return inTransaction(() -> {
+            ArtifactMetaDataDto meta = delegate.updateArtifact(groupId, artifactId, version, artifactType, content);
+            ArtifactId data = new ArtifactId();
+            data.setGroupId(groupId);
+            data.setArtifactId(artifactId);
+            data.setVersion(meta.getVersion());
+            fireEvent(RegistryEventType.ARTIFACT_UPDATED, artifactId, data, null);
+            return meta;
+        });
     }
 
     @Override
     public ArtifactMetaDataDto updateArtifactWithMetadata(String groupId, String artifactId, String version, ArtifactType artifactType, ContentHandle content,
             EditableArtifactMetaDataDto metaData) throws ArtifactNotFoundException, RegistryStorageException {
-        ArtifactMetaDataDto meta = delegate.updateArtifactWithMetadata(groupId, artifactId, version, artifactType, content, metaData);
-        ArtifactId data = new ArtifactId();
-        data.setGroupId(groupId);
-        data.setArtifactId(artifactId);
-        data.setVersion(meta.getVersion());
-        fireEvent(RegistryEventType.ARTIFACT_UPDATED, artifactId, data, null);
-        return meta;
+        return inTransaction(() -> {
+            ArtifactMetaDataDto meta = delegate.updateArtifactWithMetadata(groupId, artifactId, version, artifactType, content, metaData);
+            ArtifactId data = new ArtifactId();
+            data.setGroupId(groupId);
+            data.setArtifactId(artifactId);
+            data.setVersion(meta.getVersion());
+            fireEvent(RegistryEventType.ARTIFACT_UPDATED, artifactId, data, null);
+            return meta;
+        });
     }
 
     @Override
@@ -200,82 +238,109 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecorator {
     @Override
     public void createArtifactRule(String groupId, String artifactId, RuleType rule, RuleConfigurationDto config)
             throws ArtifactNotFoundException, RuleAlreadyExistsException, RegistryStorageException {
-        delegate.createArtifactRule(groupId, artifactId, rule, config);
-        ArtifactRuleChange data = new ArtifactRuleChange();
-        data.setGroupId(groupId);
-        data.setArtifactId(artifactId);
-        data.setRule(rule.value());
-        fireEvent(RegistryEventType.ARTIFACT_RULE_CREATED, artifactId, data, null);
+        inTransaction(() -> {
+            delegate.createArtifactRule(groupId, artifactId, rule, config);
+            ArtifactRuleChange data = new ArtifactRuleChange();
+            data.setGroupId(groupId);
+            data.setArtifactId(artifactId);
+            data.setRule(rule.value());
+            fireEvent(RegistryEventType.ARTIFACT_RULE_CREATED, artifactId, data, null);
+            return null;
+        });
     }
 
     @Override
     public void deleteArtifactRules(String groupId, String artifactId) throws ArtifactNotFoundException, RegistryStorageException {
-        delegate.deleteArtifactRules(groupId, artifactId);
-        ArtifactRuleChange data = new ArtifactRuleChange();
-        data.setGroupId(groupId);
-        data.setArtifactId(artifactId);
-        fireEvent(RegistryEventType.ALL_ARTIFACT_RULES_DELETED, artifactId, data, null);
+        inTransaction(() -> {
+            delegate.deleteArtifactRules(groupId, artifactId);
+            ArtifactRuleChange data = new ArtifactRuleChange();
+            data.setGroupId(groupId);
+            data.setArtifactId(artifactId);
+            fireEvent(RegistryEventType.ALL_ARTIFACT_RULES_DELETED, artifactId, data, null);
+            return null;
+        });
     }
 
     @Override
     public void updateArtifactRule(String groupId, String artifactId, RuleType rule, RuleConfigurationDto config)
             throws ArtifactNotFoundException, RuleNotFoundException, RegistryStorageException {
-        delegate.updateArtifactRule(groupId, artifactId, rule, config);
-        ArtifactRuleChange data = new ArtifactRuleChange();
-        data.setGroupId(groupId);
-        data.setArtifactId(artifactId);
-        data.setRule(rule.value());
-        fireEvent(RegistryEventType.ARTIFACT_RULE_UPDATED, artifactId, data, null);
+        inTransaction(() -> {
+            delegate.updateArtifactRule(groupId, artifactId, rule, config);
+            ArtifactRuleChange data = new ArtifactRuleChange();
+            data.setGroupId(groupId);
+            data.setArtifactId(artifactId);
+            data.setRule(rule.value());
+            fireEvent(RegistryEventType.ARTIFACT_RULE_UPDATED, artifactId, data, null);
+            return null;
+        });
     }
 
     @Override
     public void deleteArtifactRule(String groupId, String artifactId, RuleType rule) throws ArtifactNotFoundException, RuleNotFoundException, RegistryStorageException {
-        delegate.deleteArtifactRule(groupId, artifactId, rule);
-        ArtifactRuleChange data = new ArtifactRuleChange();
-        data.setGroupId(groupId);
-        data.setArtifactId(artifactId);
-        data.setRule(rule.value());
-        fireEvent(RegistryEventType.ARTIFACT_RULE_DELETED, artifactId, data, null);
+        inTransaction(() -> {
+            delegate.deleteArtifactRule(groupId, artifactId, rule);
+            ArtifactRuleChange data = new ArtifactRuleChange();
+            data.setGroupId(groupId);
+            data.setArtifactId(artifactId);
+            data.setRule(rule.value());
+            fireEvent(RegistryEventType.ARTIFACT_RULE_DELETED, artifactId, data, null);
+            return null;
+        });
     }
 
     @Override
     public void deleteArtifactVersion(String groupId, String artifactId, String version) throws ArtifactNotFoundException, VersionNotFoundException, RegistryStorageException {
-        delegate.deleteArtifactVersion(groupId, artifactId, version);
-        ArtifactId data = new ArtifactId();
-        data.setGroupId(groupId);
-        data.setArtifactId(artifactId);
-        data.setVersion(version);
-        fireEvent(RegistryEventType.ARTIFACT_DELETED, artifactId, data, null);
+        inTransaction(() -> {
+            delegate.deleteArtifactVersion(groupId, artifactId, version);
+            ArtifactId data = new ArtifactId();
+            data.setGroupId(groupId);
+            data.setArtifactId(artifactId);
+            data.setVersion(version);
+            fireEvent(RegistryEventType.ARTIFACT_DELETED, artifactId, data, null);
+            return null;
+        });
     }
 
     @Override
     public void createGlobalRule(RuleType rule, RuleConfigurationDto config) throws RuleAlreadyExistsException, RegistryStorageException {
-        delegate.createGlobalRule(rule, config);
-        ArtifactRuleChange data = new ArtifactRuleChange();
-        data.setRule(rule.value());
-        fireEvent(RegistryEventType.GLOBAL_RULE_CREATED, null, data, null);
+        inTransaction(() -> {
+            delegate.createGlobalRule(rule, config);
+            ArtifactRuleChange data = new ArtifactRuleChange();
+            data.setRule(rule.value());
+            fireEvent(RegistryEventType.GLOBAL_RULE_CREATED, null, data, null);
+            return null;
+        });
     }
 
     @Override
     public void deleteGlobalRules() throws RegistryStorageException {
-        delegate.deleteGlobalRules();
-        fireEvent(RegistryEventType.ALL_GLOBAL_RULES_DELETED, null, new HashMap<String, Object>(), null);
+        inTransaction(() -> {
+            delegate.deleteGlobalRules();
+            fireEvent(RegistryEventType.ALL_GLOBAL_RULES_DELETED, null, new HashMap<String, Object>(), null);
+            return null;
+        });
     }
 
     @Override
     public void updateGlobalRule(RuleType rule, RuleConfigurationDto config) throws RuleNotFoundException, RegistryStorageException {
-        delegate.updateGlobalRule(rule, config);
-        ArtifactRuleChange data = new ArtifactRuleChange();
-        data.setRule(rule.value());
-        fireEvent(RegistryEventType.GLOBAL_RULE_UPDATED, null, data, null);
+        inTransaction(() -> {
+            delegate.updateGlobalRule(rule, config);
+            ArtifactRuleChange data = new ArtifactRuleChange();
+            data.setRule(rule.value());
+            fireEvent(RegistryEventType.GLOBAL_RULE_UPDATED, null, data, null);
+            return null;
+        });
     }
 
     @Override
     public void deleteGlobalRule(RuleType rule) throws RuleNotFoundException, RegistryStorageException {
-        delegate.deleteGlobalRule(rule);
-        ArtifactRuleChange data = new ArtifactRuleChange();
-        data.setRule(rule.value());
-        fireEvent(RegistryEventType.GLOBAL_RULE_DELETED, null, data, null);
+        inTransaction(() -> {
+            delegate.deleteGlobalRule(rule);
+            ArtifactRuleChange data = new ArtifactRuleChange();
+            data.setRule(rule.value());
+            fireEvent(RegistryEventType.GLOBAL_RULE_DELETED, null, data, null);
+            return null;
+        });
     }
 
     /**
@@ -283,10 +348,13 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecorator {
      */
     @Override
     public void createGroup(GroupMetaDataDto group) throws GroupAlreadyExistsException, RegistryStorageException {
-        delegate.createGroup(group);
-        ArtifactId data = new ArtifactId();
-        data.setGroupId(group.getGroupId());
-        fireEvent(RegistryEventType.GROUP_CREATED, group.getGroupId(), data, null);
+        inTransaction(() -> {
+            delegate.createGroup(group);
+            ArtifactId data = new ArtifactId();
+            data.setGroupId(group.getGroupId());
+            fireEvent(RegistryEventType.GROUP_CREATED, group.getGroupId(), data, null);
+            return null;
+        });
     }
 
     /**
@@ -294,10 +362,13 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecorator {
      */
     @Override
     public void updateGroupMetaData(GroupMetaDataDto group) throws GroupNotFoundException, RegistryStorageException {
-        delegate.updateGroupMetaData(group);
-        ArtifactId data = new ArtifactId();
-        data.setGroupId(group.getGroupId());
-        fireEvent(RegistryEventType.GROUP_UPDATED, group.getGroupId(), data, null);
+        inTransaction(() -> {
+            delegate.updateGroupMetaData(group);
+            ArtifactId data = new ArtifactId();
+            data.setGroupId(group.getGroupId());
+            fireEvent(RegistryEventType.GROUP_UPDATED, group.getGroupId(), data, null);
+            return null;
+        });
     }
 
     /**
@@ -305,10 +376,13 @@ public class EventSourcedRegistryStorage extends RegistryStorageDecorator {
      */
     @Override
     public void deleteGroup(String groupId) throws GroupNotFoundException, RegistryStorageException {
-        delegate.deleteGroup(groupId);
-        ArtifactId data = new ArtifactId();
-        data.setGroupId(groupId);
-        fireEvent(RegistryEventType.GROUP_DELETED, groupId, data, null);
+        inTransaction(() -> {
+            delegate.deleteGroup(groupId);
+            ArtifactId data = new ArtifactId();
+            data.setGroupId(groupId);
+            fireEvent(RegistryEventType.GROUP_DELETED, groupId, data, null);
+            return null;
+        });
     }
 
 }
@@ -26,6 +26,11 @@ public interface EventsService {
 
     boolean isConfigured();
 
+    /**
+     * @return true if events are stored in the {@link EventOutbox} instead of being published right away
+     */
+    boolean isOutboxEnabled();
+
     void triggerEvent(RegistryEventType type, Optional<String> artifactId, Object data);
 
 }
@@ -25,6 +25,7 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import io.apicurio.registry.events.dto.RegistryEventType;
 import io.quarkus.runtime.StartupEvent;
@@ -43,6 +44,7 @@ public class EventsServiceImpl implements EventsService {
 
     private ObjectMapper mapper;
     private boolean configuredSinks = false;
+    private boolean outboxEnabled = false;
 
     @Inject
     Logger log;
@@ -56,6 +58,12 @@ public class EventsServiceImpl implements EventsService {
     @Inject
     Instance<EventSink> sinks;
 
+    @Inject
+    EventOutbox outbox;
+
+    @ConfigProperty(name = "registry.events.outbox.enabled", defaultValue = "false")
+    boolean outboxConfigured;
+
     public void init(@Observes StartupEvent ev) {
         for (EventSink sink : sinks) {
             if (sink.isConfigured()) {
@@ -64,6 +72,10 @@ public class EventsServiceImpl implements EventsService {
                 configuredSinks = true;
             }
         }
+        outboxEnabled = configuredSinks && outboxConfigured;
+        if (outboxEnabled) {
+            log.info("Events are stored in the outbox and relayed to the sinks in the background");
+        }
     }
 
     @Override
@@ -71,6 +83,11 @@ public class EventsServiceImpl implements EventsService {
         return configuredSinks;
     }
 
+    @Override
+    public boolean isOutboxEnabled() {
+        return outboxEnabled;
+    }
+
     @Override
     public void triggerEvent(RegistryEventType type, Optional<String> artifactId, Object data) {
         if (configuredSinks && data != null) {
@@ -81,15 +98,27 @@ public class EventsServiceImpl implements EventsService {
                 log.error("Error serializing event data", e);
                 return;
             }
-            DeliveryOptions opts = new DeliveryOptions()
-                    .addHeader("type", type.cloudEventType());
-            if (artifactId.isPresent()) {
-                opts.addHeader("artifactId", artifactId.get());
+            if (outboxEnabled) {
+                outbox.append(type.cloudEventType(), artifactId.orElse(null), buffer.getBytes());
+            } else {
+                publish(type.cloudEventType(), artifactId.orElse(null), buffer);
             }
-            eventBus.publish(INTERNAL_EVENTS_ADDRESS, buffer, opts);
         }
     }
 
+    void publish(OutboxEvent event) {
+        publish(event.type, event.artifactId, Buffer.buffer(event.data));
+    }
+
+    private void publish(String type, String artifactId, Buffer buffer) {
+        DeliveryOptions opts = new DeliveryOptions()
+                .addHeader("type", type);
+        if (artifactId != null) {
+            opts.addHeader("artifactId", artifactId);
+        }
+        eventBus.publish(INTERNAL_EVENTS_ADDRESS, buffer, opts);
+    }
+
     private synchronized ObjectMapper getMapper() {
         if (mapper == null) {
             mapper = new ObjectMapper();
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.events;
+
+/**
+ * An event stored in the outbox, waiting to be relayed to the sinks.
+ */
+class OutboxEvent {
+
+    final long id;
+    final String type;
+    final String artifactId;
+    final byte[] data;
+
+    OutboxEvent(long id, String type, String artifactId, byte[] data) {
+        this.id = id;
+        this.type = type;
+        this.artifactId = artifactId;
+        this.data = data;
+    }
+
+}
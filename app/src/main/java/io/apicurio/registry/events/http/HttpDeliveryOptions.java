@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.events.http;
+
+import java.util.Optional;
+
+/**
+ * Delivery settings shared by all the configured http sinks.
+ */
+public class HttpDeliveryOptions {
+
+    private final int queueSize;
+    private final int batchMaxSize;
+    private final long batchLingerMs;
+    private final int maxInFlight;
+    private final int retryMaxAttempts;
+    private final long retryInitialBackoffMs;
+    private final long retryMaxBackoffMs;
+    private final Optional<String> spoolDirectory;
+
+    public HttpDeliveryOptions(int queueSize, int batchMaxSize, long batchLingerMs, int maxInFlight,
+            int retryMaxAttempts, long retryInitialBackoffMs, long retryMaxBackoffMs, Optional<String> spoolDirectory) {
+        this.queueSize = Math.max(1, queueSize);
+        this.batchMaxSize = Math.max(1, batchMaxSize);
+        this.batchLingerMs = Math.max(0, batchLingerMs);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.retryMaxAttempts = Math.max(0, retryMaxAttempts);
+        this.retryInitialBackoffMs = Math.max(1, retryInitialBackoffMs);
+        this.retryMaxBackoffMs = Math.max(this.retryInitialBackoffMs, retryMaxBackoffMs);
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    /**
+     * @return the maximum number of events waiting to be sent to a single sink
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @return the maximum number of events sent in a single request, a value of 1 disables batch mode
+     */
+    public int getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    /**
+     * @return how long to wait for a batch to fill up before sending it anyway
+     */
+    public long getBatchLingerMs() {
+        return batchLingerMs;
+    }
+
+    /**
+     * @return the maximum number of concurrent requests to a single sink
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * @return how many times a failed request is retried before its events are spooled or dropped
+     */
+    public int getRetryMaxAttempts() {
+        return retryMaxAttempts;
+    }
+
+    public long getRetryInitialBackoffMs() {
+        return retryInitialBackoffMs;
+    }
+
+    public long getRetryMaxBackoffMs() {
+        return retryMaxBackoffMs;
+    }
+
+    /**
+     * @return the directory where events that could not be queued or delivered are kept, if any
+     */
+    public Optional<String> getSpoolDirectory() {
+        return spoolDirectory;
+    }
+
+}
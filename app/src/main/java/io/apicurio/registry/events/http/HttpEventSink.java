@@ -15,15 +15,22 @@
  */
 package io.apicurio.registry.events.http;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
-import javax.ws.rs.core.MediaType;
 
-import io.vertx.core.http.HttpMethod;
-import io.vertx.core.http.RequestOptions;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import io.apicurio.registry.events.EventSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
@@ -31,12 +38,15 @@ import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientOptions;
 
 /**
+ * Sends the events to the configured http sinks, see {@link HttpSinkDispatcher}.
+ *
  * @author Fabian Martinez
  */
 @ApplicationScoped
 public class HttpEventSink implements EventSink {
 
     private HttpClient httpClient;
+    private List<HttpSinkDispatcher> dispatchers;
 
     @Inject
     Logger log;
@@ -47,6 +57,50 @@ public class HttpEventSink implements EventSink {
     @Inject
     Vertx vertx;
 
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "registry.events.http.queue-size", defaultValue = "10000")
+    int queueSize;
+
+    @ConfigProperty(name = "registry.events.http.batch.max-size", defaultValue = "1")
+    int batchMaxSize;
+
+    @ConfigProperty(name = "registry.events.http.batch.linger-ms", defaultValue = "100")
+    long batchLingerMs;
+
+    @ConfigProperty(name = "registry.events.http.max-in-flight", defaultValue = "4")
+    int maxInFlight;
+
+    @ConfigProperty(name = "registry.events.http.retry.max-attempts", defaultValue = "5")
+    int retryMaxAttempts;
+
+    @ConfigProperty(name = "registry.events.http.retry.initial-backoff-ms", defaultValue = "500")
+    long retryInitialBackoffMs;
+
+    @ConfigProperty(name = "registry.events.http.retry.max-backoff-ms", defaultValue = "30000")
+    long retryMaxBackoffMs;
+
+    @ConfigProperty(name = "registry.events.http.spool.dir")
+    Optional<String> spoolDirectory;
+
+    void init(@Observes StartupEvent ev) {
+        if (isConfigured()) {
+            // replays the events spooled before the last shutdown
+            getDispatchers().forEach(HttpSinkDispatcher::dispatch);
+        }
+    }
+
+    void stop(@Observes ShutdownEvent ev) {
+        List<HttpSinkDispatcher> current;
+        synchronized (this) {
+            current = dispatchers;
+        }
+        if (current != null) {
+            current.forEach(HttpSinkDispatcher::close);
+        }
+    }
+
     @Override
     public String name() {
         return "HTTP Sink";
@@ -62,44 +116,45 @@ public class HttpEventSink implements EventSink {
 
         String type = message.headers().get("type");
 
-        log.info("Firing event " + type);
+        log.debug("Firing event " + type);
 
-        for (HttpSinkConfiguration httpSink : sinksConfiguration.httpSinks()) {
-            sendEventHttp(type, httpSink, message.body());
+        for (HttpSinkDispatcher dispatcher : getDispatchers()) {
+            // every sink gets its own event, with its own enqueue time
+            dispatcher.offer(new PendingEvent(UUID.randomUUID().toString(), type, message.body(), System.nanoTime()));
         }
 
     }
 
-    private void sendEventHttp(String type, HttpSinkConfiguration httpSink, Buffer data) {
+    private synchronized List<HttpSinkDispatcher> getDispatchers() {
+        if (dispatchers == null) {
+            HttpDeliveryOptions options = new HttpDeliveryOptions(queueSize, batchMaxSize, batchLingerMs, maxInFlight,
+                    retryMaxAttempts, retryInitialBackoffMs, retryMaxBackoffMs, spoolDirectory);
+            List<HttpSinkDispatcher> created = new ArrayList<>();
+            for (HttpSinkConfiguration httpSink : sinksConfiguration.httpSinks()) {
+                created.add(new HttpSinkDispatcher(log, vertx, getHttpClient(), meterRegistry, httpSink, options, createSpool(httpSink)));
+            }
+            dispatchers = created;
+        }
+        return dispatchers;
+    }
+
+    private HttpEventSpool createSpool(HttpSinkConfiguration httpSink) {
+        if (spoolDirectory.isEmpty()) {
+            return null;
+        }
         try {
-            log.debug("Sending event to sink " + httpSink.getName());
-            getHttpClient()
-                .request(new RequestOptions()
-                            .setMethod(HttpMethod.POST)
-                            .setURI(httpSink.getEndpoint())
-                            .putHeader("ce-id", UUID.randomUUID().toString())
-                            .putHeader("ce-specversion", "1.0")
-                            .putHeader("ce-source", "apicurio-registry")
-                            .putHeader("ce-type", type)
-                            .putHeader("content-type", MediaType.APPLICATION_JSON),
-                            ar -> {
-                                if (ar.succeeded()) {
-                                    ar.result()
-                                        .exceptionHandler(ex -> log.error("Error sending event to " + httpSink.getEndpoint(), ex))
-                                        .end(data);
-                                } else {
-                                    log.error("Error sending event to " + httpSink.getEndpoint(), ar.cause());
-                                }
-                            });
-        } catch (Exception e) {
-            log.error("Error sending http event", e);
+            return new HttpEventSpool(Paths.get(spoolDirectory.get()), httpSink.getName().replaceAll("[^A-Za-z0-9._-]", "_"));
+        } catch (IOException e) {
+            log.error("Error opening the event spool of sink " + httpSink.getName() + ", undelivered events will be dropped", e);
+            return null;
         }
     }
 
     private synchronized HttpClient getHttpClient() {
         if (httpClient == null) {
             httpClient = vertx.createHttpClient(new HttpClientOptions()
-                .setConnectTimeout(15 * 1000));
+                .setConnectTimeout(15 * 1000)
+                .setMaxPoolSize(Math.max(maxInFlight, HttpClientOptions.DEFAULT_MAX_POOL_SIZE)));
         }
         return httpClient;
     }
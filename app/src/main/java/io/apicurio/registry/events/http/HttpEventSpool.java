@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.events.http;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Stream;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Local file where the events of a single sink are kept when they can not be queued or delivered, so they
+ * can be sent later instead of being lost.  One event per line, as <code>id type base64(data)</code>.
+ * <p>
+ * All the methods do blocking file I/O and must not be called from an event loop thread.
+ */
+class HttpEventSpool {
+
+    private final Path file;
+    private volatile int size;
+
+    HttpEventSpool(Path directory, String sinkName) throws IOException {
+        Files.createDirectories(directory);
+        this.file = directory.resolve(sinkName + ".spool");
+        if (Files.exists(file)) {
+            try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+                this.size = (int) lines.count();
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    synchronized void append(List<PendingEvent> events) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (PendingEvent event : events) {
+                writer.write(event.id);
+                writer.write(' ');
+                writer.write(event.type);
+                writer.write(' ');
+                writer.write(Base64.getEncoder().encodeToString(event.data.getBytes()));
+                writer.newLine();
+            }
+        }
+        size += events.size();
+    }
+
+    /**
+     * Removes and returns up to <code>max</code> of the oldest spooled events.
+     */
+    synchronized List<PendingEvent> take(int max) throws IOException {
+        if (size == 0) {
+            return new ArrayList<>();
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        int count = Math.min(max, lines.size());
+        List<PendingEvent> events = new ArrayList<>(count);
+        long now = System.nanoTime();
+        for (String line : lines.subList(0, count)) {
+            String[] parts = line.split(" ", 3);
+            if (parts.length == 3) {
+                events.add(new PendingEvent(parts[0], parts[1], Buffer.buffer(Base64.getDecoder().decode(parts[2])), now));
+            }
+        }
+        if (count == lines.size()) {
+            Files.delete(file);
+        } else {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, lines.subList(count, lines.size()), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        size = lines.size() - count;
+        return events;
+    }
+
+}
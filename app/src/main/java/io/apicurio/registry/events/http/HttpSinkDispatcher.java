@@ -0,0 +1,340 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.events.http;
+
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_HTTP_DELIVERY;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_HTTP_DELIVERY_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_HTTP_DROPPED;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_HTTP_DROPPED_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_HTTP_QUEUE_SIZE;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_HTTP_QUEUE_SIZE_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_HTTP_TAG_SINK;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MediaType;
+
+import org.slf4j.Logger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+
+/**
+ * Delivers the events of a single http sink.
+ * <p>
+ * Events are put in a bounded queue and sent asynchronously, without blocking the caller.  Up to
+ * {@link HttpDeliveryOptions#getBatchMaxSize()} queued events are sent in a single CloudEvents batch mode
+ * request, waiting up to {@link HttpDeliveryOptions#getBatchLingerMs()} for a batch to fill up.  A single
+ * event is sent in binary mode, as before.  At most {@link HttpDeliveryOptions#getMaxInFlight()} requests
+ * are sent concurrently, so events are only guaranteed to be delivered in order when that is 1.
+ * <p>
+ * Failed requests are retried with exponential backoff, keeping their in-flight slot so a slow sink
+ * applies back-pressure instead of being flooded.  Events that do not fit in the queue, or that are still
+ * not delivered after the last retry, are appended to the spool file (if configured) and sent again
+ * once the queue is empty, otherwise they are dropped.
+ */
+class HttpSinkDispatcher {
+
+    private static final String BATCH_CONTENT_TYPE = "application/cloudevents-batch+json";
+    private static final long REQUEST_TIMEOUT_MS = 30 * 1000;
+
+    private final Logger log;
+    private final Vertx vertx;
+    private final HttpClient client;
+    private final HttpSinkConfiguration sink;
+    private final HttpDeliveryOptions options;
+    private final HttpEventSpool spool;
+
+    private final Timer deliveryTimer;
+    private final Counter droppedCounter;
+
+    // guarded by this
+    private final Deque<PendingEvent> queue = new ArrayDeque<>();
+    private int inFlight;
+    private long lingerTimer = -1;
+    private boolean replaying;
+
+    HttpSinkDispatcher(Logger log, Vertx vertx, HttpClient client, MeterRegistry registry,
+            HttpSinkConfiguration sink, HttpDeliveryOptions options, HttpEventSpool spool) {
+        this.log = log;
+        this.vertx = vertx;
+        this.client = client;
+        this.sink = sink;
+        this.options = options;
+        this.spool = spool;
+
+        Gauge.builder(EVENTS_HTTP_QUEUE_SIZE, this, HttpSinkDispatcher::queueSize)
+            .description(EVENTS_HTTP_QUEUE_SIZE_DESCRIPTION)
+            .tag(EVENTS_HTTP_TAG_SINK, sink.getName())
+            .register(registry);
+        this.deliveryTimer = Timer.builder(EVENTS_HTTP_DELIVERY)
+            .description(EVENTS_HTTP_DELIVERY_DESCRIPTION)
+            .tag(EVENTS_HTTP_TAG_SINK, sink.getName())
+            .register(registry);
+        this.droppedCounter = Counter.builder(EVENTS_HTTP_DROPPED)
+            .description(EVENTS_HTTP_DROPPED_DESCRIPTION)
+            .tag(EVENTS_HTTP_TAG_SINK, sink.getName())
+            .register(registry);
+    }
+
+    synchronized int queueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Queues the event for delivery, never blocks.
+     */
+    void offer(PendingEvent event) {
+        boolean queued;
+        synchronized (this) {
+            queued = queue.size() < options.getQueueSize();
+            if (queued) {
+                queue.add(event);
+            }
+        }
+        if (queued) {
+            dispatch();
+        } else {
+            undelivered(Collections.singletonList(event), "the queue is full");
+        }
+    }
+
+    /**
+     * Sends as many batches as the in-flight limit allows, then replays spooled events if the queue is empty.
+     */
+    void dispatch() {
+        List<List<PendingEvent>> batches = new ArrayList<>();
+        synchronized (this) {
+            while (inFlight < options.getMaxInFlight() && !queue.isEmpty()) {
+                if (queue.size() < options.getBatchMaxSize() && options.getBatchLingerMs() > 0) {
+                    long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queue.peek().enqueuedAt);
+                    if (waited < options.getBatchLingerMs()) {
+                        if (lingerTimer == -1) {
+                            lingerTimer = vertx.setTimer(Math.max(1, options.getBatchLingerMs() - waited), id -> {
+                                synchronized (this) {
+                                    lingerTimer = -1;
+                                }
+                                dispatch();
+                            });
+                        }
+                        break;
+                    }
+                }
+                List<PendingEvent> batch = new ArrayList<>(Math.min(queue.size(), options.getBatchMaxSize()));
+                while (batch.size() < options.getBatchMaxSize() && !queue.isEmpty()) {
+                    batch.add(queue.poll());
+                }
+                inFlight++;
+                batches.add(batch);
+            }
+        }
+        for (List<PendingEvent> batch : batches) {
+            send(batch, 0);
+        }
+        replay();
+    }
+
+    private void send(List<PendingEvent> batch, int attempt) {
+        log.debug("Sending {} event(s) to sink {}", batch.size(), sink.getName());
+        RequestOptions request = new RequestOptions()
+            .setMethod(HttpMethod.POST)
+            .setAbsoluteURI(sink.getEndpoint())
+            .setTimeout(REQUEST_TIMEOUT_MS);
+        Buffer body;
+        if (batch.size() == 1) {
+            PendingEvent event = batch.get(0);
+            request.putHeader("ce-id", event.id)
+                .putHeader("ce-specversion", "1.0")
+                .putHeader("ce-source", "apicurio-registry")
+                .putHeader("ce-type", event.type)
+                .putHeader("content-type", MediaType.APPLICATION_JSON);
+            body = event.data;
+        } else {
+            request.putHeader("content-type", BATCH_CONTENT_TYPE);
+            body = batchBody(batch);
+        }
+
+        client.request(request)
+            .compose(req -> req.send(body))
+            .onComplete(ar -> {
+                if (ar.succeeded() && ar.result().statusCode() / 100 == 2) {
+                    delivered(batch);
+                    return;
+                }
+                int status = ar.succeeded() ? ar.result().statusCode() : 0;
+                String cause = ar.succeeded() ? "status code " + status : String.valueOf(ar.cause());
+                boolean retryable = status == 0 || status >= 500 || status == 408 || status == 429;
+                if (retryable && attempt < options.getRetryMaxAttempts()) {
+                    long backoff = backoff(attempt);
+                    log.warn("Error sending events to {} ({}), retrying in {} ms", sink.getEndpoint(), cause, backoff);
+                    vertx.setTimer(backoff, id -> send(batch, attempt + 1));
+                } else {
+                    log.error("Error sending events to {} ({})", sink.getEndpoint(), cause);
+                    if (retryable) {
+                        undelivered(batch, cause);
+                    } else {
+                        // the sink rejected the events, sending them again would not help
+                        droppedCounter.increment(batch.size());
+                    }
+                    release();
+                }
+            });
+    }
+
+    private void delivered(List<PendingEvent> batch) {
+        long now = System.nanoTime();
+        for (PendingEvent event : batch) {
+            deliveryTimer.record(now - event.enqueuedAt, TimeUnit.NANOSECONDS);
+        }
+        release();
+    }
+
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        dispatch();
+    }
+
+    private long backoff(int attempt) {
+        long backoff = options.getRetryInitialBackoffMs() << Math.min(attempt, 20);
+        backoff = Math.min(backoff, options.getRetryMaxBackoffMs());
+        // jitter, so that many failed batches do not retry all at once
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    /**
+     * Spools the given events, or drops them if there is no spool.
+     */
+    private void undelivered(List<PendingEvent> events, String reason) {
+        if (spool == null) {
+            log.error("Dropping {} event(s) for sink {}: {}", events.size(), sink.getName(), reason);
+            droppedCounter.increment(events.size());
+            return;
+        }
+        vertx.<Void>executeBlocking(promise -> {
+            try {
+                spool.append(events);
+                promise.complete();
+            } catch (Exception e) {
+                promise.fail(e);
+            }
+        }, true, ar -> {
+            if (ar.failed()) {
+                log.error("Error spooling events for sink " + sink.getName(), ar.cause());
+                droppedCounter.increment(events.size());
+            }
+        });
+    }
+
+    /**
+     * Moves spooled events back to the queue, once it is empty.
+     */
+    private void replay() {
+        int max;
+        synchronized (this) {
+            if (spool == null || replaying || spool.size() == 0 || !queue.isEmpty()) {
+                return;
+            }
+            replaying = true;
+            max = options.getQueueSize();
+        }
+        vertx.<List<PendingEvent>>executeBlocking(promise -> {
+            try {
+                promise.complete(spool.take(max));
+            } catch (Exception e) {
+                promise.fail(e);
+            }
+        }, true, ar -> {
+            List<PendingEvent> overflow = new ArrayList<>();
+            synchronized (this) {
+                replaying = false;
+                if (ar.succeeded()) {
+                    for (PendingEvent event : ar.result()) {
+                        if (queue.size() < options.getQueueSize()) {
+                            queue.add(event);
+                        } else {
+                            overflow.add(event);
+                        }
+                    }
+                }
+            }
+            if (ar.failed()) {
+                log.error("Error reading spooled events for sink " + sink.getName(), ar.cause());
+                return;
+            }
+            log.info("Replaying {} spooled event(s) for sink {}", ar.result().size(), sink.getName());
+            if (!overflow.isEmpty()) {
+                undelivered(overflow, "the queue is full");
+            }
+            dispatch();
+        });
+    }
+
+    /**
+     * Spools the queued events, called on shutdown.  Events in flight are not waited for.
+     */
+    void close() {
+        List<PendingEvent> remaining;
+        synchronized (this) {
+            remaining = new ArrayList<>(queue);
+            queue.clear();
+        }
+        if (remaining.isEmpty()) {
+            return;
+        }
+        if (spool == null) {
+            log.warn("Dropping {} queued event(s) for sink {} on shutdown", remaining.size(), sink.getName());
+            return;
+        }
+        try {
+            spool.append(remaining);
+        } catch (Exception e) {
+            log.error("Error spooling events for sink " + sink.getName(), e);
+        }
+    }
+
+    private static Buffer batchBody(List<PendingEvent> batch) {
+        Buffer body = Buffer.buffer().appendString("[");
+        for (int i = 0; i < batch.size(); i++) {
+            PendingEvent event = batch.get(i);
+            if (i > 0) {
+                body.appendString(",");
+            }
+            body.appendString("{\"specversion\":\"1.0\",\"id\":\"").appendString(event.id)
+                .appendString("\",\"source\":\"apicurio-registry\",\"type\":\"").appendString(event.type)
+                .appendString("\",\"datacontenttype\":\"application/json\",\"data\":")
+                .appendBuffer(event.data)
+                .appendString("}");
+        }
+        return body.appendString("]");
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.events.http;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * An event waiting to be delivered to a sink.
+ */
+class PendingEvent {
+
+    final String id;
+    final String type;
+    final Buffer data;
+    final long enqueuedAt;
+
+    PendingEvent(String id, String type, Buffer data, long enqueuedAt) {
+        this.id = id;
+        this.type = type;
+        this.data = data;
+        this.enqueuedAt = enqueuedAt;
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.logging.audit;
+
+import java.util.Map;
+
+/**
+ * A single audit log entry, created on the audited thread and written by the {@link AuditLogPipeline}.
+ * The metadata map is not copied and must not be modified after the entry is created.
+ */
+public class AuditEntry {
+
+    private final long timestamp;
+    private final long createdNanos;
+    private final String invoker;
+    private final String action;
+    private final String result;
+    private final String sourceIp;
+    private final String forwardedFor;
+    private final Map<String, String> metadata;
+
+    public AuditEntry(String invoker, String action, String result, String sourceIp, String forwardedFor, Map<String, String> metadata) {
+        this.timestamp = System.currentTimeMillis();
+        this.createdNanos = System.nanoTime();
+        this.invoker = invoker;
+        this.action = action;
+        this.result = result;
+        this.sourceIp = sourceIp;
+        this.forwardedFor = forwardedFor;
+        this.metadata = metadata;
+    }
+
+    /**
+     * @return the creation time, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return the creation time, as returned by {@link System#nanoTime()}
+     */
+    long getCreatedNanos() {
+        return createdNanos;
+    }
+
+    public String getInvoker() {
+        return invoker;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public String getSourceIp() {
+        return sourceIp;
+    }
+
+    /**
+     * @return the value of the x-forwarded-for header, or null
+     */
+    public String getForwardedFor() {
+        return forwardedFor;
+    }
+
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.logging.audit;
+
+import java.util.List;
+
+/**
+ * A destination of the audit log.  All configured outputs receive every audit record, in batches, from the
+ * single audit writer thread of the {@link AuditLogPipeline}.
+ */
+public interface AuditLogOutput {
+
+    String name();
+
+    boolean isConfigured();
+
+    /**
+     * Writes a batch of audit records, each one a single line JSON object.  Called from the audit writer
+     * thread only.
+     */
+    void write(List<String> records) throws Exception;
+
+    /**
+     * Releases the resources of the output, called on shutdown after the last batch was written.
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.logging.audit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.apicurio.registry.metrics.MetricsConstants.AUDIT_DROPPED;
+import static io.apicurio.registry.metrics.MetricsConstants.AUDIT_DROPPED_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.AUDIT_LATENCY;
+import static io.apicurio.registry.metrics.MetricsConstants.AUDIT_LATENCY_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.AUDIT_OUTPUT_FAILED;
+import static io.apicurio.registry.metrics.MetricsConstants.AUDIT_OUTPUT_FAILED_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.AUDIT_QUEUE_SIZE;
+import static io.apicurio.registry.metrics.MetricsConstants.AUDIT_QUEUE_SIZE_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.AUDIT_TAG_OUTPUT;
+
+/**
+ * Writes audit entries asynchronously, so that auditing does not add formatting and I/O to the audited
+ * requests.
+ * <p>
+ * Entries are put in a bounded lock-free queue and a single writer thread takes them in batches of up to
+ * {@code registry.audit.batch-size}, formats them as JSON and passes every batch to all configured
+ * {@link AuditLogOutput}s.  When the queue is full, {@code registry.audit.overflow-policy} decides whether
+ * the caller waits for free space ({@code block}, the default, so that no audit entry is lost) or the entry
+ * is dropped ({@code drop}).  Queued entries are written on shutdown.
+ */
+@ApplicationScoped
+public class AuditLogPipeline {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long STOP_TIMEOUT_MS = 10 * 1000;
+
+    enum OverflowPolicy {
+        DROP, BLOCK
+    }
+
+    @Inject
+    Logger log;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    Instance<AuditLogOutput> availableOutputs;
+
+    @ConfigProperty(name = "registry.audit.queue-size", defaultValue = "8192")
+    int queueSize;
+
+    @ConfigProperty(name = "registry.audit.batch-size", defaultValue = "256")
+    int batchSize;
+
+    @ConfigProperty(name = "registry.audit.overflow-policy", defaultValue = "block")
+    String overflowPolicy;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private final List<AuditLogOutput> outputs = new ArrayList<>();
+    private OverflowPolicy policy;
+    private AuditRingBuffer queue;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile boolean idle;
+
+    private Timer latencyTimer;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    void start() {
+        List<AuditLogOutput> configured = new ArrayList<>();
+        for (AuditLogOutput output : availableOutputs) {
+            if (output.isConfigured()) {
+                log.info("Audit log output {} is enabled", output.name());
+                configured.add(output);
+            }
+        }
+        start(configured);
+    }
+
+    /**
+     * Starts the writer thread, unless there is no output to write to.
+     */
+    void start(List<AuditLogOutput> configured) {
+        if (configured.isEmpty()) {
+            return;
+        }
+        outputs.addAll(configured);
+        policy = OverflowPolicy.valueOf(overflowPolicy.toUpperCase(Locale.ROOT));
+        queue = new AuditRingBuffer(queueSize);
+
+        Gauge.builder(AUDIT_QUEUE_SIZE, queue, AuditRingBuffer::size)
+            .description(AUDIT_QUEUE_SIZE_DESCRIPTION)
+            .register(registry);
+        latencyTimer = Timer.builder(AUDIT_LATENCY)
+            .description(AUDIT_LATENCY_DESCRIPTION)
+            .register(registry);
+        droppedCounter = Counter.builder(AUDIT_DROPPED)
+            .description(AUDIT_DROPPED_DESCRIPTION)
+            .register(registry);
+
+        running = true;
+        writer = new Thread(this::run, "audit-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("Audit log writer did not stop in time, {} queued audit entries may be lost", queue.size());
+        }
+    }
+
+    /**
+     * Queues the entry to be written, blocking only if the queue is full and the overflow policy is block.
+     */
+    public void submit(AuditEntry entry) {
+        if (queue == null) {
+            return;
+        }
+        while (!queue.offer(entry)) {
+            if (policy == OverflowPolicy.DROP || !running) {
+                droppedCounter.increment();
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+        }
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void run() {
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        List<String> records = new ArrayList<>(batchSize);
+        while (true) {
+            AuditEntry entry;
+            while (batch.size() < batchSize && (entry = queue.poll()) != null) {
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) {
+                if (!running) {
+                    break;
+                }
+                idle = true;
+                // checked again after announcing idle, an entry queued before that would not wake us up
+                if (queue.size() == 0 && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+            try {
+                write(batch, records);
+            } catch (Throwable e) {
+                // the writer must survive, otherwise blocked submitters would wait forever
+                log.error("Error writing " + batch.size() + " audit entries", e);
+                droppedCounter.increment(batch.size());
+            } finally {
+                batch.clear();
+                records.clear();
+            }
+        }
+        for (AuditLogOutput output : outputs) {
+            output.close();
+        }
+    }
+
+    private void write(List<AuditEntry> batch, List<String> records) {
+        for (AuditEntry entry : batch) {
+            try {
+                records.add(toJson(entry));
+            } catch (IOException | RuntimeException e) {
+                log.error("Error formatting audit entry " + entry.getAction(), e);
+            }
+        }
+        for (AuditLogOutput output : outputs) {
+            try {
+                output.write(records);
+            } catch (Exception e) {
+                log.error("Error writing " + records.size() + " audit entries to output " + output.name(), e);
+                Counter.builder(AUDIT_OUTPUT_FAILED)
+                    .description(AUDIT_OUTPUT_FAILED_DESCRIPTION)
+                    .tag(AUDIT_TAG_OUTPUT, output.name())
+                    .register(registry)
+                    .increment(records.size());
+            }
+        }
+        long now = System.nanoTime();
+        for (AuditEntry entry : batch) {
+            latencyTimer.record(now - entry.getCreatedNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String toJson(AuditEntry entry) throws IOException {
+        StringWriter out = new StringWriter(256);
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("timestamp", Instant.ofEpochMilli(entry.getTimestamp()).toString());
+            json.writeStringField("invoker", entry.getInvoker());
+            json.writeStringField("action", entry.getAction());
+            json.writeStringField("result", entry.getResult());
+            json.writeStringField("src_ip", entry.getSourceIp());
+            if (entry.getForwardedFor() != null) {
+                json.writeStringField("x_forwarded_for", entry.getForwardedFor());
+            }
+            json.writeObjectFieldStart("metadata");
+            for (Map.Entry<String, String> e : entry.getMetadata().entrySet()) {
+                json.writeStringField(e.getKey(), e.getValue());
+            }
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+        return out.toString();
+    }
+}
@@ -16,21 +16,23 @@
 
 package io.apicurio.registry.logging.audit;
 
-import org.slf4j.Logger;
-
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.control.ActivateRequestContext;
 import javax.inject.Inject;
 import java.util.Map;
 
+/**
+ * Creates audit entries and hands them to the {@link AuditLogPipeline}, which formats and writes them
+ * asynchronously.
+ */
 @ApplicationScoped
 public class AuditLogService {
 
     @Inject
-    Logger log;
+    AuditHttpRequestContext context;
 
     @Inject
-    AuditHttpRequestContext context;
+    AuditLogPipeline pipeline;
 
     @ActivateRequestContext
     public void log(String invoker, String action, String result, Map<String, String> metadata, AuditHttpRequestInfo requestInfo) {
@@ -45,19 +47,7 @@ public class AuditLogService {
             forwardedRemoteAddress = context.getForwardedFor();
         }
 
-        StringBuilder m = new StringBuilder();
-        m.append(invoker)
-                .append(" ")
-                .append("action=\"").append(action).append("\" ")
-                .append("result=\"").append(result).append("\" ")
-                .append("src_ip=\"").append(remoteAddress).append("\" ");
-        if (forwardedRemoteAddress != null) {
-            m.append("x_forwarded_for=\"").append(forwardedRemoteAddress).append("\" ");
-        }
-        for (Map.Entry<String, String> e : metadata.entrySet()) {
-            m.append(e.getKey()).append("=\"").append(e.getValue()).append("\" ");
-        }
-        log.info(m.toString());
+        pipeline.submit(new AuditEntry(invoker, action, result, remoteAddress, forwardedRemoteAddress, metadata));
         //mark in the context that we already generated an audit entry for this request
         context.setAuditEntryGenerated(true);
     }
@@ -25,8 +25,10 @@ import javax.inject.Inject;
 import javax.interceptor.AroundInvoke;
 import javax.interceptor.Interceptor;
 import javax.interceptor.InvocationContext;
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static io.apicurio.registry.logging.audit.AuditingConstants.KEY_PRINCIPAL_ID;
 
@@ -36,6 +38,7 @@ import static io.apicurio.registry.logging.audit.AuditingConstants.KEY_PRINCIPAL
  * This interceptor follows the execution of a method and marks the audit entry as failed if the inner method throws an exception.
  * <p>
  * This interceptor reads the inner method parameters to gather extra information for the audit entry.
+ * The {@link Audited} annotation of every method is only parsed once.
  */
 @Audited
 @Interceptor
@@ -49,31 +52,31 @@ public class AuditedInterceptor {
     @Inject
     SecurityIdentity securityIdentity;
 
+    private static final Map<Method, AuditedMethod> auditedMethods = new ConcurrentHashMap<>();
+
     @AroundInvoke
     public Object auditMethod(InvocationContext context) throws Exception {
 
-        Audited annotation = context.getMethod().getAnnotation(Audited.class);
+        AuditedMethod audited = auditedMethods.get(context.getMethod());
+        if (audited == null) {
+            audited = auditedMethods.computeIfAbsent(context.getMethod(), AuditedMethod::new);
+        }
         Map<String, String> metadata = new HashMap<>();
 
         if (securityIdentity != null && !securityIdentity.isAnonymous()) {
             metadata.put(KEY_PRINCIPAL_ID, securityIdentity.getPrincipal().getName());
         }
 
-        final String[] annotationParams = annotation.extractParameters();
-        if (annotationParams.length > 0) {
-            for (int i = 0; i <= annotationParams.length - 2; i += 2) {
-                Object parameterValue = context.getParameters()[Integer.parseInt(annotationParams[i])];
+        if (audited.parameterPositions.length > 0) {
+            Object[] parameters = context.getParameters();
+            for (int i = 0; i < audited.parameterPositions.length; i++) {
+                Object parameterValue = parameters[audited.parameterPositions[i]];
                 if (parameterValue != null) {
-                    metadata.put(annotationParams[i + 1], parameterValue.toString());
+                    metadata.put(audited.parameterKeys[i], parameterValue.toString());
                 }
             }
         }
 
-        String action = annotation.action();
-        if (action.isEmpty()) {
-            action = context.getMethod().getName();
-        }
-
         String result = AuditHttpRequestContext.SUCCESS;
         try {
             return context.proceed();
@@ -82,7 +85,31 @@ public class AuditedInterceptor {
             metadata.put("error_msg", e.getMessage());
             throw e;
         } finally {
-            auditLogService.log("registry.audit", action, result, metadata, null);
+            auditLogService.log("registry.audit", audited.action, result, metadata, null);
+        }
+    }
+
+    /**
+     * The parsed {@link Audited} annotation of a method.
+     */
+    private static class AuditedMethod {
+
+        private final String action;
+        private final int[] parameterPositions;
+        private final String[] parameterKeys;
+
+        private AuditedMethod(Method method) {
+            Audited annotation = method.getAnnotation(Audited.class);
+            String action = annotation.action();
+            this.action = action.isEmpty() ? method.getName() : action;
+
+            final String[] annotationParams = annotation.extractParameters();
+            this.parameterPositions = new int[annotationParams.length / 2];
+            this.parameterKeys = new String[annotationParams.length / 2];
+            for (int i = 0; i < parameterPositions.length; i++) {
+                parameterPositions[i] = Integer.parseInt(annotationParams[2 * i]);
+                parameterKeys[i] = annotationParams[2 * i + 1];
+            }
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.logging.audit;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Appends the audit records to a file, one JSON object per line.
+ */
+@ApplicationScoped
+public class FileAuditLogOutput implements AuditLogOutput {
+
+    @Inject
+    Logger log;
+
+    @ConfigProperty(name = "registry.audit.output.file.path")
+    Optional<String> path;
+
+    // only used by the audit writer thread
+    private Writer writer;
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return path.isPresent();
+    }
+
+    @Override
+    public void write(List<String> records) throws IOException {
+        if (writer == null) {
+            Path file = Paths.get(path.get());
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        try {
+            for (String record : records) {
+                writer.write(record);
+                writer.write('\n');
+            }
+            writer.flush();
+        } catch (IOException e) {
+            // reopened for the next batch, e.g. after the file was rotated away
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Error closing the audit log file " + path.get(), e);
+            }
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.logging.audit;
+
+import io.apicurio.registry.utils.RegistryProperties;
+import io.apicurio.registry.utils.kafka.AsyncProducer;
+import io.apicurio.registry.utils.kafka.ProducerActions;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.Serdes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the audit records to a Kafka topic, one JSON object per message.  A batch is only complete once
+ * all of its messages are acknowledged, so a slow cluster applies back-pressure to the audit queue.
+ */
+@ApplicationScoped
+public class KafkaAuditLogOutput implements AuditLogOutput {
+
+    private static final long SEND_TIMEOUT_MS = 30 * 1000;
+
+    @Inject
+    Logger log;
+
+    @Inject
+    @RegistryProperties(
+            value = {"registry.audit.output.kafka.config"},
+            empties = {"ssl.endpoint.identification.algorithm="}
+    )
+    Properties producerProperties;
+
+    @ConfigProperty(name = "registry.audit.output.kafka.topic")
+    Optional<String> topic;
+
+    // only used by the audit writer thread
+    private ProducerActions<String, String> producer;
+
+    @Override
+    public String name() {
+        return "kafka";
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return topic.isPresent();
+    }
+
+    @Override
+    public void write(List<String> records) throws Exception {
+        if (producer == null) {
+            producer = new AsyncProducer<>(producerProperties, Serdes.String().serializer(), Serdes.String().serializer());
+        }
+        CompletableFuture<?>[] sent = new CompletableFuture<?>[records.size()];
+        for (int i = 0; i < sent.length; i++) {
+            sent[i] = producer.apply(new ProducerRecord<>(topic.get(), records.get(i)));
+        }
+        CompletableFuture.allOf(sent).get(SEND_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (producer != null) {
+            try {
+                producer.close();
+            } catch (Exception e) {
+                log.warn("Error closing the audit log producer", e);
+            }
+            producer = null;
+        }
+    }
+}
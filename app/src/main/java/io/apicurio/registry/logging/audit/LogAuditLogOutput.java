@@ -0,0 +1,54 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.logging.audit;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.List;
+
+/**
+ * Writes the audit records to the application log, enabled by default.
+ */
+@ApplicationScoped
+public class LogAuditLogOutput implements AuditLogOutput {
+
+    // the category the audit log was always written to
+    private static final Logger log = LoggerFactory.getLogger(AuditLogService.class);
+
+    @ConfigProperty(name = "registry.audit.output.log.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return enabled;
+    }
+
+    @Override
+    public void write(List<String> records) {
+        for (String record : records) {
+            log.info(record);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.metrics;
+
+import static io.apicurio.registry.metrics.MetricsConstants.CACHE_GETS;
+import static io.apicurio.registry.metrics.MetricsConstants.CACHE_GETS_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.CACHE_REFRESHES;
+import static io.apicurio.registry.metrics.MetricsConstants.CACHE_REFRESHES_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.CACHE_SIZE;
+import static io.apicurio.registry.metrics.MetricsConstants.CACHE_SIZE_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.CACHE_TAG_NAME;
+import static io.apicurio.registry.metrics.MetricsConstants.CACHE_TAG_RESULT;
+
+import java.util.function.ToDoubleFunction;
+
+import io.apicurio.registry.utils.ExpiringLruCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registers the hit, miss and size meters of a cache.
+ */
+public final class CacheMetrics {
+
+    private CacheMetrics() {
+    }
+
+    /**
+     * Also registers the stale hits and the background refreshes of the cache, if it refreshes its values.
+     */
+    public static void register(MeterRegistry registry, String name, ExpiringLruCache<?, ?> cache) {
+        counter(registry, CACHE_GETS, CACHE_GETS_DESCRIPTION, name, "hit", cache, ExpiringLruCache::hits);
+        counter(registry, CACHE_GETS, CACHE_GETS_DESCRIPTION, name, "miss", cache, ExpiringLruCache::misses);
+        if (cache.isRefreshing()) {
+            counter(registry, CACHE_GETS, CACHE_GETS_DESCRIPTION, name, "stale", cache, ExpiringLruCache::staleHits);
+            counter(registry, CACHE_REFRESHES, CACHE_REFRESHES_DESCRIPTION, name, "success", cache, ExpiringLruCache::refreshes);
+            counter(registry, CACHE_REFRESHES, CACHE_REFRESHES_DESCRIPTION, name, "failure", cache, ExpiringLruCache::refreshFailures);
+        }
+        Gauge.builder(CACHE_SIZE, cache, ExpiringLruCache::size)
+            .description(CACHE_SIZE_DESCRIPTION)
+            .tag(CACHE_TAG_NAME, name)
+            .register(registry);
+    }
+
+    private static <T> void counter(MeterRegistry registry, String meter, String description, String name, String result,
+            T cache, ToDoubleFunction<T> count) {
+        FunctionCounter.builder(meter, cache, count)
+            .description(description)
+            .tag(CACHE_TAG_NAME, name)
+            .tag(CACHE_TAG_RESULT, result)
+            .register(registry);
+    }
+
+}
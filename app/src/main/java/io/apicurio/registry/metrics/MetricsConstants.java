@@ -37,4 +37,67 @@ public interface MetricsConstants {
     String STORAGE_METHOD_CALL_TAG_TENANT = "tenant_id";
     String STORAGE_METHOD_CALL_TAG_METHOD = "method";
     String STORAGE_METHOD_CALL_TAG_SUCCESS = "success";
+
+    // Events
+
+    String EVENTS_PREFIX = "events.";
+    String EVENTS_HTTP_QUEUE_SIZE = EVENTS_PREFIX + "http.queue.size";
+    String EVENTS_HTTP_QUEUE_SIZE_DESCRIPTION = "Number of events waiting to be sent to an http sink";
+
+    String EVENTS_HTTP_DELIVERY = EVENTS_PREFIX + "http.delivery";
+    String EVENTS_HTTP_DELIVERY_DESCRIPTION = "Time from firing an event until it is delivered to an http sink";
+
+    String EVENTS_HTTP_DROPPED = EVENTS_PREFIX + "http.dropped";
+    String EVENTS_HTTP_DROPPED_DESCRIPTION = "Number of events that could not be delivered to an http sink";
+
+    // Events tags/labels
+
+    String EVENTS_HTTP_TAG_SINK = "sink";
+
+    // Tenants
+
+    String TENANTS_PREFIX = "tenants.";
+    String TENANTS_PURGE_BATCH = TENANTS_PREFIX + "purge.batch";
+    String TENANTS_PURGE_BATCH_DESCRIPTION = "Time to delete a batch of the data of a deleted tenant";
+
+    String TENANTS_PURGE_ROWS = TENANTS_PREFIX + "purge.rows";
+    String TENANTS_PURGE_ROWS_DESCRIPTION = "Number of rows deleted from the data of deleted tenants";
+
+    String TENANTS_PURGED = TENANTS_PREFIX + "purged";
+    String TENANTS_PURGED_DESCRIPTION = "Number of deleted tenants whose data was completely deleted";
+
+    // Audit
+
+    String AUDIT_PREFIX = "audit.";
+    String AUDIT_QUEUE_SIZE = AUDIT_PREFIX + "queue.size";
+    String AUDIT_QUEUE_SIZE_DESCRIPTION = "Number of audit entries waiting to be written";
+
+    String AUDIT_LATENCY = AUDIT_PREFIX + "latency";
+    String AUDIT_LATENCY_DESCRIPTION = "Time from creating an audit entry until it is written to the outputs";
+
+    String AUDIT_DROPPED = AUDIT_PREFIX + "dropped";
+    String AUDIT_DROPPED_DESCRIPTION = "Number of audit entries dropped because the audit queue was full";
+
+    String AUDIT_OUTPUT_FAILED = AUDIT_PREFIX + "output.failed";
+    String AUDIT_OUTPUT_FAILED_DESCRIPTION = "Number of audit entries that could not be written to an output";
+
+    // Audit tags/labels
+
+    String AUDIT_TAG_OUTPUT = "output";
+
+    // Caches
+
+    String CACHE_GETS = "cache.gets";
+    String CACHE_GETS_DESCRIPTION = "Number of cache lookups, by result";
+
+    String CACHE_SIZE = "cache.size";
+    String CACHE_SIZE_DESCRIPTION = "Number of entries in the cache";
+
+    String CACHE_REFRESHES = "cache.refreshes";
+    String CACHE_REFRESHES_DESCRIPTION = "Number of background refreshes of cache entries, by result";
+
+    // Caches tags/labels
+
+    String CACHE_TAG_NAME = "cache";
+    String CACHE_TAG_RESULT = "result";
 }
@@ -33,7 +33,10 @@ import javax.ws.rs.container.ResourceInfo;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.ext.Provider;
 import java.io.IOException;
-import java.util.regex.Pattern;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static io.apicurio.registry.metrics.MetricsConstants.REST_REQUESTS;
 import static io.apicurio.registry.metrics.MetricsConstants.REST_REQUESTS_COUNTER;
@@ -46,6 +49,10 @@ import static io.apicurio.registry.metrics.MetricsConstants.REST_REQUESTS_TAG_ST
 /**
  * Filters REST API requests and responses to report metrics
  * about them.
+ * <p>
+ * Requests are tagged with the route template of the matched resource method (e.g.
+ * {@code /apis/registry/v2/groups/{groupId}/artifacts}), which is resolved once per resource method
+ * from its {@link Path} annotations, together with the meters of the route.
  *
  * @author Miguel Soriano
  * @author Jakub Senko <jsenko@redhat.com>
@@ -66,20 +73,21 @@ public class RestMetricsResponseFilter implements ContainerRequestFilter, Contai
 
     public static final String TIMER_SAMPLE_CONTEXT_PROPERTY_NAME = "request-timer-sample";
 
+    // Only the registry APIs are measured, not e.g. the UI or the health endpoints.
+    static final String ENABLED_PREFIX = "/apis/";
+
+    private static final String[] STATUS_GROUPS = { "", "1xx", "2xx", "3xx", "4xx", "5xx" };
+
     @Context
     private ResourceInfo resourceInfo;
 
-    // I couldn't figure out an easy way to use an annotation that can be applied on the whole REST resource class,
-    // instead of on each method (or javax.ws.rs.core.Application).
-    // See https://docs.oracle.com/javaee/7/api/javax/ws/rs/NameBinding.html
-    static final Pattern ENABLED_PATTERN = Pattern.compile("/apis/.*");
+    private final Map<Method, Route> routes = new ConcurrentHashMap<>();
 
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
-        final boolean enabled = ENABLED_PATTERN.matcher(requestContext.getUriInfo().getPath()).matches();
-        if (enabled) {
-            Timer.Sample sample = Timer.start(registry);
-            requestContext.setProperty(TIMER_SAMPLE_CONTEXT_PROPERTY_NAME, sample);
+        Route route = route();
+        if (route != null && route.enabled) {
+            requestContext.setProperty(TIMER_SAMPLE_CONTEXT_PROPERTY_NAME, new RouteSample(route, registry.config().clock().monotonicTime()));
         }
     }
 
@@ -87,50 +95,153 @@ public class RestMetricsResponseFilter implements ContainerRequestFilter, Contai
     public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
         throws IOException {
 
-        if (requestContext.getProperty(TIMER_SAMPLE_CONTEXT_PROPERTY_NAME) == null) {
+        RouteSample sample = (RouteSample) requestContext.getProperty(TIMER_SAMPLE_CONTEXT_PROPERTY_NAME);
+        if (sample == null) {
             return;
         }
 
-        Timer timer = Timer
-            .builder(REST_REQUESTS)
-            .description(REST_REQUESTS_DESCRIPTION)
-            .tag(REST_REQUESTS_TAG_PATH, this.getPath())
-            .tag(REST_REQUESTS_TAG_METHOD, requestContext.getMethod())
-            .tag(REST_REQUESTS_TAG_STATUS_CODE_FAMILY, this.getStatusGroup(responseContext.getStatus()))
-            .register(registry);
-
-        Timer.Sample sample = (Timer.Sample) requestContext.getProperty(TIMER_SAMPLE_CONTEXT_PROPERTY_NAME);
-        sample.stop(timer);
-
-        Counter.builder(REST_REQUESTS_COUNTER)
-            .description(REST_REQUESTS_COUNTER_DESCRIPTION)
-            .tag(REST_REQUESTS_TAG_PATH, this.getPath())
-            .tag(REST_REQUESTS_TAG_METHOD, requestContext.getMethod())
-            .tag(REST_REQUESTS_TAG_STATUS_CODE_FAMILY, this.getStatusGroup(responseContext.getStatus()))
-            .register(registry)
-            .increment();
+        long duration = registry.config().clock().monotonicTime() - sample.start;
+        RouteMeters meters = sample.route.meters(requestContext.getMethod(), getStatusGroup(responseContext.getStatus()));
+        meters.timer.record(duration, TimeUnit.NANOSECONDS);
+        meters.counter.increment();
+    }
+
+    private Route route() {
+        Method method = resourceInfo.getResourceMethod();
+        if (method == null) {
+            return null;
+        }
+        Route route = routes.get(method);
+        if (route == null) {
+            route = routes.computeIfAbsent(method, m -> new Route(getPath(resourceInfo.getResourceClass(), m)));
+        }
+        return route;
     }
 
-    private String getStatusGroup(int statusCode) {
+    private static int getStatusGroup(int statusCode) {
         if (statusCode < 100 || statusCode >= 600) {
+            return 0;
+        }
+        return statusCode / 100;
+    }
+
+    /**
+     * @return the route template of the resource method, the {@link Path} annotations are usually declared
+     * on the resource interfaces rather than on the implementations
+     */
+    static String getPath(Class<?> resourceClass, Method resourceMethod) {
+        return getResourceClassPath(resourceClass) + getResourceMethodPath(resourceClass, resourceMethod);
+    }
+
+    private static String getResourceClassPath(Class<?> type) {
+        if (type == null) {
             return "";
         }
-        int statusCodeGroup = statusCode / 100;
-        return String.format("%dxx", statusCodeGroup);
+        Path classPath = type.getAnnotation(Path.class);
+        if (classPath != null) {
+            return classPath.value();
+        }
+        for (Class<?> iface : type.getInterfaces()) {
+            String path = getResourceClassPath(iface);
+            if (!path.isEmpty()) {
+                return path;
+            }
+        }
+        return getResourceClassPath(type.getSuperclass());
+    }
+
+    private static String getResourceMethodPath(Class<?> type, Method method) {
+        Path methodPath = method.getAnnotation(Path.class);
+        if (methodPath != null) {
+            return methodPath.value();
+        }
+        for (Class<?> t = type; t != null; t = t.getSuperclass()) {
+            String path = getResourceMethodPath(t, method.getName(), method.getParameterTypes());
+            if (path != null) {
+                return path;
+            }
+        }
+        return "";
     }
 
-    private String getPath() {
-        return getResourceClassPath() + getResourceMethodPath();
+    private static String getResourceMethodPath(Class<?> type, String name, Class<?>[] parameterTypes) {
+        try {
+            Path methodPath = type.getDeclaredMethod(name, parameterTypes).getAnnotation(Path.class);
+            if (methodPath != null) {
+                return methodPath.value();
+            }
+        } catch (NoSuchMethodException e) {
+            // not declared by this type
+        }
+        for (Class<?> iface : type.getInterfaces()) {
+            String path = getResourceMethodPath(iface, name, parameterTypes);
+            if (path != null) {
+                return path;
+            }
+        }
+        return null;
     }
 
-    private String getResourceClassPath() {
-        Path classPath = resourceInfo.getResourceClass().getAnnotation(Path.class);
-        return classPath != null ? classPath.value() : "";
+    /**
+     * The route template of a resource method and its meters, by HTTP method and status code group.
+     */
+    private class Route {
+
+        private final String path;
+        private final boolean enabled;
+        private final Map<String, RouteMeters[]> meters = new ConcurrentHashMap<>();
+
+        private Route(String path) {
+            this.path = path;
+            this.enabled = path.startsWith(ENABLED_PREFIX);
+        }
+
+        private RouteMeters meters(String httpMethod, int statusGroup) {
+            RouteMeters[] byStatus = meters.get(httpMethod);
+            if (byStatus == null) {
+                byStatus = meters.computeIfAbsent(httpMethod, m -> new RouteMeters[STATUS_GROUPS.length]);
+            }
+            RouteMeters routeMeters = byStatus[statusGroup];
+            if (routeMeters == null) {
+                // registering the same meters again returns the existing ones, so racing here is harmless
+                routeMeters = new RouteMeters(path, httpMethod, STATUS_GROUPS[statusGroup]);
+                byStatus[statusGroup] = routeMeters;
+            }
+            return routeMeters;
+        }
+    }
+
+    private class RouteMeters {
+
+        private final Timer timer;
+        private final Counter counter;
+
+        private RouteMeters(String path, String httpMethod, String statusGroup) {
+            this.timer = Timer
+                .builder(REST_REQUESTS)
+                .description(REST_REQUESTS_DESCRIPTION)
+                .tag(REST_REQUESTS_TAG_PATH, path)
+                .tag(REST_REQUESTS_TAG_METHOD, httpMethod)
+                .tag(REST_REQUESTS_TAG_STATUS_CODE_FAMILY, statusGroup)
+                .register(registry);
+            this.counter = Counter.builder(REST_REQUESTS_COUNTER)
+                .description(REST_REQUESTS_COUNTER_DESCRIPTION)
+                .tag(REST_REQUESTS_TAG_PATH, path)
+                .tag(REST_REQUESTS_TAG_METHOD, httpMethod)
+                .tag(REST_REQUESTS_TAG_STATUS_CODE_FAMILY, statusGroup)
+                .register(registry);
+        }
     }
 
-    private String getResourceMethodPath() {
-        Path methodPath = resourceInfo.getResourceMethod().getAnnotation(Path.class);
-        return methodPath != null ? methodPath.value() : "";
+    private static class RouteSample {
+
+        private final Route route;
+        private final long start;
+
+        private RouteSample(Route route, long start) {
+            this.route = route;
+            this.start = start;
+        }
     }
 
 }
@@ -3,6 +3,7 @@ package io.apicurio.registry.metrics;
 import io.apicurio.registry.mt.TenantContext;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.context.ThreadContext;
 
 import javax.inject.Inject;
@@ -10,7 +11,11 @@ import javax.interceptor.AroundInvoke;
 import javax.interceptor.Interceptor;
 import javax.interceptor.InvocationContext;
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_METHOD_CALL;
 import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_METHOD_CALL_DESCRIPTION;
@@ -19,7 +24,11 @@ import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_METHOD_CALL_
 import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_METHOD_CALL_TAG_TENANT;
 
 /**
- * Fail readiness check if the duration of processing a artifactStore operation is too high.
+ * Records the duration and result of storage method calls.
+ * <p>
+ * The timers are looked up once per method and tenant and then reused, so a call does not
+ * build meter ids or method name strings. Optionally only a sample of the calls is timed,
+ * see {@code registry.metrics.storage.sample-rate}.
  *
  * @author Jakub Senko 'jsenko@redhat.com'
  */
@@ -36,13 +45,27 @@ public class StorageMetricsInterceptor {
     @Inject
     ThreadContext threadContext;
 
+    /**
+     * Fraction of the storage calls that are timed, between 0 and 1.
+     */
+    @ConfigProperty(name = "registry.metrics.storage.sample-rate", defaultValue = "1.0")
+    double sampleRate;
+
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
     @AroundInvoke
     public Object intercept(InvocationContext context) throws Exception {
 
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return context.proceed();
+        }
+
         Exception exception = null;
         Object result = null;
 
-        Timer.Sample sample = Timer.start(registry);
+        MethodTimers methodTimers = methodTimers(context.getMethod());
+        String tenantId = this.tenantContext.getTenantIdOrElse("");
+        long start = registry.config().clock().monotonicTime();
 
         try {
             result = context.proceed();
@@ -51,30 +74,32 @@ public class StorageMetricsInterceptor {
         }
 
         if (exception != null) {
-            this.record(sample, context.getMethod(), false);
+            this.record(methodTimers, tenantId, start, false);
             throw exception;
         }
 
         if (result instanceof CompletionStage) {
             CompletionStage<?> r = (CompletionStage<?>) result;
             threadContext.withContextCapture(r).whenComplete((ok, ex) ->
-                this.record(sample, context.getMethod(), ex == null)); // TODO
+                this.record(methodTimers, tenantId, start, ex == null)); // TODO
             return r;
         }
 
-        this.record(sample, context.getMethod(), true);
+        this.record(methodTimers, tenantId, start, true);
         return result;
     }
 
-    private void record(Timer.Sample sample, Method method, boolean success) {
-        Timer timer = Timer
-            .builder(STORAGE_METHOD_CALL)
-            .description(STORAGE_METHOD_CALL_DESCRIPTION)
-            .tag(STORAGE_METHOD_CALL_TAG_TENANT, this.tenantContext.getTenantIdOrElse(""))
-            .tag(STORAGE_METHOD_CALL_TAG_METHOD, getMethodString(method))
-            .tag(STORAGE_METHOD_CALL_TAG_SUCCESS, String.valueOf(success))
-            .register(registry);
-        sample.stop(timer);
+    private MethodTimers methodTimers(Method method) {
+        MethodTimers methodTimers = timers.get(method);
+        if (methodTimers == null) {
+            methodTimers = timers.computeIfAbsent(method, m -> new MethodTimers(getMethodString(m)));
+        }
+        return methodTimers;
+    }
+
+    private void record(MethodTimers methodTimers, String tenantId, long start, boolean success) {
+        long duration = registry.config().clock().monotonicTime() - start;
+        methodTimers.timer(tenantId, success).record(duration, TimeUnit.NANOSECONDS);
     }
 
     private static String getMethodString(Method method) {
@@ -90,4 +115,35 @@ public class StorageMetricsInterceptor {
         res.append(')');
         return res.toString();
     }
+
+    /**
+     * The failure and success timers of a single storage method, by tenant.
+     */
+    private class MethodTimers {
+
+        private final String method;
+        private final Map<String, Timer[]> byTenant = new ConcurrentHashMap<>();
+
+        private MethodTimers(String method) {
+            this.method = method;
+        }
+
+        private Timer timer(String tenantId, boolean success) {
+            Timer[] tenantTimers = byTenant.get(tenantId);
+            if (tenantTimers == null) {
+                tenantTimers = byTenant.computeIfAbsent(tenantId, t -> new Timer[] { register(t, false), register(t, true) });
+            }
+            return tenantTimers[success ? 1 : 0];
+        }
+
+        private Timer register(String tenantId, boolean success) {
+            return Timer
+                .builder(STORAGE_METHOD_CALL)
+                .description(STORAGE_METHOD_CALL_DESCRIPTION)
+                .tag(STORAGE_METHOD_CALL_TAG_TENANT, tenantId)
+                .tag(STORAGE_METHOD_CALL_TAG_METHOD, method)
+                .tag(STORAGE_METHOD_CALL_TAG_SUCCESS, String.valueOf(success))
+                .register(registry);
+        }
+    }
 }
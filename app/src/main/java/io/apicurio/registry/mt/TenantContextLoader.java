@@ -17,7 +17,13 @@
 package io.apicurio.registry.mt;
 
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.Instance;
@@ -30,9 +36,11 @@ import org.slf4j.Logger;
 import io.apicurio.multitenant.api.datamodel.RegistryTenant;
 import io.apicurio.multitenant.api.datamodel.TenantStatusValue;
 import io.apicurio.registry.auth.AuthConfig;
+import io.apicurio.registry.metrics.CacheMetrics;
 import io.apicurio.registry.mt.limits.TenantLimitsConfiguration;
 import io.apicurio.registry.mt.limits.TenantLimitsConfigurationService;
-import io.apicurio.registry.utils.CheckPeriodCache;
+import io.apicurio.registry.utils.ExpiringLruCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.runtime.StartupEvent;
 
 /**
@@ -45,7 +53,11 @@ public class TenantContextLoader {
 
     //NOTE for now we are just storing per tenant configurations in the context, this allows us to cache the instances
     //but if in the future we store session scoped or request scoped information the caching strategy should change
-    private CheckPeriodCache<String, RegistryTenantContext> contextsCache;
+    //contexts older than the check period are refreshed in the background, and are served until the expire period
+    //if the tenant manager cannot be reached
+    private ExpiringLruCache<String, RegistryTenantContext> contextsCache;
+
+    private ExecutorService refreshExecutor;
 
     private RegistryTenantContext defaultTenantContext;
 
@@ -67,15 +79,43 @@ public class TenantContextLoader {
     @Inject
     Instance<JsonWebToken> jsonWebToken;
 
+    @Inject
+    MeterRegistry meterRegistry;
+
     @Inject
     @ConfigProperty(defaultValue = "60000", name = "registry.tenants.context.cache.check-period")
     Long cacheCheckPeriod;
 
+    @ConfigProperty(defaultValue = "600000", name = "registry.tenants.context.cache.expire-period")
+    Long cacheExpirePeriod;
+
+    @ConfigProperty(defaultValue = "10000", name = "registry.tenants.context.cache.max-size")
+    Integer cacheMaxSize;
+
+    @ConfigProperty(defaultValue = "2", name = "registry.tenants.context.cache.refresh-threads")
+    Integer cacheRefreshThreads;
+
     @ConfigProperty(name = "registry.organization-id.claim-name")
     String organizationIdClaimName;
 
     public void onStart(@Observes StartupEvent ev) {
-        contextsCache = new CheckPeriodCache<>(cacheCheckPeriod);
+        AtomicInteger threadCount = new AtomicInteger();
+        refreshExecutor = new ThreadPoolExecutor(cacheRefreshThreads, cacheRefreshThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1000), r -> {
+                    Thread thread = new Thread(r, "tenant-context-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        contextsCache = new ExpiringLruCache<>(cacheMaxSize, cacheCheckPeriod, Math.max(cacheCheckPeriod, cacheExpirePeriod),
+                refreshExecutor, e -> e instanceof TenantNotFoundException);
+        CacheMetrics.register(meterRegistry, "tenant-context", contextsCache);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
     }
 
     /**
@@ -109,17 +149,27 @@ public class TenantContextLoader {
         if (tenantId.equals(TenantContext.DEFAULT_TENANT_ID)) {
             return defaultTenantContext();
         }
-        RegistryTenantContext context = contextsCache.compute(tenantId, k -> {
-            RegistryTenant tenantMetadata = tenantMetadataService.getTenant(tenantId);
-            TenantLimitsConfiguration limitsConfiguration = limitsConfigurationService.fromTenantMetadata(tenantMetadata);
-            return new RegistryTenantContext(tenantId, tenantMetadata.getCreatedBy(), limitsConfiguration, tenantMetadata.getStatus(), String.valueOf(tenantMetadata.getOrganizationId()));
-        });
+        RegistryTenantContext context = contextsCache.get(tenantId, this::loadTenantContext);
         if (checkTenantAuthorization) {
             checkTenantAuthorization(context);
         }
         return context;
     }
 
+    private RegistryTenantContext loadTenantContext(String tenantId) {
+        RegistryTenant tenantMetadata;
+        try {
+            tenantMetadata = tenantMetadataService.getTenant(tenantId);
+        } catch (TenantNotFoundException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            logger.warn("Error loading the metadata of tenant {}", tenantId, e);
+            throw e;
+        }
+        TenantLimitsConfiguration limitsConfiguration = limitsConfigurationService.fromTenantMetadata(tenantMetadata);
+        return new RegistryTenantContext(tenantId, tenantMetadata.getCreatedBy(), limitsConfiguration, tenantMetadata.getStatus(), String.valueOf(tenantMetadata.getOrganizationId()));
+    }
+
     public RegistryTenantContext defaultTenantContext() {
         if (defaultTenantContext == null) {
             defaultTenantContext = new RegistryTenantContext(TenantContext.DEFAULT_TENANT_ID, null, limitsConfigurationService.defaultConfigurationTenant(), TenantStatusValue.READY, null);
@@ -25,6 +25,9 @@ import io.apicurio.multitenant.client.TenantManagerClient;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.types.Current;
 import io.apicurio.registry.utils.OptionalBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.scheduler.Scheduled;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -37,7 +40,14 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Random;
-
+import java.util.concurrent.TimeUnit;
+
+import static io.apicurio.registry.metrics.MetricsConstants.TENANTS_PURGED;
+import static io.apicurio.registry.metrics.MetricsConstants.TENANTS_PURGED_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.TENANTS_PURGE_BATCH;
+import static io.apicurio.registry.metrics.MetricsConstants.TENANTS_PURGE_BATCH_DESCRIPTION;
+import static io.apicurio.registry.metrics.MetricsConstants.TENANTS_PURGE_ROWS;
+import static io.apicurio.registry.metrics.MetricsConstants.TENANTS_PURGE_ROWS_DESCRIPTION;
 import static io.quarkus.scheduler.Scheduled.ConcurrentExecution.SKIP;
 
 /**
@@ -70,16 +80,41 @@ public class TenantReaper {
     @Inject
     OptionalBean<TenantManagerClient> tenantManagerClient;
 
+    @Inject
+    MeterRegistry meterRegistry;
+
     Instant next;
 
     @ConfigProperty(name = "registry.multitenancy.reaper.max-tenants-reaped", defaultValue = "100")
     int maxTenantsReaped;
 
+    @ConfigProperty(name = "registry.multitenancy.reaper.purge.batch-size", defaultValue = "1000")
+    int purgeBatchSize;
+
+    @ConfigProperty(name = "registry.multitenancy.reaper.purge.batch-pause-ms", defaultValue = "100")
+    long purgeBatchPauseMillis;
+
+    @ConfigProperty(name = "registry.multitenancy.reaper.purge.max-duration-ms", defaultValue = "600000")
+    long purgeMaxDurationMillis;
+
+    private Timer purgeBatchTimer;
+    private Counter purgeRowsCounter;
+    private Counter purgedCounter;
+
     @PostConstruct
     void init() {
         if (!properties.isMultitenancyEnabled()) {
             return;
         }
+        purgeBatchTimer = Timer.builder(TENANTS_PURGE_BATCH)
+                .description(TENANTS_PURGE_BATCH_DESCRIPTION)
+                .register(meterRegistry);
+        purgeRowsCounter = Counter.builder(TENANTS_PURGE_ROWS)
+                .description(TENANTS_PURGE_ROWS_DESCRIPTION)
+                .register(meterRegistry);
+        purgedCounter = Counter.builder(TENANTS_PURGED)
+                .description(TENANTS_PURGED_DESCRIPTION)
+                .register(meterRegistry);
         int stagger = 0;
         // Only stagger if the reaper period is at least 1 minute (testing support).
         if (properties.getReaperPeriod().compareTo(Duration.ofSeconds(60)) >= 0) {
@@ -125,8 +160,13 @@ public class TenantReaper {
      * Note that a single invocation of reap() will reap a maximum of MAX_TENANTS_PROCESSED.  If there
      * are more tenants that need reaping, they will be processed the next time the schedule warrants it.
      * This is a defensive approach to ensure that the while loop is always bounded.
+     *
+     * The data is deleted in small batches, with a pause between them, to limit the load on the database.
+     * A single invocation stops after the configured maximum duration, and the next one resumes the
+     * deletion where it stopped.
      */
     void reap() {
+        final Instant deadline = Instant.now().plusMillis(purgeMaxDurationMillis);
         List<RegistryTenant> page;
         int tenantsProcessed = 0;
         do {
@@ -147,7 +187,11 @@ public class TenantReaper {
                             tenant.getStatus(), tenantId, tctx.tenantId());
                         throw new IllegalStateException("Safety check failed when attempting to delete tenant data.");
                     }
-                    storage.deleteAllUserData();
+                    if (!purge(deadline)) {
+                        log.debug("Tenant '{}' data not completely deleted yet, resuming in the next run", tenantId);
+                        return;
+                    }
+                    purgedCounter.increment();
                     tenantService.markTenantAsDeleted(tenantId);
                     tcl.invalidateTenantInCache(tenantId);
                 } catch (Exception ex) {
@@ -158,4 +202,26 @@ public class TenantReaper {
             tenantsProcessed += page.size();
         } while (!page.isEmpty() && tenantsProcessed < maxTenantsReaped);
     }
+
+    /**
+     * Deletes the data of the current tenant in batches, until it is all deleted or the deadline is reached.
+     * @return true if all the data is deleted
+     */
+    private boolean purge(Instant deadline) throws InterruptedException {
+        while (true) {
+            long start = System.nanoTime();
+            int deleted = storage.deleteUserDataBatch(purgeBatchSize);
+            purgeBatchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            purgeRowsCounter.increment(deleted);
+            if (deleted == 0) {
+                return true;
+            }
+            if (Instant.now().isAfter(deadline)) {
+                return false;
+            }
+            if (purgeBatchPauseMillis > 0) {
+                Thread.sleep(purgeBatchPauseMillis);
+            }
+        }
+    }
 }
@@ -16,7 +16,6 @@
 
 package io.apicurio.registry.mt.limits;
 
-import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 
@@ -80,10 +79,8 @@ public class RegistryStorageLimitsEnforcer extends RegistryStorageDecorator {
             String version, ArtifactType artifactType, ContentHandle content)
             throws ArtifactAlreadyExistsException, RegistryStorageException {
 
-        ArtifactMetaDataDto dto = withLimitsCheck(() -> limitsService.canCreateArtifact(null))
+        return withLimitsCheck(() -> limitsService.canCreateArtifact(null))
                 .execute(() -> super.createArtifact(groupId, artifactId, version, artifactType, content));
-        limitsService.artifactCreated();
-        return dto;
     }
 
     /**
@@ -95,10 +92,8 @@ public class RegistryStorageLimitsEnforcer extends RegistryStorageDecorator {
             EditableArtifactMetaDataDto metaData)
             throws ArtifactAlreadyExistsException, RegistryStorageException {
 
-        ArtifactMetaDataDto dto = withLimitsCheck(() -> limitsService.canCreateArtifact(metaData))
+        return withLimitsCheck(() -> limitsService.canCreateArtifact(metaData))
                 .execute(() -> super.createArtifactWithMetadata(groupId, artifactId, version, artifactType, content, metaData));
-        limitsService.artifactCreated();
-        return dto;
     }
 
     /**
@@ -109,10 +104,8 @@ public class RegistryStorageLimitsEnforcer extends RegistryStorageDecorator {
             String version, ArtifactType artifactType, ContentHandle content)
             throws ArtifactNotFoundException, RegistryStorageException {
 
-        ArtifactMetaDataDto dto = withLimitsCheck(() -> limitsService.canCreateArtifactVersion(groupId, artifactId, null))
+        return withLimitsCheck(() -> limitsService.canCreateArtifactVersion(groupId, artifactId, null))
                 .execute(() -> super.updateArtifact(groupId, artifactId, version, artifactType, content));
-        limitsService.artifactVersionCreated(groupId, artifactId);
-        return dto;
     }
 
     /**
@@ -123,10 +116,8 @@ public class RegistryStorageLimitsEnforcer extends RegistryStorageDecorator {
             String version, ArtifactType artifactType, ContentHandle content,
             EditableArtifactMetaDataDto metaData) throws ArtifactNotFoundException, RegistryStorageException {
 
-        ArtifactMetaDataDto dto = withLimitsCheck(() -> limitsService.canCreateArtifactVersion(groupId, artifactId, metaData))
+        return withLimitsCheck(() -> limitsService.canCreateArtifactVersion(groupId, artifactId, metaData))
                 .execute(() -> super.updateArtifactWithMetadata(groupId, artifactId, version, artifactType, content, metaData));
-        limitsService.artifactVersionCreated(groupId, artifactId);
-        return dto;
     }
 
     /**
@@ -159,36 +150,6 @@ public class RegistryStorageLimitsEnforcer extends RegistryStorageDecorator {
             });
     }
 
-    /**
-     * @see io.apicurio.registry.storage.decorator.RegistryStorageDecorator#deleteArtifact(java.lang.String, java.lang.String)
-     */
-    @Override
-    public List<String> deleteArtifact(String groupId, String artifactId)
-            throws ArtifactNotFoundException, RegistryStorageException {
-        List<String> ids = super.deleteArtifact(groupId, artifactId);
-        limitsService.artifactDeleted();
-        return ids;
-    }
-
-    /**
-     * @see io.apicurio.registry.storage.decorator.RegistryStorageDecorator#deleteArtifacts(java.lang.String)
-     */
-    @Override
-    public void deleteArtifacts(String groupId) throws RegistryStorageException {
-        super.deleteArtifacts(groupId);
-        limitsService.artifactDeleted();
-    }
-
-    /**
-     * @see io.apicurio.registry.storage.decorator.RegistryStorageDecorator#deleteArtifactVersion(java.lang.String, java.lang.String, java.lang.String)
-     */
-    @Override
-    public void deleteArtifactVersion(String groupId, String artifactId, String version)
-            throws ArtifactNotFoundException, VersionNotFoundException, RegistryStorageException {
-        super.deleteArtifactVersion(groupId, artifactId, version);
-        limitsService.artifactVersionDeleted(groupId, artifactId);
-    }
-
     /**
      * Notice the "threadContext.withContextCapture" because of using CompletionStage it's possible that certain operations may be executed in different threads.
      * But we have the TenantContext that stores per-tenant configurations in a ThreadLocale variable. We need context propagation to move the ThreadLocale context
@@ -64,7 +64,7 @@ public class TenantLimitsService {
             return LimitsCheckResult.ok();
         }
 
-        long currentTotalSchemas = storageMetricsStore.getOrInitializeTotalSchemasCounter();
+        long currentTotalSchemas = storageMetricsStore.getTotalSchemasCount();
 
         if (currentTotalSchemas < tenantContext.limitsConfig().getMaxTotalSchemas()) {
             return LimitsCheckResult.ok();
@@ -91,7 +91,7 @@ public class TenantLimitsService {
             return LimitsCheckResult.ok();
         }
 
-        long currentArtifacts = storageMetricsStore.getOrInitializeArtifactsCounter();
+        long currentArtifacts = storageMetricsStore.getArtifactsCount();
 
         if (currentArtifacts < tenantContext.limitsConfig().getMaxArtifacts()) {
             return LimitsCheckResult.ok();
@@ -118,7 +118,7 @@ public class TenantLimitsService {
             return LimitsCheckResult.ok();
         }
 
-        long currentArtifactVersions = storageMetricsStore.getOrInitializeArtifactVersionsCounter(groupId, artifactId);
+        long currentArtifactVersions = storageMetricsStore.getArtifactVersionsCount(groupId, artifactId);
 
         if (currentArtifactVersions < tenantContext.limitsConfig().getMaxVersionsPerArtifact()) {
             return LimitsCheckResult.ok();
@@ -128,26 +128,6 @@ public class TenantLimitsService {
         }
     }
 
-    public void artifactCreated() {
-        storageMetricsStore.incrementTotalSchemasCounter();
-        storageMetricsStore.incrementArtifactsCounter();
-    }
-
-    public void artifactVersionCreated(String groupId, String artifactId) {
-        storageMetricsStore.incrementTotalSchemasCounter();
-        storageMetricsStore.incrementArtifactVersionsCounter(groupId, artifactId);
-    }
-
-    public void artifactDeleted() {
-        storageMetricsStore.resetTotalSchemasCounter();
-        storageMetricsStore.resetArtifactsCounter();
-    }
-
-    public void artifactVersionDeleted(String groupId, String artifactId) {
-        storageMetricsStore.resetTotalSchemasCounter();
-        storageMetricsStore.resetArtifactVersionsCounter(groupId, artifactId);
-    }
-
     public LimitsCheckResult checkMetaData(EditableArtifactMetaDataDto meta) {
         if (meta == null || tenantContext.limitsConfig() == null) {
             return LimitsCheckResult.ok();
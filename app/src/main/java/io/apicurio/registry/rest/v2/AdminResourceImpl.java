@@ -18,11 +18,10 @@ package io.apicurio.registry.rest.v2;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.zip.ZipInputStream;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -65,7 +64,7 @@ import io.apicurio.registry.types.Current;
 import io.apicurio.registry.types.RoleType;
 import io.apicurio.registry.types.RuleType;
 import io.apicurio.registry.utils.impexp.Entity;
-import io.apicurio.registry.utils.impexp.EntityReader;
+import io.apicurio.registry.utils.impexp.EntityInput;
 
 import static io.apicurio.registry.logging.audit.AuditingConstants.KEY_FOR_BROWSER;
 import static io.apicurio.registry.logging.audit.AuditingConstants.KEY_LOGGER;
@@ -258,8 +257,13 @@ public class AdminResourceImpl implements AdminResource {
     @Audited
     @Authorized(style=AuthorizedStyle.None, level=AuthorizedLevel.Admin)
     public void importData(InputStream data) {
-        final ZipInputStream zip = new ZipInputStream(data, StandardCharsets.UTF_8);
-        final EntityReader reader = new EntityReader(zip);
+        final EntityInput reader;
+        try {
+            // the archive format (zip or binary) is detected from the first bytes
+            reader = EntityInput.open(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
         EntityInputStream stream = new EntityInputStream() {
             @Override
             public Entity nextEntity() throws IOException {
@@ -273,7 +277,7 @@ public class AdminResourceImpl implements AdminResource {
 
             @Override
             public void close() throws IOException {
-                zip.close();
+                reader.close();
             }
         };
         this.storage.importData(stream);
@@ -16,6 +16,8 @@
 
 package io.apicurio.registry.rest.v2;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Supplier;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -32,10 +34,14 @@ import io.apicurio.registry.logging.Logged;
 import io.apicurio.registry.metrics.health.liveness.ResponseErrorLivenessCheck;
 import io.apicurio.registry.metrics.health.readiness.ResponseTimeoutReadinessCheck;
 import io.apicurio.registry.rest.HeadersHack;
+import io.apicurio.registry.rest.v2.beans.BatchLookupRequest;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResult;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResults;
 import io.apicurio.registry.storage.ArtifactNotFoundException;
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.storage.dto.ArtifactMetaDataDto;
 import io.apicurio.registry.storage.dto.StoredArtifactDto;
+import io.apicurio.registry.storage.dto.StoredContentDto;
 import io.apicurio.registry.types.ArtifactMediaTypes;
 import io.apicurio.registry.types.ArtifactState;
 import io.apicurio.registry.types.ArtifactType;
@@ -106,4 +112,47 @@ public class IdsResourceImpl implements IdsResource {
         return builder.build();
     }
 
+    /**
+     * @see io.apicurio.registry.rest.v2.IdsResource#lookupBatch(io.apicurio.registry.rest.v2.beans.BatchLookupRequest)
+     */
+    @Override
+    @Authorized(style=AuthorizedStyle.None, level=AuthorizedLevel.Read)
+    public BatchLookupResults lookupBatch(BatchLookupRequest data) {
+        BatchLookupResults results = new BatchLookupResults();
+        List<Long> globalIds = orEmpty(data.getGlobalIds());
+        if (!globalIds.isEmpty()) {
+            storage.getArtifactVersionsContent(globalIds).stream()
+                    // disabled versions are not found by globalId, see getContentByGlobalId
+                    .filter(dto -> !ArtifactState.DISABLED.equals(dto.getState()))
+                    .map(IdsResourceImpl::toResult)
+                    .forEach(results.getResults()::add);
+        }
+        List<Long> contentIds = orEmpty(data.getContentIds());
+        List<String> contentHashes = orEmpty(data.getContentHashes());
+        if (!contentIds.isEmpty() || !contentHashes.isEmpty()) {
+            storage.getContent(contentIds, contentHashes).stream()
+                    .map(IdsResourceImpl::toResult)
+                    .forEach(results.getResults()::add);
+        }
+        return results;
+    }
+
+    private static BatchLookupResult toResult(StoredContentDto dto) {
+        BatchLookupResult result = new BatchLookupResult();
+        result.setGlobalId(dto.getGlobalId());
+        result.setContentId(dto.getContentId());
+        result.setContentHash(dto.getContentHash());
+        result.setGroupId(dto.getGroupId());
+        result.setArtifactId(dto.getArtifactId());
+        result.setVersion(dto.getVersion());
+        result.setType(dto.getType());
+        result.setState(dto.getState());
+        result.setContent(dto.getContent().content());
+        return result;
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? Collections.emptyList() : list;
+    }
+
 }
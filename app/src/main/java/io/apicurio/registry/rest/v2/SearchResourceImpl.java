@@ -28,7 +28,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.core.Context;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 
 import io.apicurio.registry.auth.Authorized;
@@ -161,10 +160,10 @@ public class SearchResourceImpl implements SearchResource {
 
         Set<SearchFilter> filters = new HashSet<SearchFilter>();
         if (canonical && artifactType != null) {
-            String canonicalHash = sha256Hash(canonicalizeContent(artifactType, content));
+            String canonicalHash = canonicalizeContent(artifactType, content).getSha256Hash();
             filters.add(new SearchFilter(SearchFilterType.canonicalHash, canonicalHash));
         } else if (!canonical) {
-            String contentHash = sha256Hash(content);
+            String contentHash = content.getSha256Hash();
             filters.add(new SearchFilter(SearchFilterType.contentHash, contentHash));
         } else {
             throw new BadRequestException(CANONICAL_QUERY_PARAM_ERROR_MESSAGE);
@@ -181,10 +180,6 @@ public class SearchResourceImpl implements SearchResource {
         return request.getContentType();
     }
 
-    private String sha256Hash(ContentHandle chandle) {
-        return DigestUtils.sha256Hex(chandle.bytes());
-    }
-
     private String gidOrNull(String groupId) {
         if ("default".equalsIgnoreCase(groupId)) {
             return null;
@@ -196,8 +191,7 @@ public class SearchResourceImpl implements SearchResource {
         try {
             ArtifactTypeUtilProvider provider = factory.getArtifactTypeProvider(artifactType);
             ContentCanonicalizer canonicalizer = provider.getContentCanonicalizer();
-            ContentHandle canonicalContent = canonicalizer.canonicalize(content);
-            return canonicalContent;
+            return content.canonical(artifactType, canonicalizer::canonicalize);
         } catch (Exception e) {
             log.debug("Failed to canonicalize content of type: {}", artifactType.name());
             return content;
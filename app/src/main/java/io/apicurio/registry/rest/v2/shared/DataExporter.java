@@ -19,20 +19,27 @@ package io.apicurio.registry.rest.v2.shared;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipOutputStream;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 
 import io.apicurio.registry.storage.RegistryStorage;
 import io.apicurio.registry.types.Current;
+import io.apicurio.registry.utils.impexp.ArchiveFormat;
+import io.apicurio.registry.utils.impexp.BinaryEntityWriter;
+import io.apicurio.registry.utils.impexp.Entity;
 import io.apicurio.registry.utils.impexp.EntityWriter;
+import io.quarkus.runtime.StartupEvent;
 
 /**
  * @author eric.wittmann@gmail.com
@@ -47,32 +54,44 @@ public class DataExporter {
     @Current
     RegistryStorage storage;
 
+    /**
+     * The format of the export archive, "zip" (one JSON entry per entity) or "binary" (the compact
+     * binary format).  Both formats can be imported, the format is detected automatically.
+     */
+    @ConfigProperty(name = "registry.export.format", defaultValue = "zip")
+    String exportFormat;
+
+    private ArchiveFormat format;
+
+    void onStart(@Observes StartupEvent ev) {
+        try {
+            format = ArchiveFormat.valueOf(exportFormat.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid registry.export.format '" + exportFormat + "', expected zip or binary", e);
+        }
+    }
+
     /**
      * Exports all registry data.
      */
     public Response exportData() {
+        ArchiveFormat format = this.format;
         StreamingOutput stream = new StreamingOutput() {
             @Override
             public void write(OutputStream os) throws IOException, WebApplicationException {
                 try {
-                    ZipOutputStream zip = new ZipOutputStream(os, StandardCharsets.UTF_8);
-                    EntityWriter writer = new EntityWriter(zip);
-                    AtomicInteger errorCounter = new AtomicInteger(0);
-                    storage.exportData(entity -> {
-                        try {
-                            writer.writeEntity(entity);
-                        } catch (Exception e) {
-                            // TODO do something interesting with this
-                            e.printStackTrace();
-                            errorCounter.incrementAndGet();
+                    if (format == ArchiveFormat.BINARY) {
+                        try (BinaryEntityWriter writer = new BinaryEntityWriter(os)) {
+                            exportEntities(writer::writeEntity);
+                            writer.finish();
                         }
-                        return null;
-                    });
-
-                    // TODO if the errorCounter > 0, then what?
-
-                    zip.flush();
-                    zip.close();
+                    } else {
+                        ZipOutputStream zip = new ZipOutputStream(os, StandardCharsets.UTF_8);
+                        EntityWriter writer = new EntityWriter(zip);
+                        exportEntities(writer::writeEntity);
+                        zip.flush();
+                        zip.close();
+                    }
                 } catch (IOException e) {
                     throw e;
                 } catch (Exception e) {
@@ -81,7 +100,28 @@ public class DataExporter {
             }
         };
 
-        return Response.ok(stream).type("application/zip").build();
+        return Response.ok(stream).type(format.getContentType()).build();
+    }
+
+    private void exportEntities(EntityHandler handler) {
+        AtomicInteger errorCounter = new AtomicInteger(0);
+        storage.exportData(entity -> {
+            try {
+                handler.write(entity);
+            } catch (Exception e) {
+                // TODO do something interesting with this
+                e.printStackTrace();
+                errorCounter.incrementAndGet();
+            }
+            return null;
+        });
+
+        // TODO if the errorCounter > 0, then what?
+    }
+
+    @FunctionalInterface
+    private interface EntityHandler {
+        void write(Entity entity) throws IOException;
     }
 
 }
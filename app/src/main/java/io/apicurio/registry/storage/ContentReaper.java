@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage;
+
+import io.apicurio.registry.types.Current;
+import io.quarkus.scheduler.Scheduled;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.Instant;
+import static io.quarkus.scheduler.Scheduled.ConcurrentExecution.SKIP;
+
+/**
+ * Periodically deletes the content queued for garbage collection that was not already deleted
+ * together with the versions that referenced it.  KafkaSQL collects all of it together with the
+ * versions, so there is nothing left to delete there.
+ */
+@ApplicationScoped
+public class ContentReaper {
+
+    @Inject
+    Logger log;
+
+    @Inject
+    @Current
+    RegistryStorage storage;
+
+    @ConfigProperty(name = "registry.storage.content-gc.batch-size", defaultValue = "1000")
+    int batchSize;
+
+    @Scheduled(concurrentExecution = SKIP, every = "{registry.storage.content-gc.every}")
+    void run() {
+        try {
+            log.debug("Running content reaper job at {}", Instant.now());
+            reap();
+        } catch (Exception ex) {
+            log.error("Exception thrown when running content reaper job", ex);
+        }
+    }
+
+    /**
+     * Process the queued content in batches, each in its own transaction, until the queue is drained.
+     */
+    void reap() {
+        int processed;
+        do {
+            processed = storage.deleteOrphanedContent(batchSize);
+        } while (processed >= batchSize);
+    }
+}
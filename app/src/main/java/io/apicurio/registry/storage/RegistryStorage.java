@@ -17,6 +17,7 @@
 
 package io.apicurio.registry.storage;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
@@ -36,6 +37,7 @@ import io.apicurio.registry.storage.dto.RoleMappingDto;
 import io.apicurio.registry.storage.dto.RuleConfigurationDto;
 import io.apicurio.registry.storage.dto.SearchFilter;
 import io.apicurio.registry.storage.dto.StoredArtifactDto;
+import io.apicurio.registry.storage.dto.StoredContentDto;
 import io.apicurio.registry.storage.dto.VersionSearchResultsDto;
 import io.apicurio.registry.storage.impexp.EntityInputStream;
 import io.apicurio.registry.types.ArtifactState;
@@ -186,6 +188,23 @@ public interface RegistryStorage {
      */
     public ContentHandle getArtifactByContentHash(String contentHash) throws ContentNotFoundException, RegistryStorageException;
 
+    /**
+     * Gets the content and meta-data of many artifact versions by their unique global IDs, in a single
+     * round trip to the storage.  Global IDs that do not exist are ignored.
+     * @param globalIds
+     * @throws RegistryStorageException
+     */
+    public List<StoredContentDto> getArtifactVersionsContent(Collection<Long> globalIds) throws RegistryStorageException;
+
+    /**
+     * Gets many pieces of content by their contentIds and/or SHA-256 content hashes, in a single round
+     * trip to the storage.  Content IDs and hashes that do not exist are ignored.
+     * @param contentIds
+     * @param contentHashes
+     * @throws RegistryStorageException
+     */
+    public List<StoredContentDto> getContent(Collection<Long> contentIds, Collection<String> contentHashes) throws RegistryStorageException;
+
     /**
      * Get artifact metadata for a given contentId
      * @param contentId
@@ -276,6 +295,24 @@ public interface RegistryStorage {
      */
     public ArtifactMetaDataDto getArtifactMetaData(long globalId) throws ArtifactNotFoundException, RegistryStorageException;
 
+    /**
+     * Gets the principal that created the artifact, which is all that is needed for owner-based authorization.
+     * Implementations may cache it, since it never changes for the life of the artifact.
+     * @param groupId
+     * @param artifactId
+     * @throws ArtifactNotFoundException
+     * @throws RegistryStorageException
+     */
+    public String getArtifactCreatedBy(String groupId, String artifactId) throws ArtifactNotFoundException, RegistryStorageException;
+
+    /**
+     * Gets the principal that created the artifact of the version with the given globalId.
+     * @param globalId
+     * @throws ArtifactNotFoundException
+     * @throws RegistryStorageException
+     */
+    public String getArtifactCreatedBy(long globalId) throws ArtifactNotFoundException, RegistryStorageException;
+
     /**
      * Updates the stored meta-data for an artifact by group and ID.  Only the client-editable meta-data can be updated.  Client
      * editable meta-data includes e.g. name and description. TODO what if set to null?
@@ -654,4 +691,23 @@ public interface RegistryStorage {
      * @throws RegistryStorageException
      */
     public void deleteAllExpiredDownloads() throws RegistryStorageException;
+
+    /**
+     * Called to delete content that was queued for garbage collection when versions were deleted,
+     * and that is no longer referenced by any version.
+     * @param batchSize the maximum number of queued content rows to process
+     * @return the number of queued content rows that were processed, always 0 for the storages that
+     * collect the content together with the deletes
+     * @throws RegistryStorageException
+     */
+    public int deleteOrphanedContent(int batchSize) throws RegistryStorageException;
+
+    /**
+     * Called to delete the next batch of the user data of the current tenant, see {@link #deleteAllUserData()}.
+     * The progress is stored along with every batch, so that an interrupted deletion resumes where it stopped.
+     * @param batchSize the maximum number of versions, artifacts or content rows to delete
+     * @return the number of rows that were deleted, 0 once all the user data is deleted
+     * @throws RegistryStorageException
+     */
+    public int deleteUserDataBatch(int batchSize) throws RegistryStorageException;
 }
@@ -41,6 +41,7 @@ import io.apicurio.registry.storage.dto.RoleMappingDto;
 import io.apicurio.registry.storage.dto.RuleConfigurationDto;
 import io.apicurio.registry.storage.dto.SearchFilter;
 import io.apicurio.registry.storage.dto.StoredArtifactDto;
+import io.apicurio.registry.storage.dto.StoredContentDto;
 import io.apicurio.registry.storage.dto.VersionSearchResultsDto;
 import io.apicurio.registry.storage.impexp.EntityInputStream;
 import io.apicurio.registry.types.ArtifactState;
@@ -48,6 +49,7 @@ import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.types.RuleType;
 import io.apicurio.registry.utils.impexp.Entity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
@@ -235,6 +237,23 @@ public abstract class RegistryStorageDecorator implements RegistryStorage {
         return delegate.getArtifactByContentHash(contentHash);
     }
 
+    /**
+     * @see RegistryStorage#getArtifactVersionsContent(java.util.Collection)
+     */
+    @Override
+    public List<StoredContentDto> getArtifactVersionsContent(Collection<Long> globalIds) throws RegistryStorageException {
+        return delegate.getArtifactVersionsContent(globalIds);
+    }
+
+    /**
+     * @see RegistryStorage#getContent(java.util.Collection, java.util.Collection)
+     */
+    @Override
+    public List<StoredContentDto> getContent(Collection<Long> contentIds, Collection<String> contentHashes)
+        throws RegistryStorageException {
+        return delegate.getContent(contentIds, contentHashes);
+    }
+
     /**
      * @param contentId
      * @return
@@ -352,6 +371,22 @@ public abstract class RegistryStorageDecorator implements RegistryStorage {
         return delegate.getArtifactMetaData(globalId);
     }
 
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#getArtifactCreatedBy(java.lang.String, java.lang.String)
+     */
+    @Override
+    public String getArtifactCreatedBy(String groupId, String artifactId) throws ArtifactNotFoundException, RegistryStorageException {
+        return delegate.getArtifactCreatedBy(groupId, artifactId);
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#getArtifactCreatedBy(long)
+     */
+    @Override
+    public String getArtifactCreatedBy(long globalId) throws ArtifactNotFoundException, RegistryStorageException {
+        return delegate.getArtifactCreatedBy(globalId);
+    }
+
     /**
      * @param groupId
      * @param artifactId
@@ -885,4 +920,20 @@ public abstract class RegistryStorageDecorator implements RegistryStorage {
     public void deleteAllExpiredDownloads() throws RegistryStorageException {
         delegate.deleteAllExpiredDownloads();
     }
+
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#deleteOrphanedContent(int)
+     */
+    @Override
+    public int deleteOrphanedContent(int batchSize) throws RegistryStorageException {
+        return delegate.deleteOrphanedContent(batchSize);
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#deleteUserDataBatch(int)
+     */
+    @Override
+    public int deleteUserDataBatch(int batchSize) throws RegistryStorageException {
+        return delegate.deleteUserDataBatch(batchSize);
+    }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.storage.dto;
+
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.types.ArtifactState;
+import io.apicurio.registry.types.ArtifactType;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Content returned by the batch lookups of the storage.  The artifact version fields (globalId, groupId,
+ * artifactId, version, type and state) are only set when the content was looked up by globalId.
+ */
+@Value
+@Builder
+public class StoredContentDto {
+
+    private Long globalId;
+    private Long contentId;
+    private String contentHash;
+
+    private String groupId;
+    private String artifactId;
+    private String version;
+    private ArtifactType type;
+    private ArtifactState state;
+
+    private ContentHandle content;
+
+}
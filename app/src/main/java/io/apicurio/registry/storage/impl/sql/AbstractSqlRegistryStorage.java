@@ -21,7 +21,12 @@ import static io.apicurio.registry.storage.impl.sql.SqlUtil.normalizeGroupId;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -30,13 +35,16 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
 import javax.transaction.Transactional;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 
@@ -81,6 +89,7 @@ import io.apicurio.registry.storage.dto.SearchFilterType;
 import io.apicurio.registry.storage.dto.SearchedArtifactDto;
 import io.apicurio.registry.storage.dto.SearchedVersionDto;
 import io.apicurio.registry.storage.dto.StoredArtifactDto;
+import io.apicurio.registry.storage.dto.StoredContentDto;
 import io.apicurio.registry.storage.dto.VersionSearchResultsDto;
 import io.apicurio.registry.storage.impexp.EntityInputStream;
 import io.apicurio.registry.storage.impl.AbstractRegistryStorage;
@@ -103,6 +112,7 @@ import io.apicurio.registry.storage.impl.sql.mappers.RuleConfigurationDtoMapper;
 import io.apicurio.registry.storage.impl.sql.mappers.SearchedArtifactMapper;
 import io.apicurio.registry.storage.impl.sql.mappers.SearchedVersionMapper;
 import io.apicurio.registry.storage.impl.sql.mappers.StoredArtifactMapper;
+import io.apicurio.registry.storage.impl.sql.mappers.StoredContentDtoMapper;
 import io.apicurio.registry.types.ArtifactState;
 import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.types.RuleType;
@@ -139,6 +149,11 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
     private static final String GLOBAL_ID_SEQUENCE = "globalId";
     private static final String CONTENT_ID_SEQUENCE = "contentId";
 
+    /**
+     * The maximum number of parameters of the IN clauses of the batch lookups, larger batches are split.
+     */
+    private static final int MAX_BATCH_LOOKUP_SIZE = 1000;
+
     @Inject
     Logger log;
 
@@ -167,6 +182,15 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
     @Inject
     HandleFactory handles;
 
+    @Inject
+    RoleMappingCache roleMappingCache;
+
+    @Inject
+    ArtifactOwnerCache artifactOwnerCache;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
     protected SqlStatements sqlStatements() {
         return sqlStatements;
     }
@@ -174,6 +198,9 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
     @ConfigProperty(name = "registry.sql.init", defaultValue = "true")
     boolean initDB;
 
+    @ConfigProperty(name = "registry.storage.content-gc.batch-size", defaultValue = "1000")
+    int contentGcBatchSize;
+
     @ConfigProperty(name = "quarkus.datasource.jdbc.url")
     String jdbcUrl;
 
@@ -362,6 +389,69 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
         });
     }
 
+    /**
+     * @see RegistryStorage#getArtifactVersionsContent(java.util.Collection)
+     */
+    @Override
+    public List<StoredContentDto> getArtifactVersionsContent(Collection<Long> globalIds) throws RegistryStorageException {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(globalIds));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return handles.withHandleNoException( handle -> {
+            List<StoredContentDto> results = new ArrayList<>(ids.size());
+            for (int from = 0; from < ids.size(); from += MAX_BATCH_LOOKUP_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + MAX_BATCH_LOOKUP_SIZE, ids.size()));
+                Query query = handle.createQuery(sqlStatements().selectArtifactVersionsContentByGlobalIds(batch.size()))
+                        .bind(0, tenantContext.tenantId());
+                int idx = 1;
+                for (Long globalId : batch) {
+                    query.bind(idx++, globalId);
+                }
+                results.addAll(query.map(StoredContentDtoMapper.instance).list());
+            }
+            return results;
+        });
+    }
+
+    /**
+     * @see RegistryStorage#getContent(java.util.Collection, java.util.Collection)
+     */
+    @Override
+    public List<StoredContentDto> getContent(Collection<Long> contentIds, Collection<String> contentHashes) throws RegistryStorageException {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(contentIds));
+        List<String> hashes = new ArrayList<>(new LinkedHashSet<>(contentHashes));
+        if (ids.isEmpty() && hashes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return handles.withHandleNoException( handle -> {
+            // a content row matching both an id and a hash of the same batch is returned only once
+            Map<Long, StoredContentDto> results = new LinkedHashMap<>();
+            int idFrom = 0;
+            int hashFrom = 0;
+            while (idFrom < ids.size() || hashFrom < hashes.size()) {
+                List<Long> idBatch = ids.subList(idFrom, Math.min(idFrom + MAX_BATCH_LOOKUP_SIZE, ids.size()));
+                int hashBatchSize = Math.min(MAX_BATCH_LOOKUP_SIZE - idBatch.size(), hashes.size() - hashFrom);
+                List<String> hashBatch = hashes.subList(hashFrom, hashFrom + hashBatchSize);
+                idFrom += idBatch.size();
+                hashFrom += hashBatch.size();
+
+                Query query = handle.createQuery(sqlStatements().selectContentByIdsOrHashes(idBatch.size(), hashBatch.size()))
+                        .bind(0, tenantContext.tenantId());
+                int idx = 1;
+                for (Long contentId : idBatch) {
+                    query.bind(idx++, contentId);
+                }
+                for (String contentHash : hashBatch) {
+                    query.bind(idx++, contentHash);
+                }
+                query.map(StoredContentDtoMapper.contentOnly).list()
+                        .forEach(dto -> results.putIfAbsent(dto.getContentId(), dto));
+            }
+            return new ArrayList<>(results.values());
+        });
+    }
+
     /**
      * @see RegistryStorage#getArtifactByContentId(long)
      */
@@ -527,6 +617,8 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
             }
         }
 
+        updateTenantUsage(handle, firstVersion ? 1 : 0, 1);
+
         // Insert labels into the "labels" table
         if (labels != null && !labels.isEmpty()) {
             labels.forEach(label -> {
@@ -579,10 +671,8 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
      */
     protected Long createOrUpdateContent(Handle handle, ArtifactType artifactType, ContentHandle content) {
         byte[] contentBytes = content.bytes();
-        String contentHash = DigestUtils.sha256Hex(contentBytes);
-        ContentHandle canonicalContent = this.canonicalizeContent(artifactType, content);
-        byte[] canonicalContentBytes = canonicalContent.bytes();
-        String canonicalContentHash = DigestUtils.sha256Hex(canonicalContentBytes);
+        String contentHash = content.getSha256Hash();
+        String canonicalContentHash = this.canonicalizeContent(artifactType, content).getSha256Hash();
 
         // Upsert a row in the "content" table.  This will insert a row for the content
         // iff a row doesn't already exist.  We use the canonical hash to determine whether
@@ -743,6 +833,14 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
                     .bind(3, artifactId)
                     .execute();
 
+                // Queue the content of the versions for garbage collection
+                sql = sqlStatements.insertContentGcCandidates();
+                handle.createUpdate(sql)
+                    .bind(0, tenantContext.tenantId())
+                    .bind(1, normalizeGroupId(groupId))
+                    .bind(2, artifactId)
+                    .execute();
+
                 // Delete versions
                 sql = sqlStatements.deleteVersions();
                 handle.createUpdate(sql)
@@ -769,9 +867,12 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
                 if (rowCount == 0) {
                     throw new ArtifactNotFoundException(groupId, artifactId);
                 }
+                updateTenantUsage(handle, -1, -versions.size());
                 return versions;
             });
-            deleteAllOrphanedContent();
+            String tenantId = tenantContext.tenantId();
+            invalidateOnCompletion(() -> artifactOwnerCache.invalidate(tenantId, normalizeGroupId(groupId), artifactId));
+            deleteOrphanedContent(tenantContext.tenantId());
             return res;
         } catch (ArtifactNotFoundException e) {
             throw e;
@@ -807,9 +908,16 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
                     .bind(2, normalizeGroupId(groupId))
                     .execute();
 
+                // Queue the content of the versions for garbage collection
+                sql = sqlStatements.insertContentGcCandidatesByGroupId();
+                handle.createUpdate(sql)
+                    .bind(0, tenantContext.tenantId())
+                    .bind(1, normalizeGroupId(groupId))
+                    .execute();
+
                 // Delete versions
                 sql = sqlStatements.deleteVersionsByGroupId();
-                handle.createUpdate(sql)
+                int versionCount = handle.createUpdate(sql)
                     .bind(0, tenantContext.tenantId())
                     .bind(1, normalizeGroupId(groupId))
                     .execute();
@@ -830,9 +938,12 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
                 if (rowCount == 0) {
                     throw new ArtifactNotFoundException(groupId, null);
                 }
+                updateTenantUsage(handle, -rowCount, -versionCount);
                 return null;
             });
-            deleteAllOrphanedContent();
+            String tenantId = tenantContext.tenantId();
+            invalidateOnCompletion(() -> artifactOwnerCache.invalidateGroup(tenantId, normalizeGroupId(groupId)));
+            deleteOrphanedContent(tenantContext.tenantId());
         } catch (ArtifactNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -1194,10 +1305,9 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
         String hash;
         if (canonical) {
             ArtifactType type = this.getArtifactMetaData(groupId, artifactId).getType();
-            ContentHandle canonicalContent = this.canonicalizeContent(type, content);
-            hash = DigestUtils.sha256Hex(canonicalContent.bytes());
+            hash = this.canonicalizeContent(type, content).getSha256Hash();
         } else {
-            hash = DigestUtils.sha256Hex(content.bytes());
+            hash = content.getSha256Hash();
         }
 
         try {
@@ -1246,6 +1356,66 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
         }
     }
 
+    /**
+     * @see RegistryStorage#getArtifactCreatedBy(java.lang.String, java.lang.String)
+     */
+    @Override
+    public String getArtifactCreatedBy(String groupId, String artifactId)
+            throws ArtifactNotFoundException, RegistryStorageException {
+        String tenantId = tenantContext.tenantId();
+        return artifactOwnerCache.getCreatedBy(tenantId, normalizeGroupId(groupId), artifactId, () -> {
+            log.debug("Selecting the creator of artifact: {} {}", groupId, artifactId);
+            try {
+                return this.handles.withHandle( handle -> {
+                    String sql = sqlStatements.selectArtifactCreatedBy();
+                    List<String> res = handle.createQuery(sql)
+                            .bind(0, tenantId)
+                            .bind(1, normalizeGroupId(groupId))
+                            .bind(2, artifactId)
+                            .map(rs -> rs.getString("createdBy"))
+                            .list();
+                    if (res.isEmpty()) {
+                        throw new ArtifactNotFoundException(groupId, artifactId);
+                    }
+                    return res.get(0);
+                });
+            } catch (ArtifactNotFoundException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RegistryStorageException(e);
+            }
+        });
+    }
+
+    /**
+     * @see RegistryStorage#getArtifactCreatedBy(long)
+     */
+    @Override
+    public String getArtifactCreatedBy(long globalId) throws ArtifactNotFoundException, RegistryStorageException {
+        String tenantId = tenantContext.tenantId();
+        return artifactOwnerCache.getCreatedBy(tenantId, globalId, () -> {
+            log.debug("Selecting the creator of the artifact of globalId: {}", globalId);
+            try {
+                return this.handles.withHandle( handle -> {
+                    String sql = sqlStatements.selectArtifactCreatedByGlobalId();
+                    List<String> res = handle.createQuery(sql)
+                            .bind(0, tenantId)
+                            .bind(1, globalId)
+                            .map(rs -> rs.getString("createdBy"))
+                            .list();
+                    if (res.isEmpty()) {
+                        throw new ArtifactNotFoundException(null, String.valueOf(globalId));
+                    }
+                    return res.get(0);
+                });
+            } catch (ArtifactNotFoundException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RegistryStorageException(e);
+            }
+        });
+    }
+
     /**
      * @see RegistryStorage#updateArtifactMetaData(java.lang.String, java.lang.String, io.apicurio.registry.storage.dto.EditableArtifactMetaDataDto)
      */
@@ -1622,6 +1792,15 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
                     .bind(4, version)
                     .execute();
 
+                // Queue the content of the version for garbage collection
+                sql = sqlStatements.insertContentGcCandidateByVersion();
+                handle.createUpdate(sql)
+                    .bind(0, tenantContext.tenantId())
+                    .bind(1, normalizeGroupId(groupId))
+                    .bind(2, artifactId)
+                    .bind(3, version)
+                    .execute();
+
                 // Delete version
                 sql = sqlStatements.deleteVersion();
                 int rows = handle.createUpdate(sql)
@@ -1634,6 +1813,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
                 // If the row was deleted, update the "latest" column to the globalId of the highest remaining version
                 if (rows == 1) {
                     versions.remove(version);
+                    updateTenantUsage(handle, 0, -1);
 
                     // Update the 'latest' version of the artifact to the globalId of the highest remaining version
                     String latestVersion = versions.get(versions.size() - 1);
@@ -1655,7 +1835,9 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
 
                 return null;
             });
-            deleteAllOrphanedContent();
+            String tenantId = tenantContext.tenantId();
+            invalidateOnCompletion(() -> artifactOwnerCache.invalidate(tenantId, normalizeGroupId(groupId), artifactId));
+            deleteOrphanedContent(tenantContext.tenantId());
         } catch (VersionNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -2304,14 +2486,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
      */
     @Override
     public long countArtifacts() throws RegistryStorageException {
-        return handles.withHandle(handle -> {
-            String sql = sqlStatements.selectAllArtifactCount();
-            Long count = handle.createQuery(sql)
-                    .bind(0, tenantContext.tenantId())
-                    .mapTo(Long.class)
-                    .one();
-            return count;
-        });
+        return selectTenantUsage(1);
     }
 
     /**
@@ -2319,20 +2494,20 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
      */
     @Override
     public long countArtifactVersions(String groupId, String artifactId) throws RegistryStorageException {
-        if (!isArtifactExists(groupId, artifactId)) {
-            throw new ArtifactNotFoundException(groupId, artifactId);
-        }
-
-        return handles.withHandle(handle -> {
+        long count = handles.withHandle(handle -> {
             String sql = sqlStatements.selectAllArtifactVersionsCount();
-            Long count = handle.createQuery(sql)
+            return handle.createQuery(sql)
                     .bind(0, tenantContext.tenantId())
                     .bind(1, normalizeGroupId(groupId))
                     .bind(2, artifactId)
                     .mapTo(Long.class)
                     .one();
-            return count;
         });
+        // every artifact has at least one version
+        if (count == 0) {
+            throw new ArtifactNotFoundException(groupId, artifactId);
+        }
+        return count;
     }
 
     /**
@@ -2340,16 +2515,60 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
      */
     @Override
     public long countTotalArtifactVersions() throws RegistryStorageException {
-        return handles.withHandle(handle -> {
-            String sql = sqlStatements.selectTotalArtifactVersionsCount();
-            Long count = handle.createQuery(sql)
+        return selectTenantUsage(2);
+    }
+
+    /**
+     * Reads one of the usage counters of the current tenant, which are updated in the same transaction as
+     * the artifacts and versions they count, instead of counting the rows every time.
+     * @param column 1 for the number of artifacts, 2 for the number of versions
+     */
+    private long selectTenantUsage(int column) {
+        return handles.withHandleNoException(handle -> {
+            String sql = sqlStatements.selectTenantUsage();
+            return handle.createQuery(sql)
                     .bind(0, tenantContext.tenantId())
-                    .mapTo(Long.class)
-                    .one();
-            return count;
+                    .map(rs -> rs.getLong(column))
+                    .findOne()
+                    .orElse(0L);
         });
     }
 
+    /**
+     * Adds to the usage counters of the current tenant, in the same transaction as the change being counted.
+     * With KafkaSQL this happens on every node while applying the journal.
+     */
+    private void updateTenantUsage(Handle handle, long artifacts, long versions) {
+        String tenantId = tenantContext.tenantId();
+        if (incrementTenantUsage(handle, tenantId, artifacts, versions) > 0) {
+            return;
+        }
+        try {
+            handle.createUpdate(sqlStatements.insertTenantUsage())
+                .bind(0, tenantId)
+                .bind(1, artifacts)
+                .bind(2, versions)
+                .execute();
+        } catch (Exception e) {
+            // the row was created by a concurrent transaction in the meantime
+            if (!sqlStatements.isPrimaryKeyViolation(e) || incrementTenantUsage(handle, tenantId, artifacts, versions) == 0) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Adds to the existing usage counters of the tenant, a single statement so that concurrent changes are not lost.
+     * @return the number of updated rows, 0 if the tenant has no counters yet
+     */
+    private int incrementTenantUsage(Handle handle, String tenantId, long artifacts, long versions) {
+        return handle.createUpdate(sqlStatements.updateTenantUsage())
+            .bind(0, artifacts)
+            .bind(1, versions)
+            .bind(2, tenantId)
+            .execute();
+    }
+
     /**
      * @see io.apicurio.registry.storage.RegistryStorage#createRoleMapping(java.lang.String, java.lang.String, java.lang.String)
      */
@@ -2372,6 +2591,9 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
                 throw new RoleMappingAlreadyExistsException();
             }
             throw new RegistryStorageException(e);
+        } finally {
+            String tenantId = tenantContext.tenantId();
+            invalidateOnCompletion(() -> roleMappingCache.invalidate(tenantId));
         }
     }
 
@@ -2397,6 +2619,9 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
             throw e;
         } catch (Exception e) {
             throw new RegistryStorageException(e);
+        } finally {
+            String tenantId = tenantContext.tenantId();
+            invalidateOnCompletion(() -> roleMappingCache.invalidate(tenantId));
         }
     }
 
@@ -2428,20 +2653,23 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
      */
     @Override
     public String getRoleForPrincipal(String principalId) throws RegistryStorageException {
-        log.debug("Selecting the role for: {}", principalId);
-        try {
-            return this.handles.withHandle( handle -> {
-                String sql = sqlStatements.selectRoleByPrincipalId();
-                Optional<String> res = handle.createQuery(sql)
-                        .bind(0, tenantContext.tenantId())
-                        .bind(1, principalId)
-                        .mapTo(String.class)
-                        .findOne();
-                return res.orElse(null);
-            });
-        } catch (Exception e) {
-            throw new RegistryStorageException(e);
-        }
+        String tenantId = tenantContext.tenantId();
+        return roleMappingCache.getRole(tenantId, principalId, () -> {
+            log.debug("Selecting the role for: {}", principalId);
+            try {
+                return this.handles.withHandle( handle -> {
+                    String sql = sqlStatements.selectRoleByPrincipalId();
+                    Optional<String> res = handle.createQuery(sql)
+                            .bind(0, tenantId)
+                            .bind(1, principalId)
+                            .mapTo(String.class)
+                            .findOne();
+                    return res.orElse(null);
+                });
+            } catch (Exception e) {
+                throw new RegistryStorageException(e);
+            }
+        });
     }
 
     /**
@@ -2482,6 +2710,9 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
             throw e;
         } catch (Exception e) {
             throw new RegistryStorageException(e);
+        } finally {
+            String tenantId = tenantContext.tenantId();
+            invalidateOnCompletion(() -> roleMappingCache.invalidate(tenantId));
         }
     }
 
@@ -2604,6 +2835,11 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
                 .bind(0, tenantContext.tenantId())
                 .execute();
 
+            sql = sqlStatements.deleteTenantUsage();
+            handle.createUpdate(sql)
+                .bind(0, tenantContext.tenantId())
+                .execute();
+
             // Delete all groups
 
             sql = sqlStatements.deleteAllGroups();
@@ -2618,6 +2854,13 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
                 .bind(0, tenantContext.tenantId())
                 .execute();
 
+            // Delete all queued content by tenantId
+
+            sql = sqlStatements.deleteAllContentGcCandidates();
+            handle.createUpdate(sql)
+                .bind(0, tenantContext.tenantId())
+                .execute();
+
             // Delete all content by tenantId
 
             sql = sqlStatements.deleteAllContent();
@@ -2625,24 +2868,319 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
                 .bind(0, tenantContext.tenantId())
                 .execute();
 
+            // Forget any batched deletion in progress
+
+            sql = sqlStatements.deleteTenantPurge();
+            handle.createUpdate(sql)
+                .bind(0, tenantContext.tenantId())
+                .execute();
+
             return null;
         });
 
+        String tenantId = tenantContext.tenantId();
+        invalidateOnCompletion(() -> {
+            roleMappingCache.invalidate(tenantId);
+            artifactOwnerCache.invalidate(tenantId);
+        });
+
     }
 
-    protected void deleteAllOrphanedContent() {
-        log.debug("Deleting all orphaned content");
-        handles.withHandleNoException( handle -> {
+    /**
+     * @see RegistryStorage#deleteUserDataBatch(int)
+     */
+    @Override @Transactional
+    public int deleteUserDataBatch(int batchSize) throws RegistryStorageException {
+        log.debug("Deleting a batch of user data");
+        String tenantId = tenantContext.tenantId();
+        int deleted = handles.withHandleNoException( handle -> {
+            // Lock the progress, so that only one node deletes the data of a tenant at a time
+            Optional<TenantPurge> progress = handle.createQuery(sqlStatements.selectTenantPurge())
+                    .bind(0, tenantId)
+                    .map(rs -> {
+                        TenantPurge p = new TenantPurge();
+                        p.phase = rs.getString(1);
+                        p.lastId = rs.getLong(2);
+                        p.lastGroupId = rs.getString(3);
+                        p.lastArtifactId = rs.getString(4);
+                        return p;
+                    })
+                    .findOne();
+            TenantPurge purge = progress.orElseGet(TenantPurge::new);
+            if (!progress.isPresent()) {
+                handle.createUpdate(sqlStatements.insertTenantPurge())
+                    .bind(0, tenantId)
+                    .bind(1, purge.phase)
+                    .bind(2, purge.lastId)
+                    .bind(3, purge.lastGroupId)
+                    .bind(4, purge.lastArtifactId)
+                    .execute();
+            }
 
-            // Delete orphaned content
-            String sql = sqlStatements.deleteAllOrphanedContent();
-            handle.createUpdate(sql)
+            // Versions first, then artifacts and content, following the foreign keys.  Phases with nothing
+            // left to delete are skipped, so that 0 is only returned once everything is deleted.
+            int rows = 0;
+            while (rows == 0 && !TenantPurge.REMAINING.equals(purge.phase)) {
+                switch (purge.phase) {
+                    case TenantPurge.VERSIONS:
+                        rows = deleteVersionsBatch(handle, purge, batchSize);
+                        break;
+                    case TenantPurge.ARTIFACTS:
+                        rows = deleteArtifactsBatch(handle, purge, batchSize);
+                        break;
+                    case TenantPurge.CONTENT:
+                        rows = deleteContentBatch(handle, purge, batchSize);
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown user data deletion phase: " + purge.phase);
+                }
+            }
+
+            if (TenantPurge.REMAINING.equals(purge.phase)) {
+                // The remaining tables hold a few rows per tenant
+                rows += deleteByTenant(handle, sqlStatements.deleteAllContentGcCandidates());
+                rows += deleteByTenant(handle, sqlStatements.deleteAllGroups());
+                rows += deleteByTenant(handle, sqlStatements.deleteAllRoleMappings());
+                rows += deleteByTenant(handle, sqlStatements.deleteGlobalRules());
+                rows += deleteByTenant(handle, sqlStatements.deleteTenantUsage());
+                deleteByTenant(handle, sqlStatements.deleteTenantPurge());
+            } else {
+                handle.createUpdate(sqlStatements.updateTenantPurge())
+                    .bind(0, purge.phase)
+                    .bind(1, purge.lastId)
+                    .bind(2, purge.lastGroupId)
+                    .bind(3, purge.lastArtifactId)
+                    .bind(4, tenantId)
+                    .execute();
+            }
+            return rows;
+        });
+
+        invalidateOnCompletion(() -> {
+            roleMappingCache.invalidate(tenantId);
+            artifactOwnerCache.invalidate(tenantId);
+        });
+        return deleted;
+    }
+
+    private int deleteVersionsBatch(Handle handle, TenantPurge purge, int batchSize) {
+        List<Long> globalIds = handle.createQuery(sqlStatements.selectVersionGlobalIdsAfter())
+                .bind(0, tenantContext.tenantId())
+                .bind(1, purge.lastId)
+                .bind(2, batchSize)
+                .mapTo(Long.class)
+                .list();
+        int rows = 0;
+        if (!globalIds.isEmpty()) {
+            long from = globalIds.get(0);
+            long to = globalIds.get(globalIds.size() - 1);
+            rows += deleteRange(handle, sqlStatements.deleteLabelsByGlobalIdRange(), from, to);
+            rows += deleteRange(handle, sqlStatements.deletePropertiesByGlobalIdRange(), from, to);
+            rows += deleteRange(handle, sqlStatements.deleteVersionsByGlobalIdRange(), from, to);
+            purge.lastId = to;
+        }
+        if (globalIds.size() < batchSize) {
+            purge.next(TenantPurge.ARTIFACTS);
+        }
+        return rows;
+    }
+
+    private int deleteArtifactsBatch(Handle handle, TenantPurge purge, int batchSize) {
+        List<String[]> keys = handle.createQuery(sqlStatements.selectArtifactKeysAfter())
+                .bind(0, tenantContext.tenantId())
+                .bind(1, purge.lastGroupId)
+                .bind(2, purge.lastGroupId)
+                .bind(3, purge.lastArtifactId)
+                .bind(4, batchSize)
+                .map(rs -> new String[] { rs.getString(1), rs.getString(2) })
+                .list();
+        int rows = 0;
+        for (String[] key : keys) {
+            rows += handle.createUpdate(sqlStatements.deleteArtifactRules())
+                .bind(0, tenantContext.tenantId())
+                .bind(1, key[0])
+                .bind(2, key[1])
+                .execute();
+            rows += handle.createUpdate(sqlStatements.deleteArtifact())
+                .bind(0, tenantContext.tenantId())
+                .bind(1, key[0])
+                .bind(2, key[1])
                 .execute();
+        }
+        if (!keys.isEmpty()) {
+            String[] last = keys.get(keys.size() - 1);
+            purge.lastGroupId = last[0];
+            purge.lastArtifactId = last[1];
+        }
+        if (keys.size() < batchSize) {
+            purge.next(TenantPurge.CONTENT);
+        }
+        return rows;
+    }
 
-            return null;
+    private int deleteContentBatch(Handle handle, TenantPurge purge, int batchSize) {
+        List<Long> contentIds = handle.createQuery(sqlStatements.selectContentIdsAfter())
+                .bind(0, tenantContext.tenantId())
+                .bind(1, purge.lastId)
+                .bind(2, batchSize)
+                .mapTo(Long.class)
+                .list();
+        int rows = 0;
+        if (!contentIds.isEmpty()) {
+            long from = contentIds.get(0);
+            long to = contentIds.get(contentIds.size() - 1);
+            rows += deleteRange(handle, sqlStatements.deleteContentGcCandidatesByContentIdRange(), from, to);
+            rows += deleteRange(handle, sqlStatements.deleteContentByContentIdRange(), from, to);
+            purge.lastId = to;
+        }
+        if (contentIds.size() < batchSize) {
+            purge.next(TenantPurge.REMAINING);
+        }
+        return rows;
+    }
+
+    private int deleteRange(Handle handle, String sql, long from, long to) {
+        return handle.createUpdate(sql)
+            .bind(0, tenantContext.tenantId())
+            .bind(1, from)
+            .bind(2, to)
+            .execute();
+    }
+
+    private int deleteByTenant(Handle handle, String sql) {
+        return handle.createUpdate(sql)
+            .bind(0, tenantContext.tenantId())
+            .execute();
+    }
+
+    /**
+     * Progress of the batched deletion of the data of a tenant, stored in the "tenant_purge" table.  The
+     * last deleted key of the current phase is kept, so that every batch starts with an index range scan
+     * instead of skipping over the rows deleted by the previous batches.
+     */
+    private static class TenantPurge {
+
+        static final String VERSIONS = "versions";
+        static final String ARTIFACTS = "artifacts";
+        static final String CONTENT = "content";
+        static final String REMAINING = "remaining";
+
+        String phase = VERSIONS;
+        long lastId = Long.MIN_VALUE;
+        String lastGroupId = "";
+        String lastArtifactId = "";
+
+        void next(String nextPhase) {
+            phase = nextPhase;
+            lastId = Long.MIN_VALUE;
+            lastGroupId = "";
+            lastArtifactId = "";
+        }
+    }
+
+    /**
+     * Runs the given cache invalidation now, and again once the current transaction (if any) completes, so
+     * that a lookup running concurrently with the transaction cannot cache what it read before the commit.
+     */
+    protected void invalidateOnCompletion(Runnable invalidation) {
+        invalidation.run();
+        if (transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Deletes one batch of the content queued for garbage collection by the given tenant, right after
+     * that tenant deleted some versions.  Only the queued content is checked, instead of all the content
+     * of all tenants, and whatever does not fit in the batch is left to {@link #deleteOrphanedContent(int)},
+     * unless {@link #isContentGcDrainedInline()}.
+     */
+    protected void deleteOrphanedContent(String tenantId) {
+        log.debug("Deleting orphaned content of tenant {}", tenantId);
+        int processed;
+        do {
+            processed = handles.withHandleNoException( handle -> {
+                String sql = sqlStatements.selectContentGcCandidates();
+                List<Long> contentIds = handle.createQuery(sql)
+                    .bind(0, tenantId)
+                    .bind(1, contentGcBatchSize)
+                    .map(rs -> rs.getLong(2))
+                    .list();
+                deleteOrphanedContent(handle, tenantId, contentIds);
+                return contentIds.size();
+            });
+        } while (isContentGcDrainedInline() && processed >= contentGcBatchSize);
+    }
+
+    /**
+     * @return true if the deletes must process the whole content garbage collection queue of the tenant,
+     * instead of a single batch, because nothing else collects the rest
+     */
+    protected boolean isContentGcDrainedInline() {
+        return false;
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#deleteOrphanedContent(int)
+     */
+    @Override
+    @Transactional
+    public int deleteOrphanedContent(int batchSize) throws RegistryStorageException {
+        log.debug("Deleting orphaned content");
+        return handles.withHandleNoException( handle -> {
+            String sql = sqlStatements.selectAllContentGcCandidates();
+            List<Map.Entry<String, Long>> candidates = handle.createQuery(sql)
+                .bind(0, batchSize)
+                .map(rs -> Map.entry(rs.getString(1), rs.getLong(2)))
+                .list();
+
+            Map<String, List<Long>> byTenant = candidates.stream()
+                .collect(Collectors.groupingBy(Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+            for (Map.Entry<String, List<Long>> tenant : byTenant.entrySet()) {
+                deleteOrphanedContent(handle, tenant.getKey(), tenant.getValue());
+            }
+            return candidates.size();
         });
     }
 
+    /**
+     * Deletes the given queued content, unless it is still (or again) referenced by a version, and removes
+     * it from the queue.
+     */
+    private void deleteOrphanedContent(Handle handle, String tenantId, List<Long> queued) {
+        List<Long> contentIds = queued.stream().distinct().collect(Collectors.toList());
+        if (contentIds.isEmpty()) {
+            return;
+        }
+
+        String sql = sqlStatements.deleteOrphanedContent(contentIds.size());
+        Update delete = handle.createUpdate(sql)
+            .bind(0, tenantId);
+        for (int i = 0; i < contentIds.size(); i++) {
+            delete.bind(i + 1, contentIds.get(i));
+        }
+        int deleted = delete.execute();
+
+        sql = sqlStatements.deleteContentGcCandidates(contentIds.size());
+        Update dequeue = handle.createUpdate(sql)
+            .bind(0, tenantId);
+        for (int i = 0; i < contentIds.size(); i++) {
+            dequeue.bind(i + 1, contentIds.get(i));
+        }
+        dequeue.execute();
+
+        log.debug("Deleted {} of {} queued content rows of tenant {}", deleted, contentIds.size(), tenantId);
+    }
+
     protected void resetGlobalId(Handle handle) {
         resetSequence(handle, GLOBAL_ID_SEQUENCE, sqlStatements.selectMaxGlobalId());
     }
@@ -2762,6 +3300,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
                     .bind(4, entity.createdBy)
                     .bind(5, new Date(entity.createdOn))
                     .execute();
+                updateTenantUsage(handle, 1, 0);
                 log.info("Artifact entity imported successfully.");
             } catch (Exception e) {
                 log.warn("Failed to import artifact entity.", e);
@@ -2788,6 +3327,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
                     .bind(12, SqlUtil.serializeProperties(entity.properties))
                     .bind(13, entity.contentId)
                     .execute();
+                updateTenantUsage(handle, 0, 1);
                 log.info("Artifact version entity imported successfully.");
 
                 // Insert labels into the "labels" table
@@ -2952,8 +3492,7 @@ public abstract class AbstractSqlRegistryStorage extends AbstractRegistryStorage
         try {
             ArtifactTypeUtilProvider provider = factory.getArtifactTypeProvider(artifactType);
             ContentCanonicalizer canonicalizer = provider.getContentCanonicalizer();
-            ContentHandle canonicalContent = canonicalizer.canonicalize(content);
-            return canonicalContent;
+            return content.canonical(artifactType, canonicalizer::canonicalize);
         } catch (Exception e) {
             log.debug("Failed to canonicalize content of type: {}", artifactType.name());
             return content;
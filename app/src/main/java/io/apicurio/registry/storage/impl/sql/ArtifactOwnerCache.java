@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.apicurio.registry.metrics.CacheMetrics;
+import io.apicurio.registry.utils.ExpiringLruCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Cache of the principal that created each artifact, as resolved by
+ * {@link AbstractSqlRegistryStorage#getArtifactCreatedBy(String, String)} for owner-based authorization.
+ * <p>
+ * The creator of an artifact never changes, so entries only become stale when the artifact is deleted
+ * (and possibly created again by someone else).  The entries of deleted artifacts are invalidated by the
+ * storage, on every node with KafkaSQL; with several SQL storage replicas, the other replicas see the
+ * change once their entries expire.  Artifacts that do not exist are not cached.
+ */
+@ApplicationScoped
+public class ArtifactOwnerCache {
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "registry.auth.owner-only-authorization.cache.ttl-ms", defaultValue = "60000")
+    long ttlMillis;
+
+    @ConfigProperty(name = "registry.auth.owner-only-authorization.cache.max-size", defaultValue = "10000")
+    int maxSize;
+
+    private ExpiringLruCache<ArtifactKey, String> byArtifact;
+    private ExpiringLruCache<GlobalIdKey, String> byGlobalId;
+
+    @EqualsAndHashCode
+    private static class ArtifactKey {
+        final String tenantId;
+        final String groupId;
+        final String artifactId;
+
+        ArtifactKey(String tenantId, String groupId, String artifactId) {
+            this.tenantId = tenantId;
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+        }
+    }
+
+    @EqualsAndHashCode
+    private static class GlobalIdKey {
+        final String tenantId;
+        final long globalId;
+
+        GlobalIdKey(String tenantId, long globalId) {
+            this.tenantId = tenantId;
+            this.globalId = globalId;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        byArtifact = new ExpiringLruCache<>(maxSize, ttlMillis);
+        byGlobalId = new ExpiringLruCache<>(maxSize, ttlMillis);
+        CacheMetrics.register(registry, "artifact-owner", byArtifact);
+        CacheMetrics.register(registry, "artifact-owner-by-global-id", byGlobalId);
+    }
+
+    public String getCreatedBy(String tenantId, String groupId, String artifactId, Supplier<String> loader) {
+        if (ttlMillis <= 0) {
+            return loader.get();
+        }
+        return byArtifact.get(new ArtifactKey(tenantId, groupId, artifactId), key -> loader.get());
+    }
+
+    public String getCreatedBy(String tenantId, long globalId, Supplier<String> loader) {
+        if (ttlMillis <= 0) {
+            return loader.get();
+        }
+        return byGlobalId.get(new GlobalIdKey(tenantId, globalId), key -> loader.get());
+    }
+
+    /**
+     * Called when an artifact, or some of its versions, are deleted.  Versions are cached by globalId,
+     * which is not known here, so all the versions of the tenant are invalidated (deletes are rare).
+     */
+    public void invalidate(String tenantId, String groupId, String artifactId) {
+        byArtifact.remove(new ArtifactKey(tenantId, groupId, artifactId));
+        byGlobalId.removeIf(key -> key.tenantId.equals(tenantId));
+    }
+
+    /**
+     * Called when all the artifacts of a group are deleted.
+     */
+    public void invalidateGroup(String tenantId, String groupId) {
+        byArtifact.removeIf(key -> key.tenantId.equals(tenantId) && key.groupId.equals(groupId));
+        byGlobalId.removeIf(key -> key.tenantId.equals(tenantId));
+    }
+
+    public void invalidate(String tenantId) {
+        byArtifact.removeIf(key -> key.tenantId.equals(tenantId));
+        byGlobalId.removeIf(key -> key.tenantId.equals(tenantId));
+    }
+
+}
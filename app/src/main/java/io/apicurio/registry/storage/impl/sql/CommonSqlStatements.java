@@ -19,6 +19,7 @@ package io.apicurio.registry.storage.impl.sql;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -239,6 +240,17 @@ public abstract class CommonSqlStatements implements SqlStatements {
                 + "WHERE v.tenantId = ? AND v.globalId = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactVersionsContentByGlobalIds(int)
+     */
+    @Override
+    public String selectArtifactVersionsContentByGlobalIds(int globalIdCount) {
+        return "SELECT a.type, v.groupId, v.artifactId, v.version, v.globalId, v.state, c.contentId, c.contentHash, c.content FROM versions v "
+                + "JOIN artifacts a ON v.tenantId = a.tenantId AND v.groupId = a.groupId AND v.artifactId = a.artifactId "
+                + "JOIN content c ON v.contentId = c.contentId AND v.tenantId = c.tenantId "
+                + "WHERE v.tenantId = ? AND v.globalId IN (" + parameters(globalIdCount) + ")";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactVersionContent()
      */
@@ -455,6 +467,24 @@ public abstract class CommonSqlStatements implements SqlStatements {
                 + "WHERE v.tenantId = ? AND v.globalId = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactCreatedBy()
+     */
+    @Override
+    public String selectArtifactCreatedBy() {
+        return "SELECT a.createdBy FROM artifacts a WHERE a.tenantId = ? AND a.groupId = ? AND a.artifactId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactCreatedByGlobalId()
+     */
+    @Override
+    public String selectArtifactCreatedByGlobalId() {
+        return "SELECT a.createdBy FROM artifacts a "
+                + "JOIN versions v ON a.tenantId = v.tenantId AND a.groupId = v.groupId AND a.artifactId = v.artifactId "
+                + "WHERE v.tenantId = ? AND v.globalId = ?";
+    }
+
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#updateArtifactVersionState()
      */
@@ -514,33 +544,13 @@ public abstract class CommonSqlStatements implements SqlStatements {
                 + "ORDER BY v.globalId ASC LIMIT ? OFFSET ?";
     }
 
-    /**
-     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectAllArtifactCount()
-     */
-    @Override
-    public String selectAllArtifactCount() {
-        return "SELECT COUNT(a.artifactId) FROM artifacts a "
-                + "WHERE a.tenantId = ? ";
-    }
-
     /**
      * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectAllArtifactVersionsCount()
      */
     @Override
     public String selectAllArtifactVersionsCount() {
         return "SELECT COUNT(v.globalId) FROM versions v "
-                + "JOIN artifacts a ON a.tenantId = v.tenantId AND a.groupId = v.groupId AND a.artifactId = v.artifactId "
-                + "WHERE a.tenantId = ? AND a.groupId = ? AND a.artifactId = ? ";
-    }
-
-    /**
-     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectTotalArtifactVersionsCount()
-     */
-    @Override
-    public String selectTotalArtifactVersionsCount() {
-        return "SELECT COUNT(v.globalId) FROM versions v "
-                + "JOIN artifacts a ON a.tenantId = v.tenantId AND a.groupId = v.groupId AND a.artifactId = v.artifactId "
-                + "WHERE a.tenantId = ?";
+                + "WHERE v.tenantId = ? AND v.groupId = ? AND v.artifactId = ? ";
     }
 
     /**
@@ -593,11 +603,92 @@ public abstract class CommonSqlStatements implements SqlStatements {
                 + "WHERE c.tenantId = ? AND c.contentHash = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentByIdsOrHashes(int, int)
+     */
+    @Override
+    public String selectContentByIdsOrHashes(int contentIdCount, int contentHashCount) {
+        String condition;
+        if (contentHashCount == 0) {
+            condition = "c.contentId IN (" + parameters(contentIdCount) + ")";
+        } else if (contentIdCount == 0) {
+            condition = "c.contentHash IN (" + parameters(contentHashCount) + ")";
+        } else {
+            condition = "c.contentId IN (" + parameters(contentIdCount) + ") OR c.contentHash IN (" + parameters(contentHashCount) + ")";
+        }
+        return "SELECT c.contentId, c.contentHash, c.content FROM content c "
+                + "WHERE c.tenantId = ? AND (" + condition + ")";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#insertContentGcCandidates()
+     */
+    @Override
+    public String insertContentGcCandidates() {
+        return "INSERT INTO content_gc (tenantId, contentId) "
+                + "SELECT DISTINCT v.tenantId, v.contentId FROM versions v "
+                + "WHERE v.tenantId = ? AND v.groupId = ? AND v.artifactId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#insertContentGcCandidatesByGroupId()
+     */
+    @Override
+    public String insertContentGcCandidatesByGroupId() {
+        return "INSERT INTO content_gc (tenantId, contentId) "
+                + "SELECT DISTINCT v.tenantId, v.contentId FROM versions v "
+                + "WHERE v.tenantId = ? AND v.groupId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#insertContentGcCandidateByVersion()
+     */
+    @Override
+    public String insertContentGcCandidateByVersion() {
+        return "INSERT INTO content_gc (tenantId, contentId) "
+                + "SELECT v.tenantId, v.contentId FROM versions v "
+                + "WHERE v.tenantId = ? AND v.groupId = ? AND v.artifactId = ? AND v.version = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentGcCandidates()
+     */
     @Override
-    public String deleteAllOrphanedContent() {
-        // TODO This may be too slow
+    public String selectContentGcCandidates() {
+        return "SELECT g.tenantId, g.contentId FROM content_gc g WHERE g.tenantId = ? LIMIT ?";
+    }
 
-        return "DELETE FROM content c WHERE NOT EXISTS (SELECT 1 FROM versions v WHERE v.contentId = c.contentId AND v.tenantId = c.tenantId)";
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectAllContentGcCandidates()
+     */
+    @Override
+    public String selectAllContentGcCandidates() {
+        return "SELECT g.tenantId, g.contentId FROM content_gc g LIMIT ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteOrphanedContent(int)
+     */
+    @Override
+    public String deleteOrphanedContent(int contentIdCount) {
+        return "DELETE FROM content c WHERE c.tenantId = ? AND c.contentId IN (" + parameters(contentIdCount) + ") "
+                + "AND NOT EXISTS (SELECT 1 FROM versions v WHERE v.contentId = c.contentId AND v.tenantId = c.tenantId)";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteContentGcCandidates(int)
+     */
+    @Override
+    public String deleteContentGcCandidates(int contentIdCount) {
+        return "DELETE FROM content_gc WHERE tenantId = ? AND contentId IN (" + parameters(contentIdCount) + ")";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteAllContentGcCandidates()
+     */
+    @Override
+    public String deleteAllContentGcCandidates() {
+        return "DELETE FROM content_gc WHERE tenantId = ?";
     }
 
     /**
@@ -917,4 +1008,160 @@ public abstract class CommonSqlStatements implements SqlStatements {
         return "INSERT INTO sequences (tenantId, name, value) VALUES (?, ?, ?)";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#insertOutboxEvent()
+     */
+    @Override
+    public String insertOutboxEvent() {
+        return "INSERT INTO outbox (type, artifactId, data, createdOn) VALUES (?, ?, ?, ?)";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectOutboxEvents()
+     */
+    @Override
+    public String selectOutboxEvents() {
+        return "SELECT o.id, o.type, o.artifactId, o.data FROM outbox o ORDER BY o.id LIMIT ? FOR UPDATE";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteOutboxEvents(int)
+     */
+    @Override
+    public String deleteOutboxEvents(int idCount) {
+        return "DELETE FROM outbox WHERE id IN (" + parameters(idCount) + ")";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectTenantUsage()
+     */
+    @Override
+    public String selectTenantUsage() {
+        return "SELECT u.artifacts, u.versions FROM tenant_usage u WHERE u.tenantId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#updateTenantUsage()
+     */
+    @Override
+    public String updateTenantUsage() {
+        return "UPDATE tenant_usage SET artifacts = artifacts + ?, versions = versions + ? WHERE tenantId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteTenantUsage()
+     */
+    @Override
+    public String deleteTenantUsage() {
+        return "DELETE FROM tenant_usage WHERE tenantId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectTenantPurge()
+     */
+    @Override
+    public String selectTenantPurge() {
+        return "SELECT p.phase, p.lastId, p.lastGroupId, p.lastArtifactId FROM tenant_purge p WHERE p.tenantId = ? FOR UPDATE";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#insertTenantPurge()
+     */
+    @Override
+    public String insertTenantPurge() {
+        return "INSERT INTO tenant_purge (tenantId, phase, lastId, lastGroupId, lastArtifactId) VALUES (?, ?, ?, ?, ?)";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#updateTenantPurge()
+     */
+    @Override
+    public String updateTenantPurge() {
+        return "UPDATE tenant_purge SET phase = ?, lastId = ?, lastGroupId = ?, lastArtifactId = ? WHERE tenantId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteTenantPurge()
+     */
+    @Override
+    public String deleteTenantPurge() {
+        return "DELETE FROM tenant_purge WHERE tenantId = ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectVersionGlobalIdsAfter()
+     */
+    @Override
+    public String selectVersionGlobalIdsAfter() {
+        return "SELECT v.globalId FROM versions v WHERE v.tenantId = ? AND v.globalId > ? ORDER BY v.globalId LIMIT ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteLabelsByGlobalIdRange()
+     */
+    @Override
+    public String deleteLabelsByGlobalIdRange() {
+        return "DELETE FROM labels WHERE tenantId = ? AND globalId >= ? AND globalId <= ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deletePropertiesByGlobalIdRange()
+     */
+    @Override
+    public String deletePropertiesByGlobalIdRange() {
+        return "DELETE FROM properties WHERE tenantId = ? AND globalId >= ? AND globalId <= ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteVersionsByGlobalIdRange()
+     */
+    @Override
+    public String deleteVersionsByGlobalIdRange() {
+        return "DELETE FROM versions WHERE tenantId = ? AND globalId >= ? AND globalId <= ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectArtifactKeysAfter()
+     */
+    @Override
+    public String selectArtifactKeysAfter() {
+        return "SELECT a.groupId, a.artifactId FROM artifacts a "
+                + "WHERE a.tenantId = ? AND (a.groupId > ? OR (a.groupId = ? AND a.artifactId > ?)) "
+                + "ORDER BY a.groupId, a.artifactId LIMIT ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#selectContentIdsAfter()
+     */
+    @Override
+    public String selectContentIdsAfter() {
+        return "SELECT c.contentId FROM content c WHERE c.tenantId = ? AND c.contentId > ? ORDER BY c.contentId LIMIT ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteContentGcCandidatesByContentIdRange()
+     */
+    @Override
+    public String deleteContentGcCandidatesByContentIdRange() {
+        return "DELETE FROM content_gc WHERE tenantId = ? AND contentId >= ? AND contentId <= ?";
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#deleteContentByContentIdRange()
+     */
+    @Override
+    public String deleteContentByContentIdRange() {
+        return "DELETE FROM content WHERE tenantId = ? AND contentId >= ? AND contentId <= ?";
+    }
+
+    /**
+     * @return a comma separated list of the given number of parameter placeholders
+     */
+    private static String parameters(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("At least one parameter is required: " + count);
+        }
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
 }
@@ -94,4 +94,12 @@ public class H2SqlStatements extends CommonSqlStatements {
         return "MERGE INTO sequences (tenantId, name, value) KEY (tenantId, name) VALUES(?, ?, ?)";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#insertTenantUsage()
+     */
+    @Override
+    public String insertTenantUsage() {
+        return "INSERT INTO tenant_usage (tenantId, artifacts, versions) VALUES (?, ?, ?)";
+    }
+
 }
@@ -94,4 +94,14 @@ public class PostgreSQLSqlStatements extends CommonSqlStatements {
         return "INSERT INTO sequences (tenantId, name, value) VALUES (?, ?, ?) ON CONFLICT (tenantId, name) DO UPDATE SET value = ?";
     }
 
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.SqlStatements#insertTenantUsage()
+     */
+    @Override
+    public String insertTenantUsage() {
+        return "INSERT INTO tenant_usage (tenantId, artifacts, versions) VALUES (?, ?, ?) "
+                + "ON CONFLICT (tenantId) DO UPDATE SET artifacts = tenant_usage.artifacts + EXCLUDED.artifacts, "
+                + "versions = tenant_usage.versions + EXCLUDED.versions";
+    }
+
 }
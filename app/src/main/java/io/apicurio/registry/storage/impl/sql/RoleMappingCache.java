@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.apicurio.registry.metrics.CacheMetrics;
+import io.apicurio.registry.utils.ExpiringLruCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Cache of the role of each principal, as resolved from the role mappings by
+ * {@link AbstractSqlRegistryStorage#getRoleForPrincipal(String)} for every authorized request.
+ * <p>
+ * The role mappings of a tenant are invalidated whenever they are changed through the storage.  With
+ * KafkaSQL the changes are applied on every node, so every node invalidates its own cache.  With several
+ * SQL storage replicas, the other replicas see the change once their entries expire.
+ */
+@ApplicationScoped
+public class RoleMappingCache {
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "registry.auth.role-mapping.cache.ttl-ms", defaultValue = "10000")
+    long ttlMillis;
+
+    @ConfigProperty(name = "registry.auth.role-mapping.cache.max-size", defaultValue = "10000")
+    int maxSize;
+
+    private ExpiringLruCache<PrincipalKey, String> cache;
+
+    @EqualsAndHashCode
+    private static class PrincipalKey {
+        final String tenantId;
+        final String principalId;
+
+        PrincipalKey(String tenantId, String principalId) {
+            this.tenantId = tenantId;
+            this.principalId = principalId;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        cache = new ExpiringLruCache<>(maxSize, ttlMillis);
+        CacheMetrics.register(registry, "role-mapping", cache);
+    }
+
+    /**
+     * @return the cached role of the principal (may be null), or the one returned by the loader
+     */
+    public String getRole(String tenantId, String principalId, Supplier<String> loader) {
+        if (ttlMillis <= 0) {
+            return loader.get();
+        }
+        return cache.get(new PrincipalKey(tenantId, principalId), key -> loader.get());
+    }
+
+    public void invalidate(String tenantId) {
+        cache.removeIf(key -> key.tenantId.equals(tenantId));
+    }
+
+}
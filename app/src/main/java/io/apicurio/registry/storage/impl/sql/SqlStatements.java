@@ -146,6 +146,12 @@ public interface SqlStatements {
      */
     public String selectArtifactVersionContentByGlobalId();
 
+    /**
+     * A statement to select the content and meta-data of many artifact versions by globalId, using
+     * an IN clause with the given number of parameters.
+     */
+    public String selectArtifactVersionsContentByGlobalIds(int globalIdCount);
+
     /**
      * A statement used to select all version #s for a given artifactId.
      */
@@ -156,21 +162,11 @@ public interface SqlStatements {
      */
     public String selectAllArtifactVersions();
 
-    /**
-     * A statement used to count the total # of artifacts.
-     */
-    public String selectAllArtifactCount();
-
     /**
      * A statement used to count the total # of versions for an artifact.
      */
     public String selectAllArtifactVersionsCount();
 
-    /**
-     * A statement used to count the total # of versions for all artifact.
-     */
-    public String selectTotalArtifactVersionsCount();
-
     /**
      * A statement used to select artifact version metadata by artifactId and version.
      */
@@ -332,6 +328,16 @@ public interface SqlStatements {
      */
     public String selectArtifactMetaDataByGlobalId();
 
+    /**
+     * A statement to select the principal that created an artifact.
+     */
+    public String selectArtifactCreatedBy();
+
+    /**
+     * A statement to select the principal that created the artifact of a version, by its globalId.
+     */
+    public String selectArtifactCreatedByGlobalId();
+
     /**
      * A statement to update the state of an artifact version (by globalId);
      */
@@ -393,9 +399,54 @@ public interface SqlStatements {
     public String selectContentByContentHash();
 
     /**
-     * A statement to delete content that is no longer being referenced by an artifact version.
+     * A statement to select many content rows by contentId and/or contentHash, using IN clauses
+     * with the given number of parameters (at least one of them must be positive).
+     */
+    public String selectContentByIdsOrHashes(int contentIdCount, int contentHashCount);
+
+    /**
+     * A statement to queue the content of all versions of an artifact for garbage collection.
      */
-    public String deleteAllOrphanedContent();
+    public String insertContentGcCandidates();
+
+    /**
+     * A statement to queue the content of all versions in a group for garbage collection.
+     */
+    public String insertContentGcCandidatesByGroupId();
+
+    /**
+     * A statement to queue the content of a single version for garbage collection.
+     */
+    public String insertContentGcCandidateByVersion();
+
+    /**
+     * A statement to select up to a given number of queued content garbage collection candidates,
+     * of a single tenant.
+     */
+    public String selectContentGcCandidates();
+
+    /**
+     * A statement to select up to a given number of queued content garbage collection candidates,
+     * of all tenants.
+     */
+    public String selectAllContentGcCandidates();
+
+    /**
+     * A statement to delete the given content rows, using an IN clause with the given number of parameters,
+     * when they are no longer referenced by an artifact version.
+     */
+    public String deleteOrphanedContent(int contentIdCount);
+
+    /**
+     * A statement to remove content from the garbage collection queue, using an IN clause with the given
+     * number of parameters.
+     */
+    public String deleteContentGcCandidates(int contentIdCount);
+
+    /**
+     * A statement to remove all the content of a tenantId from the garbage collection queue.
+     */
+    public String deleteAllContentGcCandidates();
 
     /**
      * A statement to delete all content owned by a tenantId
@@ -534,4 +585,91 @@ public interface SqlStatements {
 
     public String deleteExpiredDownloads();
 
+
+    /*
+     * The next few statements support the events outbox.
+     */
+
+    public String insertOutboxEvent();
+
+    /**
+     * A statement that returns the oldest outbox events, locking them until the end of the transaction.
+     */
+    public String selectOutboxEvents();
+
+    public String deleteOutboxEvents(int idCount);
+
+    /**
+     * A statement that returns the number of artifacts and versions of a tenantId.
+     */
+    public String selectTenantUsage();
+
+    /**
+     * A statement to add to the number of artifacts and versions of a tenantId, if its row exists.
+     */
+    public String updateTenantUsage();
+
+    /**
+     * A statement to create the row of the usage counters of a tenantId.  Databases that can do it atomically
+     * add to the existing row instead, if it was created concurrently.
+     */
+    public String insertTenantUsage();
+
+    /**
+     * A statement to delete the usage counters of a tenantId.
+     */
+    public String deleteTenantUsage();
+
+    /**
+     * A statement that returns the progress of the deletion of the data of a tenantId, locking it until the
+     * end of the transaction.
+     */
+    public String selectTenantPurge();
+
+    public String insertTenantPurge();
+
+    public String updateTenantPurge();
+
+    public String deleteTenantPurge();
+
+    /**
+     * A statement that returns the next globalIds of a tenantId, after the given globalId.
+     */
+    public String selectVersionGlobalIdsAfter();
+
+    /**
+     * A statement to delete the labels of a range of globalIds.
+     */
+    public String deleteLabelsByGlobalIdRange();
+
+    /**
+     * A statement to delete the properties of a range of globalIds.
+     */
+    public String deletePropertiesByGlobalIdRange();
+
+    /**
+     * A statement to delete a range of globalIds.
+     */
+    public String deleteVersionsByGlobalIdRange();
+
+    /**
+     * A statement that returns the next groupIds and artifactIds of a tenantId, after the given ones.
+     */
+    public String selectArtifactKeysAfter();
+
+    /**
+     * A statement that returns the next contentIds of a tenantId, after the given contentId.
+     */
+    public String selectContentIdsAfter();
+
+    /**
+     * A statement to remove a range of contentIds from the garbage collection queue.
+     */
+    public String deleteContentGcCandidatesByContentIdRange();
+
+    /**
+     * A statement to delete a range of contentIds.
+     */
+    public String deleteContentByContentIdRange();
+
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.storage.impl.sql.mappers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import io.apicurio.registry.content.ContentHandle;
+import io.apicurio.registry.storage.dto.StoredContentDto;
+import io.apicurio.registry.storage.impl.sql.SqlUtil;
+import io.apicurio.registry.storage.impl.sql.jdb.RowMapper;
+import io.apicurio.registry.types.ArtifactState;
+import io.apicurio.registry.types.ArtifactType;
+
+/**
+ * Maps the rows of the batch content lookups.  The {@link #instance} expects the artifact version
+ * columns as well, the {@link #contentOnly} instance only the content columns.
+ */
+public class StoredContentDtoMapper implements RowMapper<StoredContentDto> {
+
+    public static final StoredContentDtoMapper instance = new StoredContentDtoMapper(true);
+    public static final StoredContentDtoMapper contentOnly = new StoredContentDtoMapper(false);
+
+    private final boolean withVersion;
+
+    /**
+     * Constructor.
+     */
+    private StoredContentDtoMapper(boolean withVersion) {
+        this.withVersion = withVersion;
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.impl.sql.jdb.RowMapper#map(java.sql.ResultSet)
+     */
+    @Override
+    public StoredContentDto map(ResultSet rs) throws SQLException {
+        StoredContentDto.StoredContentDtoBuilder builder = StoredContentDto.builder()
+                .contentId(rs.getLong("contentId"))
+                .contentHash(rs.getString("contentHash"))
+                .content(ContentHandle.create(rs.getBytes("content")));
+        if (withVersion) {
+            builder.globalId(rs.getLong("globalId"))
+                    .groupId(SqlUtil.denormalizeGroupId(rs.getString("groupId")))
+                    .artifactId(rs.getString("artifactId"))
+                    .version(rs.getString("version"))
+                    .type(ArtifactType.valueOf(rs.getString("type")))
+                    .state(ArtifactState.valueOf(rs.getString("state")));
+        }
+        return builder.build();
+    }
+
+}
@@ -18,7 +18,6 @@ package io.apicurio.registry.storage.impl.sql.upgrader;
 
 import java.util.stream.Stream;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,8 +67,7 @@ public class ProtobufCanonicalHashUpgrader implements IDbUpgrader {
     private void updateCanonicalHash(ContentEntity contentEntity, Handle dbHandle) {
 
         ContentHandle canonicalContent = this.canonicalizeContent(ContentHandle.create(contentEntity.contentBytes));
-        byte[] canonicalContentBytes = canonicalContent.bytes();
-        String canonicalContentHash = DigestUtils.sha256Hex(canonicalContentBytes);
+        String canonicalContentHash = canonicalContent.getSha256Hash();
 
         String update = "UPDATE content SET canonicalHash = ? WHERE contentId = ? AND contentHash = ?";
         int rowCount = dbHandle.createUpdate(update)
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.events;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.AbstractResourceTestBase;
+import io.apicurio.registry.storage.RegistryStorageException;
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+public class EventOutboxTest extends AbstractResourceTestBase {
+
+    @Inject
+    EventOutbox outbox;
+
+    @Inject
+    EventOutboxRelay relay;
+
+    @ConfigProperty(name = "registry.events.outbox.relay.batch-size")
+    int batchSize;
+
+    @BeforeEach
+    public void emptyOutbox() {
+        while (outbox.relay(100, event -> { }) > 0) {
+            // drain
+        }
+    }
+
+    @Test
+    public void testRelayInOrder() {
+        outbox.inTransaction(() -> {
+            append("1");
+            append("2");
+            append("3");
+            return null;
+        });
+
+        List<String> relayed = new ArrayList<>();
+        Assertions.assertEquals(2, outbox.relay(2, event -> relayed.add(id(event))));
+        Assertions.assertEquals(Arrays.asList("1", "2"), relayed);
+        Assertions.assertEquals(1, outbox.relay(2, event -> relayed.add(id(event))));
+        Assertions.assertEquals(Arrays.asList("1", "2", "3"), relayed);
+        Assertions.assertEquals(0, outbox.relay(2, event -> relayed.add(id(event))));
+    }
+
+    @Test
+    public void testRolledBackEventsAreNotStored() {
+        Assertions.assertThrows(IllegalStateException.class, () -> outbox.inTransaction(() -> {
+            append("rolled-back");
+            throw new IllegalStateException("change failed");
+        }));
+
+        Assertions.assertEquals(0, outbox.relay(100, event -> Assertions.fail("Unexpected event " + id(event))));
+    }
+
+    @Test
+    public void testFailedRelayIsRetried() {
+        append("1");
+        append("2");
+
+        List<String> published = new ArrayList<>();
+        Assertions.assertThrows(RegistryStorageException.class, () -> outbox.relay(100, event -> {
+            published.add(id(event));
+            throw new IllegalStateException("publish failed");
+        }));
+        Assertions.assertEquals(Arrays.asList("1"), published);
+
+        // the events were not deleted, so they are relayed again
+        published.clear();
+        Assertions.assertEquals(2, outbox.relay(100, event -> published.add(id(event))));
+        Assertions.assertEquals(Arrays.asList("1", "2"), published);
+    }
+
+    @Test
+    public void testRelayDrainsTheOutbox() {
+        int count = batchSize * 2 + 1;
+        outbox.inTransaction(() -> {
+            for (int i = 0; i < count; i++) {
+                append(String.valueOf(i));
+            }
+            return null;
+        });
+
+        relay.relay();
+
+        Assertions.assertEquals(0, outbox.relay(count, event -> { }));
+    }
+
+    private void append(String id) {
+        outbox.append("io.apicurio.registry.test", id, ("{\"id\":\"" + id + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String id(OutboxEvent event) {
+        return event.artifactId;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.events.http;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.apicurio.registry.utils.tests.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_HTTP_DELIVERY;
+import static io.apicurio.registry.metrics.MetricsConstants.EVENTS_HTTP_DROPPED;
+
+/**
+ * Delivers events to a local http server that fails, rejects or never answers the requests on demand.
+ */
+class HttpSinkDispatcherTest {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpSinkDispatcherTest.class);
+
+    private Vertx vertx;
+    private HttpServer server;
+    private MeterRegistry registry;
+    private HttpSinkConfiguration sink;
+
+    /**
+     * The status code of the next responses, 0 to never answer.
+     */
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger requests = new AtomicInteger();
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        vertx = Vertx.vertx();
+        server = vertx.createHttpServer()
+            .requestHandler(req -> {
+                requests.incrementAndGet();
+                int code = status.get();
+                if (code == 0) {
+                    return;
+                }
+                if (code == 200) {
+                    delivered.add(req.getHeader("ce-id"));
+                }
+                req.response().setStatusCode(code).end();
+            })
+            .listen(0)
+            .toCompletionStage().toCompletableFuture().get();
+        registry = new SimpleMeterRegistry();
+        sink = new HttpSinkConfiguration("test", "http://localhost:" + server.actualPort() + "/events");
+    }
+
+    @AfterEach
+    void stopServer() throws Exception {
+        vertx.close().toCompletionStage().toCompletableFuture().get();
+    }
+
+    @Test
+    void testRetry() throws Exception {
+        HttpSinkDispatcher dispatcher = dispatcher(1, 3, null);
+        status.set(503);
+        dispatcher.offer(event("1"));
+
+        TestUtils.waitFor("failed requests", 10, 5000, () -> requests.get() >= 2);
+        status.set(200);
+        TestUtils.waitFor("event delivery", 10, 5000, () -> registry.get(EVENTS_HTTP_DELIVERY).timer().count() == 1);
+
+        Assertions.assertEquals(Arrays.asList("1"), delivered);
+        Assertions.assertEquals(0, registry.get(EVENTS_HTTP_DROPPED).counter().count());
+    }
+
+    @Test
+    void testRejectedEventsAreNotRetried() throws Exception {
+        HttpSinkDispatcher dispatcher = dispatcher(1, 3, null);
+        status.set(400);
+        dispatcher.offer(event("1"));
+
+        TestUtils.waitFor("event to be dropped", 10, 5000, () -> registry.get(EVENTS_HTTP_DROPPED).counter().count() == 1);
+        Assertions.assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testUndeliveredEventsAreSpooledAndReplayed() throws Exception {
+        HttpEventSpool spool = new HttpEventSpool(Files.createTempDirectory("spool"), sink.getName());
+        HttpSinkDispatcher dispatcher = dispatcher(10, 0, spool);
+        status.set(503);
+        dispatcher.offer(event("1"));
+        dispatcher.offer(event("2"));
+
+        TestUtils.waitFor("events to be spooled", 10, 5000, () -> spool.size() == 2);
+        Assertions.assertTrue(delivered.isEmpty());
+
+        // the spooled events are sent again once the queue is empty
+        status.set(200);
+        dispatcher.offer(event("3"));
+        TestUtils.waitFor("event delivery", 10, 5000, () -> delivered.size() == 3);
+
+        // the failed requests complete on different threads, so the spooled events can be in any order
+        Assertions.assertEquals("3", delivered.get(0));
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("1", "2")), new HashSet<>(delivered.subList(1, 3)));
+        Assertions.assertEquals(0, spool.size());
+        Assertions.assertEquals(0, registry.get(EVENTS_HTTP_DROPPED).counter().count());
+    }
+
+    @Test
+    void testQueuedEventsAreSpooled() throws Exception {
+        Path directory = Files.createTempDirectory("spool");
+        HttpEventSpool spool = new HttpEventSpool(directory, sink.getName());
+        HttpSinkDispatcher dispatcher = dispatcher(1, 0, spool);
+        // the first event stays in flight, the second one is queued and the third one does not fit in the queue
+        status.set(0);
+        dispatcher.offer(event("1"));
+        TestUtils.waitFor("request", 10, 5000, () -> requests.get() == 1);
+        dispatcher.offer(event("2"));
+        dispatcher.offer(event("3"));
+        TestUtils.waitFor("event to be spooled", 10, 5000, () -> spool.size() == 1);
+
+        dispatcher.close();
+        Assertions.assertEquals(0, dispatcher.queueSize());
+        Assertions.assertEquals(2, spool.size());
+
+        List<PendingEvent> spooled = new HttpEventSpool(directory, sink.getName()).take(10);
+        Assertions.assertEquals(2, spooled.size());
+        Assertions.assertEquals("3", spooled.get(0).id);
+        Assertions.assertEquals("2", spooled.get(1).id);
+        Assertions.assertEquals("{\"id\":\"2\"}", spooled.get(1).data.toString());
+    }
+
+    private HttpSinkDispatcher dispatcher(int queueSize, int retryMaxAttempts, HttpEventSpool spool) {
+        HttpDeliveryOptions options = new HttpDeliveryOptions(queueSize, 1, 0, 1, retryMaxAttempts, 10, 50, Optional.empty());
+        return new HttpSinkDispatcher(log, vertx, vertx.createHttpClient(), registry, sink, options, spool);
+    }
+
+    private static PendingEvent event(String id) {
+        return new PendingEvent(id, "io.apicurio.registry.test", Buffer.buffer("{\"id\":\"" + id + "\"}"), System.nanoTime());
+    }
+}
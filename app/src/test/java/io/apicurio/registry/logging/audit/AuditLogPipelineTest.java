@@ -0,0 +1,208 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.logging.audit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static io.apicurio.registry.metrics.MetricsConstants.AUDIT_DROPPED;
+
+class AuditLogPipelineTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private AuditLogPipeline pipeline;
+
+    /**
+     * Records the written audit records, the first write waits until the gate is opened.
+     */
+    private static class RecordingOutput implements AuditLogOutput {
+
+        final List<String> records = new CopyOnWriteArrayList<>();
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+        volatile boolean closed;
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public boolean isConfigured() {
+            return true;
+        }
+
+        @Override
+        public void write(List<String> batch) throws Exception {
+            writing.countDown();
+            if (!gate.await(10, TimeUnit.SECONDS)) {
+                throw new TimeoutException();
+            }
+            records.addAll(batch);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        List<String> actions() throws Exception {
+            List<String> actions = new ArrayList<>();
+            for (String record : records) {
+                actions.add(MAPPER.readTree(record).get("action").asText());
+            }
+            return actions;
+        }
+    }
+
+    @AfterEach
+    void stop() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    private void start(int queueSize, int batchSize, String overflowPolicy, AuditLogOutput output) {
+        pipeline = new AuditLogPipeline();
+        pipeline.log = LoggerFactory.getLogger(AuditLogPipeline.class);
+        pipeline.registry = new SimpleMeterRegistry();
+        pipeline.queueSize = queueSize;
+        pipeline.batchSize = batchSize;
+        pipeline.overflowPolicy = overflowPolicy;
+        pipeline.start(Collections.singletonList(output));
+    }
+
+    private static AuditEntry entry(int i) {
+        return new AuditEntry("user", String.valueOf(i), "success", "127.0.0.1", null, Collections.emptyMap());
+    }
+
+    private static List<String> range(int from, int to) {
+        List<String> actions = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            actions.add(String.valueOf(i));
+        }
+        return actions;
+    }
+
+    private double dropped() {
+        return pipeline.registry.find(AUDIT_DROPPED).counter().count();
+    }
+
+    /**
+     * Blocks the writer on the first entry and then fills the queue.
+     */
+    private void fillQueue(RecordingOutput output) throws Exception {
+        pipeline.submit(entry(0));
+        Assertions.assertTrue(output.writing.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 4; i++) {
+            pipeline.submit(entry(i));
+        }
+    }
+
+    @Test
+    void testBlockWhenFull() throws Exception {
+        RecordingOutput output = new RecordingOutput();
+        start(4, 1, "block", output);
+        fillQueue(output);
+
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> pipeline.submit(entry(5)));
+        Thread.sleep(200);
+        Assertions.assertFalse(blocked.isDone());
+
+        output.gate.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+        pipeline.stop();
+
+        Assertions.assertEquals(range(0, 6), output.actions());
+        Assertions.assertEquals(0, dropped());
+    }
+
+    @Test
+    void testDropWhenFull() throws Exception {
+        RecordingOutput output = new RecordingOutput();
+        start(4, 1, "drop", output);
+        fillQueue(output);
+
+        // returns right away
+        pipeline.submit(entry(5));
+        Assertions.assertEquals(1, dropped());
+
+        output.gate.countDown();
+        pipeline.stop();
+
+        Assertions.assertEquals(range(0, 5), output.actions());
+    }
+
+    @Test
+    void testQueuedEntriesWrittenOnStop() throws Exception {
+        RecordingOutput output = new RecordingOutput();
+        start(1024, 16, "block", output);
+        for (int i = 0; i < 500; i++) {
+            pipeline.submit(entry(i));
+        }
+        output.gate.countDown();
+        pipeline.stop();
+
+        Assertions.assertEquals(range(0, 500), output.actions());
+        Assertions.assertTrue(output.closed);
+    }
+
+    @Test
+    void testWriterSurvivesFailures() throws Exception {
+        RecordingOutput output = new RecordingOutput() {
+            private boolean failed;
+
+            @Override
+            public void write(List<String> batch) throws Exception {
+                if (!failed) {
+                    failed = true;
+                    throw new Error("unexpected");
+                }
+                super.write(batch);
+            }
+        };
+        output.gate.countDown();
+        start(4, 1, "block", output);
+
+        pipeline.submit(entry(0));
+        // cannot be formatted
+        pipeline.submit(new AuditEntry("user", "1", "success", "127.0.0.1", null, null));
+        for (int i = 2; i < 20; i++) {
+            pipeline.submit(entry(i));
+        }
+        pipeline.stop();
+
+        Assertions.assertEquals(range(2, 20), output.actions());
+        Assertions.assertEquals(1, dropped());
+    }
+}
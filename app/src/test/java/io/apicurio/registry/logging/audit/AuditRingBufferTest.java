@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.logging.audit;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AuditRingBufferTest {
+
+    private static AuditEntry entry(int producer, int sequence) {
+        return new AuditEntry(String.valueOf(producer), String.valueOf(sequence), "success", "127.0.0.1", null, Collections.emptyMap());
+    }
+
+    @Test
+    void testCapacityRoundedUp() {
+        Assertions.assertEquals(1, new AuditRingBuffer(1).capacity());
+        Assertions.assertEquals(8, new AuditRingBuffer(5).capacity());
+        Assertions.assertEquals(8, new AuditRingBuffer(8).capacity());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(0));
+    }
+
+    @Test
+    void testFullAndEmpty() {
+        AuditRingBuffer queue = new AuditRingBuffer(4);
+        Assertions.assertNull(queue.poll());
+        Assertions.assertEquals(0, queue.size());
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertTrue(queue.offer(entry(0, i)));
+        }
+        Assertions.assertFalse(queue.offer(entry(0, 4)));
+        Assertions.assertEquals(4, queue.size());
+
+        // a single poll frees a single slot
+        Assertions.assertEquals("0", queue.poll().getAction());
+        Assertions.assertTrue(queue.offer(entry(0, 4)));
+        Assertions.assertFalse(queue.offer(entry(0, 5)));
+
+        for (int i = 1; i <= 4; i++) {
+            Assertions.assertEquals(String.valueOf(i), queue.poll().getAction());
+        }
+        Assertions.assertNull(queue.poll());
+        Assertions.assertEquals(0, queue.size());
+    }
+
+    @Test
+    void testWrapAround() {
+        AuditRingBuffer queue = new AuditRingBuffer(4);
+        int next = 0;
+        int expected = 0;
+        // many rounds over the slots, with a varying fill level
+        for (int round = 0; round < 100; round++) {
+            int count = 1 + round % 4;
+            for (int i = 0; i < count; i++) {
+                Assertions.assertTrue(queue.offer(entry(0, next++)));
+            }
+            Assertions.assertEquals(count, queue.size());
+            for (int i = 0; i < count; i++) {
+                Assertions.assertEquals(String.valueOf(expected++), queue.poll().getAction());
+            }
+            Assertions.assertNull(queue.poll());
+        }
+    }
+
+    @Test
+    void testConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 100000;
+        AuditRingBuffer queue = new AuditRingBuffer(64);
+        ExecutorService threads = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?>[] futures = new Future<?>[producers];
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                futures[p] = threads.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        AuditEntry entry = entry(producer, i);
+                        while (!queue.offer(entry)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+
+            // every entry is received exactly once, in the order of its producer
+            int[] nextByProducer = new int[producers];
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            for (int received = 0; received < producers * perProducer; ) {
+                AuditEntry entry = queue.poll();
+                if (entry == null) {
+                    Assertions.assertTrue(System.nanoTime() < deadline, "Only " + received + " entries received");
+                    Thread.yield();
+                    continue;
+                }
+                int producer = Integer.parseInt(entry.getInvoker());
+                Assertions.assertEquals(nextByProducer[producer], Integer.parseInt(entry.getAction()));
+                nextByProducer[producer]++;
+                received++;
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            Assertions.assertNull(queue.poll());
+            Assertions.assertEquals(0, queue.size());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+}
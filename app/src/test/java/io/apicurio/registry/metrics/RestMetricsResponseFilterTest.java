@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.metrics;
+
+import javax.ws.rs.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.rest.v2.GroupsResourceImpl;
+
+class RestMetricsResponseFilterTest {
+
+    @Path("/apis/test")
+    interface TestResource {
+
+        @Path("/{id}")
+        String get(String id);
+
+        String list();
+    }
+
+    static class TestResourceImpl implements TestResource {
+
+        @Override
+        public String get(String id) {
+            return id;
+        }
+
+        @Override
+        public String list() {
+            return "";
+        }
+
+        @Path("/own/{id}")
+        public String own(String id) {
+            return id;
+        }
+    }
+
+    /**
+     * Like the subclasses generated for intercepted beans, which override the resource methods.
+     */
+    static class TestResourceSubclass extends TestResourceImpl {
+
+        @Override
+        public String get(String id) {
+            return super.get(id);
+        }
+    }
+
+    static class NotAResource {
+
+        public String get() {
+            return "";
+        }
+    }
+
+    @Test
+    void testPathFromInterfaces() throws Exception {
+        Assertions.assertEquals("/apis/test/{id}",
+                RestMetricsResponseFilter.getPath(TestResourceImpl.class, TestResourceImpl.class.getMethod("get", String.class)));
+        Assertions.assertEquals("/apis/test",
+                RestMetricsResponseFilter.getPath(TestResourceImpl.class, TestResourceImpl.class.getMethod("list")));
+    }
+
+    @Test
+    void testPathFromImplementation() throws Exception {
+        Assertions.assertEquals("/apis/test/own/{id}",
+                RestMetricsResponseFilter.getPath(TestResourceImpl.class, TestResourceImpl.class.getMethod("own", String.class)));
+    }
+
+    @Test
+    void testPathFromSuperclassInterfaces() throws Exception {
+        Assertions.assertEquals("/apis/test/{id}",
+                RestMetricsResponseFilter.getPath(TestResourceSubclass.class, TestResourceSubclass.class.getMethod("get", String.class)));
+        Assertions.assertEquals("/apis/test/own/{id}",
+                RestMetricsResponseFilter.getPath(TestResourceSubclass.class, TestResourceSubclass.class.getMethod("own", String.class)));
+    }
+
+    @Test
+    void testNoPath() throws Exception {
+        Assertions.assertEquals("", RestMetricsResponseFilter.getPath(NotAResource.class, NotAResource.class.getMethod("get")));
+    }
+
+    @Test
+    void testRegistryResourcePath() throws Exception {
+        String path = RestMetricsResponseFilter.getPath(GroupsResourceImpl.class,
+                GroupsResourceImpl.class.getMethod("getArtifactMetaData", String.class, String.class));
+        Assertions.assertEquals("/apis/registry/v2/groups/{groupId}/artifacts/{artifactId}/meta", path);
+        Assertions.assertTrue(path.startsWith(RestMetricsResponseFilter.ENABLED_PREFIX));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.metrics;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.interceptor.InvocationContext;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.mt.TenantContextImpl;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_METHOD_CALL;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_METHOD_CALL_TAG_METHOD;
+import static io.apicurio.registry.metrics.MetricsConstants.STORAGE_METHOD_CALL_TAG_SUCCESS;
+
+class StorageMetricsInterceptorTest {
+
+    private static final int CALLS = 1000;
+
+    private SimpleMeterRegistry registry;
+    private StorageMetricsInterceptor interceptor;
+
+    @BeforeEach
+    void createInterceptor() {
+        registry = new SimpleMeterRegistry();
+        interceptor = new StorageMetricsInterceptor();
+        interceptor.registry = registry;
+        interceptor.tenantContext = new TenantContextImpl();
+        interceptor.sampleRate = 1.0;
+    }
+
+    public String getArtifact(String artifactId) {
+        return artifactId;
+    }
+
+    @Test
+    void testEveryCallTimed() throws Exception {
+        for (int i = 0; i < CALLS; i++) {
+            Assertions.assertEquals("a", interceptor.intercept(invocation(() -> "a")));
+        }
+        Assertions.assertEquals(CALLS, timer(true).count());
+    }
+
+    @Test
+    void testFailureTimed() throws Exception {
+        Assertions.assertThrows(IllegalStateException.class, () -> interceptor.intercept(invocation(() -> {
+            throw new IllegalStateException();
+        })));
+        Assertions.assertEquals(1, timer(false).count());
+        Assertions.assertEquals(0, timer(true).count());
+    }
+
+    @Test
+    void testSampledCallsTimed() throws Exception {
+        interceptor.sampleRate = 0.5;
+        AtomicInteger proceeded = new AtomicInteger();
+        for (int i = 0; i < CALLS; i++) {
+            Assertions.assertEquals("a", interceptor.intercept(invocation(() -> {
+                proceeded.incrementAndGet();
+                return "a";
+            })));
+        }
+        // every call proceeds, roughly half of them are timed
+        Assertions.assertEquals(CALLS, proceeded.get());
+        long timed = timer(true).count();
+        Assertions.assertTrue(timed > CALLS * 0.35 && timed < CALLS * 0.65, "timed calls: " + timed);
+    }
+
+    @Test
+    void testNoCallTimed() throws Exception {
+        interceptor.sampleRate = 0;
+        for (int i = 0; i < CALLS; i++) {
+            Assertions.assertEquals("a", interceptor.intercept(invocation(() -> "a")));
+        }
+        Assertions.assertNull(registry.find(STORAGE_METHOD_CALL).timer());
+    }
+
+    private Timer timer(boolean success) {
+        Timer timer = registry.find(STORAGE_METHOD_CALL)
+            .tag(STORAGE_METHOD_CALL_TAG_METHOD, "getArtifact(String)")
+            .tag(STORAGE_METHOD_CALL_TAG_SUCCESS, String.valueOf(success))
+            .timer();
+        Assertions.assertNotNull(timer);
+        return timer;
+    }
+
+    private InvocationContext invocation(Callable<Object> target) throws NoSuchMethodException {
+        Method method = getClass().getMethod("getArtifact", String.class);
+        return new InvocationContext() {
+            private final Map<String, Object> contextData = new HashMap<>();
+
+            @Override
+            public Object getTarget() {
+                return StorageMetricsInterceptorTest.this;
+            }
+
+            @Override
+            public Object getTimer() {
+                return null;
+            }
+
+            @Override
+            public Method getMethod() {
+                return method;
+            }
+
+            @Override
+            public Constructor<?> getConstructor() {
+                return null;
+            }
+
+            @Override
+            public Object[] getParameters() {
+                return new Object[] { "a" };
+            }
+
+            @Override
+            public void setParameters(Object[] params) {
+            }
+
+            @Override
+            public Map<String, Object> getContextData() {
+                return contextData;
+            }
+
+            @Override
+            public Object proceed() throws Exception {
+                return target.call();
+            }
+        };
+    }
+}
@@ -22,12 +22,19 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import org.apache.commons.codec.digest.DigestUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import io.apicurio.registry.AbstractResourceTestBase;
 import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
+import io.apicurio.registry.rest.v2.beans.BatchLookupRequest;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResult;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResults;
 import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.utils.tests.TestUtils;
 import io.quarkus.test.junit.QuarkusTest;
@@ -296,4 +303,46 @@ public class IdsResourceTest extends AbstractResourceTestBase {
                 .statusCode(404);
     }
 
+    @Test
+    public void testLookupBatch() throws Exception {
+        String content1 = resourceToString("openapi-empty.json").replaceAll("Empty API", "Test Batch Lookup API 1");
+        String content2 = resourceToString("openapi-empty.json").replaceAll("Empty API", "Test Batch Lookup API 2");
+
+        long globalId1 = createArtifact(GROUP, "testLookupBatch/Empty-1", ArtifactType.OPENAPI, content1);
+        long globalId2 = createArtifact(GROUP, "testLookupBatch/Empty-2", ArtifactType.OPENAPI, content2);
+        this.waitForGlobalId(globalId1);
+        this.waitForGlobalId(globalId2);
+
+        ArtifactMetaData amd1 = clientV2.getArtifactMetaData(GROUP, "testLookupBatch/Empty-1");
+
+        BatchLookupRequest request = new BatchLookupRequest();
+        request.setGlobalIds(List.of(globalId1, globalId2, (long) Integer.MAX_VALUE));
+        request.setContentIds(List.of(amd1.getContentId()));
+        request.setContentHashes(List.of(DigestUtils.sha256Hex(content2), "CONTENT-HASH-NOT-VALID"));
+
+        BatchLookupResults results = clientV2.lookupBatch(request);
+
+        // two versions by globalId, plus two pieces of content by contentId and contentHash
+        Assertions.assertEquals(4, results.getResults().size());
+
+        Map<Long, BatchLookupResult> byGlobalId = results.getResults().stream()
+                .filter(result -> result.getGlobalId() != null)
+                .collect(Collectors.toMap(BatchLookupResult::getGlobalId, result -> result));
+        Assertions.assertEquals(2, byGlobalId.size());
+        BatchLookupResult result1 = byGlobalId.get(globalId1);
+        Assertions.assertEquals(GROUP, result1.getGroupId());
+        Assertions.assertEquals("testLookupBatch/Empty-1", result1.getArtifactId());
+        Assertions.assertEquals(ArtifactType.OPENAPI, result1.getType());
+        Assertions.assertEquals(amd1.getContentId(), result1.getContentId());
+        Assertions.assertEquals(content1, result1.getContent());
+        Assertions.assertEquals(content2, byGlobalId.get(globalId2).getContent());
+
+        List<String> contents = results.getResults().stream()
+                .filter(result -> result.getGlobalId() == null)
+                .map(BatchLookupResult::getContent)
+                .sorted()
+                .collect(Collectors.toList());
+        Assertions.assertEquals(List.of(content1, content2), contents);
+    }
+
 }
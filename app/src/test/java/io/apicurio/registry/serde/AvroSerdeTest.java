@@ -184,6 +184,41 @@ public class AvroSerdeTest extends AbstractResourceTestBase {
         }
     }
 
+    @Test
+    public void testContentIdBatchLookup() throws Exception {
+        Schema schema = new Schema.Parser().parse("{\"type\":\"record\",\"name\":\"myrecord6\",\"fields\":[{\"name\":\"bar\",\"type\":\"string\"}]}");
+        try (AvroKafkaSerializer<GenericData.Record> serializer = new AvroKafkaSerializer<GenericData.Record>(restClient);
+             Deserializer<GenericData.Record> deserializer = new AvroKafkaDeserializer<>()) {
+
+            Map<String, String> config = new HashMap<>();
+            config.put(SerdeConfig.AUTO_REGISTER_ARTIFACT, "true");
+            config.put(SerdeConfig.ENABLE_HEADERS, "false");
+            config.put(SerdeConfig.USE_ID, IdOption.contentId.name());
+            serializer.configure(config, false);
+
+            // content only lookups through the batch loader have no globalId
+            config = new HashMap<>();
+            config.put(SerdeConfig.REGISTRY_URL, TestUtils.getRegistryV2ApiUrl());
+            config.put(SerdeConfig.USE_ID, IdOption.contentId.name());
+            config.put(SerdeConfig.BATCH_LOOKUP_WINDOW_MS, "10");
+            deserializer.configure(config, false);
+
+            GenericData.Record record = new GenericData.Record(schema);
+            record.put("bar", "somebar");
+
+            String topic = generateArtifactId();
+
+            byte[] bytes = serializer.serialize(topic, record);
+
+            waitForSchema(contentId -> restClient.getContentById(contentId) != null, bytes);
+
+            GenericData.Record ir = deserializer.deserialize(topic, bytes);
+
+            Assertions.assertEquals(record, ir);
+            Assertions.assertEquals("somebar", ir.get("bar").toString());
+        }
+    }
+
     @Test
     public void testAvroJSON() throws Exception {
         Schema schema = new Schema.Parser().parse("{\"type\":\"record\",\"name\":\"myrecord3\",\"fields\":[{\"name\":\"bar\",\"type\":\"string\"}]}");
@@ -19,6 +19,7 @@ package io.apicurio.registry.serde;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.InputStream;
+import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.HashMap;
@@ -195,4 +196,46 @@ public class JsonSchemaSerdeTest extends AbstractResourceTestBase {
         }
 
     }
+
+    public static class Price {
+
+        public BigDecimal amount;
+        public Object value;
+    }
+
+    @Test
+    public void testJsonSchemaSerdeDecimals() throws Exception {
+        String jsonSchema = "{\"type\": \"object\", \"properties\": {\"amount\": {\"type\": \"number\"}, \"value\": {\"type\": \"number\"}}}";
+
+        String groupId = TestUtils.generateGroupId();
+        String artifactId = generateArtifactId();
+
+        Integer globalId = createArtifact(groupId, artifactId, ArtifactType.JSON, jsonSchema);
+
+        this.waitForGlobalId(globalId);
+
+        Price price = new Price();
+        price.amount = new BigDecimal("10.50");
+        price.value = 0.1;
+
+        try (JsonSchemaKafkaSerializer<Price> serializer = new JsonSchemaKafkaSerializer<>(restClient, true);
+             Deserializer<Price> deserializer = new JsonSchemaKafkaDeserializer<>(restClient, true)) {
+
+            Map<String, Object> config = new HashMap<>();
+            config.put(SerdeConfig.EXPLICIT_ARTIFACT_GROUP_ID, groupId);
+            config.put(SerdeConfig.ARTIFACT_RESOLVER_STRATEGY, SimpleTopicIdStrategy.class.getName());
+            serializer.configure(config, false);
+
+            deserializer.configure(Collections.emptyMap(), false);
+
+            Headers headers = new RecordHeaders();
+            byte[] bytes = serializer.serialize(artifactId, headers, price);
+
+            // validated, and bound with the same decimal values as without validation
+            price = deserializer.deserialize(artifactId, headers, bytes);
+
+            Assertions.assertEquals(new BigDecimal("10.50"), price.amount);
+            Assertions.assertEquals(0.1, price.value);
+        }
+    }
 }
@@ -34,11 +34,14 @@ import io.apicurio.registry.storage.dto.SearchFilter;
 import io.apicurio.registry.storage.dto.SearchFilterType;
 import io.apicurio.registry.storage.dto.StoredArtifactDto;
 import io.apicurio.registry.storage.dto.VersionSearchResultsDto;
+import io.apicurio.registry.storage.impexp.EntityInputStream;
 import io.apicurio.registry.types.ArtifactState;
 import io.apicurio.registry.types.ArtifactType;
 import io.apicurio.registry.types.RuleType;
+import io.apicurio.registry.utils.impexp.Entity;
 import io.apicurio.registry.utils.impexp.EntityType;
 import io.apicurio.registry.utils.tests.TestUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -49,6 +52,7 @@ import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -96,6 +100,9 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
     @Inject
     MockTenantMetadataService tms;
 
+    @ConfigProperty(name = "registry.storage.content-gc.batch-size")
+    int contentGcBatchSize;
+
     RegistryTenantContext tenantId1;
     RegistryTenantContext tenantId2;
 
@@ -124,6 +131,13 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
      */
     protected abstract RegistryStorage storage();
 
+    /**
+     * @return true if the storage collects all the queued content together with the deletes
+     */
+    protected boolean isContentGcDrainedInline() {
+        return false;
+    }
+
     @Test
     public void testGetArtifactIds() throws Exception {
 
@@ -983,6 +997,199 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
         });
     }
 
+    @Test
+    public void testDeleteOrphanedContent() throws Exception {
+        String artifactId = "testDeleteOrphanedContent-1";
+        ContentHandle content = ContentHandle.create(OPENAPI_CONTENT_TEMPLATE.replaceAll("VERSION", "orphaned"));
+        ArtifactMetaDataDto dto = storage().createArtifact(GROUP_ID, artifactId, null, ArtifactType.OPENAPI, content);
+        Assertions.assertNotNull(storage().getArtifactByContentId(dto.getContentId()));
+
+        storage().deleteArtifact(GROUP_ID, artifactId);
+        Assertions.assertThrows(ContentNotFoundException.class, () -> storage().getArtifactByContentId(dto.getContentId()));
+    }
+
+    @Test
+    public void testDeleteSharedContent() throws Exception {
+        String artifactId1 = "testDeleteSharedContent-1";
+        String artifactId2 = "testDeleteSharedContent-2";
+        ContentHandle content = ContentHandle.create(OPENAPI_CONTENT_TEMPLATE.replaceAll("VERSION", "shared"));
+        ArtifactMetaDataDto dto1 = storage().createArtifact(GROUP_ID, artifactId1, null, ArtifactType.OPENAPI, content);
+        storage().updateArtifact(GROUP_ID, artifactId1, null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT_V2));
+        ArtifactMetaDataDto dto2 = storage().createArtifact(GROUP_ID, artifactId2, null, ArtifactType.OPENAPI, content);
+        Assertions.assertEquals(dto1.getContentId(), dto2.getContentId());
+        long contentId = dto1.getContentId();
+
+        // still referenced by the second artifact, and then by the other version of the first one
+        storage().deleteArtifactVersion(GROUP_ID, artifactId1, dto1.getVersion());
+        Assertions.assertNotNull(storage().getArtifactByContentId(contentId));
+        storage().deleteArtifact(GROUP_ID, artifactId1);
+        Assertions.assertNotNull(storage().getArtifactByContentId(contentId));
+        storage().deleteOrphanedContent(contentGcBatchSize);
+        Assertions.assertNotNull(storage().getArtifactByContentId(contentId));
+
+        storage().deleteArtifact(GROUP_ID, artifactId2);
+        Assertions.assertThrows(ContentNotFoundException.class, () -> storage().getArtifactByContentId(contentId));
+    }
+
+    @Test
+    public void testDeleteOrphanedContentBatchSize() throws Exception {
+        tenantCtx.setContext(tenantId1);
+        // more distinct content than what is deleted together with the versions
+        String artifactId = "testDeleteOrphanedContentBatchSize";
+        int versions = contentGcBatchSize + 3;
+        List<Long> contentIds = new ArrayList<>(versions);
+        ArtifactMetaDataDto dto = storage().createArtifact(GROUP_ID, artifactId, null, ArtifactType.OPENAPI,
+                ContentHandle.create(OPENAPI_CONTENT_TEMPLATE.replaceAll("VERSION", "batch-0")));
+        contentIds.add(dto.getContentId());
+        for (int idx = 1; idx < versions; idx++) {
+            dto = storage().updateArtifact(GROUP_ID, artifactId, null, ArtifactType.OPENAPI,
+                    ContentHandle.create(OPENAPI_CONTENT_TEMPLATE.replaceAll("VERSION", "batch-" + idx)));
+            contentIds.add(dto.getContentId());
+        }
+        // drain what other tests left in the queue
+        int drained;
+        do {
+            drained = storage().deleteOrphanedContent(contentGcBatchSize);
+        } while (drained > 0);
+
+        storage().deleteArtifact(GROUP_ID, artifactId);
+        if (isContentGcDrainedInline()) {
+            // nothing is left for the reaper
+            Assertions.assertEquals(0, countContent(contentIds));
+            Assertions.assertEquals(0, storage().deleteOrphanedContent(2));
+            return;
+        }
+        Assertions.assertEquals(3, countContent(contentIds));
+
+        Assertions.assertEquals(2, storage().deleteOrphanedContent(2));
+        Assertions.assertEquals(1, countContent(contentIds));
+        Assertions.assertEquals(1, storage().deleteOrphanedContent(2));
+        Assertions.assertEquals(0, storage().deleteOrphanedContent(2));
+        Assertions.assertEquals(0, countContent(contentIds));
+    }
+
+    private int countContent(List<Long> contentIds) {
+        int count = 0;
+        for (Long contentId : contentIds) {
+            try {
+                storage().getArtifactByContentId(contentId);
+                count++;
+            } catch (ContentNotFoundException e) {
+                // deleted
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testRoleMappingCache() throws Exception {
+        String principal = "testRoleMappingCache";
+        Assertions.assertNull(storage().getRoleForPrincipal(principal));
+
+        // every change must be visible to the next (cached) lookup
+        storage().createRoleMapping(principal, "DEVELOPER", null);
+        Assertions.assertEquals("DEVELOPER", storage().getRoleForPrincipal(principal));
+        Assertions.assertEquals("DEVELOPER", storage().getRoleForPrincipal(principal));
+
+        storage().updateRoleMapping(principal, "ADMIN");
+        Assertions.assertEquals("ADMIN", storage().getRoleForPrincipal(principal));
+
+        storage().deleteRoleMapping(principal);
+        Assertions.assertNull(storage().getRoleForPrincipal(principal));
+    }
+
+    @Test
+    public void testArtifactOwnerCache() throws Exception {
+        String groupId = "testArtifactOwnerCache";
+        String artifactId = "testArtifactOwnerCache-1";
+        ArtifactMetaDataDto v1 = storage().createArtifact(groupId, artifactId, null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT));
+        ArtifactMetaDataDto v2 = storage().updateArtifact(groupId, artifactId, null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT_V2));
+
+        // cache the creator by artifact and by globalId
+        String createdBy = storage().getArtifactCreatedBy(groupId, artifactId);
+        Assertions.assertEquals(createdBy, storage().getArtifactCreatedBy(groupId, artifactId));
+        Assertions.assertEquals(createdBy, storage().getArtifactCreatedBy(v1.getGlobalId()));
+        Assertions.assertEquals(createdBy, storage().getArtifactCreatedBy(v2.getGlobalId()));
+
+        storage().deleteArtifactVersion(groupId, artifactId, v1.getVersion());
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage().getArtifactCreatedBy(v1.getGlobalId()));
+        Assertions.assertEquals(createdBy, storage().getArtifactCreatedBy(v2.getGlobalId()));
+
+        storage().deleteArtifact(groupId, artifactId);
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage().getArtifactCreatedBy(groupId, artifactId));
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage().getArtifactCreatedBy(v2.getGlobalId()));
+
+        // deleting all the artifacts of a group
+        String artifactId2 = "testArtifactOwnerCache-2";
+        ArtifactMetaDataDto dto = storage().createArtifact(groupId, artifactId2, null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT));
+        Assertions.assertEquals(createdBy, storage().getArtifactCreatedBy(groupId, artifactId2));
+        Assertions.assertEquals(createdBy, storage().getArtifactCreatedBy(dto.getGlobalId()));
+
+        storage().deleteArtifacts(groupId);
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage().getArtifactCreatedBy(groupId, artifactId2));
+        Assertions.assertThrows(ArtifactNotFoundException.class, () -> storage().getArtifactCreatedBy(dto.getGlobalId()));
+    }
+
+    @Test
+    public void testTenantUsage() throws Exception {
+        tenantCtx.setContext(tenantId1);
+        Assertions.assertEquals(0, storage().countArtifacts());
+        Assertions.assertEquals(0, storage().countTotalArtifactVersions());
+
+        String groupId = "testTenantUsage";
+        ArtifactMetaDataDto v1 = storage().createArtifact(groupId, "testTenantUsage-1", null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT));
+        storage().updateArtifact(groupId, "testTenantUsage-1", null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT_V2));
+        storage().createArtifact(groupId, "testTenantUsage-2", null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT));
+        storage().createArtifact(groupId, "testTenantUsage-3", null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT));
+        storage().createArtifact("testTenantUsage-other", "testTenantUsage-4", null, ArtifactType.OPENAPI, ContentHandle.create(OPENAPI_CONTENT));
+        Assertions.assertEquals(4, storage().countArtifacts());
+        Assertions.assertEquals(5, storage().countTotalArtifactVersions());
+
+        // the counters are per tenant
+        tenantCtx.setContext(tenantId2);
+        Assertions.assertEquals(0, storage().countArtifacts());
+        Assertions.assertEquals(0, storage().countTotalArtifactVersions());
+        tenantCtx.setContext(tenantId1);
+
+        storage().deleteArtifactVersion(groupId, "testTenantUsage-1", v1.getVersion());
+        Assertions.assertEquals(4, storage().countArtifacts());
+        Assertions.assertEquals(4, storage().countTotalArtifactVersions());
+
+        storage().deleteArtifact(groupId, "testTenantUsage-2");
+        Assertions.assertEquals(3, storage().countArtifacts());
+        Assertions.assertEquals(3, storage().countTotalArtifactVersions());
+
+        storage().deleteArtifacts(groupId);
+        Assertions.assertEquals(1, storage().countArtifacts());
+        Assertions.assertEquals(1, storage().countTotalArtifactVersions());
+
+        // import counts the imported artifacts and versions
+        List<Entity> entities = new ArrayList<>();
+        storage().exportData(e -> {
+            entities.add(e);
+            return null;
+        });
+        storage().deleteAllUserData();
+        Assertions.assertEquals(0, storage().countArtifacts());
+        Assertions.assertEquals(0, storage().countTotalArtifactVersions());
+
+        Iterator<Entity> iterator = entities.iterator();
+        storage().importData(new EntityInputStream() {
+            @Override
+            public Entity nextEntity() {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        Assertions.assertEquals(1, storage().countArtifacts());
+        Assertions.assertEquals(1, storage().countTotalArtifactVersions());
+
+        storage().deleteAllUserData();
+    }
+
     private void createSomeUserData() {
         final String group1 = "testGroup-1";
         final String group2 = "testGroup-2";
@@ -1061,6 +1268,30 @@ public abstract class AbstractRegistryStorageTest extends AbstractResourceTestBa
         Assertions.assertEquals(0, countStorageEntities());
     }
 
+    @Test
+    public void testMultiTenant_DeleteUserDataBatch() throws Exception {
+        tenantCtx.setContext(tenantId1);
+        storage().deleteAllUserData();
+        createSomeUserData();
+        tenantCtx.setContext(tenantId2);
+        storage().deleteAllUserData();
+        createSomeUserData();
+        // Delete t1, one row of each table at a time
+        tenantCtx.setContext(tenantId1);
+        int batches = 0;
+        while (storage().deleteUserDataBatch(1) > 0) {
+            batches++;
+            Assertions.assertTrue(batches < 100, "User data deletion does not end");
+        }
+        Assertions.assertEquals(0, countStorageEntities());
+        Assertions.assertEquals(0, storage().deleteUserDataBatch(1));
+        // NOT deleted t2
+        tenantCtx.setContext(tenantId2);
+        Assertions.assertEquals(6, countStorageEntities());
+        // ^ TODO Change to 7 after https://github.com/Apicurio/apicurio-registry/issues/1721
+        storage().deleteAllUserData();
+    }
+
     @Test
     public void testMultiTenant_CreateArtifact() throws Exception {
         // Add an artifact for tenantId 1
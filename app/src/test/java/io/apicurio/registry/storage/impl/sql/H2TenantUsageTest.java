@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the H2 tenant_usage statements do not lose concurrent increments.
+ */
+class H2TenantUsageTest {
+
+    private static final String DDL = "io/apicurio/registry/storage/impl/sql/h2.ddl";
+
+    private final SqlStatements sqlStatements = new H2SqlStatements();
+    private String url;
+    private Connection connection;
+
+    @BeforeEach
+    void createSchema() throws Exception {
+        // the in-memory database lives as long as this connection is open
+        url = "jdbc:h2:mem:" + UUID.randomUUID();
+        connection = DriverManager.getConnection(url);
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(DDL)) {
+            Assertions.assertNotNull(input, DDL);
+            for (String sql : new DdlParser().parse(input)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate(sql);
+                }
+            }
+        }
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void testInsertConflict() throws Exception {
+        Assertions.assertEquals(0, update(connection, 1, 1));
+        insert(connection, 1, 1);
+        SQLException error = Assertions.assertThrows(SQLException.class, () -> insert(connection, 1, 1));
+        Assertions.assertTrue(sqlStatements.isPrimaryKeyViolation(error), error.getMessage());
+        Assertions.assertEquals(1, update(connection, 2, 3));
+        assertUsage(3, 4);
+    }
+
+    @Test
+    void testConcurrentIncrements() throws Exception {
+        int threads = 8;
+        int perThread = 200;
+        insert(connection, 0, 0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    try (Connection c = DriverManager.getConnection(url)) {
+                        start.await();
+                        for (int i = 0; i < perThread; i++) {
+                            Assertions.assertEquals(1, update(c, 1, 2));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertUsage(threads * perThread, threads * perThread * 2);
+    }
+
+    private int update(Connection c, long artifacts, long versions) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(sqlStatements.updateTenantUsage())) {
+            ps.setLong(1, artifacts);
+            ps.setLong(2, versions);
+            ps.setString(3, "t1");
+            return ps.executeUpdate();
+        }
+    }
+
+    private void insert(Connection c, long artifacts, long versions) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(sqlStatements.insertTenantUsage())) {
+            ps.setString(1, "t1");
+            ps.setLong(2, artifacts);
+            ps.setLong(3, versions);
+            ps.executeUpdate();
+        }
+    }
+
+    private void assertUsage(long artifacts, long versions) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT artifacts, versions FROM tenant_usage WHERE tenantId = 't1'")) {
+            Assertions.assertTrue(rs.next());
+            Assertions.assertEquals(artifacts, rs.getLong(1));
+            Assertions.assertEquals(versions, rs.getLong(2));
+        }
+    }
+}
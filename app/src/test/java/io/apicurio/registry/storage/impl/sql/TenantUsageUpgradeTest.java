@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.storage.impl.sql;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the version 9 upgrade seeds the tenant_usage counters from the existing rows.
+ */
+class TenantUsageUpgradeTest {
+
+    private static final String DDL = "io/apicurio/registry/storage/impl/sql/h2.ddl";
+    private static final String UPGRADE_DDL = "io/apicurio/registry/storage/impl/sql/upgrades/9/h2.upgrade.ddl";
+
+    private Connection connection;
+
+    @BeforeEach
+    void createVersion8Schema() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID());
+        execute(DDL);
+        // the upgrade only reads the artifacts and versions tables, so the current schema without
+        // tenant_usage stands in for version 8
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DROP TABLE tenant_usage");
+            statement.executeUpdate("UPDATE apicurio SET prop_value = 8 WHERE prop_name = 'db_version'");
+        }
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void testUpgradeSeedsTenantUsage() throws Exception {
+        insertArtifact("t1", "a1", 3);
+        insertArtifact("t1", "a2", 1);
+        insertArtifact("t2", "a1", 2);
+
+        execute(UPGRADE_DDL);
+
+        assertUsage("t1", 2, 4);
+        assertUsage("t2", 1, 2);
+        Assertions.assertFalse(hasUsage("t3"));
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT prop_value FROM apicurio WHERE prop_name = 'db_version'")) {
+            Assertions.assertTrue(rs.next());
+            Assertions.assertEquals("9", rs.getString(1));
+        }
+    }
+
+    @Test
+    void testUpgradeEmptyDatabase() throws Exception {
+        execute(UPGRADE_DDL);
+
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM tenant_usage")) {
+            Assertions.assertTrue(rs.next());
+            Assertions.assertEquals(0, rs.getLong(1));
+        }
+    }
+
+    private void execute(String resource) throws IOException, SQLException {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(resource)) {
+            Assertions.assertNotNull(input, resource);
+            for (String sql : new DdlParser().parse(input)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate(sql);
+                }
+            }
+        }
+    }
+
+    private void insertArtifact(String tenantId, String artifactId, int versions) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "MERGE INTO content (tenantId, contentId, canonicalHash, contentHash, content) KEY (tenantId, contentId) VALUES (?, 1, 'hash', 'hash', X'00')")) {
+            ps.setString(1, tenantId);
+            ps.executeUpdate();
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO artifacts (tenantId, groupId, artifactId, type, createdOn) VALUES (?, '__$GROUPID$__', ?, 'AVRO', CURRENT_TIMESTAMP)")) {
+            ps.setString(1, tenantId);
+            ps.setString(2, artifactId);
+            ps.executeUpdate();
+        }
+        for (int i = 1; i <= versions; i++) {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO versions (globalId, tenantId, groupId, artifactId, version, versionId, state, createdOn, contentId) "
+                    + "VALUES (?, ?, '__$GROUPID$__', ?, ?, ?, 'ENABLED', CURRENT_TIMESTAMP, 1)")) {
+                ps.setLong(1, (tenantId + artifactId + i).hashCode());
+                ps.setString(2, tenantId);
+                ps.setString(3, artifactId);
+                ps.setString(4, String.valueOf(i));
+                ps.setInt(5, i);
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    private void assertUsage(String tenantId, long artifacts, long versions) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT artifacts, versions FROM tenant_usage WHERE tenantId = ?")) {
+            ps.setString(1, tenantId);
+            try (ResultSet rs = ps.executeQuery()) {
+                Assertions.assertTrue(rs.next(), tenantId);
+                Assertions.assertEquals(artifacts, rs.getLong(1));
+                Assertions.assertEquals(versions, rs.getLong(2));
+            }
+        }
+    }
+
+    private boolean hasUsage(String tenantId) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT 1 FROM tenant_usage WHERE tenantId = ?")) {
+            ps.setString(1, tenantId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
@@ -24,6 +24,8 @@ import java.util.Map;
 
 import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
 import io.apicurio.registry.rest.v2.beans.ArtifactSearchResults;
+import io.apicurio.registry.rest.v2.beans.BatchLookupRequest;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResults;
 import io.apicurio.registry.rest.v2.beans.EditableMetaData;
 import io.apicurio.registry.rest.v2.beans.IfExists;
 import io.apicurio.registry.rest.v2.beans.LogConfiguration;
@@ -164,6 +166,8 @@ public interface RegistryClient extends Closeable {
         return getContentByHash(contentHash, null);
     };
 
+    BatchLookupResults lookupBatch(BatchLookupRequest data);
+
     default ArtifactSearchResults searchArtifacts(String group, String name, String description, List<String> labels,
             List<String> properties, SortBy orderBy, SortOrder order, Integer offset, Integer limit) {
         return searchArtifacts(group, name, description, labels, properties, null, null, orderBy, order, offset, limit);
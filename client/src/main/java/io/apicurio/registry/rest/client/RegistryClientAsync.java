@@ -0,0 +1,225 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rest.client;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
+import io.apicurio.registry.rest.v2.beans.ArtifactSearchResults;
+import io.apicurio.registry.rest.v2.beans.BatchLookupRequest;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResults;
+import io.apicurio.registry.rest.v2.beans.EditableMetaData;
+import io.apicurio.registry.rest.v2.beans.IfExists;
+import io.apicurio.registry.rest.v2.beans.LogConfiguration;
+import io.apicurio.registry.rest.v2.beans.NamedLogConfiguration;
+import io.apicurio.registry.rest.v2.beans.RoleMapping;
+import io.apicurio.registry.rest.v2.beans.Rule;
+import io.apicurio.registry.rest.v2.beans.SortBy;
+import io.apicurio.registry.rest.v2.beans.SortOrder;
+import io.apicurio.registry.rest.v2.beans.UpdateState;
+import io.apicurio.registry.rest.v2.beans.UserInfo;
+import io.apicurio.registry.rest.v2.beans.VersionMetaData;
+import io.apicurio.registry.rest.v2.beans.VersionSearchResults;
+import io.apicurio.registry.types.ArtifactType;
+import io.apicurio.registry.types.RoleType;
+import io.apicurio.registry.types.RuleType;
+
+/**
+ * Non blocking variant of {@link RegistryClient}, compatible with the Registry API V2.  Every operation
+ * returns immediately, the returned stage completes with the result of the request, or exceptionally with
+ * the same exceptions the blocking client throws.
+ */
+public interface RegistryClientAsync extends AutoCloseable {
+
+    CompletionStage<InputStream> getLatestArtifact(String groupId, String artifactId);
+
+    CompletionStage<ArtifactMetaData> updateArtifact(String groupId, String artifactId, String version, String artifactName, String artifactDescription, String contentType, InputStream data);
+
+    default CompletionStage<ArtifactMetaData> updateArtifact(String groupId, String artifactId, String version, String artifactName, String artifactDescription, InputStream data) {
+        return updateArtifact(groupId, artifactId, version, artifactName, artifactDescription, null, data);
+    }
+
+    default CompletionStage<ArtifactMetaData> updateArtifact(String groupId, String artifactId, String version, InputStream data) {
+        return updateArtifact(groupId, artifactId, version, null, null, null, data);
+    }
+
+    default CompletionStage<ArtifactMetaData> updateArtifact(String groupId, String artifactId, InputStream data) {
+        return updateArtifact(groupId, artifactId, null, null, null, null, data);
+    }
+
+    CompletionStage<Void> deleteArtifact(String groupId, String artifactId);
+
+    CompletionStage<ArtifactMetaData> getArtifactMetaData(String groupId, String artifactId);
+
+    CompletionStage<Void> updateArtifactMetaData(String groupId, String artifactId, EditableMetaData data);
+
+    CompletionStage<VersionMetaData> getArtifactVersionMetaDataByContent(String groupId, String artifactId, Boolean canonical, String contentType, InputStream data);
+
+    default CompletionStage<VersionMetaData> getArtifactVersionMetaDataByContent(String groupId, String artifactId, Boolean canonical, InputStream data) {
+        return getArtifactVersionMetaDataByContent(groupId, artifactId, canonical, null, data);
+    }
+
+    default CompletionStage<VersionMetaData> getArtifactVersionMetaDataByContent(String groupId, String artifactId, InputStream data) {
+        return getArtifactVersionMetaDataByContent(groupId, artifactId, null, null, data);
+    }
+
+    CompletionStage<List<RuleType>> listArtifactRules(String groupId, String artifactId);
+
+    CompletionStage<Void> createArtifactRule(String groupId, String artifactId, Rule data);
+
+    CompletionStage<Void> deleteArtifactRules(String groupId, String artifactId);
+
+    CompletionStage<Rule> getArtifactRuleConfig(String groupId, String artifactId, RuleType rule);
+
+    CompletionStage<Rule> updateArtifactRuleConfig(String groupId, String artifactId, RuleType rule, Rule data);
+
+    CompletionStage<Void> deleteArtifactRule(String groupId, String artifactId, RuleType rule);
+
+    CompletionStage<Void> updateArtifactState(String groupId, String artifactId, UpdateState data);
+
+    CompletionStage<Void> testUpdateArtifact(String groupId, String artifactId, String contentType, InputStream data);
+
+    default CompletionStage<Void> testUpdateArtifact(String groupId, String artifactId, InputStream data) {
+        return testUpdateArtifact(groupId, artifactId, null, data);
+    }
+
+    CompletionStage<InputStream> getArtifactVersion(String groupId, String artifactId, String version);
+
+    CompletionStage<VersionMetaData> getArtifactVersionMetaData(String groupId, String artifactId, String version);
+
+    CompletionStage<Void> updateArtifactVersionMetaData(String groupId, String artifactId, String version,
+                                       EditableMetaData data);
+
+    CompletionStage<Void> deleteArtifactVersionMetaData(String groupId, String artifactId, String version);
+
+    CompletionStage<Void> updateArtifactVersionState(String groupId, String artifactId, String version, UpdateState data);
+
+    CompletionStage<VersionSearchResults> listArtifactVersions(String groupId, String artifactId, Integer offset,
+                                              Integer limit);
+
+    CompletionStage<VersionMetaData> createArtifactVersion(String groupId, String artifactId, String version, String artifactName, String artifactDescription, String contentType, InputStream data);
+
+    default CompletionStage<VersionMetaData> createArtifactVersion(String groupId, String artifactId, String version, String artifactName, String artifactDescription, InputStream data) {
+        return createArtifactVersion(groupId, artifactId, version, artifactName, artifactDescription, null, data);
+    }
+
+    default CompletionStage<VersionMetaData> createArtifactVersion(String groupId, String artifactId, String version, InputStream data) {
+        return createArtifactVersion(groupId, artifactId, version, null, null, null, data);
+    }
+
+    CompletionStage<ArtifactSearchResults> listArtifactsInGroup(String groupId, SortBy orderBy, SortOrder order, Integer offset, Integer limit);
+
+    default CompletionStage<ArtifactSearchResults> listArtifactsInGroup(String groupId) {
+        return listArtifactsInGroup(groupId, null, null, null, null);
+    }
+
+    CompletionStage<ArtifactMetaData> createArtifact(String groupId, String artifactId, String version, ArtifactType artifactType, IfExists ifExists, Boolean canonical, String artifactName, String artifactDescription, String contentType, InputStream data);
+
+    default CompletionStage<ArtifactMetaData> createArtifact(String groupId, String artifactId, String version, ArtifactType artifactType, IfExists ifExists, Boolean canonical, String artifactName, String artifactDescription, InputStream data) {
+        return createArtifact(groupId, artifactId, version, artifactType, ifExists, canonical, artifactName, artifactDescription, null, data);
+    }
+
+    default CompletionStage<ArtifactMetaData> createArtifact(String groupId, String artifactId, String version, ArtifactType artifactType, IfExists ifExists, Boolean canonical, InputStream data) {
+        return createArtifact(groupId, artifactId, version, artifactType, ifExists, canonical, null, null, null, data);
+    }
+
+    default CompletionStage<ArtifactMetaData> createArtifact(String groupId, String artifactId, InputStream data) {
+        return createArtifact(groupId, artifactId, null, null, null, null, null, null, null, data);
+    }
+
+    default CompletionStage<ArtifactMetaData> createArtifact(String groupId, String artifactId, String version, InputStream data) {
+        return createArtifact(groupId, artifactId, version, null, null, null, null, null, null, data);
+    }
+
+    default CompletionStage<ArtifactMetaData> createArtifact(String groupId, String artifactId, ArtifactType artifactType, InputStream data) {
+        return createArtifact(groupId, artifactId, null, artifactType, null, null, null, null, null, data);
+    }
+
+    default CompletionStage<ArtifactMetaData> createArtifact(String groupId, String artifactId, ArtifactType artifactType, IfExists ifExists, InputStream data) {
+        return createArtifact(groupId, artifactId, null, artifactType, ifExists, null, null, null, null, data);
+    }
+
+    CompletionStage<Void> deleteArtifactsInGroup(String groupId);
+
+    CompletionStage<InputStream> getContentById(long contentId);
+
+    CompletionStage<InputStream> getContentByGlobalId(long globalId);
+
+    CompletionStage<InputStream> getContentByHash(String contentHash, Boolean canonical);
+
+    default CompletionStage<InputStream> getContentByHash(String contentHash) {
+        return getContentByHash(contentHash, null);
+    }
+
+    CompletionStage<BatchLookupResults> lookupBatch(BatchLookupRequest data);
+
+    default CompletionStage<ArtifactSearchResults> searchArtifacts(String group, String name, String description, List<String> labels,
+            List<String> properties, SortBy orderBy, SortOrder order, Integer offset, Integer limit) {
+        return searchArtifacts(group, name, description, labels, properties, null, null, orderBy, order, offset, limit);
+    }
+
+    CompletionStage<ArtifactSearchResults> searchArtifacts(String group, String name, String description, List<String> labels,
+            List<String> properties, Long globalId, Long contentId, SortBy orderBy, SortOrder order, Integer offset, Integer limit);
+
+    CompletionStage<ArtifactSearchResults> searchArtifactsByContent(InputStream data, SortBy orderBy, SortOrder order, Integer offset, Integer limit);
+
+    CompletionStage<List<RuleType>> listGlobalRules();
+
+    CompletionStage<Void> createGlobalRule(Rule data);
+
+    CompletionStage<Void> deleteAllGlobalRules();
+
+    CompletionStage<Rule> getGlobalRuleConfig(RuleType rule);
+
+    CompletionStage<Rule> updateGlobalRuleConfig(RuleType rule, Rule data);
+
+    CompletionStage<Void> deleteGlobalRule(RuleType rule);
+
+    CompletionStage<List<NamedLogConfiguration>> listLogConfigurations();
+
+    CompletionStage<NamedLogConfiguration> getLogConfiguration(String logger);
+
+    CompletionStage<NamedLogConfiguration> setLogConfiguration(String logger, LogConfiguration data);
+
+    CompletionStage<NamedLogConfiguration> removeLogConfiguration(String logger);
+
+    CompletionStage<InputStream> exportData();
+
+    CompletionStage<Void> importData(InputStream data);
+
+    CompletionStage<List<RoleMapping>> listRoleMappings();
+
+    CompletionStage<Void> createRoleMapping(RoleMapping data);
+
+    CompletionStage<RoleMapping> getRoleMapping(String principalId);
+
+    CompletionStage<Void> updateRoleMapping(String principalId, RoleType role);
+
+    CompletionStage<Void> deleteRoleMapping(String principalId);
+
+    CompletionStage<UserInfo> getCurrentUserInfo();
+
+    void setNextRequestHeaders(Map<String, String> requestHeaders);
+
+    Map<String, String> getHeaders();
+
+    @Override
+    void close();
+}
@@ -18,6 +18,8 @@ package io.apicurio.registry.rest.client;
 
 import io.apicurio.registry.rest.client.config.ClientConfig;
 import io.apicurio.registry.rest.client.impl.ErrorHandler;
+import io.apicurio.registry.rest.client.impl.JdkAsyncHttpClient;
+import io.apicurio.registry.rest.client.impl.RegistryClientAsyncImpl;
 import io.apicurio.registry.rest.client.impl.RegistryClientImpl;
 import io.apicurio.rest.client.auth.Auth;
 import io.apicurio.rest.client.config.ApicurioClientConfig;
@@ -25,6 +27,7 @@ import io.apicurio.rest.client.spi.ApicurioHttpClient;
 import io.apicurio.rest.client.spi.ApicurioHttpClientFactory;
 import io.apicurio.rest.client.spi.ApicurioHttpClientProvider;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -79,6 +82,41 @@ public class RegistryClientFactory {
         return new RegistryClientImpl(ApicurioHttpClientFactory.create(baseUrl, processedConfigs, auth, new ErrorHandler()));
     }
 
+    public static RegistryClientAsync createAsync(String baseUrl) {
+        return createAsync(baseUrl, Collections.emptyMap(), null);
+    }
+
+    public static RegistryClientAsync createAsync(String baseUrl, Map<String, Object> configs) {
+        return createAsync(baseUrl, configs, null);
+    }
+
+    /**
+     * Creates a non blocking client, see {@link ClientConfig} for the <code>apicurio.registry.client.async.*</code>
+     * configuration properties.
+     */
+    public static RegistryClientAsync createAsync(String baseUrl, Map<String, Object> configs, Auth auth) {
+        String endpoint = baseUrl;
+        if (!toBoolean(configs.get(ClientConfig.REGISTRY_CLIENT_DISABLE_AUTO_BASE_PATH_APPEND), false)) {
+            endpoint = (baseUrl.endsWith("/") ? baseUrl : baseUrl + "/") + BASE_PATH;
+        }
+        boolean http2 = toBoolean(configs.get(ClientConfig.REGISTRY_CLIENT_ASYNC_HTTP2), ClientConfig.REGISTRY_CLIENT_ASYNC_HTTP2_DEFAULT);
+        int maxConcurrentRequests = (int) toLong(configs.get(ClientConfig.REGISTRY_CLIENT_ASYNC_MAX_CONCURRENT_REQUESTS),
+                ClientConfig.REGISTRY_CLIENT_ASYNC_MAX_CONCURRENT_REQUESTS_DEFAULT);
+        long requestTimeout = toLong(configs.get(ClientConfig.REGISTRY_CLIENT_ASYNC_REQUEST_TIMEOUT_MS),
+                ClientConfig.REGISTRY_CLIENT_ASYNC_REQUEST_TIMEOUT_MS_DEFAULT);
+
+        return new RegistryClientAsyncImpl(new JdkAsyncHttpClient(endpoint, configs, auth, new ErrorHandler(),
+                http2, maxConcurrentRequests, Duration.ofMillis(requestTimeout)));
+    }
+
+    private static boolean toBoolean(Object value, boolean defaultValue) {
+        return value == null ? defaultValue : Boolean.parseBoolean(value.toString());
+    }
+
+    private static long toLong(Object value, long defaultValue) {
+        return value == null ? defaultValue : Long.parseLong(value.toString());
+    }
+
     private static Map<String, Object> processConfiguration(Map<String, Object> configs) {
         final Map<String, Object> processedConfigs = new HashMap<>();
 
@@ -29,4 +29,10 @@ public class ClientConfig {
     public static final String REGISTRY_REQUEST_KEY_PASSWORD = "apicurio.registry.request.ssl.key.password";
     public static final String REGISTRY_CLIENT_DISABLE_AUTO_BASE_PATH_APPEND = "apicurio.registry.client.disable-auto-basepath-append";
     public static final String REGISTRY_CLIENT_AUTO_BASE_PATH = "apicurio.registry.rest.client.auto-base-path";
+    public static final String REGISTRY_CLIENT_ASYNC_HTTP2 = "apicurio.registry.client.async.http2";
+    public static final String REGISTRY_CLIENT_ASYNC_MAX_CONCURRENT_REQUESTS = "apicurio.registry.client.async.max-concurrent-requests";
+    public static final String REGISTRY_CLIENT_ASYNC_REQUEST_TIMEOUT_MS = "apicurio.registry.client.async.request-timeout-ms";
+    public static final boolean REGISTRY_CLIENT_ASYNC_HTTP2_DEFAULT = true;
+    public static final int REGISTRY_CLIENT_ASYNC_MAX_CONCURRENT_REQUESTS_DEFAULT = 64;
+    public static final long REGISTRY_CLIENT_ASYNC_REQUEST_TIMEOUT_MS_DEFAULT = 30000;
 }
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rest.client.impl;
+
+import io.apicurio.rest.client.auth.Auth;
+import io.apicurio.rest.client.error.RestClientErrorHandler;
+import io.apicurio.rest.client.handler.BodyHandler;
+import io.apicurio.rest.client.request.Request;
+import io.apicurio.rest.client.util.UriUtil;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.apicurio.registry.rest.client.config.ClientConfig.REGISTRY_REQUEST_HEADERS_PREFIX;
+import static io.apicurio.registry.rest.client.config.ClientConfig.REGISTRY_REQUEST_KEYSTORE_LOCATION;
+import static io.apicurio.registry.rest.client.config.ClientConfig.REGISTRY_REQUEST_KEYSTORE_PASSWORD;
+import static io.apicurio.registry.rest.client.config.ClientConfig.REGISTRY_REQUEST_KEYSTORE_TYPE;
+import static io.apicurio.registry.rest.client.config.ClientConfig.REGISTRY_REQUEST_KEY_PASSWORD;
+import static io.apicurio.registry.rest.client.config.ClientConfig.REGISTRY_REQUEST_TRUSTSTORE_LOCATION;
+import static io.apicurio.registry.rest.client.config.ClientConfig.REGISTRY_REQUEST_TRUSTSTORE_PASSWORD;
+import static io.apicurio.registry.rest.client.config.ClientConfig.REGISTRY_REQUEST_TRUSTSTORE_TYPE;
+
+/**
+ * Non blocking http client used by {@link RegistryClientAsyncImpl}.  All the requests share a single
+ * {@link HttpClient}, which multiplexes them over one HTTP/2 connection when the server supports it (and
+ * falls back to a pool of HTTP/1.1 connections otherwise).
+ * <p>
+ * At most <code>maxConcurrentRequests</code> requests are in flight, further requests are queued without
+ * blocking the caller and are sent as soon as a previous request completes.  Responses are decoded on a
+ * dedicated executor, so that reading a response body never blocks the threads of the http client.  That
+ * executor has at most one thread per in-flight request, idle threads are stopped.
+ */
+public class JdkAsyncHttpClient implements AutoCloseable {
+
+    private final HttpClient client;
+    private final String endpoint;
+    private final Auth auth;
+    private final RestClientErrorHandler errorHandler;
+    private final Duration requestTimeout;
+    private final int maxConcurrentRequests;
+    private final Map<String, String> defaultHeaders;
+    private final ExecutorService executor;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<PendingRequest> pending = new ConcurrentLinkedQueue<>();
+
+    private static final ThreadLocal<Map<String, String>> requestHeaders = ThreadLocal.withInitial(Collections::emptyMap);
+
+    public JdkAsyncHttpClient(String endpoint, Map<String, Object> configs, Auth auth, RestClientErrorHandler errorHandler,
+                              boolean http2, int maxConcurrentRequests, Duration requestTimeout) {
+        if (maxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be positive: " + maxConcurrentRequests);
+        }
+        this.endpoint = endpoint.endsWith("/") ? endpoint : endpoint + "/";
+        this.auth = auth;
+        this.errorHandler = errorHandler;
+        this.requestTimeout = requestTimeout;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.defaultHeaders = defaultHeaders(configs);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "apicurio-registry-client-async");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+
+        // the http client keeps its own default executor, decoding responses never blocks it
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+        if (requestTimeout != null) {
+            builder.connectTimeout(requestTimeout);
+        }
+        SSLContext sslContext = sslContext(configs);
+        if (sslContext != null) {
+            builder.sslContext(sslContext);
+        }
+        this.client = builder.build();
+    }
+
+    /**
+     * Sends the request without blocking the caller.  The request (including the authentication headers)
+     * is built on the calling thread, so headers set by {@link #setNextRequestHeaders(Map)} apply to it.
+     * @return a future completed with the decoded response, or exceptionally with the error reported by the
+     *         {@link RestClientErrorHandler}
+     */
+    public <T> CompletableFuture<T> sendRequest(Request<T> request) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = buildRequest(request);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(errorHandler.parseError(e));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        submit(new PendingRequest() {
+            @Override
+            public void send() {
+                client.sendAsync(httpRequest, new BodyHandler<>(request.getResponseType(), errorHandler))
+                        .thenApplyAsync(response -> response.body().get(), executor)
+                        .whenComplete((value, error) -> {
+                            release();
+                            if (error == null) {
+                                result.complete(value);
+                            } else {
+                                result.completeExceptionally(mapError(error));
+                            }
+                        });
+            }
+
+            @Override
+            public void fail(RuntimeException error) {
+                result.completeExceptionally(error);
+            }
+        });
+        return result;
+    }
+
+    public void setNextRequestHeaders(Map<String, String> headers) {
+        requestHeaders.set(headers);
+    }
+
+    public Map<String, String> getHeaders() {
+        return requestHeaders.get();
+    }
+
+    public int getInFlightRequests() {
+        return inFlight.get();
+    }
+
+    public int getQueuedRequests() {
+        return pending.size();
+    }
+
+    private <T> HttpRequest buildRequest(Request<T> request) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(UriUtil.buildURI(endpoint + request.getRequestPath(), request.getQueryParams(), request.getPathParams()));
+        if (requestTimeout != null) {
+            builder.timeout(requestTimeout);
+        }
+
+        defaultHeaders.forEach(builder::header);
+        requestHeaders.get().forEach(builder::header);
+        requestHeaders.remove();
+
+        Map<String, String> headers = request.getHeaders();
+        if (auth != null) {
+            headers = new HashMap<>(headers);
+            auth.apply(headers);
+        }
+        headers.forEach(builder::header);
+
+        switch (request.getOperation()) {
+            case GET:
+                builder.GET();
+                break;
+            case PUT:
+                builder.PUT(HttpRequest.BodyPublishers.ofByteArray(request.getData().readAllBytes()));
+                break;
+            case POST:
+                if (request.getDataString() != null) {
+                    builder.POST(HttpRequest.BodyPublishers.ofString(request.getDataString()));
+                } else {
+                    builder.POST(HttpRequest.BodyPublishers.ofByteArray(request.getData().readAllBytes()));
+                }
+                break;
+            case DELETE:
+                builder.DELETE();
+                break;
+            default:
+                throw new IllegalStateException("Operation not allowed");
+        }
+        return builder.build();
+    }
+
+    private RuntimeException mapError(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Exception) {
+            return errorHandler.parseError((Exception) cause);
+        }
+        return new CompletionException(cause);
+    }
+
+    private void submit(PendingRequest task) {
+        pending.add(task);
+        drain();
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    /**
+     * Starts queued requests while there is room for them.  A request added concurrently with the last
+     * release is picked up by the drain call of its own submit.
+     */
+    private void drain() {
+        while (!pending.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maxConcurrentRequests) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            PendingRequest task = pending.poll();
+            if (task == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            try {
+                task.send();
+            } catch (RuntimeException e) {
+                // e.g. an invalid request, or a closed client, the request never got in flight
+                inFlight.decrementAndGet();
+                task.fail(e);
+            }
+        }
+    }
+
+    /**
+     * A queued request, sent once there is room for it.
+     */
+    private interface PendingRequest {
+
+        void send();
+
+        void fail(RuntimeException error);
+    }
+
+    private static Map<String, String> defaultHeaders(Map<String, Object> configs) {
+        Map<String, String> headers = new HashMap<>();
+        configs.forEach((key, value) -> {
+            if (key.startsWith(REGISTRY_REQUEST_HEADERS_PREFIX)) {
+                headers.put(key.substring(REGISTRY_REQUEST_HEADERS_PREFIX.length()), String.valueOf(value));
+            }
+        });
+        return headers;
+    }
+
+    private static SSLContext sslContext(Map<String, Object> configs) {
+        try {
+            TrustManager[] trustManagers = null;
+            if (configs.containsKey(REGISTRY_REQUEST_TRUSTSTORE_LOCATION)) {
+                KeyStore truststore = loadKeyStore(configs, REGISTRY_REQUEST_TRUSTSTORE_LOCATION, REGISTRY_REQUEST_TRUSTSTORE_TYPE, REGISTRY_REQUEST_TRUSTSTORE_PASSWORD);
+                TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+                factory.init(truststore);
+                trustManagers = factory.getTrustManagers();
+            }
+            KeyManager[] keyManagers = null;
+            if (configs.containsKey(REGISTRY_REQUEST_KEYSTORE_LOCATION)) {
+                KeyStore keystore = loadKeyStore(configs, REGISTRY_REQUEST_KEYSTORE_LOCATION, REGISTRY_REQUEST_KEYSTORE_TYPE, REGISTRY_REQUEST_KEYSTORE_PASSWORD);
+                KeyManagerFactory factory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+                String keyPassword = String.valueOf(configs.getOrDefault(REGISTRY_REQUEST_KEY_PASSWORD, ""));
+                factory.init(keystore, keyPassword.toCharArray());
+                keyManagers = factory.getKeyManagers();
+            }
+            if (trustManagers == null && keyManagers == null) {
+                return null;
+            }
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(keyManagers, trustManagers, new SecureRandom());
+            return sslContext;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static KeyStore loadKeyStore(Map<String, Object> configs, String locationKey, String typeKey, String passwordKey)
+            throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance(String.valueOf(configs.getOrDefault(typeKey, "JKS")));
+        String password = String.valueOf(configs.getOrDefault(passwordKey, ""));
+        try (InputStream is = new FileInputStream(String.valueOf(configs.get(locationKey)))) {
+            keyStore.load(is, password.toCharArray());
+        }
+        return keyStore;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,436 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rest.client.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.apicurio.registry.rest.Headers;
+import io.apicurio.registry.rest.client.RegistryClientAsync;
+import io.apicurio.registry.rest.client.exception.InvalidArtifactIdException;
+import io.apicurio.registry.rest.client.exception.RestClientException;
+import io.apicurio.registry.rest.client.request.Parameters;
+import io.apicurio.registry.rest.client.request.provider.AdminRequestsProvider;
+import io.apicurio.registry.rest.client.request.provider.GroupRequestsProvider;
+import io.apicurio.registry.rest.client.request.provider.IdRequestsProvider;
+import io.apicurio.registry.rest.client.request.provider.SearchRequestsProvider;
+import io.apicurio.registry.rest.client.request.provider.UsersRequestsProvider;
+import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
+import io.apicurio.registry.rest.v2.beans.ArtifactSearchResults;
+import io.apicurio.registry.rest.v2.beans.BatchLookupRequest;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResults;
+import io.apicurio.registry.rest.v2.beans.EditableMetaData;
+import io.apicurio.registry.rest.v2.beans.Error;
+import io.apicurio.registry.rest.v2.beans.IfExists;
+import io.apicurio.registry.rest.v2.beans.LogConfiguration;
+import io.apicurio.registry.rest.v2.beans.NamedLogConfiguration;
+import io.apicurio.registry.rest.v2.beans.RoleMapping;
+import io.apicurio.registry.rest.v2.beans.Rule;
+import io.apicurio.registry.rest.v2.beans.SortBy;
+import io.apicurio.registry.rest.v2.beans.SortOrder;
+import io.apicurio.registry.rest.v2.beans.UpdateState;
+import io.apicurio.registry.rest.v2.beans.UserInfo;
+import io.apicurio.registry.rest.v2.beans.VersionMetaData;
+import io.apicurio.registry.rest.v2.beans.VersionSearchResults;
+import io.apicurio.registry.types.ArtifactType;
+import io.apicurio.registry.types.RoleType;
+import io.apicurio.registry.types.RuleType;
+import io.apicurio.registry.utils.ArtifactIdValidator;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static io.apicurio.registry.rest.client.impl.RegistryClientImpl.checkCommonQueryParams;
+import static io.apicurio.registry.rest.client.impl.RegistryClientImpl.headersFrom;
+import static io.apicurio.registry.rest.client.impl.RegistryClientImpl.normalizeGid;
+import static io.apicurio.registry.rest.client.impl.RegistryClientImpl.parseSerializationError;
+
+
+/**
+ * {@link RegistryClientAsync} implementation, sending the same requests as {@link RegistryClientImpl}
+ * through a non blocking {@link JdkAsyncHttpClient}.
+ */
+public class RegistryClientAsyncImpl implements RegistryClientAsync {
+
+    private final JdkAsyncHttpClient httpClient;
+
+    public RegistryClientAsyncImpl(JdkAsyncHttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public CompletionStage<InputStream> getLatestArtifact(String groupId, String artifactId) {
+        return httpClient.sendRequest(GroupRequestsProvider.getLatestArtifact(normalizeGid(groupId), artifactId));
+    }
+
+    @Override
+    public CompletionStage<ArtifactMetaData> updateArtifact(String groupId, String artifactId, String version, String artifactName, String artifactDescription, String contentType, InputStream data) {
+        Map<String, String> headers = headersFrom(version, artifactName, artifactDescription, contentType);
+        return httpClient.sendRequest(GroupRequestsProvider.updateArtifact(normalizeGid(groupId), artifactId, headers, data));
+    }
+
+    @Override
+    public CompletionStage<Void> deleteArtifact(String groupId, String artifactId) {
+        return httpClient.sendRequest(GroupRequestsProvider.deleteArtifact(normalizeGid(groupId), artifactId));
+    }
+
+    @Override
+    public CompletionStage<ArtifactMetaData> getArtifactMetaData(String groupId, String artifactId) {
+        return httpClient.sendRequest(GroupRequestsProvider.getArtifactMetaData(normalizeGid(groupId), artifactId));
+    }
+
+    @Override
+    public CompletionStage<Void> updateArtifactMetaData(String groupId, String artifactId, EditableMetaData data) {
+        try {
+            return httpClient.sendRequest(GroupRequestsProvider.updateArtifactMetaData(normalizeGid(groupId), artifactId, data));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new RestClientException(new Error()));
+        }
+    }
+
+    @Override
+    public CompletionStage<VersionMetaData> getArtifactVersionMetaDataByContent(String groupId, String artifactId, Boolean canonical, String contentType, InputStream data) {
+        final Map<String, List<String>> queryParams = canonical != null ? Map.of(Parameters.CANONICAL, Collections.singletonList(String.valueOf(canonical))) : Collections.emptyMap();
+        final Map<String, String> headers = contentType != null ? Map.of(Headers.CONTENT_TYPE, contentType) : Collections.emptyMap();
+        return httpClient.sendRequest(GroupRequestsProvider.getArtifactVersionMetaDataByContent(normalizeGid(groupId), artifactId, headers, queryParams, data));
+    }
+
+    @Override
+    public CompletionStage<List<RuleType>> listArtifactRules(String groupId, String artifactId) {
+        return httpClient.sendRequest(GroupRequestsProvider.listArtifactRules(normalizeGid(groupId), artifactId));
+    }
+
+    @Override
+    public CompletionStage<Void> createArtifactRule(String groupId, String artifactId, Rule data) {
+        try {
+            return httpClient.sendRequest(GroupRequestsProvider.createArtifactRule(normalizeGid(groupId), artifactId, data));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(parseSerializationError(e));
+        }
+    }
+
+    @Override
+    public CompletionStage<Void> deleteArtifactRules(String groupId, String artifactId) {
+        return httpClient.sendRequest(GroupRequestsProvider.deleteArtifactRules(normalizeGid(groupId), artifactId));
+    }
+
+    @Override
+    public CompletionStage<Rule> getArtifactRuleConfig(String groupId, String artifactId, RuleType rule) {
+        return httpClient.sendRequest(GroupRequestsProvider.getArtifactRuleConfig(normalizeGid(groupId), artifactId, rule));
+    }
+
+    @Override
+    public CompletionStage<Rule> updateArtifactRuleConfig(String groupId, String artifactId, RuleType rule, Rule data) {
+        try {
+            return httpClient.sendRequest(GroupRequestsProvider.updateArtifactRuleConfig(normalizeGid(groupId), artifactId, rule, data));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(parseSerializationError(e));
+        }
+    }
+
+    @Override
+    public CompletionStage<Void> deleteArtifactRule(String groupId, String artifactId, RuleType rule) {
+        return httpClient.sendRequest(GroupRequestsProvider.deleteArtifactRule(normalizeGid(groupId), artifactId, rule));
+    }
+
+    @Override
+    public CompletionStage<Void> updateArtifactState(String groupId, String artifactId, UpdateState data) {
+        try {
+            return httpClient.sendRequest(GroupRequestsProvider.updateArtifactState(normalizeGid(groupId), artifactId, data));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(parseSerializationError(e));
+        }
+    }
+
+    @Override
+    public CompletionStage<Void> testUpdateArtifact(String groupId, String artifactId, String contentType, InputStream data) {
+        final Map<String, String> headers = contentType != null ? Map.of(Headers.CONTENT_TYPE, contentType) : Collections.emptyMap();
+        return httpClient.sendRequest(GroupRequestsProvider.testUpdateArtifact(normalizeGid(groupId), artifactId, headers, data));
+    }
+
+    @Override
+    public CompletionStage<InputStream> getArtifactVersion(String groupId, String artifactId, String version) {
+        return httpClient.sendRequest(GroupRequestsProvider.getArtifactVersion(normalizeGid(groupId), artifactId, version));
+    }
+
+    @Override
+    public CompletionStage<VersionMetaData> getArtifactVersionMetaData(String groupId, String artifactId, String version) {
+        return httpClient.sendRequest(GroupRequestsProvider.getArtifactVersionMetaData(normalizeGid(groupId), artifactId, version));
+    }
+
+    @Override
+    public CompletionStage<Void> updateArtifactVersionMetaData(String groupId, String artifactId, String version, EditableMetaData data) {
+        try {
+            return httpClient.sendRequest(GroupRequestsProvider.updateArtifactVersionMetaData(normalizeGid(groupId), artifactId, version, data));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(parseSerializationError(e));
+        }
+    }
+
+    @Override
+    public CompletionStage<Void> deleteArtifactVersionMetaData(String groupId, String artifactId, String version) {
+        return httpClient.sendRequest(GroupRequestsProvider.deleteArtifactVersionMetaData(normalizeGid(groupId), artifactId, version));
+    }
+
+    @Override
+    public CompletionStage<Void> updateArtifactVersionState(String groupId, String artifactId, String version, UpdateState data) {
+        try {
+            return httpClient.sendRequest(GroupRequestsProvider.updateArtifactVersionState(normalizeGid(groupId), artifactId, version, data));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(parseSerializationError(e));
+        }
+    }
+
+    @Override
+    public CompletionStage<VersionSearchResults> listArtifactVersions(String groupId, String artifactId, Integer offset, Integer limit) {
+        Map<String, List<String>> queryParams = new HashMap<>();
+        checkCommonQueryParams(null, null, limit, offset, queryParams);
+        return httpClient.sendRequest(GroupRequestsProvider.listArtifactVersions(normalizeGid(groupId), artifactId, queryParams));
+    }
+
+    @Override
+    public CompletionStage<VersionMetaData> createArtifactVersion(String groupId, String artifactId, String version, String artifactName, String artifactDescription, String contentType, InputStream data) {
+        Map<String, String> headers = headersFrom(version, artifactName, artifactDescription, contentType);
+        return httpClient.sendRequest(GroupRequestsProvider.createArtifactVersion(normalizeGid(groupId), artifactId, data, headers));
+    }
+
+    @Override
+    public CompletionStage<ArtifactSearchResults> listArtifactsInGroup(String groupId, SortBy orderBy, SortOrder order, Integer offset, Integer limit) {
+        final Map<String, List<String>> queryParams = new HashMap<>();
+        checkCommonQueryParams(orderBy, order, limit, offset, queryParams);
+        return httpClient.sendRequest(GroupRequestsProvider.listArtifactsInGroup(normalizeGid(groupId), queryParams));
+    }
+
+    @Override
+    public CompletionStage<ArtifactMetaData> createArtifact(String groupId, String artifactId, String version, ArtifactType artifactType, IfExists ifExists, Boolean canonical, String artifactName, String artifactDescription, String contentType, InputStream data) {
+        if (artifactId != null && !ArtifactIdValidator.isArtifactIdAllowed(artifactId)) {
+            return CompletableFuture.failedFuture(new InvalidArtifactIdException());
+        }
+        final Map<String, String> headers = headersFrom(version, artifactName, artifactDescription, contentType);
+        if (artifactId != null) {
+            headers.put(Headers.ARTIFACT_ID, artifactId);
+        }
+        if (artifactType != null) {
+            headers.put(Headers.ARTIFACT_TYPE, artifactType.name());
+        }
+        final Map<String, List<String>> queryParams = new HashMap<>();
+        if (canonical != null) {
+            queryParams.put(Parameters.CANONICAL, Collections.singletonList(String.valueOf(canonical)));
+        }
+        if (ifExists != null) {
+            queryParams.put(Parameters.IF_EXISTS, Collections.singletonList(ifExists.value()));
+        }
+        return httpClient.sendRequest(GroupRequestsProvider.createArtifact(normalizeGid(groupId), headers, data, queryParams));
+    }
+
+    @Override
+    public CompletionStage<Void> deleteArtifactsInGroup(String groupId) {
+        return httpClient.sendRequest(GroupRequestsProvider.deleteArtifactsInGroup(normalizeGid(groupId)));
+    }
+
+    @Override
+    public CompletionStage<InputStream> getContentById(long contentId) {
+        return httpClient.sendRequest(IdRequestsProvider.getContentById(contentId));
+    }
+
+    @Override
+    public CompletionStage<InputStream> getContentByGlobalId(long globalId) {
+        return httpClient.sendRequest(IdRequestsProvider.getContentByGlobalId(globalId));
+    }
+
+    @Override
+    public CompletionStage<InputStream> getContentByHash(String contentHash, Boolean canonical) {
+        final Map<String, List<String>> queryParams = canonical != null ? Map.of(Parameters.CANONICAL, Collections.singletonList(String.valueOf(canonical))) : Collections.emptyMap();
+        return httpClient.sendRequest(IdRequestsProvider.getContentByHash(contentHash, canonical, queryParams));
+    }
+
+    @Override
+    public CompletionStage<BatchLookupResults> lookupBatch(BatchLookupRequest data) {
+        try {
+            return httpClient.sendRequest(IdRequestsProvider.lookupBatch(data));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(parseSerializationError(e));
+        }
+    }
+
+    @Override
+    public CompletionStage<ArtifactSearchResults> searchArtifacts(String group, String name, String
+            description, List<String> labels, List<String> properties, Long globalId, Long contentId, SortBy orderBy, SortOrder order, Integer offset, Integer limit) {
+
+        final Map<String, List<String>> queryParams = new HashMap<>();
+
+        if (name != null) {
+            queryParams.put(Parameters.NAME, Collections.singletonList(name));
+        }
+        if (description != null) {
+            queryParams.put(Parameters.DESCRIPTION, Collections.singletonList(description));
+        }
+        if (group != null) {
+            queryParams.put(Parameters.GROUP, Collections.singletonList(group));
+        }
+        checkCommonQueryParams(orderBy, order, limit, offset, queryParams);
+        if (labels != null && !labels.isEmpty()) {
+            queryParams.put(Parameters.LABELS, labels);
+        }
+        if (properties != null && !properties.isEmpty()) {
+            queryParams.put(Parameters.PROPERTIES, properties);
+        }
+        if (globalId != null && globalId > 0) {
+            queryParams.put(Parameters.GLOBAL_ID, Collections.singletonList(Long.toString(globalId)));
+        }
+        if (contentId != null && contentId > 0) {
+            queryParams.put(Parameters.CONTENT_ID, Collections.singletonList(Long.toString(contentId)));
+        }
+        return httpClient.sendRequest(SearchRequestsProvider.searchArtifacts(queryParams));
+    }
+
+    @Override
+    public CompletionStage<ArtifactSearchResults> searchArtifactsByContent(InputStream data, SortBy orderBy, SortOrder order,
+                                                          Integer offset, Integer limit) {
+        final Map<String, List<String>> queryParams = new HashMap<>();
+        checkCommonQueryParams(orderBy, order, limit, offset, queryParams);
+        return httpClient.sendRequest(SearchRequestsProvider.searchArtifactsByContent(data, queryParams));
+    }
+
+    @Override
+    public CompletionStage<List<RuleType>> listGlobalRules() {
+        return httpClient.sendRequest(AdminRequestsProvider.listGlobalRules());
+    }
+
+    @Override
+    public CompletionStage<Void> createGlobalRule(Rule data) {
+        try {
+            return httpClient.sendRequest(AdminRequestsProvider.createGlobalRule(data));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(parseSerializationError(e));
+        }
+    }
+
+    @Override
+    public CompletionStage<Void> deleteAllGlobalRules() {
+        return httpClient.sendRequest(AdminRequestsProvider.deleteAllGlobalRules());
+    }
+
+    @Override
+    public CompletionStage<Rule> getGlobalRuleConfig(RuleType rule) {
+        return httpClient.sendRequest(AdminRequestsProvider.getGlobalRule(rule));
+    }
+
+    @Override
+    public CompletionStage<Rule> updateGlobalRuleConfig(RuleType rule, Rule data) {
+        try {
+            return httpClient.sendRequest(AdminRequestsProvider.updateGlobalRuleConfig(rule, data));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(parseSerializationError(e));
+        }
+    }
+
+    @Override
+    public CompletionStage<Void> deleteGlobalRule(RuleType rule) {
+        return httpClient.sendRequest(AdminRequestsProvider.deleteGlobalRule(rule));
+    }
+
+    @Override
+    public CompletionStage<List<NamedLogConfiguration>> listLogConfigurations() {
+        return httpClient.sendRequest(AdminRequestsProvider.listLogConfigurations());
+    }
+
+    @Override
+    public CompletionStage<NamedLogConfiguration> getLogConfiguration(String logger) {
+        return httpClient.sendRequest(AdminRequestsProvider.getLogConfiguration(logger));
+    }
+
+    @Override
+    public CompletionStage<NamedLogConfiguration> setLogConfiguration(String logger, LogConfiguration data) {
+        try {
+            return httpClient.sendRequest(AdminRequestsProvider.setLogConfiguration(logger, data));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(parseSerializationError(e));
+        }
+    }
+
+    @Override
+    public CompletionStage<NamedLogConfiguration> removeLogConfiguration(String logger) {
+        return httpClient.sendRequest(AdminRequestsProvider.removeLogConfiguration(logger));
+    }
+
+    @Override
+    public CompletionStage<InputStream> exportData() {
+        return httpClient.sendRequest(AdminRequestsProvider.exportData());
+    }
+
+    @Override
+    public CompletionStage<Void> importData(InputStream data) {
+        return httpClient.sendRequest(AdminRequestsProvider.importData(data));
+    }
+
+    @Override
+    public CompletionStage<Void> createRoleMapping(RoleMapping data) {
+        try {
+            return httpClient.sendRequest(AdminRequestsProvider.createRoleMapping(data));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(parseSerializationError(e));
+        }
+    }
+
+    @Override
+    public CompletionStage<Void> deleteRoleMapping(String principalId) {
+        return httpClient.sendRequest(AdminRequestsProvider.deleteRoleMapping(principalId));
+    }
+
+    @Override
+    public CompletionStage<RoleMapping> getRoleMapping(String principalId) {
+        return httpClient.sendRequest(AdminRequestsProvider.getRoleMapping(principalId));
+    }
+
+    @Override
+    public CompletionStage<List<RoleMapping>> listRoleMappings() {
+        return httpClient.sendRequest(AdminRequestsProvider.listRoleMappings());
+    }
+
+    @Override
+    public CompletionStage<Void> updateRoleMapping(String principalId, RoleType role) {
+        try {
+            return httpClient.sendRequest(AdminRequestsProvider.updateRoleMapping(principalId, role));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(parseSerializationError(e));
+        }
+    }
+
+    @Override
+    public CompletionStage<UserInfo> getCurrentUserInfo() {
+        return httpClient.sendRequest(UsersRequestsProvider.getCurrentUserInfo());
+    }
+
+    @Override
+    public void setNextRequestHeaders(Map<String, String> requestHeaders) {
+        httpClient.setNextRequestHeaders(requestHeaders);
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return httpClient.getHeaders();
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+}
@@ -29,6 +29,8 @@ import io.apicurio.registry.rest.client.request.provider.SearchRequestsProvider;
 import io.apicurio.registry.rest.client.request.provider.UsersRequestsProvider;
 import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
 import io.apicurio.registry.rest.v2.beans.ArtifactSearchResults;
+import io.apicurio.registry.rest.v2.beans.BatchLookupRequest;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResults;
 import io.apicurio.registry.rest.v2.beans.EditableMetaData;
 import io.apicurio.registry.rest.v2.beans.Error;
 import io.apicurio.registry.rest.v2.beans.IfExists;
@@ -257,6 +259,15 @@ public class RegistryClientImpl implements RegistryClient {
         return apicurioHttpClient.sendRequest(IdRequestsProvider.getContentByHash(contentHash, canonical, queryParams));
     }
 
+    @Override
+    public BatchLookupResults lookupBatch(BatchLookupRequest data) {
+        try {
+            return apicurioHttpClient.sendRequest(IdRequestsProvider.lookupBatch(data));
+        } catch (JsonProcessingException e) {
+            throw parseSerializationError(e);
+        }
+    }
+
     @Override
     public ArtifactSearchResults searchArtifacts(String group, String name, String
             description, List<String> labels, List<String> properties, Long globalId, Long contentId, SortBy orderBy, SortOrder order, Integer offset, Integer limit) {
@@ -416,8 +427,8 @@ public class RegistryClientImpl implements RegistryClient {
         return apicurioHttpClient.getHeaders();
     }
 
-    private void checkCommonQueryParams(SortBy orderBy, SortOrder order, Integer limit, Integer offset,
-                                        Map<String, List<String>> queryParams) {
+    static void checkCommonQueryParams(SortBy orderBy, SortOrder order, Integer limit, Integer offset,
+                                       Map<String, List<String>> queryParams) {
         if (offset != null) {
             queryParams.put(Parameters.OFFSET, Collections.singletonList(String.valueOf(offset)));
         }
@@ -432,15 +443,15 @@ public class RegistryClientImpl implements RegistryClient {
         }
     }
 
-    private String normalizeGid(String groupId) {
+    static String normalizeGid(String groupId) {
         return groupId == null ? "default" : groupId;
     }
 
-    private String encodeToBase64(String toEncode) {
+    static String encodeToBase64(String toEncode) {
         return Base64.getEncoder().encodeToString(toEncode.getBytes(StandardCharsets.UTF_8));
     }
 
-    private Map<String, String> headersFrom(String version, String artifactName, String artifactDescription, String contentType) {
+    static Map<String, String> headersFrom(String version, String artifactName, String artifactDescription, String contentType) {
         final Map<String, String> headers = new HashMap<>();
         if (version != null) {
             headers.put(Headers.VERSION, version);
@@ -457,7 +468,7 @@ public class RegistryClientImpl implements RegistryClient {
         return headers;
     }
 
-    private static RestClientException parseSerializationError(JsonProcessingException ex) {
+    static RestClientException parseSerializationError(JsonProcessingException ex) {
         final Error error = new Error();
         error.setName(ex.getClass().getSimpleName());
         error.setMessage(ex.getMessage());
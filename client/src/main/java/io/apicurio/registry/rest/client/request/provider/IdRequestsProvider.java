@@ -16,23 +16,32 @@
 
 package io.apicurio.registry.rest.client.request.provider;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.apicurio.registry.rest.v2.beans.BatchLookupRequest;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResults;
+import io.apicurio.registry.utils.IoUtil;
 import io.apicurio.rest.client.request.Request;
 
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
+import static io.apicurio.registry.rest.client.request.provider.Routes.IDS_BATCH;
 import static io.apicurio.registry.rest.client.request.provider.Routes.IDS_CONTENT_HASH;
 import static io.apicurio.registry.rest.client.request.provider.Routes.IDS_CONTENT_ID;
 import static io.apicurio.registry.rest.client.request.provider.Routes.IDS_GLOBAL_ID;
 import static io.apicurio.rest.client.request.Operation.GET;
+import static io.apicurio.rest.client.request.Operation.POST;
 
 /**
  * @author Carles Arnal 'carnalca@redhat.com'
  */
 public class IdRequestsProvider {
 
+    private static final ObjectMapper mapper = new ObjectMapper();
+
     public static Request<InputStream> getContentByHash(String contentHash, Boolean canonical, Map<String, List<String>> queryParams) {
         return new Request.RequestBuilder<InputStream>()
                 .operation(GET)
@@ -60,4 +69,13 @@ public class IdRequestsProvider {
                 .responseType(new TypeReference<InputStream>(){})
                 .build();
     }
+
+    public static Request<BatchLookupResults> lookupBatch(BatchLookupRequest data) throws JsonProcessingException {
+        return new Request.RequestBuilder<BatchLookupResults>()
+                .operation(POST)
+                .path(IDS_BATCH)
+                .data(IoUtil.toStream(mapper.writeValueAsBytes(data)))
+                .responseType(new TypeReference<BatchLookupResults>(){})
+                .build();
+    }
 }
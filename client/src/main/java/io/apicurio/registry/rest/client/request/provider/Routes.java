@@ -44,6 +44,7 @@ public class Routes {
     protected static final String IDS_CONTENT_ID = IDS_BASE_PATH + "/contentIds/%s";
     protected static final String IDS_CONTENT_HASH = IDS_BASE_PATH + "/contentHashes/%s";
     protected static final String IDS_GLOBAL_ID = IDS_BASE_PATH + "/globalIds/%s";
+    protected static final String IDS_BATCH = IDS_BASE_PATH + "/batch";
 
     protected static final String RULES_BASE_PATH = ADMIN_BASE_PATH + "/rules";
     protected static final String RULE_PATH = RULES_BASE_PATH + "/%s";
@@ -1,6 +1,10 @@
 package io.apicurio.registry.rest.v2;
 
+import io.apicurio.registry.rest.v2.beans.BatchLookupRequest;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResults;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
@@ -57,4 +61,21 @@ public interface IdsResource {
   @GET
   @Produces("*/*")
   Response getContentByHash(@PathParam("contentHash") String contentHash);
+
+  /**
+   * Gets the content of many artifact versions in the registry, using any combination of their
+   * global identifiers, content identifiers and content hashes.  Artifact versions looked up by
+   * `globalId` also include their meta-data.  Identifiers that do not exist (and disabled artifact versions)
+   * are not included in the response, no error is returned for them.
+   *
+   * This operation may fail for one of the following reasons:
+   *
+   * * A server error occurred (HTTP error `500`)
+   *
+   */
+  @Path("/batch")
+  @POST
+  @Produces("application/json")
+  @Consumes("application/json")
+  BatchLookupResults lookupBatch(BatchLookupRequest data);
 }
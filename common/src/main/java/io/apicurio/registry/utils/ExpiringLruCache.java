@@ -0,0 +1,295 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache with a maximum size, evicting the least recently used entries, whose entries expire after a fixed
+ * time to live.  <code>null</code> values are cached too.
+ * <p>
+ * Unlike {@link CheckPeriodCache}, values are loaded outside of any lock, so a slow load never blocks
+ * lookups of other keys.  Concurrent lookups of the same key wait for that single load instead of starting
+ * their own.  A value loaded while its key is invalidated is not stored, so an invalidation is never undone
+ * by a load that read the old state.
+ * <p>
+ * Optionally, values are refreshed in the background before they expire.  A value older than the refresh
+ * period, but younger than the time to live, is returned as is (stale), and a single refresh of it is
+ * started on the given executor.  When the refresh fails, the stale value keeps being served until it
+ * expires, so an outage of the backing service only affects the keys that are not cached.  Failures
+ * matching the evict predicate (e.g. the key does not exist anymore) remove the value right away.
+ *
+ * @param <K> the key type, must implement equals and hashCode
+ * @param <V> the value type
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final long refreshPeriodMillis;
+    private final long ttlMillis;
+    private final Executor executor;
+    private final Predicate<RuntimeException> evictOnFailure;
+    private final Map<K, Entry<V>> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    /**
+     * @param maxSize maximum number of cached keys
+     * @param ttlMillis age after which a value is not served anymore
+     */
+    public ExpiringLruCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, ttlMillis, null, e -> false);
+    }
+
+    /**
+     * @param maxSize maximum number of cached keys
+     * @param refreshPeriodMillis age after which a value is refreshed in the background
+     * @param ttlMillis age after which a value is not served anymore, at least the refresh period
+     * @param executor runs the background refreshes
+     * @param evictOnFailure failures that remove the cached value instead of keeping it until it expires
+     */
+    public ExpiringLruCache(int maxSize, long refreshPeriodMillis, long ttlMillis, Executor executor,
+            Predicate<RuntimeException> evictOnFailure) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        if (ttlMillis < refreshPeriodMillis) {
+            throw new IllegalArgumentException("ttlMillis must not be lower than refreshPeriodMillis: " + ttlMillis);
+        }
+        this.refreshPeriodMillis = refreshPeriodMillis;
+        this.ttlMillis = ttlMillis;
+        this.executor = executor;
+        this.evictOnFailure = evictOnFailure;
+        this.cache = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return true if the values are refreshed in the background before they expire
+     */
+    public boolean isRefreshing() {
+        return refreshPeriodMillis < ttlMillis;
+    }
+
+    /**
+     * Returns the cached value of the given key, loading it if it is not cached or expired.
+     * Exceptions thrown by the loader are propagated to every caller waiting for that load.
+     */
+    public V get(K key, Function<K, V> loader) {
+        Entry<V> entry;
+        CompletableFuture<V> loading;
+        boolean load = false;
+        boolean refresh = false;
+        V stale = null;
+        synchronized (this) {
+            entry = cache.get(key);
+            if (entry != null && entry.loaded > 0) {
+                long age = System.currentTimeMillis() - entry.loaded;
+                if (age < refreshPeriodMillis) {
+                    hits.increment();
+                    return entry.value;
+                }
+                if (age < ttlMillis) {
+                    staleHits.increment();
+                    stale = entry.value;
+                    if (entry.loading != null) {
+                        return stale;
+                    }
+                    entry.loading = new CompletableFuture<>();
+                    refresh = true;
+                }
+            }
+            if (!refresh) {
+                misses.increment();
+                if (entry == null) {
+                    entry = new Entry<>();
+                    cache.put(key, entry);
+                } else if (entry.loaded > 0) {
+                    // expired, not served anymore
+                    entry.loaded = 0;
+                    entry.value = null;
+                }
+                if (entry.loading == null) {
+                    entry.loading = new CompletableFuture<>();
+                    load = true;
+                }
+            }
+            loading = entry.loading;
+        }
+
+        if (refresh) {
+            Entry<V> refreshed = entry;
+            try {
+                executor.execute(() -> load(key, refreshed, loading, loader, true));
+            } catch (RejectedExecutionException e) {
+                // too many refreshes pending, the next lookup tries again
+                synchronized (this) {
+                    refreshed.loading = null;
+                }
+                loading.complete(stale);
+            }
+            return stale;
+        }
+        if (load) {
+            load(key, entry, loading, loader, false);
+        }
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void load(K key, Entry<V> entry, CompletableFuture<V> loading, Function<K, V> loader, boolean refresh) {
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException e) {
+            if (refresh) {
+                refreshFailures.increment();
+            }
+            synchronized (this) {
+                entry.loading = null;
+                if ((entry.loaded == 0 || evictOnFailure.test(e)) && cache.get(key) == entry) {
+                    cache.remove(key);
+                }
+            }
+            loading.completeExceptionally(e);
+            return;
+        }
+        if (refresh) {
+            refreshes.increment();
+        }
+        synchronized (this) {
+            entry.loading = null;
+            // not stored if the key was invalidated or evicted in the meantime
+            if (cache.get(key) == entry) {
+                entry.value = value;
+                entry.loaded = System.currentTimeMillis();
+            }
+        }
+        loading.complete(value);
+    }
+
+    /**
+     * Returns the cached value of the given key, or <code>null</code> if it is not cached or expired.
+     * Never starts a load or a refresh.
+     */
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = cache.get(key);
+        if (entry != null && entry.loaded > 0 && System.currentTimeMillis() - entry.loaded < ttlMillis) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    public synchronized void put(K key, V value) {
+        Entry<V> entry = new Entry<>();
+        entry.value = value;
+        entry.loaded = System.currentTimeMillis();
+        cache.put(key, entry);
+    }
+
+    public synchronized void remove(K key) {
+        cache.remove(key);
+    }
+
+    public synchronized void removeIf(Predicate<K> predicate) {
+        for (Iterator<K> it = cache.keySet().iterator(); it.hasNext(); ) {
+            if (predicate.test(it.next())) {
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return number of lookups answered with a value younger than the refresh period
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups answered with a value older than the refresh period
+     */
+    public long staleHits() {
+        return staleHits.sum();
+    }
+
+    /**
+     * @return number of lookups that had to load the value, or did not find it
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of successful background refreshes
+     */
+    public long refreshes() {
+        return refreshes.sum();
+    }
+
+    /**
+     * @return number of failed background refreshes
+     */
+    public long refreshFailures() {
+        return refreshFailures.sum();
+    }
+
+    private static class Entry<V> {
+
+        V value;
+        /**
+         * Time the value was loaded, 0 while the first load is in progress.
+         */
+        long loaded;
+        CompletableFuture<V> loading;
+    }
+
+}
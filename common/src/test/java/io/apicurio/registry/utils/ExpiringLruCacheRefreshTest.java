@@ -0,0 +1,220 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the background refreshes of the {@link ExpiringLruCache}.
+ */
+public class ExpiringLruCacheRefreshTest {
+
+    private static final long REFRESH_PERIOD = 100;
+    private static final long EXPIRE_PERIOD = 400;
+
+    /**
+     * Runs the background refreshes only when asked to, so the tests control when they complete.
+     */
+    private static class ManualExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        synchronized int pending() {
+            return tasks.size();
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = poll()) != null) {
+                task.run();
+            }
+        }
+
+        private synchronized Runnable poll() {
+            return tasks.poll();
+        }
+    }
+
+    private static class NotFoundException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static ExpiringLruCache<String, String> cache(ManualExecutor executor) {
+        return new ExpiringLruCache<>(10, REFRESH_PERIOD, EXPIRE_PERIOD, executor, e -> e instanceof NotFoundException);
+    }
+
+    @Test
+    public void testFreshValueIsCached() {
+        ExpiringLruCache<String, String> cache = cache(new ManualExecutor());
+        AtomicInteger loads = new AtomicInteger();
+
+        Assertions.assertEquals("v1", cache.get("k", k -> "v" + loads.incrementAndGet()));
+        Assertions.assertEquals("v1", cache.get("k", k -> "v" + loads.incrementAndGet()));
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, cache.misses());
+        Assertions.assertEquals(1, cache.hits());
+    }
+
+    @Test
+    public void testStaleValueServedWhileRefreshing() throws Exception {
+        ManualExecutor executor = new ManualExecutor();
+        ExpiringLruCache<String, String> cache = cache(executor);
+        AtomicInteger loads = new AtomicInteger();
+
+        Assertions.assertEquals("v1", cache.get("k", k -> "v" + loads.incrementAndGet()));
+        Thread.sleep(REFRESH_PERIOD + 50);
+
+        // the stale value is returned right away and a single refresh is scheduled
+        Assertions.assertEquals("v1", cache.get("k", k -> "v" + loads.incrementAndGet()));
+        Assertions.assertEquals("v1", cache.get("k", k -> "v" + loads.incrementAndGet()));
+        Assertions.assertEquals(1, executor.pending());
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(2, cache.staleHits());
+
+        executor.runAll();
+        Assertions.assertEquals(1, cache.refreshes());
+        Assertions.assertEquals("v2", cache.get("k", k -> "v" + loads.incrementAndGet()));
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testStaleValueKeptOnRefreshFailure() throws Exception {
+        ManualExecutor executor = new ManualExecutor();
+        ExpiringLruCache<String, String> cache = cache(executor);
+
+        cache.get("k", k -> "v1");
+        Thread.sleep(REFRESH_PERIOD + 50);
+
+        Assertions.assertEquals("v1", cache.get("k", k -> {
+            throw new IllegalStateException("unavailable");
+        }));
+        executor.runAll();
+        Assertions.assertEquals(1, cache.refreshFailures());
+
+        // the failed refresh did not evict the value, the next lookup schedules another refresh
+        Assertions.assertEquals("v1", cache.get("k", k -> "v2"));
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(1, executor.pending());
+    }
+
+    @Test
+    public void testExpiredValueReloaded() throws Exception {
+        ManualExecutor executor = new ManualExecutor();
+        ExpiringLruCache<String, String> cache = cache(executor);
+
+        cache.get("k", k -> "v1");
+        Thread.sleep(EXPIRE_PERIOD + 50);
+
+        // past the expire period the lookup waits for a load in the calling thread
+        Assertions.assertEquals("v2", cache.get("k", k -> "v2"));
+        Assertions.assertEquals(0, executor.pending());
+        Assertions.assertEquals(0, cache.staleHits());
+        Assertions.assertEquals(2, cache.misses());
+    }
+
+    @Test
+    public void testExpiredValueNotServedOnLoadFailure() throws Exception {
+        ExpiringLruCache<String, String> cache = cache(new ManualExecutor());
+
+        cache.get("k", k -> "v1");
+        Thread.sleep(EXPIRE_PERIOD + 50);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.get("k", k -> {
+            throw new IllegalStateException("unavailable");
+        }));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEvictedOnNotFound() throws Exception {
+        ManualExecutor executor = new ManualExecutor();
+        ExpiringLruCache<String, String> cache = cache(executor);
+
+        cache.get("k", k -> "v1");
+        Thread.sleep(REFRESH_PERIOD + 50);
+
+        Assertions.assertEquals("v1", cache.get("k", k -> {
+            throw new NotFoundException();
+        }));
+        executor.runAll();
+
+        // evicted right away instead of being served until it expires
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertThrows(NotFoundException.class, () -> cache.get("k", k -> {
+            throw new NotFoundException();
+        }));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testConcurrentMissesLoadOnce() throws Exception {
+        ExpiringLruCache<String, String> cache = cache(new ManualExecutor());
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = threads.submit(() -> cache.get("k", k -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "v";
+            }));
+            Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            Future<?>[] others = new Future<?>[3];
+            for (int i = 0; i < others.length; i++) {
+                others[i] = threads.submit(() -> cache.get("k", k -> "v" + loads.incrementAndGet()));
+            }
+            // other keys are not blocked by the pending load
+            Assertions.assertEquals("other", cache.get("other", k -> k));
+
+            release.countDown();
+            Assertions.assertEquals("v", first.get(5, TimeUnit.SECONDS));
+            for (Future<?> other : others) {
+                Assertions.assertEquals("v", other.get(5, TimeUnit.SECONDS));
+            }
+            Assertions.assertEquals(1, loads.get());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ExpiringLruCacheTest {
+
+    private static final long TTL = 200;
+
+    @Test
+    public void testValueIsCached() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, TTL);
+        AtomicInteger loads = new AtomicInteger();
+
+        Assertions.assertEquals("v1", cache.get("k", k -> "v" + loads.incrementAndGet()));
+        Assertions.assertEquals("v1", cache.get("k", k -> "v" + loads.incrementAndGet()));
+        Assertions.assertEquals("v1", cache.getIfPresent("k"));
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, cache.misses());
+        Assertions.assertEquals(2, cache.hits());
+    }
+
+    @Test
+    public void testNullValueIsCached() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, TTL);
+        AtomicInteger loads = new AtomicInteger();
+
+        Assertions.assertNull(cache.get("k", k -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        Assertions.assertNull(cache.get("k", k -> "v" + loads.incrementAndGet()));
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, cache.hits());
+    }
+
+    @Test
+    public void testExpiredValueReloaded() throws Exception {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, TTL);
+
+        cache.put("k", "v1");
+        Assertions.assertEquals("v1", cache.getIfPresent("k"));
+        Thread.sleep(TTL + 50);
+
+        Assertions.assertNull(cache.getIfPresent("k"));
+        Assertions.assertEquals("v2", cache.get("k", k -> "v2"));
+        Assertions.assertEquals("v2", cache.getIfPresent("k"));
+        Assertions.assertEquals(2, cache.hits());
+        Assertions.assertEquals(2, cache.misses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(2, TTL);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", k -> k + loads.incrementAndGet());
+        cache.get("b", k -> k + loads.incrementAndGet());
+        cache.get("a", k -> k + loads.incrementAndGet());
+        cache.get("c", k -> k + loads.incrementAndGet());
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(3, loads.get());
+
+        // "b" was the least recently used
+        Assertions.assertEquals("a1", cache.getIfPresent("a"));
+        Assertions.assertEquals("c3", cache.getIfPresent("c"));
+        Assertions.assertNull(cache.getIfPresent("b"));
+        Assertions.assertEquals("b4", cache.get("b", k -> k + loads.incrementAndGet()));
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testInvalidation() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, TTL);
+        cache.put("a1", "v");
+        cache.put("a2", "v");
+        cache.put("b1", "v");
+
+        cache.remove("a1");
+        Assertions.assertNull(cache.getIfPresent("a1"));
+        cache.removeIf(k -> k.startsWith("a"));
+        Assertions.assertEquals(1, cache.size());
+        cache.clear();
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidatedWhileLoadingNotStored() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, TTL);
+
+        Assertions.assertEquals("v1", cache.get("k", k -> {
+            cache.remove(k);
+            return "v1";
+        }));
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals("v2", cache.get("k", k -> "v2"));
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testInvalidMaxSize() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ExpiringLruCache<>(0, TTL));
+    }
+}
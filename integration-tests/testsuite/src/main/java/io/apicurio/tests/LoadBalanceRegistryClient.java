@@ -30,6 +30,8 @@ import io.apicurio.registry.rest.client.RegistryClient;
 import io.apicurio.registry.rest.client.RegistryClientFactory;
 import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
 import io.apicurio.registry.rest.v2.beans.ArtifactSearchResults;
+import io.apicurio.registry.rest.v2.beans.BatchLookupRequest;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResults;
 import io.apicurio.registry.rest.v2.beans.EditableMetaData;
 import io.apicurio.registry.rest.v2.beans.IfExists;
 import io.apicurio.registry.rest.v2.beans.LogConfiguration;
@@ -497,6 +499,14 @@ public class LoadBalanceRegistryClient implements RegistryClient {
         return getTarget().getContentByHash(contentHash);
     }
 
+    /**
+     * @see io.apicurio.registry.rest.client.RegistryClient#lookupBatch(io.apicurio.registry.rest.v2.beans.BatchLookupRequest)
+     */
+    @Override
+    public BatchLookupResults lookupBatch(BatchLookupRequest data) {
+        return getTarget().lookupBatch(data);
+    }
+
     /**
      * @see io.apicurio.registry.rest.client.RegistryClient#searchArtifacts(java.lang.String, java.lang.String, java.lang.String, java.util.List, java.util.List, java.lang.Long, java.lang.Long, io.apicurio.registry.rest.v2.beans.SortBy, io.apicurio.registry.rest.v2.beans.SortOrder, java.lang.Integer, java.lang.Integer)
      */
@@ -16,9 +16,14 @@
 
 package io.apicurio.registry.content;
 
+import io.apicurio.registry.types.ArtifactType;
+
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * @author Ales Justin
@@ -28,21 +33,59 @@ abstract class AbstractContentHandle implements ContentHandle {
     protected byte[] bytes;
     protected String content;
 
+    protected byte[] sha256;
+    private String sha256Hash;
+    private Map<ArtifactType, ContentHandle> canonical;
+
     @Override
     public InputStream stream() {
         return new ByteArrayInputStream(bytes());
     }
 
+    /**
+     * @return the raw SHA-256 digest of the content, computed on first use
+     */
+    protected byte[] sha256() {
+        if (sha256 == null) {
+            byte[] content = bytes();
+            // buffering a stream computes the digest while reading it
+            if (sha256 == null) {
+                sha256 = ContentDigest.sha256(content);
+            }
+        }
+        return sha256;
+    }
+
+    @Override
+    public String getSha256Hash() {
+        if (sha256Hash == null) {
+            sha256Hash = ContentDigest.hex(sha256());
+        }
+        return sha256Hash;
+    }
+
+    @Override
+    public synchronized ContentHandle canonical(ArtifactType type, Function<ContentHandle, ContentHandle> canonicalizer) {
+        if (canonical == null) {
+            canonical = new EnumMap<>(ArtifactType.class);
+        }
+        return canonical.computeIfAbsent(type, t -> canonicalizer.apply(this));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof ContentHandle)) return false;
+        if (o instanceof AbstractContentHandle) {
+            return Arrays.equals(sha256(), ((AbstractContentHandle) o).sha256());
+        }
         ContentHandle that = (ContentHandle) o;
         return Arrays.equals(bytes(), that.bytes());
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(bytes());
+        byte[] digest = sha256();
+        return (digest[0] & 0xFF) << 24 | (digest[1] & 0xFF) << 16 | (digest[2] & 0xFF) << 8 | (digest[3] & 0xFF);
     }
 }
@@ -16,7 +16,10 @@
 
 package io.apicurio.registry.content;
 
+import io.apicurio.registry.types.ArtifactType;
+
 import java.io.InputStream;
+import java.util.function.Function;
 
 /**
  * @author Ales Justin
@@ -40,4 +43,19 @@ public interface ContentHandle {
     byte[] bytes();
 
     String content();
+
+    /**
+     * Returns the hex encoded SHA-256 digest of the content.  The digest is computed only once, when the
+     * content is read from a stream it is computed while reading.
+     */
+    String getSha256Hash();
+
+    /**
+     * Returns the canonical form of this content for the given artifact type.  The canonicalizer is invoked
+     * only once per type, so that e.g. <code>canonical(type, c).getSha256Hash()</code> can be called
+     * repeatedly for the same content without canonicalizing and hashing it again.
+     * @param type the artifact type the canonicalizer belongs to
+     * @param canonicalizer the type specific canonicalizer
+     */
+    ContentHandle canonical(ArtifactType type, Function<ContentHandle, ContentHandle> canonicalizer);
 }
@@ -22,8 +22,13 @@ import io.apicurio.registry.utils.IoUtil;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 
 /**
+ * Content handle backed by a stream.  When the content is buffered by {@link #bytes()}, its SHA-256 digest
+ * is computed while reading, so large uploads are not read a second time just to be hashed.
+ *
  * @author Ales Justin
  */
 class StreamContentHandle extends AbstractContentHandle {
@@ -52,7 +57,9 @@ class StreamContentHandle extends AbstractContentHandle {
         if (bytes == null) {
             InputStream is = stream;
             stream = null;
-            bytes = IoUtil.toBytes(is);
+            MessageDigest digest = ContentDigest.sha256();
+            bytes = IoUtil.toBytes(new DigestInputStream(is, digest));
+            sha256 = digest.digest();
         }
         return bytes;
     }
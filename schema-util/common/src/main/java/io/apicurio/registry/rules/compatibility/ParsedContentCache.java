@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rules.compatibility;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of parsed schema models, keyed by the raw content they were parsed from.
+ * <p>
+ * Compatibility checks are typically executed against the same (latest) existing version over and over,
+ * so parsing that content only once avoids the most expensive part of the check.  The cached models
+ * MUST NOT be modified after they are parsed, so that they can be shared between threads.
+ *
+ * @param <T> the parsed model type
+ */
+public class ParsedContentCache<T> {
+
+    private final Map<String, T> cache;
+    private final Function<String, T> parser;
+
+    public ParsedContentCache(int maxSize, Function<String, T> parser) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.parser = parser;
+        this.cache = new LinkedHashMap<String, T>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the parsed model for the given content, parsing it only if it is not already cached.
+     * Parsing happens outside of the lock, so a slow parse never blocks lookups of other content.
+     * @param content the raw content
+     */
+    public T get(String content) {
+        T parsed;
+        synchronized (cache) {
+            parsed = cache.get(content);
+        }
+        if (parsed == null) {
+            parsed = parser.apply(content);
+            synchronized (cache) {
+                T existing = cache.putIfAbsent(content, parsed);
+                if (existing != null) {
+                    parsed = existing;
+                }
+            }
+        }
+        return parsed;
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+}
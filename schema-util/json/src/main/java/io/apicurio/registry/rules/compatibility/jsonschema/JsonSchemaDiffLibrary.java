@@ -27,6 +27,7 @@ import org.json.JSONObject;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
+import io.apicurio.registry.rules.compatibility.ParsedContentCache;
 import io.apicurio.registry.rules.compatibility.jsonschema.diff.DiffContext;
 import io.apicurio.registry.rules.compatibility.jsonschema.diff.Difference;
 import io.apicurio.registry.rules.compatibility.jsonschema.diff.SchemaDiffVisitor;
@@ -36,6 +37,13 @@ import io.apicurio.registry.rules.compatibility.jsonschema.diff.SchemaDiffVisito
  */
 public class JsonSchemaDiffLibrary {
 
+    /**
+     * Loaded schemas, with their references resolved, are immutable and can be reused across
+     * compatibility checks, e.g. when the same proposed schema is compared to all existing versions.
+     * Large schemas result in large object graphs, so the cache is kept small.
+     */
+    static final ParsedContentCache<Schema> SCHEMA_CACHE = new ParsedContentCache<>(32, JsonSchemaDiffLibrary::loadSchema);
+
     /**
      * Find and analyze differences between two JSON schemas.
      *
@@ -45,34 +53,44 @@ public class JsonSchemaDiffLibrary {
      * @throws IllegalArgumentException if the input is not a valid representation of a JsonSchema
      */
     public static DiffContext findDifferences(String original, String updated) {
-        try {
-            JSONObject originalJson = MAPPER.readValue(original, JSONObject.class);
-            JSONObject updatedJson = MAPPER.readValue(updated, JSONObject.class);
-
-            Schema originalSchema = SchemaLoader.builder()
-                    .schemaJson(originalJson)
-                    .build().load().build();
-
-            Schema updatedSchema = SchemaLoader.builder().schemaJson(updatedJson).build().load().build();
-
-            return findDifferences(originalSchema, updatedSchema);
-
-        } catch (JsonProcessingException e) {
-            throw new IllegalStateException(e);
-        }
+        return findDifferences(loadSchema(original), loadSchema(updated));
     }
 
     public static DiffContext findDifferences(Schema originalSchema, Schema updatedSchema) {
         DiffContext rootContext = DiffContext.createRootContext();
-        new SchemaDiffVisitor(rootContext, originalSchema).visit(wrap(updatedSchema));
+        SchemaDiffVisitor.diff(rootContext, originalSchema, wrap(updatedSchema));
         return rootContext;
     }
 
+    /**
+     * Find only the incompatible differences between two JSON schemas.  The result is the same as
+     * <code>findDifferences(originalSchema, updatedSchema).getIncompatibleDifferences()</code>, but compatible
+     * differences are never recorded and identical subschemas are skipped instead of being compared.
+     *
+     * @param originalSchema Original/Previous/First/Left JSON schema
+     * @param updatedSchema  Updated/Next/Second/Right JSON schema
+     * @return the incompatible differences: Original -&gt; Updated
+     */
+    public static Set<Difference> findIncompatibleDifferences(Schema originalSchema, Schema updatedSchema) {
+        DiffContext rootContext = DiffContext.createIncompatibleOnlyRootContext();
+        SchemaDiffVisitor.diff(rootContext, originalSchema, wrap(updatedSchema));
+        return rootContext.getIncompatibleDifferences();
+    }
+
     public static boolean isCompatible(String original, String updated) {
-        return findDifferences(original, updated).foundAllDifferencesAreCompatible();
+        return getIncompatibleDifferences(original, updated).isEmpty();
     }
 
     public static Set<Difference> getIncompatibleDifferences(String original, String updated) {
-        return findDifferences(original, updated).getIncompatibleDifferences();
+        return findIncompatibleDifferences(SCHEMA_CACHE.get(original), SCHEMA_CACHE.get(updated));
+    }
+
+    private static Schema loadSchema(String schema) {
+        try {
+            JSONObject json = MAPPER.readValue(schema, JSONObject.class);
+            return SchemaLoader.builder().schemaJson(json).build().load().build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
     }
-}
\ No newline at end of file
+}
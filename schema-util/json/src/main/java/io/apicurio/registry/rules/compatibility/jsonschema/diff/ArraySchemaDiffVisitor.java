@@ -78,7 +78,7 @@ public class ArraySchemaDiffVisitor extends JsonSchemaWrapperVisitor {
 
     @Override
     public void visitArraySchema(ArraySchemaWrapper arraySchema) {
-        ctx.log("Visiting " + arraySchema + " at " + arraySchema.getWrapped().getLocation());
+        ctx.log("Visiting {} at {}", arraySchema, arraySchema.getWrapped().getLocation());
         this.schema = arraySchema;
         super.visitArraySchema(arraySchema);
     }
@@ -114,12 +114,12 @@ public class ArraySchemaDiffVisitor extends JsonSchemaWrapperVisitor {
 
     @Override
     public void visitAllItemSchema(SchemaWrapper allItemSchema) {
-        ctx.log("visitAllItemSchema: " + allItemSchema + " orig.: " + original.getAllItemSchema());
+        ctx.log("visitAllItemSchema: {} orig.: {}", allItemSchema, original.getAllItemSchema());
         DiffContext subCtx = ctx.sub("allItemSchema");
         if (diffSubschemaAddedRemoved(subCtx, original.getAllItemSchema(), allItemSchema,
             ARRAY_TYPE_ALL_ITEM_SCHEMA_ADDED,
             ARRAY_TYPE_ALL_ITEM_SCHEMA_REMOVED)) {
-            allItemSchema.accept(new SchemaDiffVisitor(subCtx, original.getAllItemSchema()));
+            SchemaDiffVisitor.diff(subCtx, original.getAllItemSchema(), allItemSchema);
         }
         super.visitAllItemSchema(allItemSchema);
     }
@@ -147,7 +147,7 @@ public class ArraySchemaDiffVisitor extends JsonSchemaWrapperVisitor {
 
     @Override
     public void visitItemSchemas(List<SchemaWrapper> itemSchemas) {
-        ctx.log("visitItemSchemas: " + itemSchemas);
+        ctx.log("visitItemSchemas: {}", itemSchemas);
         int originalSize = Optional.ofNullable(original.getItemSchemas()).map(s -> s.size()).orElse(0);
         int updatedSize = Optional.ofNullable(itemSchemas).map(s -> s.size()).orElse(0);
         int size = Math.min(originalSize, updatedSize);
@@ -173,13 +173,13 @@ public class ArraySchemaDiffVisitor extends JsonSchemaWrapperVisitor {
 
     @Override
     public void visitItemSchema(int index, SchemaWrapper itemSchema) {
-        ctx.log("visitItemSchema: " + itemSchema);
+        ctx.log("visitItemSchema: {}", itemSchema);
         DiffContext subCtx = ctx.sub("items/" + index);
         if (diffSubschemaAddedRemoved(subCtx,
             getExceptionally(subCtx, () -> original.getItemSchemas().get(index)), itemSchema,
             ARRAY_TYPE_ITEM_SCHEMA_ADDED,
             ARRAY_TYPE_ITEM_SCHEMA_REMOVED)) {
-            itemSchema.accept(new SchemaDiffVisitor(subCtx, original.getItemSchemas().get(index)));
+            SchemaDiffVisitor.diff(subCtx, original.getItemSchemas().get(index), itemSchema);
         }
         super.visitItemSchema(index, itemSchema);
     }
@@ -192,12 +192,12 @@ public class ArraySchemaDiffVisitor extends JsonSchemaWrapperVisitor {
 
     @Override
     public void visitContainedItemSchema(SchemaWrapper containedItemSchema) {
-        ctx.log("visitContainedItemSchema: " + containedItemSchema);
+        ctx.log("visitContainedItemSchema: {}", containedItemSchema);
         DiffContext subCtx = ctx.sub("containedItemSchema");
         if (diffSubschemaAddedRemoved(subCtx, original.getContainedItemSchema(), containedItemSchema,
             ARRAY_TYPE_CONTAINED_ITEM_SCHEMA_ADDED,
             ARRAY_TYPE_CONTAINED_ITEM_SCHEMA_REMOVED)) {
-            containedItemSchema.accept(new SchemaDiffVisitor(subCtx, original.getContainedItemSchema()));
+            SchemaDiffVisitor.diff(subCtx, original.getContainedItemSchema(), containedItemSchema);
         }
         super.visitContainedItemSchema(containedItemSchema);
     }
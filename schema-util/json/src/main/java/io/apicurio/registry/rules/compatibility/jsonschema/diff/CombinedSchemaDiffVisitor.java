@@ -111,8 +111,8 @@ public class CombinedSchemaDiffVisitor extends JsonSchemaWrapperVisitor {
 
                 for (SchemaWrapper u : updatedSubschemas) {
                     // create a new subschema root context
-                    rootCtx = DiffContext.createRootContext("", ctx.visited);
-                    new SchemaDiffVisitor(rootCtx, o).visit(u);
+                    rootCtx = DiffContext.createNestedRootContext(ctx);
+                    SchemaDiffVisitor.diff(rootCtx, o, u);
                     if (rootCtx.foundAllDifferencesAreCompatible()) {
                         compatibilityMap.get(equalityWrap(o)).add(u);
                     }
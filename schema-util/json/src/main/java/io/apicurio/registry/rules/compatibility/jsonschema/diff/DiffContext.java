@@ -17,9 +17,11 @@
 package io.apicurio.registry.rules.compatibility.jsonschema.diff;
 
 import lombok.Getter;
+import org.everit.json.schema.Schema;
 import org.everit.json.schema.SchemaLocation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.MessageFormatter;
 
 import java.util.HashSet;
 import java.util.Objects;
@@ -42,19 +44,31 @@ public class DiffContext {
     @Getter
     private final String pathUpdated;
 
-    final Set<SchemaLocation> visited = new HashSet<>();
+    /**
+     * Reference locations visited on the way to this context. Sub-contexts take a snapshot
+     * of the current chain, which is O(1) instead of copying a set for every sub-context.
+     */
+    private VisitedLocation visited;
+
+    /**
+     * When not null, compatible differences are not recorded and identical subschemas are skipped,
+     * see {@link #createIncompatibleOnlyRootContext()}.
+     */
+    private final SchemaFingerprints fingerprints;
 
 
-    private DiffContext(DiffContext rootContext, DiffContext parentContext, String pathUpdated, Set<SchemaLocation> visited) {
+    private DiffContext(DiffContext rootContext, DiffContext parentContext, String pathUpdated, VisitedLocation visited,
+                        SchemaFingerprints fingerprints) {
         this.rootContext = rootContext;
         this.parentContext = parentContext;
         this.pathUpdated = pathUpdated;
-        this.visited.addAll(visited);
+        this.visited = visited;
+        this.fingerprints = fingerprints;
     }
 
 
     public DiffContext sub(String pathFragmentUpdated) {
-        return new DiffContext(rootContext, this, pathUpdated + "/" + pathFragmentUpdated, this.visited);
+        return new DiffContext(rootContext, this, pathUpdated + "/" + pathFragmentUpdated, this.visited, this.fingerprints);
     }
 
 
@@ -65,18 +79,44 @@ public class DiffContext {
         parentContext = rootContext;
     }
 
-    public static DiffContext createRootContext(String basePathFragmentUpdated, Set<SchemaLocation> visited) {
-        if(visited == null)
-            visited = new HashSet<>();
-        DiffContext rootContext = new DiffContext(null, null, basePathFragmentUpdated, visited);
+    private static DiffContext createRootContext(String basePathFragmentUpdated, VisitedLocation visited, SchemaFingerprints fingerprints) {
+        DiffContext rootContext = new DiffContext(null, null, basePathFragmentUpdated, visited, fingerprints);
         rootContext.initRootContext(rootContext);
         return rootContext;
     }
 
+    public static DiffContext createRootContext(String basePathFragmentUpdated, Set<SchemaLocation> visited) {
+        VisitedLocation chain = null;
+        if (visited != null) {
+            for (SchemaLocation location : visited) {
+                chain = new VisitedLocation(location, chain);
+            }
+        }
+        return createRootContext(basePathFragmentUpdated, chain, null);
+    }
+
     public static DiffContext createRootContext() {
         return createRootContext("", null);
     }
 
+    /**
+     * Creates a new root context for a nested comparison, e.g. of a subschema pair,
+     * which inherits the visited references and the mode of the given context.
+     */
+    static DiffContext createNestedRootContext(DiffContext ctx) {
+        return createRootContext("", ctx.visited, ctx.fingerprints);
+    }
+
+    /**
+     * Creates a root context that is only interested in incompatible differences.
+     * Compatible differences are not recorded at all (so their subschemas are never
+     * converted to strings), and pairs of identical subschemas that do not contain any references
+     * are not descended into, since they can't contain an incompatible difference.
+     */
+    public static DiffContext createIncompatibleOnlyRootContext() {
+        return createRootContext("", null, new SchemaFingerprints());
+    }
+
 
     private void addToDifferenceSets(Difference difference) {
         diff.add(difference);
@@ -86,6 +126,9 @@ public class DiffContext {
 
 
     public void addDifference(DiffType type, Object originalSubchema, Object updatedSubchema) {
+        if (fingerprints != null && type.isBackwardsCompatible()) {
+            return;
+        }
         Difference difference = Difference.builder()
              .diffType(type)
              .pathOriginal("")
@@ -98,10 +141,41 @@ public class DiffContext {
 //            log.warn("New incompatible difference found: " + difference);
     }
 
+    /**
+     * Return true, if both subschemas are known to be identical and can therefore be skipped.
+     * Always false unless this context only looks for incompatible differences.
+     */
+    boolean isIdentical(Schema original, Schema updated) {
+        return fingerprints != null && fingerprints.identical(original, updated);
+    }
+
+    boolean isVisited(SchemaLocation location) {
+        for (VisitedLocation v = visited; v != null; v = v.next) {
+            if (v.location.equals(location)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void markVisited(SchemaLocation location) {
+        visited = new VisitedLocation(location, visited);
+    }
+
     public void log(String message) {
         log.debug("[Context path (updated): {}]{}", pathUpdated, message);
     }
 
+    /**
+     * Log using a SLF4J style message format, the arguments are only converted to strings
+     * if debug logging is enabled.
+     */
+    public void log(String format, Object... args) {
+        if (log.isDebugEnabled()) {
+            log(MessageFormatter.arrayFormat(format, args).getMessage());
+        }
+    }
+
     public Set<Difference> getDiff() {
         return new HashSet<>(diff);
     }
@@ -130,4 +204,15 @@ public class DiffContext {
                 ", pathAtUpdated = '" + pathUpdated + "'" +
                 " }";
     }
-}
\ No newline at end of file
+
+    private static final class VisitedLocation {
+
+        private final SchemaLocation location;
+        private final VisitedLocation next;
+
+        private VisitedLocation(SchemaLocation location, VisitedLocation next) {
+            this.location = location;
+            this.next = next;
+        }
+    }
+}
@@ -319,11 +319,11 @@ public class DiffUtil {
     }
 
     public static boolean isSchemaCompatible(DiffContext ctx, Schema original, Schema updated, boolean backward) {
-        DiffContext rootCtx = DiffContext.createRootContext("", ctx.visited);
+        DiffContext rootCtx = DiffContext.createNestedRootContext(ctx);
         if (backward) {
-            new SchemaDiffVisitor(rootCtx, original).visit(wrap(updated));
+            SchemaDiffVisitor.diff(rootCtx, original, wrap(updated));
         } else {
-            new SchemaDiffVisitor(rootCtx, updated).visit(wrap(original));
+            SchemaDiffVisitor.diff(rootCtx, updated, wrap(original));
         }
         return rootCtx.foundAllDifferencesAreCompatible();
     }
@@ -335,7 +335,7 @@ public class DiffUtil {
         try {
             return getter.get();
         } catch (Exception ex) {
-            ctx.log("Caught exception when getting exceptionally: " + ex + ". Returning null.");
+            ctx.log("Caught exception when getting exceptionally: {}. Returning null.", ex);
             return null;
         }
     }
@@ -102,7 +102,7 @@ public class ObjectSchemaDiffVisitor extends JsonSchemaWrapperVisitor {
 
     @Override
     public void visitObjectSchema(ObjectSchemaWrapper objectSchema) {
-        ctx.log("Visiting " + objectSchema + " at " + objectSchema.getWrapped().getLocation());
+        ctx.log("Visiting {} at {}", objectSchema, objectSchema.getWrapped().getLocation());
         this.schema = objectSchema;
         super.visitObjectSchema(objectSchema);
     }
@@ -132,7 +132,7 @@ public class ObjectSchemaDiffVisitor extends JsonSchemaWrapperVisitor {
         if (diffSubschemaAddedRemoved(subCtx, original.getPropertyNameSchema(), propertyNameSchema,
             OBJECT_TYPE_PROPERTY_SCHEMA_ADDED,
             OBJECT_TYPE_PROPERTY_SCHEMA_REMOVED)) {
-            propertyNameSchema.accept(new SchemaDiffVisitor(subCtx, original.getPropertyNameSchema()));
+            SchemaDiffVisitor.diff(subCtx, original.getPropertyNameSchema(), propertyNameSchema);
         }
         super.visitPropertyNameSchema(propertyNameSchema);
     }
@@ -231,8 +231,8 @@ public class ObjectSchemaDiffVisitor extends JsonSchemaWrapperVisitor {
             .collect(toMap(e -> e.getKey().toString(), Entry::getValue)); // TODO maybe add a wrapper class for Pattern
 
         if (stringifiedOriginal.containsKey(propertyNamePattern.toString())) {
-            schema.accept(new SchemaDiffVisitor(ctx.sub("patternProperties/" + propertyNamePattern),
-                stringifiedOriginal.get(propertyNamePattern.toString())));
+            SchemaDiffVisitor.diff(ctx.sub("patternProperties/" + propertyNamePattern),
+                stringifiedOriginal.get(propertyNamePattern.toString()), schema);
         }
         super.visitPatternPropertySchema(propertyNamePattern, schema);
     }
@@ -253,8 +253,8 @@ public class ObjectSchemaDiffVisitor extends JsonSchemaWrapperVisitor {
     @Override
     public void visitSchemaDependency(String propName, SchemaWrapper schema) {
         if (original.getSchemaDependencies().containsKey(propName)) {
-            schema.accept(new SchemaDiffVisitor(ctx.sub("dependencies/" + propName),
-                original.getSchemaDependencies().get(propName))); // TODO null/invalid schema
+            SchemaDiffVisitor.diff(ctx.sub("dependencies/" + propName),
+                original.getSchemaDependencies().get(propName), schema); // TODO null/invalid schema
         }
         super.visitSchemaDependency(propName, schema);
     }
@@ -300,8 +300,8 @@ public class ObjectSchemaDiffVisitor extends JsonSchemaWrapperVisitor {
     @Override
     public void visitPropertySchema(String propertyName, SchemaWrapper schema) {
         if (original.getPropertySchemas().containsKey(propertyName)) {
-            schema.accept(new SchemaDiffVisitor(ctx.sub("properties/" + propertyName),
-                original.getPropertySchemas().get(propertyName))); // TODO null/invalid schema
+            SchemaDiffVisitor.diff(ctx.sub("properties/" + propertyName),
+                original.getPropertySchemas().get(propertyName), schema); // TODO null/invalid schema
         }
         super.visitPropertySchema(propertyName, schema);
     }
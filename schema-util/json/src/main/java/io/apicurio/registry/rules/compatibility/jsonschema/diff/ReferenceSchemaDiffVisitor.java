@@ -47,12 +47,12 @@ public class ReferenceSchemaDiffVisitor extends JsonSchemaWrapperVisitor {
     @Override
     public void visitReferenceSchema(ReferenceSchemaWrapper referenceSchema) {
         // TODO Can't use the schema itself, hashCode & equals would cause StackOverflowError, report a bug to te library
-        if (!ctx.visited.contains(referenceSchema.getLocation())) {
-            ctx.visited.add(referenceSchema.getLocation());
+        if (!ctx.isVisited(referenceSchema.getLocation())) {
+            ctx.markVisited(referenceSchema.getLocation());
             ctx = ctx.sub("[ref " + referenceSchema.getLocation() + "]");
             super.visitReferenceSchema(referenceSchema);
         } else {
-            ctx.log("Reference recursion circuit breaker activated at: " + ctx.getPathUpdated());
+            ctx.log("Reference recursion circuit breaker activated at: {}", ctx.getPathUpdated());
         }
     }
 
@@ -61,7 +61,7 @@ public class ReferenceSchemaDiffVisitor extends JsonSchemaWrapperVisitor {
         if (diffSubschemaAddedRemoved(ctx, referredOriginal, schema,
             REFERENCE_TYPE_TARGET_SCHEMA_ADDED,
             REFERENCE_TYPE_TARGET_SCHEMA_REMOVED)) {
-            schema.accept(new SchemaDiffVisitor(ctx, referredOriginal));
+            SchemaDiffVisitor.diff(ctx, referredOriginal, schema);
         }
         super.visitReferredSchema(schema);
     }
@@ -63,11 +63,22 @@ public class SchemaDiffVisitor extends JsonSchemaWrapperVisitor {
     private final DiffContext ctx;
     private final Schema original;
 
-    public SchemaDiffVisitor(DiffContext ctx, Schema original) {
+    private SchemaDiffVisitor(DiffContext ctx, Schema original) {
         this.ctx = ctx;
         this.original = getReferencedOrOriginal(original);
     }
 
+    /**
+     * Compares the updated subschema with the original one.  This is the only entry point of the visitor,
+     * so that identical subschemas are never descended into, whatever their type.
+     */
+    public static void diff(DiffContext ctx, Schema original, SchemaWrapper updated) {
+        SchemaDiffVisitor visitor = new SchemaDiffVisitor(ctx, original);
+        if (ctx.isIdentical(visitor.original, updated.getWrapped()))
+            return; // identical subschemas are compatible
+        updated.accept(visitor);
+    }
+
     /**
      * In case of e.g. enum of strings (with type property defined as "string"),
      * the schema is not an EnumSchema or a StringSchema, but a CombinedSchema of both.
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rules.compatibility.jsonschema.diff;
+
+import org.everit.json.schema.ArraySchema;
+import org.everit.json.schema.CombinedSchema;
+import org.everit.json.schema.ConditionalSchema;
+import org.everit.json.schema.NotSchema;
+import org.everit.json.schema.ObjectSchema;
+import org.everit.json.schema.ReferenceSchema;
+import org.everit.json.schema.Schema;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static io.apicurio.registry.rules.compatibility.jsonschema.wrapper.WrapUtil.equalityWrap;
+
+/**
+ * Memoized structural hashes of the subschemas of a single diff run, used to find
+ * pairs of identical subschemas without descending into them.
+ * <p>
+ * Only subschemas that do not contain a {@link ReferenceSchema} are considered, because
+ * the equality of reference schemas would recurse into cycles (see {@link io.apicurio.registry.rules.compatibility.jsonschema.wrapper.EqualitySchemaWrapper}),
+ * and skipping them would change which references are marked as visited by the diff.
+ * Matching hashes are confirmed by comparing the JSON representation of the schemas, the same way as
+ * {@link io.apicurio.registry.rules.compatibility.jsonschema.wrapper.EqualitySchemaWrapper} does
+ * ({@link Schema#equals(Object)} is not reliable, e.g. for array const values).
+ * <p>
+ * Not thread safe, a new instance is used for every diff run.
+ */
+class SchemaFingerprints {
+
+    private final Map<Schema, Fingerprint> fingerprints = new IdentityHashMap<>();
+
+    /**
+     * @return true if both schemas are reference-free and structurally equal
+     */
+    boolean identical(Schema original, Schema updated) {
+        if (original == null || updated == null) {
+            return false;
+        }
+        Fingerprint o = fingerprint(original);
+        if (!o.referenceFree) {
+            return false;
+        }
+        if (original == updated) {
+            return true;
+        }
+        if (original.getClass() != updated.getClass()) {
+            return false;
+        }
+        Fingerprint u = fingerprint(updated);
+        return u.referenceFree && o.hash == u.hash && equalityWrap(original).equals(equalityWrap(updated));
+    }
+
+    private Fingerprint fingerprint(Schema schema) {
+        Fingerprint fingerprint = fingerprints.get(schema);
+        if (fingerprint == null) {
+            fingerprint = compute(schema);
+            fingerprints.put(schema, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    @SuppressWarnings("deprecation")
+    private Fingerprint compute(Schema schema) {
+        if (schema instanceof ReferenceSchema) {
+            return new Fingerprint(Objects.hashCode(((ReferenceSchema) schema).getReferenceValue()), false);
+        }
+        Builder builder = new Builder(schema.getClass().hashCode());
+        if (schema instanceof ObjectSchema) {
+            ObjectSchema object = (ObjectSchema) schema;
+            builder.add(object.getRequiredProperties());
+            builder.add(object.getMinProperties());
+            builder.add(object.getMaxProperties());
+            builder.add(object.permitsAdditionalProperties());
+            builder.add(object.getPropertyDependencies());
+            builder.addSchemas(object.getPropertySchemas());
+            builder.addSchemas(object.getSchemaDependencies());
+            builder.addSchema(object.getSchemaOfAdditionalProperties());
+            builder.addSchema(object.getPropertyNameSchema());
+            // pattern property keys do not implement equals, only the schemas are hashed
+            builder.addSchemas(object.getPatternProperties().values());
+        } else if (schema instanceof ArraySchema) {
+            ArraySchema array = (ArraySchema) schema;
+            builder.add(array.getMinItems());
+            builder.add(array.getMaxItems());
+            builder.add(array.needsUniqueItems());
+            builder.add(array.permitsAdditionalItems());
+            builder.addSchema(array.getAllItemSchema());
+            builder.addSchemas(array.getItemSchemas());
+            builder.addSchema(array.getSchemaOfAdditionalItems());
+            builder.addSchema(array.getContainedItemSchema());
+        } else if (schema instanceof CombinedSchema) {
+            CombinedSchema combined = (CombinedSchema) schema;
+            builder.add(combined.getCriterion());
+            builder.addSchemas(combined.getSubschemas());
+        } else if (schema instanceof NotSchema) {
+            builder.addSchema(((NotSchema) schema).getMustNotMatch());
+        } else if (schema instanceof ConditionalSchema) {
+            ConditionalSchema conditional = (ConditionalSchema) schema;
+            builder.addSchema(conditional.getIfSchema());
+            builder.addSchema(conditional.getThenSchema());
+            builder.addSchema(conditional.getElseSchema());
+        } else {
+            // leaf schemas do not contain other schemas, their own hashCode is cheap
+            builder.add(schema);
+        }
+        return builder.build();
+    }
+
+    private static final class Fingerprint {
+
+        private final int hash;
+        private final boolean referenceFree;
+
+        private Fingerprint(int hash, boolean referenceFree) {
+            this.hash = hash;
+            this.referenceFree = referenceFree;
+        }
+    }
+
+    private final class Builder {
+
+        private int hash;
+        private boolean referenceFree = true;
+
+        private Builder(int seed) {
+            this.hash = seed;
+        }
+
+        private void add(Object value) {
+            hash = 31 * hash + Objects.hashCode(value);
+        }
+
+        private void addSchema(Schema schema) {
+            if (schema == null) {
+                add(null);
+                return;
+            }
+            Fingerprint fingerprint = fingerprint(schema);
+            hash = 31 * hash + fingerprint.hash;
+            referenceFree &= fingerprint.referenceFree;
+        }
+
+        private void addSchema(Optional<Schema> schema) {
+            addSchema(schema.orElse(null));
+        }
+
+        private void addSchemas(Collection<Schema> schemas) {
+            if (schemas == null) {
+                add(null);
+                return;
+            }
+            // order independent, e.g. for the subschemas of a combined schema
+            int sum = 0;
+            for (Schema schema : schemas) {
+                Fingerprint fingerprint = fingerprint(schema);
+                sum += fingerprint.hash;
+                referenceFree &= fingerprint.referenceFree;
+            }
+            hash = 31 * hash + sum;
+        }
+
+        private void addSchemas(Map<String, Schema> schemas) {
+            int sum = 0;
+            for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+                Fingerprint fingerprint = fingerprint(entry.getValue());
+                sum += entry.getKey().hashCode() ^ fingerprint.hash;
+                referenceFree &= fingerprint.referenceFree;
+            }
+            hash = 31 * hash + sum;
+        }
+
+        private Fingerprint build() {
+            return new Fingerprint(hash, referenceFree);
+        }
+    }
+}
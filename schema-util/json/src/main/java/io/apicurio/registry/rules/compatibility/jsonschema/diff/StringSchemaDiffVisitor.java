@@ -64,7 +64,7 @@ public class StringSchemaDiffVisitor extends JsonSchemaWrapperVisitor {
 
     @Override
     public void visitStringSchema(StringSchemaWrapper stringSchema) {
-        ctx.log("Visiting " + stringSchema + " at " + stringSchema.getWrapped().getLocation());
+        ctx.log("Visiting {} at {}", stringSchema, stringSchema.getWrapped().getLocation());
 
         // Process "contentEncoding" and "contentMediaType" which are at the moment stored as unprocessed properties
         Map<String, Object> originalUnprocessed = original.getUnprocessedProperties();
@@ -19,6 +19,8 @@ package io.apicurio.registry.rules.compatibility.jsonschema;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsonorg.JsonOrgModule;
 import io.apicurio.registry.rules.compatibility.jsonschema.diff.DiffContext;
+import io.apicurio.registry.rules.compatibility.jsonschema.diff.Difference;
+import org.everit.json.schema.Schema;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.jupiter.api.Assertions;
@@ -36,6 +38,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static io.apicurio.registry.rules.compatibility.jsonschema.JsonSchemaDiffLibrary.findDifferences;
+import static io.apicurio.registry.rules.compatibility.jsonschema.JsonSchemaDiffLibrary.getIncompatibleDifferences;
 
 /**
  * @author Jakub Senko 'jsenko@redhat.com'
@@ -128,6 +131,95 @@ public class JsonSchemaSmokeTest {
         }
     }
 
+    @Test
+    public void testIncompatibleDifferencesMatchFullDiff() throws Exception {
+        JSONObject testData = MAPPER.readValue(readResource("compatibility-test-data.json"), JSONObject.class);
+        JSONArray testCasesData = testData.getJSONArray("tests");
+        for (Object testCaseData_ : testCasesData) {
+            JSONObject testCaseData = (JSONObject) testCaseData_;
+            if (!testCaseData.getBoolean("enabled")) {
+                continue;
+            }
+            String caseId = testCaseData.getString("id");
+            String original = testCaseData.get("original").toString();
+            String updated = testCaseData.get("updated").toString();
+
+            Assertions.assertEquals(typesAndPaths(findDifferences(original, updated).getIncompatibleDifferences()),
+                typesAndPaths(getIncompatibleDifferences(original, updated)), "Backward: " + caseId);
+            Assertions.assertEquals(typesAndPaths(findDifferences(updated, original).getIncompatibleDifferences()),
+                typesAndPaths(getIncompatibleDifferences(updated, original)), "Forward: " + caseId);
+        }
+    }
+
+    @Test
+    public void testLargeSchema() {
+        String original = generateSchema(300, false);
+        String updated = generateSchema(300, true);
+
+        Set<Difference> full = findDifferences(original, updated).getIncompatibleDifferences();
+
+        JsonSchemaDiffLibrary.SCHEMA_CACHE.clear();
+        Set<Difference> incompatible = getIncompatibleDifferences(original, updated);
+        Assertions.assertEquals(typesAndPaths(full), typesAndPaths(incompatible));
+        Assertions.assertEquals(Set.of("field0", "field100", "field200"), changedFields(incompatible));
+
+        // both schemas are parsed once, and reused by the next checks
+        Assertions.assertEquals(2, JsonSchemaDiffLibrary.SCHEMA_CACHE.size());
+        Schema cached = JsonSchemaDiffLibrary.SCHEMA_CACHE.get(updated);
+        Assertions.assertEquals(typesAndPaths(incompatible), typesAndPaths(getIncompatibleDifferences(original, updated)));
+        Assertions.assertTrue(getIncompatibleDifferences(original, original).isEmpty());
+        Assertions.assertEquals(2, JsonSchemaDiffLibrary.SCHEMA_CACHE.size());
+        Assertions.assertSame(cached, JsonSchemaDiffLibrary.SCHEMA_CACHE.get(updated));
+    }
+
+    private static Set<String> changedFields(Set<Difference> differences) {
+        return differences.stream()
+            .map(d -> d.getPathUpdated().replaceAll("^/properties/(field[0-9]+)/.*", "$1"))
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * The subschema strings depend on the (unordered) printing of the loaded schemas,
+     * so only the type and the path of the differences are compared.
+     */
+    private static Set<String> typesAndPaths(Set<Difference> differences) {
+        return differences.stream()
+            .map(d -> d.getDiffType() + " " + d.getPathUpdated())
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Generates a schema with the given number of definitions, all referenced from the root.
+     * When <code>changed</code> is true, every hundredth definition gets a new required property.
+     */
+    private static String generateSchema(int definitions, boolean changed) {
+        JSONObject defs = new JSONObject();
+        JSONObject rootProperties = new JSONObject();
+        for (int i = 0; i < definitions; i++) {
+            JSONObject properties = new JSONObject();
+            properties.put("id", new JSONObject().put("type", "integer").put("minimum", 0));
+            properties.put("name", new JSONObject().put("type", "string").put("maxLength", 255));
+            properties.put("tags", new JSONObject().put("type", "array").put("items", new JSONObject().put("type", "string")));
+            properties.put("status", new JSONObject().put("enum", new JSONArray().put("ACTIVE").put("INACTIVE")));
+            JSONArray required = new JSONArray().put("id");
+            if (changed && i % 100 == 0) {
+                properties.put("added", new JSONObject().put("type", "string"));
+                required.put("added");
+            }
+            defs.put("Definition" + i, new JSONObject()
+                .put("type", "object")
+                .put("properties", properties)
+                .put("required", required));
+            rootProperties.put("field" + i, new JSONObject().put("$ref", "#/definitions/Definition" + i));
+        }
+        return new JSONObject()
+            .put("$schema", "http://json-schema.org/draft-07/schema#")
+            .put("type", "object")
+            .put("definitions", defs)
+            .put("properties", rootProperties)
+            .toString();
+    }
+
     private String readResource(String resourceName) {
         try (InputStream stream = getClass().getResourceAsStream(resourceName)) {
             Assertions.assertNotNull(stream, "Resource not found: " + resourceName);
@@ -21,6 +21,7 @@ import static java.util.Objects.requireNonNull;
 import java.util.List;
 
 import io.apicurio.registry.rules.compatibility.protobuf.ProtobufCompatibilityCheckerLibrary;
+import io.apicurio.registry.rules.compatibility.protobuf.ProtobufFileCache;
 import io.apicurio.registry.utils.protobuf.schema.ProtobufFile;
 
 /**
@@ -28,6 +29,21 @@ import io.apicurio.registry.utils.protobuf.schema.ProtobufFile;
  */
 public class ProtobufCompatibilityChecker implements CompatibilityChecker {
 
+    /**
+     * Shared between all checker instances, the same existing versions are checked again and again.
+     */
+    private static final ProtobufFileCache FILE_CACHE = new ProtobufFileCache();
+
+    private final ParsedContentCache<ProtobufFile> fileCache;
+
+    public ProtobufCompatibilityChecker() {
+        this(FILE_CACHE);
+    }
+
+    ProtobufCompatibilityChecker(ParsedContentCache<ProtobufFile> fileCache) {
+        this.fileCache = fileCache;
+    }
+
     /**
      * @see io.apicurio.registry.rules.compatibility.CompatibilityChecker#testCompatibility(io.apicurio.registry.rules.compatibility.CompatibilityLevel, java.util.List, java.lang.String)
      */
@@ -42,8 +58,8 @@ public class ProtobufCompatibilityChecker implements CompatibilityChecker {
         }
         switch (compatibilityLevel) {
             case BACKWARD: {
-                ProtobufFile fileBefore = new ProtobufFile(existingSchemas.get(existingSchemas.size() - 1));
-                ProtobufFile fileAfter = new ProtobufFile(proposedSchema);
+                ProtobufFile fileBefore = fileCache.get(existingSchemas.get(existingSchemas.size() - 1));
+                ProtobufFile fileAfter = fileCache.get(proposedSchema);
                 ProtobufCompatibilityCheckerLibrary checker = new ProtobufCompatibilityCheckerLibrary(fileBefore, fileAfter);
                 if (checker.validate()) {
                     return CompatibilityExecutionResult.compatible();
@@ -52,9 +68,9 @@ public class ProtobufCompatibilityChecker implements CompatibilityChecker {
                 }
             }
             case BACKWARD_TRANSITIVE:
-                ProtobufFile fileAfter = new ProtobufFile(proposedSchema);
+                ProtobufFile fileAfter = fileCache.get(proposedSchema);
                 for (String existing : existingSchemas) {
-                    ProtobufFile fileBefore = new ProtobufFile(existing);
+                    ProtobufFile fileBefore = fileCache.get(existing);
                     ProtobufCompatibilityCheckerLibrary checker = new ProtobufCompatibilityCheckerLibrary(fileBefore, fileAfter);
                     if (checker.validate()) {
                         return CompatibilityExecutionResult.compatible();
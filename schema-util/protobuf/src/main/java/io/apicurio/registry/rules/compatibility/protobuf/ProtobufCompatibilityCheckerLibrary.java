@@ -53,19 +53,145 @@ public class ProtobufCompatibilityCheckerLibrary {
         return findDifferences().isEmpty();
     }
 
+    /**
+     * Runs all of the individual checks in a single pass over the indexes of the two files.  The result
+     * contains the same differences as the individual <code>check*</code> methods (grouped in the same
+     * order), but every message, enum and service is visited only once.
+     *
+     * @return differences list
+     */
     public List<ProtobufDifference> findDifferences() {
+        List<ProtobufDifference> usingReservedIssues = checkNoUsingReservedFields();
+        List<ProtobufDifference> removingReservedIssues = checkNoRemovingReservedFields();
+
+        List<ProtobufDifference> removingFieldsIssues = new ArrayList<>();
+        List<ProtobufDifference> fieldIdIssues = new ArrayList<>();
+        List<ProtobufDifference> fieldTypeIssues = new ArrayList<>();
+        List<ProtobufDifference> fieldNameIssues = new ArrayList<>();
+
+        Map<String, Map<String, FieldElement>> afterFieldMap = fileAfter.getFieldMap();
+        Map<String, Set<Object>> afterReservedFields = fileAfter.getReservedFields();
+        Map<String, Set<Object>> afterNonreservedFields = fileAfter.getNonReservedFields();
+        Map<String, Map<Integer, String>> beforeEnumsById = fileBefore.getEnumFieldsById();
+        Map<String, Map<Integer, String>> afterFieldsById = fileAfter.getFieldsById();
+        Map<String, Map<Integer, String>> afterEnumsById = fileAfter.getEnumFieldsById();
+
+        for (Map.Entry<String, Map<String, FieldElement>> entry : fileBefore.getFieldMap().entrySet()) {
+            String messageName = entry.getKey();
+            Map<String, FieldElement> beforeFields = entry.getValue();
+            Map<String, FieldElement> afterFields = afterFieldMap.get(messageName);
+
+            // see checkNoRemovingFieldsWithoutReserve
+            Set<Object> reserved = afterReservedFields.getOrDefault(messageName, Collections.emptySet());
+            Set<Object> nonreserved = afterNonreservedFields.getOrDefault(messageName, Collections.emptySet());
+            int removedIssuesCount = 0;
+
+            for (FieldElement beforeFE : beforeFields.values()) {
+                FieldElement afterFE = afterFields == null ? null : afterFields.get(beforeFE.getName());
+                if (afterFE == null) {
+                    if (!reserved.contains(beforeFE.getName())) {
+                        removedIssuesCount++;
+                    }
+                    if (!(reserved.contains(beforeFE.getTag()) || nonreserved.contains(beforeFE.getTag()))) {
+                        removedIssuesCount++;
+                    }
+                    continue;
+                }
+
+                // see checkNoChangingFieldIDs
+                if (beforeFE.getTag() != afterFE.getTag()) {
+                    fieldIdIssues.add(ProtobufDifference.from(String.format("Conflict, field id changed, message %s , before: %s , after %s", messageName, beforeFE.getTag(), afterFE.getTag())));
+                }
+
+                // see checkNoChangingFieldTypes
+                String beforeType = normalizeType(fileBefore, beforeFE.getType());
+                String afterType = normalizeType(fileAfter, afterFE.getType());
+                if (!beforeType.equals(afterType)) {
+                    fieldTypeIssues.add(ProtobufDifference.from(String.format("Field type changed, message %s , before: %s , after %s", messageName, beforeFE.getType(), afterFE.getType())));
+                }
+                if (!Objects.equals(beforeFE.getLabel(), afterFE.getLabel())) {
+                    fieldTypeIssues.add(ProtobufDifference.from(String.format("Field label changed, message %s , before: %s , after %s", messageName, beforeFE.getLabel(), afterFE.getLabel())));
+                }
+            }
+
+            if (removedIssuesCount > 0) {
+                removingFieldsIssues.add(ProtobufDifference.from(String.format("%d fields removed without reservation, message %s", removedIssuesCount, messageName)));
+            }
+
+            // see checkNoChangingFieldNames - an enum with the same name takes precedence over the message
+            if (!beforeEnumsById.containsKey(messageName)) {
+                Map<Integer, String> afterNames = afterEnumsById.containsKey(messageName) ? afterEnumsById.get(messageName) : afterFieldsById.get(messageName);
+                addFieldNameIssues(fieldNameIssues, messageName, fileBefore.getFieldsById().get(messageName), afterNames);
+            }
+        }
+
+        Map<String, Map<String, EnumConstantElement>> afterEnumMap = fileAfter.getEnumFieldMap();
+        for (Map.Entry<String, Map<String, EnumConstantElement>> entry : fileBefore.getEnumFieldMap().entrySet()) {
+            String enumName = entry.getKey();
+            Map<String, EnumConstantElement> afterConstants = afterEnumMap.get(enumName);
+
+            // see checkNoChangingFieldIDs
+            if (afterConstants != null) {
+                for (Map.Entry<String, EnumConstantElement> beforeKV : entry.getValue().entrySet()) {
+                    EnumConstantElement afterECE = afterConstants.get(beforeKV.getKey());
+                    if (afterECE != null && beforeKV.getValue().getTag() != afterECE.getTag()) {
+                        fieldIdIssues.add(ProtobufDifference.from(String.format("Conflict, field id changed, message %s , before: %s , after %s", enumName, beforeKV.getValue().getTag(), afterECE.getTag())));
+                    }
+                }
+            }
+
+            // see checkNoChangingFieldNames
+            Map<Integer, String> afterNames = afterEnumsById.containsKey(enumName) ? afterEnumsById.get(enumName) : afterFieldsById.get(enumName);
+            addFieldNameIssues(fieldNameIssues, enumName, beforeEnumsById.get(enumName), afterNames);
+        }
+
+        List<ProtobufDifference> removingRPCsIssues = new ArrayList<>();
+        List<ProtobufDifference> rpcSignatureIssues = new ArrayList<>();
+
+        Map<String, Map<String, String>> afterSignatures = fileAfter.getServiceRPCSignatures();
+        for (Map.Entry<String, Map<String, String>> entry : fileBefore.getServiceRPCSignatures().entrySet()) {
+            Map<String, String> afterMap = afterSignatures.get(entry.getKey());
+
+            int removed = 0;
+            for (Map.Entry<String, String> beforeKV : entry.getValue().entrySet()) {
+                String afterSig = afterMap == null ? null : afterMap.get(beforeKV.getKey());
+                if (afterSig == null) {
+                    removed++;
+                }
+                if (afterMap != null && !beforeKV.getValue().equals(afterSig)) {
+                    rpcSignatureIssues.add(ProtobufDifference.from(String.format("rpc service signature changed, message %s , before %s , after %s", entry.getKey(), beforeKV.getValue(), afterSig)));
+                }
+            }
+
+            if (removed > 0) {
+                removingRPCsIssues.add(ProtobufDifference.from(String.format("%d rpc services removed, message %s", removed, entry.getKey())));
+            }
+        }
+
         List<ProtobufDifference> totalIssues = new ArrayList<>();
-        totalIssues.addAll(checkNoUsingReservedFields());
-        totalIssues.addAll(checkNoRemovingReservedFields());
-        totalIssues.addAll(checkNoRemovingFieldsWithoutReserve());
-        totalIssues.addAll(checkNoChangingFieldIDs());
-        totalIssues.addAll(checkNoChangingFieldTypes());
-        totalIssues.addAll(checkNoChangingFieldNames());
-        totalIssues.addAll(checkNoRemovingServiceRPCs());
-        totalIssues.addAll(checkNoChangingRPCSignature());
+        totalIssues.addAll(usingReservedIssues);
+        totalIssues.addAll(removingReservedIssues);
+        totalIssues.addAll(removingFieldsIssues);
+        totalIssues.addAll(fieldIdIssues);
+        totalIssues.addAll(fieldTypeIssues);
+        totalIssues.addAll(fieldNameIssues);
+        totalIssues.addAll(removingRPCsIssues);
+        totalIssues.addAll(rpcSignatureIssues);
         return totalIssues;
     }
 
+    private void addFieldNameIssues(List<ProtobufDifference> issues, String name, Map<Integer, String> before, Map<Integer, String> after) {
+        if (before == null || after == null) {
+            return;
+        }
+        for (Map.Entry<Integer, String> beforeKV : before.entrySet()) {
+            String nameAfter = after.get(beforeKV.getKey());
+            if (!beforeKV.getValue().equals(nameAfter)) {
+                issues.add(ProtobufDifference.from(String.format("Field name changed, message %s , before: %s , after %s", name, beforeKV.getValue(), nameAfter)));
+            }
+        }
+    }
+
     /**
      * Determine if any message's previously reserved fields or IDs are now being used as part of the same message.
      * <p>
@@ -238,15 +364,19 @@ public class ProtobufCompatibilityCheckerLibrary {
             if (afterMap != null) {
                 for (Map.Entry<String, FieldElement> beforeKV : entry.getValue().entrySet()) {
                     FieldElement afterFE = afterMap.get(beforeKV.getKey());
+                    if (afterFE == null) {
+                        // removed fields are reported by checkNoRemovingFieldsWithoutReserve
+                        continue;
+                    }
 
                     String beforeType = normalizeType(fileBefore, beforeKV.getValue().getType());
                     String afterType = normalizeType(fileAfter, afterFE.getType());
 
-                    if (afterFE != null && !beforeType.equals(afterType)) {
+                    if (!beforeType.equals(afterType)) {
                         issues.add(ProtobufDifference.from(String.format("Field type changed, message %s , before: %s , after %s", entry.getKey(), beforeKV.getValue().getType(), afterFE.getType())));
                     }
 
-                    if (afterFE != null && !Objects.equals(beforeKV.getValue().getLabel(), afterFE.getLabel())) {
+                    if (!Objects.equals(beforeKV.getValue().getLabel(), afterFE.getLabel())) {
                         issues.add(ProtobufDifference.from(String.format("Field label changed, message %s , before: %s , after %s", entry.getKey(), beforeKV.getValue().getLabel(), afterFE.getLabel())));
                     }
                 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rules.compatibility.protobuf;
+
+import io.apicurio.registry.rules.compatibility.ParsedContentCache;
+import io.apicurio.registry.utils.protobuf.schema.ProtobufFile;
+
+/**
+ * Bounded LRU cache of parsed and indexed {@link ProtobufFile} models, keyed by the raw .proto content.
+ * A {@link ProtobufFile} is never modified after construction, so cached instances can be shared between
+ * threads.
+ */
+public class ProtobufFileCache extends ParsedContentCache<ProtobufFile> {
+
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    public ProtobufFileCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public ProtobufFileCache(int maxSize) {
+        super(maxSize, ProtobufFile::new);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.content;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.content.canon.JsonContentCanonicalizer;
+import io.apicurio.registry.types.ArtifactType;
+
+public class ContentHandleTest {
+
+    private static final String CONTENT = "abc";
+    private static final String CONTENT_SHA256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @Test
+    public void testSha256Hash() {
+        Assertions.assertEquals(CONTENT_SHA256, ContentHandle.create(CONTENT).getSha256Hash());
+        Assertions.assertEquals(CONTENT_SHA256, ContentHandle.create(CONTENT.getBytes(StandardCharsets.UTF_8)).getSha256Hash());
+
+        ContentHandle stream = ContentHandle.create(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals(CONTENT_SHA256, stream.getSha256Hash());
+        Assertions.assertEquals(CONTENT, stream.content());
+    }
+
+    @Test
+    public void testStreamedSha256Reused() {
+        // modifies the buffered content after it was read, so a digest of the buffer would differ
+        StreamContentHandle stream = new StreamContentHandle(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8))) {
+            private boolean modified;
+
+            @Override
+            public byte[] bytes() {
+                byte[] bytes = super.bytes();
+                if (!modified) {
+                    modified = true;
+                    bytes[0] = 'x';
+                }
+                return bytes;
+            }
+        };
+        Assertions.assertEquals(CONTENT_SHA256, stream.getSha256Hash());
+    }
+
+    @Test
+    public void testEquals() {
+        ContentHandle string = ContentHandle.create(CONTENT);
+        ContentHandle bytes = ContentHandle.create(CONTENT.getBytes(StandardCharsets.UTF_8));
+        ContentHandle stream = ContentHandle.create(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals(string, bytes);
+        Assertions.assertEquals(bytes, stream);
+        Assertions.assertEquals(string.hashCode(), stream.hashCode());
+        Assertions.assertNotEquals(string, ContentHandle.create("abd"));
+    }
+
+    @Test
+    public void testCanonicalComputedOncePerType() {
+        ContentHandle content = ContentHandle.create("{ \"b\": 1, \"a\": 2 }");
+        JsonContentCanonicalizer canonicalizer = new JsonContentCanonicalizer();
+        AtomicInteger invocations = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            ContentHandle canonical = content.canonical(ArtifactType.JSON, c -> {
+                invocations.incrementAndGet();
+                return canonicalizer.canonicalize(c);
+            });
+            Assertions.assertEquals("{\"a\":2,\"b\":1}", canonical.content());
+        }
+        Assertions.assertEquals(1, invocations.get());
+
+        content.canonical(ArtifactType.OPENAPI, c -> {
+            invocations.incrementAndGet();
+            return c;
+        });
+        Assertions.assertEquals(2, invocations.get());
+    }
+}
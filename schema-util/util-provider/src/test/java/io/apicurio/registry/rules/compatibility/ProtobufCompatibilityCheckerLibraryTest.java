@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.rules.compatibility;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.protobuf.ProtobufDifference;
+import io.apicurio.registry.rules.compatibility.protobuf.ProtobufCompatibilityCheckerLibrary;
+import io.apicurio.registry.rules.compatibility.protobuf.ProtobufFileCache;
+import io.apicurio.registry.utils.protobuf.schema.ProtobufFile;
+
+/**
+ * Verifies that the single pass {@link ProtobufCompatibilityCheckerLibrary#findDifferences()} finds
+ * the same differences as the individual checks, using a generated proto with many messages.
+ */
+public class ProtobufCompatibilityCheckerLibraryTest {
+
+    private static final int MESSAGES = 1000;
+
+    @Test
+    public void testSinglePassMatchesIndividualChecks() {
+        ProtobufFile before = new ProtobufFile(generateProto(MESSAGES, false));
+        ProtobufFile after = new ProtobufFile(generateProto(MESSAGES, true));
+
+        ProtobufCompatibilityCheckerLibrary library = new ProtobufCompatibilityCheckerLibrary(before, after);
+
+        List<ProtobufDifference> individual = new ArrayList<>();
+        individual.addAll(library.checkNoUsingReservedFields());
+        individual.addAll(library.checkNoRemovingReservedFields());
+        individual.addAll(library.checkNoRemovingFieldsWithoutReserve());
+        individual.addAll(library.checkNoChangingFieldIDs());
+        individual.addAll(library.checkNoChangingFieldTypes());
+        individual.addAll(library.checkNoChangingFieldNames());
+        individual.addAll(library.checkNoRemovingServiceRPCs());
+        individual.addAll(library.checkNoChangingRPCSignature());
+
+        List<ProtobufDifference> singlePass = library.findDifferences();
+
+        Assertions.assertFalse(singlePass.isEmpty());
+        Assertions.assertEquals(sorted(individual), sorted(singlePass));
+
+        Assertions.assertTrue(new ProtobufCompatibilityCheckerLibrary(before, before).validate());
+    }
+
+    @Test
+    public void testCachedCheck() {
+        String before = generateProto(MESSAGES, false);
+        String compatible = generateProto(MESSAGES, false) + "\nmessage Extra { string value = 1; }\n";
+        String incompatible = generateProto(MESSAGES, true);
+
+        AtomicInteger parses = new AtomicInteger();
+        ProtobufCompatibilityChecker checker = new ProtobufCompatibilityChecker(new ParsedContentCache<>(16, content -> {
+            parses.incrementAndGet();
+            return new ProtobufFile(content);
+        }));
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(checker.testCompatibility(CompatibilityLevel.BACKWARD, Collections.singletonList(before), compatible).isCompatible());
+            Assertions.assertFalse(checker.testCompatibility(CompatibilityLevel.BACKWARD, Collections.singletonList(before), incompatible).isCompatible());
+        }
+
+        // every distinct content is parsed only once
+        Assertions.assertEquals(3, parses.get());
+    }
+
+    @Test
+    public void testFileCacheBounded() {
+        ProtobufFileCache cache = new ProtobufFileCache(2);
+        ProtobufFile first = cache.get(generateProto(1, false));
+        Assertions.assertSame(first, cache.get(generateProto(1, false)));
+        cache.get(generateProto(2, false));
+        cache.get(generateProto(3, false));
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertNotSame(first, cache.get(generateProto(1, false)));
+    }
+
+    private static List<String> sorted(List<ProtobufDifference> differences) {
+        return differences.stream().map(ProtobufDifference::getMessage).sorted().collect(Collectors.toList());
+    }
+
+    /**
+     * Generates a proto with the given number of messages.  When <code>changed</code> is true, every
+     * tenth message gets one of several incompatible changes.
+     */
+    private static String generateProto(int messages, boolean changed) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("syntax = \"proto3\";\n");
+        builder.append("package test;\n\n");
+        for (int i = 0; i < messages; i++) {
+            int change = changed && i % 10 == 0 ? (i / 10) % 5 : -1;
+            builder.append("message Message").append(i).append(" {\n");
+            builder.append("  reserved 10, 11;\n");
+            builder.append("  int64 id = ").append(change == 0 ? 2 : 1).append(";\n");
+            builder.append("  string ").append(change == 1 ? "renamed" : "name").append(" = ").append(change == 0 ? 1 : 2).append(";\n");
+            if (change != 2) {
+                builder.append("  string description = 3;\n");
+            }
+            builder.append("  ").append(change == 3 ? "int32" : "int64").append(" timestamp = 4;\n");
+            builder.append("  Status status = 5;\n");
+            builder.append("  enum Status {\n");
+            builder.append("    UNKNOWN = 0;\n");
+            builder.append("    ").append(change == 4 ? "ENABLED" : "ACTIVE").append(" = 1;\n");
+            builder.append("  }\n");
+            builder.append("}\n\n");
+        }
+        builder.append("service Service {\n");
+        builder.append("  rpc Get(Message0) returns (Message1);\n");
+        if (!changed) {
+            builder.append("  rpc List(Message0) returns (stream Message1);\n");
+        }
+        builder.append("}\n");
+        return builder.toString();
+    }
+}
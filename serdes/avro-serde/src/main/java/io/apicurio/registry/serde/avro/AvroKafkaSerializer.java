@@ -51,6 +51,11 @@ public class AvroKafkaSerializer<U> extends AbstractKafkaSerializer<Schema, U> {
     private AvroEncoding encoding;
     private AvroSerdeHeaders avroHeaders;
 
+    /**
+     * The schema of the last record, the serialized form of a schema is only computed again when the data has a different schema
+     */
+    private volatile ParsedSchema<Schema> lastSchemaFromData;
+
     public AvroKafkaSerializer() {
         super();
     }
@@ -103,9 +108,15 @@ public class AvroKafkaSerializer<U> extends AbstractKafkaSerializer<Schema, U> {
     @Override
     protected ParsedSchema<Schema> getSchemaFromData(U data) {
         Schema schema = avroDatumProvider.toSchema(data);
-        return new ParsedSchemaImpl<Schema>()
+        ParsedSchema<Schema> last = lastSchemaFromData;
+        if (last != null && last.getParsedSchema() == schema) {
+            return last;
+        }
+        ParsedSchema<Schema> parsedSchema = new ParsedSchemaImpl<Schema>()
                 .setParsedSchema(schema)
                 .setRawSchema(IoUtil.toBytes(schema.toString()));
+        lastSchemaFromData = parsedSchema;
+        return parsedSchema;
     }
 
     /**
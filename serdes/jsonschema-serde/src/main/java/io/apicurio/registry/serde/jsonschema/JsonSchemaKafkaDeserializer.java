@@ -20,8 +20,6 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.networknt.schema.JsonSchema;
-import com.networknt.schema.JsonSchemaFactory;
-import com.networknt.schema.SpecVersion;
 import io.apicurio.registry.rest.client.RegistryClient;
 import io.apicurio.registry.serde.AbstractKafkaDeserializer;
 import io.apicurio.registry.serde.ParsedSchema;
@@ -30,7 +28,6 @@ import io.apicurio.registry.serde.SchemaResolver;
 import io.apicurio.registry.serde.headers.MessageTypeSerdeHeaders;
 import io.apicurio.registry.serde.utils.Utils;
 import io.apicurio.registry.types.ArtifactType;
-import io.apicurio.registry.utils.IoUtil;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Deserializer;
 
@@ -123,8 +120,7 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
      */
     @Override
     public JsonSchema parseSchema(byte[] rawSchema) {
-        JsonSchemaFactory factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
-        return factory.getSchema(IoUtil.toStream(rawSchema));
+        return JsonSchemaParser.parseSchema(rawSchema);
     }
 
     /**
@@ -143,6 +139,7 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
         return internalReadData(headers, schema, buffer, start, length);
     }
 
+    @SuppressWarnings("unchecked")
     private T internalReadData(Headers headers, ParsedSchema<JsonSchema> schema, ByteBuffer buffer, int start, int length) {
         byte[] data = new byte[length];
         System.arraycopy(buffer.array(), start, data, 0, length);
@@ -150,8 +147,11 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
         try {
             JsonParser parser = mapper.getFactory().createParser(data);
 
+            JsonNode dataNode = null;
             if (isValidationEnabled()) {
-                JsonSchemaValidationUtil.validateDataWithSchema(schema, data, mapper);
+                // the validated tree is returned as is when there is no message type
+                dataNode = mapper.readTree(parser);
+                JsonSchemaValidationUtil.validateDataWithSchema(schema, dataNode);
             }
 
             Class<T> messageType = null;
@@ -159,7 +159,7 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
             if (this.specificReturnClass != null) {
                 messageType = this.specificReturnClass;
             } else if (headers == null) {
-                JsonNode jsonSchema = mapper.readTree(schema.getRawSchema());
+                JsonNode jsonSchema = schema.getParsedSchema().getSchemaNode();
 
                 String javaType = null;
                 JsonNode javaTypeNode = jsonSchema.get("javaType");
@@ -176,7 +176,10 @@ public class JsonSchemaKafkaDeserializer<T> extends AbstractKafkaDeserializer<Js
 
             if (messageType == null) {
                 //TODO maybe warn there is no message type and the deserializer will return a JsonNode
-                return mapper.readTree(parser);
+                return dataNode != null ? (T) dataNode : mapper.readTree(parser);
+            } else if (dataNode != null) {
+                // bound from the bytes, the tree does not keep the exact decimal values (e.g. the scale of a BigDecimal)
+                return mapper.readValue(data, messageType);
             } else {
                 return mapper.readValue(parser, messageType);
             }
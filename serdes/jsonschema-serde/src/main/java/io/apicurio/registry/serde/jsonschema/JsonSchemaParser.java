@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.jsonschema;
+
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import io.apicurio.registry.utils.IoUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parses (compiles) JSON schemas used by the JSON Schema serdes.  Compiled schemas are cached by their
+ * content, so schemas resolved by several serializers, deserializers or artifact versions with the same
+ * content are compiled only once.  The {@link JsonSchemaFactory} is created only once, as well.
+ */
+public class JsonSchemaParser {
+
+    private static final int MAX_CACHED_SCHEMAS = 256;
+
+    private static final JsonSchemaFactory FACTORY = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
+
+    private static final Map<String, JsonSchema> CACHE = new LinkedHashMap<String, JsonSchema>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JsonSchema> eldest) {
+            return size() > MAX_CACHED_SCHEMAS;
+        }
+    };
+
+    private JsonSchemaParser() {
+    }
+
+    /**
+     * @param rawSchema the raw JSON schema
+     * @return the compiled schema, compiled only if the same content was not compiled before
+     */
+    public static JsonSchema parseSchema(byte[] rawSchema) {
+        String key = new String(rawSchema, StandardCharsets.UTF_8);
+        JsonSchema schema;
+        synchronized (CACHE) {
+            schema = CACHE.get(key);
+        }
+        if (schema == null) {
+            schema = FACTORY.getSchema(IoUtil.toStream(rawSchema));
+            synchronized (CACHE) {
+                JsonSchema existing = CACHE.putIfAbsent(key, schema);
+                if (existing != null) {
+                    schema = existing;
+                }
+            }
+        }
+        return schema;
+    }
+}
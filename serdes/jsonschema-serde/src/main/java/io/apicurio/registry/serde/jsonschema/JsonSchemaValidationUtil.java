@@ -16,6 +16,7 @@
 
 package io.apicurio.registry.serde.jsonschema;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.ValidationMessage;
@@ -35,7 +36,16 @@ public class JsonSchemaValidationUtil {
      * @throws IOException In case of validation errors, a IO exception is thrown.
      */
     protected static void validateDataWithSchema(ParsedSchema<JsonSchema> schema, byte[] data, ObjectMapper mapper) throws IOException {
-        final Set<ValidationMessage> validationMessages = schema.getParsedSchema().validate(mapper.readTree(data));
+        validateDataWithSchema(schema, mapper.readTree(data));
+    }
+
+    /**
+     * @param schema the schema to test the data.
+     * @param data the data to test, already read into a tree.
+     * @throws IOException In case of validation errors, a IO exception is thrown.
+     */
+    protected static void validateDataWithSchema(ParsedSchema<JsonSchema> schema, JsonNode data) throws IOException {
+        final Set<ValidationMessage> validationMessages = schema.getParsedSchema().validate(data);
         if (validationMessages != null && !validationMessages.isEmpty()) {
             //There are validation failures
             StringBuilder message = new StringBuilder();
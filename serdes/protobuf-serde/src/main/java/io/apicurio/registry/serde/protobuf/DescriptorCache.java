@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde.protobuf;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache for values derived from protobuf descriptors.  Descriptors do not override
+ * {@link Object#equals(Object)}, so the cache is effectively keyed by descriptor identity, which is stable
+ * for generated message classes and for the schemas cached by the schema resolver.  The bound protects
+ * against applications that build a new descriptor for every message.
+ */
+class DescriptorCache<K, V> {
+
+    static final int DEFAULT_MAX_SIZE = 256;
+
+    private final Map<K, V> cache;
+
+    DescriptorCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    DescriptorCache(int maxSize) {
+        this.cache = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    V get(K key) {
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    void put(K key, V value) {
+        synchronized (cache) {
+            cache.put(key, value);
+        }
+    }
+
+    /**
+     * Returns the cached value, computing it outside of the lock if it is missing.
+     */
+    V computeIfAbsent(K key, Function<K, V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            synchronized (cache) {
+                V existing = cache.putIfAbsent(key, value);
+                if (existing != null) {
+                    value = existing;
+                }
+            }
+        }
+        return value;
+    }
+}
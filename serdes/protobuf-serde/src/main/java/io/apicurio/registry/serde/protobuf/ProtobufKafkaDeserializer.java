@@ -18,13 +18,12 @@ package io.apicurio.registry.serde.protobuf;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.kafka.common.config.ConfigException;
@@ -35,7 +34,9 @@ import com.google.protobuf.DescriptorProtos;
 import com.google.protobuf.Descriptors.Descriptor;
 import com.google.protobuf.Descriptors.FileDescriptor;
 import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
 import io.apicurio.registry.rest.client.RegistryClient;
 import io.apicurio.registry.serde.AbstractKafkaDeserializer;
 import io.apicurio.registry.serde.ParsedSchema;
@@ -52,15 +53,17 @@ import io.apicurio.registry.serde.utils.Utils;
  */
 public class ProtobufKafkaDeserializer<U extends Message> extends AbstractKafkaDeserializer<ProtobufSchema, U> {
 
-    private static final String PROTOBUF_PARSE_METHOD = "parseFrom";
+    private static final String PROTOBUF_DEFAULT_INSTANCE_METHOD = "getDefaultInstance";
 
     private ProtobufSchemaParser parser = new ProtobufSchemaParser();
 
     private Class<?> specificReturnClass;
-    private Method specificReturnClassParseMethod;
+    private Parser<?> specificReturnClassParser;
     private boolean deriveClass;
 
-    private Map<String, Method> parseMethodsCache = new ConcurrentHashMap<>();
+    private Map<String, Parser<?>> parsersCache = new ConcurrentHashMap<>();
+    private final DescriptorCache<Descriptor, Parser<DynamicMessage>> dynamicParsersCache = new DescriptorCache<>();
+    private final DescriptorCache<Descriptor, Optional<String>> derivedClassNamesCache = new DescriptorCache<>();
 
     private ProtobufSerdeHeaders serdeHeaders;
 
@@ -91,9 +94,10 @@ public class ProtobufKafkaDeserializer<U extends Message> extends AbstractKafkaD
         try {
             if (specificReturnClass != null) {
                 if (specificReturnClass.equals(DynamicMessage.class)) {
-                    this.specificReturnClassParseMethod = specificReturnClass.getDeclaredMethod(PROTOBUF_PARSE_METHOD, Descriptor.class, InputStream.class);
+                    // the parser depends on the descriptor of each message, see dynamicParser
+                    this.specificReturnClassParser = null;
                 } else if (!specificReturnClass.equals(Object.class)) {
-                    this.specificReturnClassParseMethod = specificReturnClass.getDeclaredMethod(PROTOBUF_PARSE_METHOD, InputStream.class);
+                    this.specificReturnClassParser = getParser(specificReturnClass);
                 } else {
                     throw new ConfigException("Class " + specificReturnClass.getCanonicalName() + " is not a valid protobuf message class");
                 }
@@ -134,10 +138,9 @@ public class ProtobufKafkaDeserializer<U extends Message> extends AbstractKafkaD
     @SuppressWarnings("unchecked")
     protected U internalReadData(Headers headers, ParsedSchema<ProtobufSchema> schema, ByteBuffer buff, int start, int length) {
         try {
-            byte[] bytes = new byte[length];
-            System.arraycopy(buff.array(), start, bytes, 0, length);
-
-            ByteArrayInputStream is = new ByteArrayInputStream(bytes);
+            // read the payload in place, without copying it out of the record buffer
+            byte[] bytes = buff.array();
+            ByteArrayInputStream is = new ByteArrayInputStream(bytes, start, length);
 
             Descriptor descriptor = null;
             if (headers != null) {
@@ -151,34 +154,38 @@ public class ProtobufKafkaDeserializer<U extends Message> extends AbstractKafkaD
                     Ref ref = Ref.parseDelimitedFrom(is);
                     descriptor = schema.getParsedSchema().getFileDescriptor().findMessageTypeByName(ref.getName());
                 } catch (IOException e) {
-                    is = new ByteArrayInputStream(bytes);
+                    is = new ByteArrayInputStream(bytes, start, length);
                     //use the first message type found
                     descriptor = schema.getParsedSchema().getFileDescriptor().getMessageTypes().get(0);
                 }
             }
 
-            if (specificReturnClassParseMethod != null) {
+            // the message starts where the stream stopped reading the optional Ref
+            int messageLength = is.available();
+            int messageOffset = start + length - messageLength;
+
+            if (specificReturnClass != null) {
                 try {
                     if (specificReturnClass.equals(DynamicMessage.class)) {
-                        return (U) specificReturnClassParseMethod.invoke(null, descriptor, is);
+                        return (U) dynamicParser(descriptor).parseFrom(bytes, messageOffset, messageLength);
                     }
-                    return (U) specificReturnClassParseMethod.invoke(null, is);
+                    return (U) specificReturnClassParser.parseFrom(bytes, messageOffset, messageLength);
                 } catch (Exception e) {
                     throw new ConfigException("Not a valid protobuf builder", e);
                 }
             } else if (deriveClass) {
-                String className = deriveClassFromDescriptor(descriptor);
+                String className = derivedClassNamesCache.computeIfAbsent(descriptor, d -> Optional.ofNullable(deriveClassFromDescriptor(d))).orElse(null);
                 if (className != null) {
-                    return invokeParseMethod(is, className);
+                    return parseMessage(bytes, messageOffset, messageLength, className);
                 }
             } else if (headers != null) {
                 String messageTypeHeader = serdeHeaders.getMessageType(headers);
                 if (messageTypeHeader != null) {
-                    return invokeParseMethod(is, messageTypeHeader);
+                    return parseMessage(bytes, messageOffset, messageLength, messageTypeHeader);
                 }
             }
 
-            return (U) DynamicMessage.parseFrom(descriptor, is);
+            return (U) dynamicParser(descriptor).parseFrom(bytes, messageOffset, messageLength);
 
         } catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -186,23 +193,35 @@ public class ProtobufKafkaDeserializer<U extends Message> extends AbstractKafkaD
     }
 
     @SuppressWarnings("unchecked")
-    private U invokeParseMethod(InputStream buffer, String className) {
+    private U parseMessage(byte[] bytes, int offset, int length, String className) {
+        Parser<?> messageParser = parsersCache.computeIfAbsent(className, k -> {
+            Class<?> protobufClass = Utils.loadClass(className);
+            try {
+                return getParser(protobufClass);
+            } catch (ReflectiveOperationException | SecurityException | ClassCastException e) {
+                throw new SerializationException("Class " + className + " is not a valid protobuf message class", e);
+            }
+        });
         try {
-            Method parseMethod = parseMethodsCache.computeIfAbsent(className, k -> {
-                Class<?> protobufClass = Utils.loadClass(className);
-                try {
-                    return protobufClass.getDeclaredMethod(PROTOBUF_PARSE_METHOD, InputStream.class);
-                } catch (NoSuchMethodException | SecurityException e) {
-                    throw new SerializationException("Class " + className + " is not a valid protobuf message class", e);
-                }
-            });
-            return (U) parseMethod.invoke(null, buffer);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            parseMethodsCache.remove(className);
+            return (U) messageParser.parseFrom(bytes, offset, length);
+        } catch (InvalidProtocolBufferException e) {
             throw new SerializationException("Not a valid protobuf builder", e);
         }
     }
 
+    /**
+     * Resolves the parser of a generated message class once, instead of invoking its static parse method
+     * through reflection for every message.
+     */
+    private static Parser<?> getParser(Class<?> protobufClass) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+        Message defaultInstance = (Message) protobufClass.getDeclaredMethod(PROTOBUF_DEFAULT_INSTANCE_METHOD).invoke(null);
+        return defaultInstance.getParserForType();
+    }
+
+    private Parser<DynamicMessage> dynamicParser(Descriptor descriptor) {
+        return dynamicParsersCache.computeIfAbsent(descriptor, d -> DynamicMessage.getDefaultInstance(d).getParserForType());
+    }
+
     //TODO refactor
     public String deriveClassFromDescriptor(Descriptor des) {
         Descriptor descriptor = des;
@@ -26,6 +26,7 @@ import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.header.Headers;
 
 import com.squareup.wire.schema.internal.parser.ProtoFileElement;
+import com.google.protobuf.Descriptors.FileDescriptor;
 import com.google.protobuf.Message;
 
 import io.apicurio.registry.protobuf.ProtobufDifference;
@@ -54,6 +55,13 @@ public class ProtobufKafkaSerializer<U extends Message> extends AbstractKafkaSer
     private ProtobufSerdeHeaders serdeHeaders;
     private ProtobufSchemaParser parser = new ProtobufSchemaParser();
 
+    /**
+     * Schemas inferred from the data, converting a descriptor to its textual .proto form is expensive
+     * and the result is the same for every message of the same type.
+     */
+    private final DescriptorCache<FileDescriptor, ParsedSchema<ProtobufSchema>> schemasFromData = new DescriptorCache<>();
+    private final DescriptorCache<FileDescriptor, ValidationResult> validationResults = new DescriptorCache<>();
+
     public ProtobufKafkaSerializer() {
         super();
     }
@@ -95,14 +103,16 @@ public class ProtobufKafkaSerializer<U extends Message> extends AbstractKafkaSer
      */
     @Override
     protected ParsedSchema<ProtobufSchema> getSchemaFromData(U data) {
-        ProtoFileElement protoFileElement = parser.toProtoFileElement(data.getDescriptorForType().getFile());
-        ProtobufSchema protobufSchema = new ProtobufSchema(data.getDescriptorForType().getFile(), protoFileElement);
+        return schemasFromData.computeIfAbsent(data.getDescriptorForType().getFile(), fileDescriptor -> {
+            ProtoFileElement protoFileElement = parser.toProtoFileElement(fileDescriptor);
+            ProtobufSchema protobufSchema = new ProtobufSchema(fileDescriptor, protoFileElement);
 
-        byte[] rawSchema = IoUtil.toBytes(protoFileElement.toSchema());
+            byte[] rawSchema = IoUtil.toBytes(protoFileElement.toSchema());
 
-        return new ParsedSchemaImpl<ProtobufSchema>()
-                .setParsedSchema(protobufSchema)
-                .setRawSchema(rawSchema);
+            return new ParsedSchemaImpl<ProtobufSchema>()
+                    .setParsedSchema(protobufSchema)
+                    .setRawSchema(rawSchema);
+        });
     }
 
     /**
@@ -145,10 +155,30 @@ public class ProtobufKafkaSerializer<U extends Message> extends AbstractKafkaSer
     }
 
     private List<ProtobufDifference> validate(ParsedSchema<ProtobufSchema> schemaFromRegistry, U data) {
-        ProtobufFile fileBefore = schemaFromRegistry.getParsedSchema().getProtobufFile();
-        ProtobufFile fileAfter = new ProtobufFile(parser.toProtoFileElement(data.getDescriptorForType().getFile()));
-        ProtobufCompatibilityCheckerLibrary checker = new ProtobufCompatibilityCheckerLibrary(fileBefore, fileAfter);
-        return checker.findDifferences();
+        ProtobufSchema registrySchema = schemaFromRegistry.getParsedSchema();
+        FileDescriptor fileDescriptor = data.getDescriptorForType().getFile();
+
+        // the differences only depend on the registry schema and the descriptor of the data
+        ValidationResult result = validationResults.get(fileDescriptor);
+        if (result == null || result.registrySchema != registrySchema) {
+            ProtobufFile fileBefore = registrySchema.getProtobufFile();
+            ProtobufFile fileAfter = getSchemaFromData(data).getParsedSchema().getProtobufFile();
+            ProtobufCompatibilityCheckerLibrary checker = new ProtobufCompatibilityCheckerLibrary(fileBefore, fileAfter);
+            result = new ValidationResult(registrySchema, checker.findDifferences());
+            validationResults.put(fileDescriptor, result);
+        }
+        return result.differences;
+    }
+
+    private static class ValidationResult {
+
+        private final ProtobufSchema registrySchema;
+        private final List<ProtobufDifference> differences;
+
+        private ValidationResult(ProtobufSchema registrySchema, List<ProtobufDifference> differences) {
+            this.registrySchema = registrySchema;
+            this.differences = differences;
+        }
     }
 
 }
@@ -24,7 +24,6 @@ import org.apache.kafka.common.serialization.Serializer;
 import io.apicurio.registry.serde.config.BaseKafkaSerDeConfig;
 import io.apicurio.registry.serde.strategy.ArtifactResolverStrategy;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
@@ -95,16 +94,20 @@ public abstract class AbstractKafkaSerializer<T, U> extends AbstractKafkaSerDe<T
                     .setRawSchema(schema.getRawSchema())
                     .setParsedSchema(schema.getSchema());
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            if (headersHandler != null && headers != null) {
-                headersHandler.writeHeaders(headers, schema.toArtifactReference());
-                serializeData(headers, parsedSchema, data, out);
-            } else {
-                out.write(MAGIC_BYTE);
-                getIdHandler().writeId(schema.toArtifactReference(), out);
-                serializeData(parsedSchema, data, out);
+            SerializationBuffer out = SerializationBuffer.acquire();
+            try {
+                if (headersHandler != null && headers != null) {
+                    headersHandler.writeHeaders(headers, schema.toArtifactReference());
+                    serializeData(headers, parsedSchema, data, out);
+                } else {
+                    out.write(MAGIC_BYTE);
+                    getIdHandler().writeId(schema.toArtifactReference(), out);
+                    serializeData(parsedSchema, data, out);
+                }
+                return out.toByteArray();
+            } finally {
+                out.release();
             }
-            return out.toByteArray();
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
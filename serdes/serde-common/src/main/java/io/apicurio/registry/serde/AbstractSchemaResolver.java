@@ -17,9 +17,15 @@
 package io.apicurio.registry.serde;
 
 import io.apicurio.registry.rest.client.RegistryClient;
+import io.apicurio.registry.rest.client.RegistryClientAsync;
 import io.apicurio.registry.rest.client.RegistryClientFactory;
+import io.apicurio.registry.rest.client.exception.RestClientException;
 import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
+import io.apicurio.registry.rest.v2.beans.ArtifactSearchResults;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResult;
+import io.apicurio.registry.rest.v2.beans.SearchedArtifact;
 import io.apicurio.registry.rest.v2.beans.VersionMetaData;
+import io.apicurio.registry.serde.SchemaResolverMetrics.Operation;
 import io.apicurio.registry.serde.config.DefaultSchemaResolverConfig;
 import io.apicurio.registry.serde.strategy.ArtifactReference;
 import io.apicurio.registry.serde.strategy.ArtifactResolverStrategy;
@@ -31,12 +37,33 @@ import io.apicurio.rest.client.auth.OidcAuth;
 import io.apicurio.rest.client.auth.exception.AuthErrorHandler;
 import io.apicurio.rest.client.spi.ApicurioHttpClient;
 import io.apicurio.rest.client.spi.ApicurioHttpClientFactory;
+import org.apache.kafka.common.MetricName;
 import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.metrics.Gauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Default implemntation of {@link SchemaResolver}
@@ -46,10 +73,19 @@ import java.util.Optional;
  */
 public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S, T> {
 
+    private static final Logger log = LoggerFactory.getLogger(AbstractSchemaResolver.class);
+
+    private static final int WARMUP_PAGE_SIZE = 100;
+
     protected final ERCache<SchemaLookupResult<S>> schemaCache = new ERCache<>();
 
     protected SchemaParser<S> schemaParser;
     protected RegistryClient client;
+    protected RegistryClientAsync asyncClient;
+    protected BatchSchemaLoader batchLoader;
+    protected PersistentSchemaCache persistentCache;
+    protected SchemaResolverMetrics metrics = SchemaResolverMetrics.DISABLED;
+    protected Map<String, String> metricTags;
     protected ApicurioHttpClient authClient;
     protected boolean isKey;
     protected ArtifactResolverStrategy<S> artifactResolverStrategy;
@@ -58,6 +94,11 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
     protected String explicitArtifactId;
     protected String explicitArtifactVersion;
 
+    protected int warmupConcurrency = (int) SerdeConfig.WARMUP_CONCURRENCY_DEFAULT;
+    private volatile boolean ready = true;
+    private volatile Duration warmupDuration = Duration.ZERO;
+    private final List<MetricName> metricNames = new ArrayList<>();
+
     /**
      * @see io.apicurio.registry.serde.SchemaResolver#configure(java.util.Map, boolean, io.apicurio.registry.serde.SchemaParser)
      */
@@ -66,38 +107,50 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
         this.schemaParser = schemaParser;
         this.isKey = isKey;
         DefaultSchemaResolverConfig config = new DefaultSchemaResolverConfig(configs);
-        if (client == null) {
+        this.metricTags = SerdeMetrics.tags(configs, isKey);
+        if (config.metricsEnabled() && !metrics.isEnabled()) {
+            metrics = new SchemaResolverMetrics(metricTags, schemaCache::size);
+        }
+        if (client == null || (asyncClient == null && config.asyncPrefetch())) {
             String baseUrl = config.getRegistryUrl();
             if (baseUrl == null) {
                 throw new IllegalArgumentException("Missing registry base url, set " + SerdeConfig.REGISTRY_URL);
             }
 
-            String authServerURL = config.getAuthServiceUrl();
-            String tokenEndpoint = config.getTokenEndpoint();
-
             try {
-                if (authServerURL != null || tokenEndpoint != null) {
-                    client = configureClientWithBearerAuthentication(config, baseUrl, authServerURL, tokenEndpoint);
-                } else {
-                    String username = config.getAuthUsername();
-
-                    if (username != null) {
-                        client = configureClientWithBasicAuth(config, baseUrl, username);
-                    } else {
-                        client = RegistryClientFactory.create(baseUrl, config.originals());
-                    }
+                Auth auth = configureAuth(config);
+                if (client == null) {
+                    client = RegistryClientFactory.create(baseUrl, config.originals(), auth);
+                }
+                if (asyncClient == null && config.asyncPrefetch()) {
+                    asyncClient = RegistryClientFactory.createAsync(baseUrl, config.originals(), auth);
                 }
             } catch (Exception e) {
                 throw new IllegalStateException(e);
             }
         }
 
+        Duration batchLookupWindow = config.getBatchLookupWindow();
+        if (batchLoader == null && !batchLookupWindow.isZero()) {
+            batchLoader = new BatchSchemaLoader(client, batchLookupWindow, config.getBatchLookupMaxSize());
+        }
+
+        String schemaCacheDir = config.getSchemaCacheDir();
+        if (persistentCache == null && schemaCacheDir != null) {
+            try {
+                persistentCache = PersistentSchemaCache.open(Paths.get(schemaCacheDir), config.getRegistryUrl());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
         Object ais = config.getArtifactResolverStrategy();
         Utils.instantiate(ArtifactResolverStrategy.class, ais, this::setArtifactResolverStrategy);
 
         schemaCache.configureLifetime(config.getCheckPeriod());
         schemaCache.configureRetryBackoff(config.getRetryBackoff());
         schemaCache.configureRetryCount(config.getRetryCount());
+        schemaCache.configureMetrics(metrics);
 
         schemaCache.configureArtifactReferenceKeyExtractor(SchemaLookupResult::toArtifactReference);
         schemaCache.configureGlobalIdKeyExtractor(SchemaLookupResult::getGlobalId);
@@ -118,6 +171,8 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
             this.explicitArtifactVersion = artifactVersionOverride;
         }
 
+        this.warmupConcurrency = config.getWarmupConcurrency();
+
     }
 
     /**
@@ -128,6 +183,13 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
         this.client = client;
     }
 
+    /**
+     * @param asyncClient the non blocking client used to prefetch schemas
+     */
+    public void setAsyncClient(RegistryClientAsync asyncClient) {
+        this.asyncClient = asyncClient;
+    }
+
     /**
      * @param artifactResolverStrategy the artifactResolverStrategy to set
      */
@@ -143,6 +205,116 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
         this.isKey = isKey;
     }
 
+    /**
+     * @return false while the warmup configured for this resolver is running, or if it did not complete
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return how long the warmup configured for this resolver took
+     */
+    public Duration getWarmupDuration() {
+        return warmupDuration;
+    }
+
+    /**
+     * Resolves the given schemas concurrently, using up to {@link SerdeConfig#WARMUP_CONCURRENCY} threads, and pins them
+     * in the cache so they are never reloaded when looked up by globalId, content or contentId.
+     * @see io.apicurio.registry.serde.SchemaResolver#warmup(java.util.Collection)
+     */
+    @Override
+    public CompletionStage<Void> warmup(Collection<ArtifactReference> references) {
+        if (references.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(warmupConcurrency, references.size()), runnable -> {
+            Thread thread = new Thread(runnable, "apicurio-registry-warmup-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<Void> warmup = CompletableFuture.allOf(references.stream()
+                .map(reference -> CompletableFuture.runAsync(() -> schemaCache.pin(resolveSchemaByArtifactReference(reference)), executor))
+                .toArray(CompletableFuture[]::new));
+        warmup.whenComplete((result, error) -> executor.shutdown());
+        return warmup;
+    }
+
+    /**
+     * Runs the warmup configured with the {@link SerdeConfig#WARMUP_ARTIFACTS}, {@link SerdeConfig#WARMUP_GROUPS} and
+     * {@link SerdeConfig#WARMUP_GLOBAL_IDS} properties, waiting for it up to {@link SerdeConfig#WARMUP_TIMEOUT_MS}.
+     * A failed warmup is only logged, the remaining schemas are resolved on first use.
+     * Readiness and warmup duration are reported as metrics, see {@link SerdeMetrics}.
+     * Must be called at the end of the configuration of the resolver.
+     */
+    protected void warmup(DefaultSchemaResolverConfig config) {
+        List<ArtifactReference> references = warmupReferences(config);
+        if (references.isEmpty()) {
+            return;
+        }
+
+        ready = false;
+        addMetric("warmup-ready", "1 if the configured schemas are resolved, 0 otherwise", metricTags,
+                (Gauge<Integer>) (metricConfig, now) -> ready ? 1 : 0);
+        addMetric("warmup-duration-ms", "The time taken to resolve the configured schemas", metricTags,
+                (Gauge<Long>) (metricConfig, now) -> warmupDuration.toMillis());
+
+        long start = System.nanoTime();
+        try {
+            warmup(references).toCompletableFuture().get(config.getWarmupTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            ready = true;
+        } catch (ExecutionException e) {
+            log.warn("Schema warmup failed, the remaining schemas will be resolved on first use", e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Schema warmup did not complete in {}, the remaining schemas will be resolved on first use", config.getWarmupTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            warmupDuration = Duration.ofNanos(System.nanoTime() - start);
+        }
+        log.debug("Resolved {} schemas in {} ms", references.size(), warmupDuration.toMillis());
+    }
+
+    private List<ArtifactReference> warmupReferences(DefaultSchemaResolverConfig config) {
+        List<ArtifactReference> references = new ArrayList<>();
+        for (Long globalId : config.getWarmupGlobalIds()) {
+            references.add(ArtifactReference.builder().globalId(globalId).build());
+        }
+        for (String artifact : config.getWarmupArtifacts()) {
+            String[] coordinates = artifact.split("/");
+            if (coordinates.length < 2 || coordinates.length > 3) {
+                throw new IllegalArgumentException("Config param '" + SerdeConfig.WARMUP_ARTIFACTS
+                        + "' expects groupId/artifactId or groupId/artifactId/version. Got '" + artifact + "'.");
+            }
+            references.add(ArtifactReference.builder()
+                    .groupId(coordinates[0])
+                    .artifactId(coordinates[1])
+                    .version(coordinates.length == 3 ? coordinates[2] : null)
+                    .build());
+        }
+        for (String groupId : config.getWarmupGroups()) {
+            int offset = 0;
+            ArtifactSearchResults page;
+            do {
+                page = client.listArtifactsInGroup(groupId, null, null, offset, WARMUP_PAGE_SIZE);
+                for (SearchedArtifact artifact : page.getArtifacts()) {
+                    references.add(ArtifactReference.builder().groupId(groupId).artifactId(artifact.getId()).build());
+                }
+                offset += page.getArtifacts().size();
+            } while (!page.getArtifacts().isEmpty() && offset < page.getCount());
+        }
+        return references;
+    }
+
+    private void addMetric(String name, String description, Map<String, String> tags, Gauge<?> gauge) {
+        MetricName metricName = SerdeMetrics.add(SerdeMetrics.metrics().metricName(name, SerdeMetrics.RESOLVER_GROUP, description, tags), gauge);
+        if (metricName != null) {
+            metricNames.add(metricName);
+        }
+    }
+
     /**
      * Resolve an artifact reference given the topic name, message headers, data, and optional parsed schema.  This will use
      * the artifact resolver strategy and then override the values from that strategy with any explicitly configured
@@ -169,7 +341,10 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
     }
 
     protected SchemaLookupResult<S> resolveSchemaByGlobalId(long globalId) {
-        return schemaCache.getByGlobalId(globalId, globalIdKey -> {
+        return schemaCache.getByGlobalId(globalId, globalIdKey -> loadPersistent(Operation.GLOBAL_ID, () -> PersistentSchemaCache.globalIdKey(globalIdKey), true, () -> {
+            if (batchLoader != null) {
+                return toLookupResult(join(batchLoader.loadByGlobalId(globalIdKey)));
+            }
             //TODO getContentByGlobalId have to return some minumum metadata (groupId, artifactId and version)
             //TODO or at least add some method to the api to return the version metadata by globalId
 //            ArtifactMetaData artifactMetadata = client.getArtifactMetaData("TODO", artifactId);
@@ -189,7 +364,174 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
                 .rawSchema(schema)
                 .schema(parsed)
                 .build();
-        });
+        }));
+    }
+
+    /**
+     * Loads a schema from the Registry and stores it in the persistent cache, if one is configured.  A schema identified
+     * by an immutable key (globalId or contentId) is loaded from the persistent cache without calling the Registry,
+     * any other schema is loaded from the persistent cache only if the Registry can not be reached.
+     * The time taken by the Registry lookup is recorded in the metrics of the given operation.
+     * @param operation the kind of lookup
+     * @param persistentKey computes the key of the schema in the persistent cache, only called if one is configured
+     * @param immutable whether the schema identified by the key can never change
+     * @param loader loads the schema from the Registry
+     */
+    protected SchemaLookupResult<S> loadPersistent(Operation operation, Supplier<String> persistentKey, boolean immutable, Supplier<SchemaLookupResult<S>> loader) {
+        if (persistentCache == null) {
+            return metrics.time(operation, loader);
+        }
+        String key = persistentKey.get();
+        if (immutable) {
+            SchemaLookupResult<S> cached = persistentCache.get(key, schemaParser::parseSchema);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        SchemaLookupResult<S> result;
+        try {
+            result = metrics.time(operation, loader);
+        } catch (RuntimeException e) {
+            if (!immutable && isRegistryUnavailable(e)) {
+                SchemaLookupResult<S> cached = persistentCache.get(key, schemaParser::parseSchema);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            throw e;
+        }
+        persistentCache.put(key, result);
+        return result;
+    }
+
+    /**
+     * Connection errors are reported by the client as a {@link RestClientException} without an error code, while
+     * errors returned by the Registry have the HTTP status code of the response.
+     */
+    private static boolean isRegistryUnavailable(RuntimeException e) {
+        if (e instanceof RestClientException) {
+            Integer errorCode = ((RestClientException) e).getError().getErrorCode();
+            return errorCode == null || errorCode >= 500;
+        }
+        return e instanceof UncheckedIOException || e.getCause() instanceof IOException;
+    }
+
+    /**
+     * Converts the result of a batch lookup, which includes the globalId and the artifact coordinates only when
+     * it was looked up by globalId.
+     */
+    protected SchemaLookupResult<S> toLookupResult(BatchLookupResult lookup) {
+        byte[] schema = lookup.getContent().getBytes(StandardCharsets.UTF_8);
+        SchemaLookupResult.SchemaLookupResultBuilder<S> result = SchemaLookupResult.<S>builder()
+                .groupId(lookup.getGroupId())
+                .artifactId(lookup.getArtifactId())
+                .version(lookup.getVersion())
+                .rawSchema(schema)
+                .schema(schemaParser.parseSchema(schema));
+        // content only results (looked up by contentId) have no globalId
+        if (lookup.getGlobalId() != null) {
+            result.globalId(lookup.getGlobalId());
+        }
+        if (lookup.getContentId() != null) {
+            result.contentId(lookup.getContentId());
+        }
+        return result.build();
+    }
+
+    /**
+     * Waits for the given batch lookup, rethrowing its failure as is, so that it is handled (and retried)
+     * the same way as the failure of a single lookup.
+     */
+    protected static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Schemas referenced by globalId or contentId are fetched with the non blocking client, if one is configured,
+     * so no thread is blocked while waiting for the Registry.  Other references are resolved as by default.
+     * @see io.apicurio.registry.serde.SchemaResolver#prefetch(io.apicurio.registry.serde.strategy.ArtifactReference)
+     */
+    @Override
+    public CompletionStage<SchemaLookupResult<S>> prefetch(ArtifactReference reference) {
+        if (isPersisted(reference)) {
+            return SchemaResolver.super.prefetch(reference);
+        }
+        if (batchLoader != null) {
+            if (reference.getContentId() != null) {
+                long contentId = reference.getContentId();
+                if (!schemaCache.containsByContentId(contentId)) {
+                    return batchLoader.loadByContentId(contentId).thenApply(this::cacheLookupResult);
+                }
+            } else if (reference.getGlobalId() != null) {
+                long globalId = reference.getGlobalId();
+                if (!schemaCache.containsByGlobalId(globalId)) {
+                    return batchLoader.loadByGlobalId(globalId).thenApply(this::cacheLookupResult);
+                }
+            }
+        } else if (asyncClient != null) {
+            if (reference.getContentId() != null) {
+                long contentId = reference.getContentId();
+                if (!schemaCache.containsByContentId(contentId)) {
+                    return asyncClient.getContentById(contentId)
+                            .thenApply(rawSchema -> cacheSchema(SchemaLookupResult.<S>builder().contentId(contentId), rawSchema));
+                }
+            } else if (reference.getGlobalId() != null) {
+                long globalId = reference.getGlobalId();
+                if (!schemaCache.containsByGlobalId(globalId)) {
+                    return asyncClient.getContentByGlobalId(globalId)
+                            .thenApply(rawSchema -> cacheSchema(SchemaLookupResult.<S>builder().globalId(globalId), rawSchema));
+                }
+            }
+        }
+        return SchemaResolver.super.prefetch(reference);
+    }
+
+    private boolean isPersisted(ArtifactReference reference) {
+        if (persistentCache == null) {
+            return false;
+        }
+        if (reference.getContentId() != null) {
+            return persistentCache.contains(PersistentSchemaCache.contentIdKey(reference.getContentId()));
+        }
+        return reference.getGlobalId() != null && persistentCache.contains(PersistentSchemaCache.globalIdKey(reference.getGlobalId()));
+    }
+
+    private SchemaLookupResult<S> cacheLookupResult(BatchLookupResult lookup) {
+        SchemaLookupResult<S> lookupResult = toLookupResult(lookup);
+        if (persistentCache != null) {
+            persistentCache.put(persistentKey(lookupResult), lookupResult);
+        }
+        schemaCache.put(lookupResult);
+        return lookupResult;
+    }
+
+    private SchemaLookupResult<S> cacheSchema(SchemaLookupResult.SchemaLookupResultBuilder<S> result, InputStream rawSchema) {
+        byte[] schema = IoUtil.toBytes(rawSchema);
+        SchemaLookupResult<S> lookupResult = result
+                .rawSchema(schema)
+                .schema(schemaParser.parseSchema(schema))
+                .build();
+        if (persistentCache != null) {
+            persistentCache.put(persistentKey(lookupResult), lookupResult);
+        }
+        schemaCache.put(lookupResult);
+        return lookupResult;
+    }
+
+    /**
+     * Schemas looked up by contentId only have no globalId, so they are persisted by their contentId.
+     */
+    private static String persistentKey(SchemaLookupResult<?> lookupResult) {
+        return lookupResult.getGlobalId() > 0 ? PersistentSchemaCache.globalIdKey(lookupResult.getGlobalId())
+                : PersistentSchemaCache.contentIdKey(lookupResult.getContentId());
     }
 
     /**
@@ -205,19 +547,39 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
         if (this.client != null) {
             this.client.close();
         }
+        if (this.asyncClient != null) {
+            this.asyncClient.close();
+        }
+        if (this.batchLoader != null) {
+            this.batchLoader.close();
+        }
+        if (this.persistentCache != null) {
+            this.persistentCache.close();
+        }
+        metricNames.forEach(SerdeMetrics::remove);
+        metricNames.clear();
+        metrics.close();
+        metrics = SchemaResolverMetrics.DISABLED;
         if (this.authClient != null) {
             this.authClient.close();
         }
     }
 
-    private RegistryClient configureClientWithBearerAuthentication(DefaultSchemaResolverConfig config, String registryUrl, String authServerUrl, String tokenEndpoint) {
-        Auth auth;
-        if (authServerUrl != null) {
-            auth = configureAuthWithRealm(config, authServerUrl);
-        } else {
-            auth = configureAuthWithUrl(config, tokenEndpoint);
+    private Auth configureAuth(DefaultSchemaResolverConfig config) {
+        String authServerURL = config.getAuthServiceUrl();
+        String tokenEndpoint = config.getTokenEndpoint();
+
+        if (authServerURL != null) {
+            return configureAuthWithRealm(config, authServerURL);
+        } else if (tokenEndpoint != null) {
+            return configureAuthWithUrl(config, tokenEndpoint);
         }
-        return RegistryClientFactory.create(registryUrl, config.originals(), auth);
+
+        String username = config.getAuthUsername();
+        if (username != null) {
+            return configureBasicAuth(config, username);
+        }
+        return null;
     }
 
     private OidcAuth configureAuthWithRealm(DefaultSchemaResolverConfig config, String authServerUrl) {
@@ -248,7 +610,7 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
         return new OidcAuth(authClient, clientId, clientSecret);
     }
 
-    private RegistryClient configureClientWithBasicAuth(DefaultSchemaResolverConfig config, String registryUrl, String username) {
+    private Auth configureBasicAuth(DefaultSchemaResolverConfig config, String username) {
 
         final String password = config.getAuthPassword();
 
@@ -256,9 +618,7 @@ public abstract class AbstractSchemaResolver<S, T> implements SchemaResolver<S,
             throw new IllegalArgumentException("Missing registry auth password, set " + SerdeConfig.AUTH_PASSWORD);
         }
 
-        Auth auth = new BasicAuth(username, password);
-
-        return RegistryClientFactory.create(registryUrl, config.originals(), auth);
+        return new BasicAuth(username, password);
     }
 
     protected void loadFromArtifactMetaData(ArtifactMetaData artifactMetadata, SchemaLookupResult.SchemaLookupResultBuilder<S> resultBuilder) {
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.apicurio.registry.serde;
+
+import io.apicurio.registry.rest.client.RegistryClient;
+import io.apicurio.registry.rest.client.exception.ArtifactNotFoundException;
+import io.apicurio.registry.rest.client.exception.ContentNotFoundException;
+import io.apicurio.registry.rest.v2.beans.BatchLookupRequest;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResult;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResults;
+import io.apicurio.registry.rest.v2.beans.Error;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the schemas requested by globalId or contentId within a short window, and loads all of them from
+ * the Registry with a single batch lookup request.  Concurrent requests for the same id share the same result.
+ * <p>
+ * A batch is sent when the window started by its first request elapses, or as soon as it reaches the
+ * maximum batch size.  Ids that are not found complete exceptionally with the same exceptions that the
+ * single id lookups of the {@link RegistryClient} throw.
+ */
+public class BatchSchemaLoader implements Closeable {
+
+    private final RegistryClient client;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private Map<Long, CompletableFuture<BatchLookupResult>> pendingGlobalIds = new HashMap<>();
+    private Map<Long, CompletableFuture<BatchLookupResult>> pendingContentIds = new HashMap<>();
+    private boolean flushScheduled;
+
+    public BatchSchemaLoader(RegistryClient client, Duration window, int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
+        this.client = client;
+        this.windowMs = window.toMillis();
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "apicurio-registry-batch-lookup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<BatchLookupResult> loadByGlobalId(long globalId) {
+        return load(globalId, true);
+    }
+
+    public CompletableFuture<BatchLookupResult> loadByContentId(long contentId) {
+        return load(contentId, false);
+    }
+
+    private CompletableFuture<BatchLookupResult> load(long id, boolean globalId) {
+        CompletableFuture<BatchLookupResult> future;
+        boolean flushNow = false;
+        synchronized (this) {
+            Map<Long, CompletableFuture<BatchLookupResult>> pending = globalId ? pendingGlobalIds : pendingContentIds;
+            future = pending.get(id);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(id, future);
+            if (pendingGlobalIds.size() + pendingContentIds.size() >= maxBatchSize) {
+                flushNow = true;
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (flushNow) {
+            scheduler.execute(this::flush);
+        }
+        return future;
+    }
+
+    private void flush() {
+        Map<Long, CompletableFuture<BatchLookupResult>> globalIds;
+        Map<Long, CompletableFuture<BatchLookupResult>> contentIds;
+        synchronized (this) {
+            flushScheduled = false;
+            if (pendingGlobalIds.isEmpty() && pendingContentIds.isEmpty()) {
+                return;
+            }
+            globalIds = pendingGlobalIds;
+            contentIds = pendingContentIds;
+            pendingGlobalIds = new HashMap<>();
+            pendingContentIds = new HashMap<>();
+        }
+
+        // requests may keep arriving while a batch is sent, so the drained ids can exceed the batch size
+        List<Long> globalIdList = new ArrayList<>(globalIds.keySet());
+        List<Long> contentIdList = new ArrayList<>(contentIds.keySet());
+        int globalFrom = 0;
+        int contentFrom = 0;
+        while (globalFrom < globalIdList.size() || contentFrom < contentIdList.size()) {
+            int globalTo = Math.min(globalFrom + maxBatchSize, globalIdList.size());
+            int contentTo = Math.min(contentFrom + maxBatchSize - (globalTo - globalFrom), contentIdList.size());
+            lookup(globalIdList.subList(globalFrom, globalTo), contentIdList.subList(contentFrom, contentTo), globalIds, contentIds);
+            globalFrom = globalTo;
+            contentFrom = contentTo;
+        }
+    }
+
+    private void lookup(List<Long> globalIdBatch, List<Long> contentIdBatch,
+            Map<Long, CompletableFuture<BatchLookupResult>> globalIds, Map<Long, CompletableFuture<BatchLookupResult>> contentIds) {
+        try {
+            BatchLookupRequest request = new BatchLookupRequest();
+            request.setGlobalIds(new ArrayList<>(globalIdBatch));
+            request.setContentIds(new ArrayList<>(contentIdBatch));
+            BatchLookupResults results = client.lookupBatch(request);
+
+            for (BatchLookupResult result : results.getResults()) {
+                CompletableFuture<BatchLookupResult> future = result.getGlobalId() != null ?
+                        globalIds.get(result.getGlobalId()) : contentIds.get(result.getContentId());
+                if (future != null) {
+                    future.complete(result);
+                }
+            }
+            // only completes the futures of the ids that were not found
+            globalIdBatch.forEach(id -> globalIds.get(id).completeExceptionally(
+                    new ArtifactNotFoundException(notFound("No artifact with global ID '" + id + "' was found."))));
+            contentIdBatch.forEach(id -> contentIds.get(id).completeExceptionally(
+                    new ContentNotFoundException(notFound("No content with ID 'contentId-" + id + "' was found."))));
+        } catch (RuntimeException e) {
+            // fails every future of the batch that is not completed yet
+            globalIdBatch.forEach(id -> globalIds.get(id).completeExceptionally(e));
+            contentIdBatch.forEach(id -> contentIds.get(id).completeExceptionally(e));
+        }
+    }
+
+    private static Error notFound(String message) {
+        Error error = new Error();
+        error.setErrorCode(404);
+        error.setMessage(message);
+        return error;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        synchronized (this) {
+            IllegalStateException closed = new IllegalStateException("Batch schema loader closed");
+            pendingGlobalIds.values().forEach(future -> future.completeExceptionally(closed));
+            pendingContentIds.values().forEach(future -> future.completeExceptionally(closed));
+            pendingGlobalIds.clear();
+            pendingContentIds.clear();
+        }
+    }
+}
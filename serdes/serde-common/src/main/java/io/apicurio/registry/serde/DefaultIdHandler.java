@@ -42,7 +42,10 @@ public class DefaultIdHandler implements IdHandler {
         } else {
             id = reference.getGlobalId();
         }
-        out.write(ByteBuffer.allocate(idSize).putLong(id).array());
+        // written byte by byte, in big-endian order as ByteBuffer#putLong, to avoid allocating a buffer per record
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (id >>> shift));
+        }
     }
 
     /**
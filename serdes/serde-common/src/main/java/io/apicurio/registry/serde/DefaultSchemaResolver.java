@@ -19,6 +19,7 @@ package io.apicurio.registry.serde;
 import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
 import io.apicurio.registry.rest.v2.beans.IfExists;
 import io.apicurio.registry.rest.v2.beans.VersionMetaData;
+import io.apicurio.registry.serde.SchemaResolverMetrics.Operation;
 import io.apicurio.registry.serde.config.DefaultSchemaResolverConfig;
 import io.apicurio.registry.serde.strategy.ArtifactReference;
 import io.apicurio.registry.utils.IoUtil;
@@ -60,6 +61,8 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
         this.autoCreateArtifact = config.autoRegisterArtifact();
         this.autoCreateBehavior = IfExists.fromValue(config.autoRegisterArtifactIfExists());
         this.findLatest = config.findLatest();
+
+        warmup(config);
     }
 
     /**
@@ -121,7 +124,10 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
     }
 
     protected SchemaLookupResult<S> resolveSchemaByContentId(long contentId) {
-        return schemaCache.getByContentId(contentId, contentIdKey -> {
+        return schemaCache.getByContentId(contentId, contentIdKey -> loadPersistent(Operation.CONTENT_ID, () -> PersistentSchemaCache.contentIdKey(contentIdKey), true, () -> {
+            if (batchLoader != null) {
+                return toLookupResult(join(batchLoader.loadByContentId(contentIdKey)));
+            }
 
             // it's impossible to retrieve more info about the artifact with only the contentId, and that's ok for this case
             InputStream rawSchema = client.getContentById(contentIdKey);
@@ -136,7 +142,7 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
                 .rawSchema(schema)
                 .schema(parsed)
                 .build();
-        });
+        }));
     }
 
     /**
@@ -149,7 +155,7 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
 
         String rawSchemaString = IoUtil.toString(parsedSchema.getRawSchema());
 
-        return schemaCache.getByContent(rawSchemaString, contentKey -> {
+        return schemaCache.getByContent(rawSchemaString, contentKey -> loadPersistent(Operation.CONTENT, () -> PersistentSchemaCache.contentKey(artifactReference.getGroupId(), artifactReference.getArtifactId(), parsedSchema.getRawSchema()), false, () -> {
 
             VersionMetaData artifactMetadata = client.getArtifactVersionMetaDataByContent(
                 artifactReference.getGroupId(), artifactReference.getArtifactId(), true, IoUtil.toStream(contentKey));
@@ -162,14 +168,14 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
             result.schema(parsedSchema.getParsedSchema());
 
             return result.build();
-        });
+        }));
     }
 
     private SchemaLookupResult<S> handleAutoCreateArtifact(ParsedSchema<S> parsedSchema,
                                                            final ArtifactReference artifactReference) {
         String rawSchemaString = IoUtil.toString(parsedSchema.getRawSchema());
 
-        return schemaCache.getByContent(rawSchemaString, contentKey -> {
+        return schemaCache.getByContent(rawSchemaString, contentKey -> loadPersistent(Operation.AUTO_REGISTER, () -> PersistentSchemaCache.contentKey(artifactReference.getGroupId(), artifactReference.getArtifactId(), parsedSchema.getRawSchema()), false, () -> {
 
             ArtifactMetaData artifactMetadata = client.createArtifact(artifactReference.getGroupId(), artifactReference.getArtifactId(), artifactReference.getVersion(),
                 schemaParser.artifactType(), this.autoCreateBehavior, false, IoUtil.toStream(parsedSchema.getRawSchema()));
@@ -182,11 +188,11 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
             result.schema(parsedSchema.getParsedSchema());
 
             return result.build();
-        });
+        }));
     }
 
     private SchemaLookupResult<S> resolveSchemaByArtifactReferenceCached(ArtifactReference artifactReference) {
-        return schemaCache.getByArtifactReference(artifactReference, artifactReferenceKey -> {
+        return schemaCache.getByArtifactReference(artifactReference, artifactReferenceKey -> loadPersistent(Operation.ARTIFACT_REFERENCE, () -> PersistentSchemaCache.artifactReferenceKey(artifactReferenceKey), false, () -> {
 
             SchemaLookupResult.SchemaLookupResultBuilder<S> result = SchemaLookupResult.builder();
             //TODO if getArtifactVersion returns the artifact version and globalid in the headers we can reduce this to only one http call
@@ -212,6 +218,6 @@ public class DefaultSchemaResolver<S, T> extends AbstractSchemaResolver<S, T> {
                 .schema(parsed);
 
             return result.build();
-        });
+        }));
     }
 }
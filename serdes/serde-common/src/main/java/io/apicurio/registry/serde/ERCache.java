@@ -17,13 +17,18 @@
 package io.apicurio.registry.serde;
 
 import io.apicurio.registry.rest.client.exception.RateLimitedClientException;
+import io.apicurio.registry.serde.SchemaResolverMetrics.Operation;
 import io.apicurio.registry.serde.strategy.ArtifactReference;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -55,6 +60,7 @@ public class ERCache<V> {
     private Duration lifetime = Duration.ZERO;
     private Duration backoff = Duration.ofMillis(200);
     private long retries;
+    private SchemaResolverMetrics metrics = SchemaResolverMetrics.DISABLED;
 
     // === Configuration
 
@@ -70,6 +76,10 @@ public class ERCache<V> {
         this.retries = retries;
     }
 
+    public void configureMetrics(SchemaResolverMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     public void configureArtifactReferenceKeyExtractor(Function<V, ArtifactReference> keyExtractor) {
         this.keyExtractor1 = keyExtractor;
     }
@@ -98,7 +108,7 @@ public class ERCache<V> {
 
     public V getByArtifactReference(ArtifactReference key, Function<ArtifactReference, V> loaderFunction) {
         WrappedValue<V> value = this.index1.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(Operation.ARTIFACT_REFERENCE, value, key, loaderFunction);
     }
 
     public boolean containsByArtifactReference(ArtifactReference key) {
@@ -108,27 +118,64 @@ public class ERCache<V> {
 
     public V getByGlobalId(Long key, Function<Long, V> loaderFunction) {
         WrappedValue<V> value = this.index2.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(Operation.GLOBAL_ID, value, key, loaderFunction);
     }
 
     public V getByContent(String key, Function<String, V> loaderFunction) {
         WrappedValue<V> value = this.index3.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(Operation.CONTENT, value, key, loaderFunction);
     }
 
     public V getByContentId(Long key, Function<Long, V> loaderFunction) {
         WrappedValue<V> value = this.index4.get(key);
-        return getValue(value, key, loaderFunction);
+        return getValue(Operation.CONTENT_ID, value, key, loaderFunction);
+    }
+
+    public boolean containsByGlobalId(Long key) {
+        WrappedValue<V> value = this.index2.get(key);
+        return value != null && !value.isExpired();
+    }
+
+    public boolean containsByContentId(Long key) {
+        WrappedValue<V> value = this.index4.get(key);
+        return value != null && !value.isExpired();
+    }
+
+    /**
+     * Adds a value loaded outside of the cache (e.g. asynchronously), indexed by all of its keys.
+     */
+    public void put(V value) {
+        Objects.requireNonNull(value);
+        reindex(new WrappedValue<>(lifetime, Instant.now(), value));
+    }
+
+    /**
+     * Adds a value that never expires when looked up by globalId, content or contentId, which identify immutable
+     * schemas.  The value looked up by artifact reference still expires, because the reference may point
+     * to a different version later.  Pinned values are only removed by {@link #clear()}.
+     */
+    public void pin(V value) {
+        Objects.requireNonNull(value);
+        Instant now = Instant.now();
+        WrappedValue<V> pinned = new WrappedValue<>(null, now, value);
+        Optional.ofNullable(keyExtractor1.apply(value)).ifPresent(k -> index1.put(k, new WrappedValue<>(lifetime, now, value)));
+        Optional.ofNullable(keyExtractor2.apply(value)).ifPresent(k -> index2.put(k, pinned));
+        Optional.ofNullable(keyExtractor3.apply(value)).ifPresent(k -> index3.put(k, pinned));
+        Optional.ofNullable(keyExtractor4.apply(value)).ifPresent(k -> index4.put(k, pinned));
     }
 
     // === Generic
 
-    private <T> V getValue(WrappedValue<V> value, T key, Function<T, V> loaderFunction) {
+    private <T> V getValue(Operation operation, WrappedValue<V> value, T key, Function<T, V> loaderFunction) {
         V result = value != null ? value.value : null;
 
         if (value == null || value.isExpired()) {
+            metrics.miss(operation);
+            if (value != null) {
+                metrics.expiration(operation);
+            }
             // With retry
-            Result<V, RuntimeException> newValue = retry(backoff, retries, () -> {
+            Result<V, RuntimeException> newValue = retry(backoff, retries, metrics, () -> {
                 return loaderFunction.apply(key);
             });
             if (newValue.isOk()) {
@@ -139,6 +186,8 @@ public class ERCache<V> {
             } else {
                 throw newValue.error;
             }
+        } else {
+            metrics.hit(operation);
         }
 
         return result;
@@ -146,9 +195,20 @@ public class ERCache<V> {
 
     private void reindex(WrappedValue<V> newValue) {
         Optional.ofNullable(keyExtractor1.apply(newValue.value)).ifPresent(k -> index1.put(k, newValue));
-        Optional.ofNullable(keyExtractor2.apply(newValue.value)).ifPresent(k -> index2.put(k, newValue));
-        Optional.ofNullable(keyExtractor3.apply(newValue.value)).ifPresent(k -> index3.put(k, newValue));
-        Optional.ofNullable(keyExtractor4.apply(newValue.value)).ifPresent(k -> index4.put(k, newValue));
+        Optional.ofNullable(keyExtractor2.apply(newValue.value)).ifPresent(k -> index2.merge(k, newValue, WrappedValue::keepPinned));
+        Optional.ofNullable(keyExtractor3.apply(newValue.value)).ifPresent(k -> index3.merge(k, newValue, WrappedValue::keepPinned));
+        Optional.ofNullable(keyExtractor4.apply(newValue.value)).ifPresent(k -> index4.merge(k, newValue, WrappedValue::keepPinned));
+    }
+
+    /**
+     * @return the number of distinct values in the cache
+     */
+    public int size() {
+        Set<V> values = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map<?, WrappedValue<V>> index : Arrays.asList(index1, index2, index3, index4)) {
+            index.values().forEach(value -> values.add(value.value));
+        }
+        return values.size();
     }
 
     public void clear() {
@@ -160,7 +220,7 @@ public class ERCache<V> {
 
     // === Util & Other
 
-    private static <T> Result<T, RuntimeException> retry(Duration backoff, long retries, Supplier<T> supplier) {
+    private static <T> Result<T, RuntimeException> retry(Duration backoff, long retries, SchemaResolverMetrics metrics, Supplier<T> supplier) {
         if (retries < 0)
             throw new IllegalArgumentException();
         Objects.requireNonNull(supplier);
@@ -183,6 +243,7 @@ public class ERCache<V> {
                 // TODO Add additional exceptions that should cause a retry.
                 if (i == retries || !(e instanceof RateLimitedClientException))
                     return Result.error(e);
+                metrics.retry();
             }
             try {
                 Thread.sleep(backoff.toMillis());
@@ -196,6 +257,9 @@ public class ERCache<V> {
 
     private static class WrappedValue<V> {
 
+        /**
+         * null for pinned values, which never expire
+         */
         private final Duration lifetime;
         private final Instant lastUpdate;
         private final V value;
@@ -211,7 +275,11 @@ public class ERCache<V> {
         }
 
         public boolean isExpired() {
-            return lastUpdate.plus(lifetime).isBefore(Instant.now());
+            return lifetime != null && lastUpdate.plus(lifetime).isBefore(Instant.now());
+        }
+
+        private static <V> WrappedValue<V> keepPinned(WrappedValue<V> oldValue, WrappedValue<V> newValue) {
+            return oldValue.lifetime == null ? oldValue : newValue;
         }
     }
 
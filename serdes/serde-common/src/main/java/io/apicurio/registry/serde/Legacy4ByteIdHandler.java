@@ -44,7 +44,11 @@ public class Legacy4ByteIdHandler implements IdHandler {
         } else {
             id = reference.getGlobalId();
         }
-        out.write(ByteBuffer.allocate(idSize).putInt((int) id).array());
+        // written byte by byte, in big-endian order as ByteBuffer#putInt, to avoid allocating a buffer per record
+        int intId = (int) id;
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            out.write(intId >>> shift);
+        }
     }
 
     /**
@@ -0,0 +1,464 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde;
+
+import io.apicurio.registry.serde.strategy.ArtifactReference;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent tier of the schema cache, an append-only file of resolved schemas and an in-memory index
+ * from lookup keys (globalId, contentId, artifact coordinates or content) to the position of their record in the file.
+ * <p>
+ * Every record is written as its length, the CRC32 of its payload and the payload itself, so a record that was
+ * only partially written (e.g. because the process was killed) is detected and dropped when the file is loaded.
+ * Appends hold an exclusive lock on the file, so several processes on the same host can share the same file.  Records
+ * appended by other processes are only seen after the file is loaded again.
+ * <p>
+ * Records whose keys all point to a newer record are dead, e.g. when several processes cached the same schema.  The file
+ * is compacted when it is loaded and most of it is dead, by copying the live records to a new file that replaces it.
+ * Processes that still have the previous file open keep appending to it until they load the file again.
+ * <p>
+ * Instances are shared, within a JVM, by all the resolvers that use the same file.
+ */
+public class PersistentSchemaCache implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistentSchemaCache.class);
+
+    private static final int MAGIC = 0x41525343;
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+    private static final long COMPACTION_MIN_DEAD_BYTES = 1024 * 1024;
+
+    private static final Map<Path, PersistentSchemaCache> instances = new HashMap<>();
+
+    private final Path file;
+    private FileChannel channel;
+    private final Map<String, Slot> index = new ConcurrentHashMap<>();
+    private int references;
+
+    /**
+     * Opens (or creates) the cache file of the given Registry in the given directory, and loads its index.
+     * @param directory the cache directory, created if it does not exist
+     * @param registryUrl the Registry the cached schemas belong to
+     */
+    public static PersistentSchemaCache open(Path directory, String registryUrl) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(fileName(registryUrl)).toAbsolutePath().normalize();
+        synchronized (instances) {
+            PersistentSchemaCache cache = instances.get(file);
+            if (cache == null) {
+                cache = new PersistentSchemaCache(file);
+                instances.put(file, cache);
+            }
+            cache.references++;
+            return cache;
+        }
+    }
+
+    private PersistentSchemaCache(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void load() throws IOException {
+        long start = System.nanoTime();
+        boolean compacted = false;
+        try (FileLock lock = channel.lock()) {
+            long size = channel.size();
+            if (size < FILE_HEADER_SIZE || !hasValidHeader()) {
+                if (size > 0) {
+                    log.warn("Ignoring schema cache file {} with an unknown format", file);
+                }
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION);
+                header.flip();
+                writeFully(header, 0);
+                return;
+            }
+
+            Map<Long, Integer> recordSizes = new HashMap<>();
+            long position = FILE_HEADER_SIZE;
+            while (true) {
+                Record record = readRecord(position, size);
+                if (record == null) {
+                    break;
+                }
+                for (String key : record.keys) {
+                    index.put(key, new Slot(position, record.globalId, record.contentId));
+                }
+                recordSizes.put(position, RECORD_HEADER_SIZE + record.length);
+                position += RECORD_HEADER_SIZE + record.length;
+            }
+            if (position < size) {
+                log.warn("Dropping {} bytes of incomplete records at the end of schema cache file {}", size - position, file);
+                channel.truncate(position);
+            }
+
+            SortedSet<Long> live = new TreeSet<>();
+            for (Slot slot : index.values()) {
+                live.add(slot.position);
+            }
+            long liveBytes = 0;
+            for (Long livePosition : live) {
+                liveBytes += recordSizes.get(livePosition);
+            }
+            long deadBytes = position - FILE_HEADER_SIZE - liveBytes;
+            if (deadBytes >= COMPACTION_MIN_DEAD_BYTES && deadBytes > liveBytes) {
+                compacted = compact(live, recordSizes);
+            }
+        }
+        if (compacted) {
+            channel.close();
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        log.debug("Loaded {} keys from schema cache file {} in {} ms", index.size(), file, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Copies the given live records, in order, to a new file that replaces the current one, and moves the index to their
+     * new positions.  Must be called with the lock of the current file held.
+     * @return true if the file was replaced, false if it was left as is
+     */
+    private boolean compact(SortedSet<Long> live, Map<Long, Integer> recordSizes) throws IOException {
+        Path compacted = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        Map<Long, Long> positions = new HashMap<>();
+        try {
+            try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION);
+                header.flip();
+                while (header.hasRemaining()) {
+                    out.write(header);
+                }
+                for (Long position : live) {
+                    long target = out.position();
+                    long count = recordSizes.get(position);
+                    long copied = 0;
+                    while (copied < count) {
+                        copied += channel.transferTo(position + copied, count - copied, out);
+                    }
+                    positions.put(position, target);
+                }
+                out.force(true);
+            }
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not compact schema cache file {}", file, e);
+            Files.deleteIfExists(compacted);
+            return false;
+        }
+        index.replaceAll((key, slot) -> new Slot(positions.get(slot.position), slot.globalId, slot.contentId));
+        log.debug("Compacted schema cache file {} to {} records", file, live.size());
+        return true;
+    }
+
+    private boolean hasValidHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        readFully(header, 0);
+        header.flip();
+        return header.getInt() == MAGIC && header.getInt() == FORMAT_VERSION;
+    }
+
+    /**
+     * @return the cached schema for the given key, with the schema parsed by the given parser, or null if there is none
+     */
+    public <S> SchemaLookupResult<S> get(String key, Function<byte[], S> parser) {
+        Slot slot = index.get(key);
+        if (slot == null) {
+            return null;
+        }
+        Record record;
+        try {
+            record = readRecord(slot.position, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (record == null) {
+            return null;
+        }
+        return SchemaLookupResult.<S>builder()
+                .globalId(record.globalId)
+                .contentId(record.contentId)
+                .groupId(record.groupId)
+                .artifactId(record.artifactId)
+                .version(record.version)
+                .rawSchema(record.rawSchema)
+                .schema(parser.apply(record.rawSchema))
+                .build();
+    }
+
+    /**
+     * @return true if there is a cached schema for the given key
+     */
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Appends the given schema to the file, indexed by the given key and by its globalId and contentId.  Nothing is written
+     * if all these keys already point to the same schema.
+     */
+    public void put(String key, SchemaLookupResult<?> result) {
+        List<String> keys = new ArrayList<>(3);
+        keys.add(key);
+        if (result.getGlobalId() > 0) {
+            keys.add(globalIdKey(result.getGlobalId()));
+        }
+        if (result.getContentId() > 0) {
+            keys.add(contentIdKey(result.getContentId()));
+        }
+        if (isIndexed(keys, result)) {
+            return;
+        }
+
+        byte[] payload;
+        try {
+            payload = encode(keys, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+        buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        buffer.flip();
+
+        synchronized (this) {
+            try (FileLock lock = channel.lock()) {
+                long position = channel.size();
+                writeFully(buffer, position);
+                Slot slot = new Slot(position, result.getGlobalId(), result.getContentId());
+                for (String k : keys) {
+                    index.put(k, slot);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private boolean isIndexed(Collection<String> keys, SchemaLookupResult<?> result) {
+        for (String key : keys) {
+            Slot slot = index.get(key);
+            if (slot == null || slot.globalId != result.getGlobalId() || slot.contentId != result.getContentId()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Releases this instance, the file is closed when it is no longer used by any resolver.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (instances) {
+            if (--references == 0) {
+                instances.remove(file);
+                channel.close();
+            }
+        }
+    }
+
+    static String globalIdKey(long globalId) {
+        return "globalId:" + globalId;
+    }
+
+    static String contentIdKey(long contentId) {
+        return "contentId:" + contentId;
+    }
+
+    static String artifactReferenceKey(ArtifactReference reference) {
+        return "artifact:" + reference.getGroupId() + "/" + reference.getArtifactId() + "/" + reference.getVersion();
+    }
+
+    static String contentKey(String groupId, String artifactId, byte[] content) {
+        return "content:" + groupId + "/" + artifactId + "/" + sha256(content);
+    }
+
+    private static String fileName(String registryUrl) {
+        return "schemas-" + sha256(String.valueOf(registryUrl).getBytes(StandardCharsets.UTF_8)).substring(0, 16) + ".log";
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] encode(List<String> keys, SchemaLookupResult<?> result) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(result.getRawSchema().length + 256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeShort(keys.size());
+        for (String key : keys) {
+            out.writeUTF(key);
+        }
+        out.writeLong(result.getGlobalId());
+        out.writeLong(result.getContentId());
+        writeNullable(out, result.getGroupId());
+        writeNullable(out, result.getArtifactId());
+        writeNullable(out, result.getVersion());
+        out.writeInt(result.getRawSchema().length);
+        out.write(result.getRawSchema());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * @return the record at the given position, or null if there is no complete and valid record there
+     */
+    private Record readRecord(long position, long size) throws IOException {
+        if (position + RECORD_HEADER_SIZE > size) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        readFully(header, position);
+        header.flip();
+        int length = header.getInt();
+        int checksum = header.getInt();
+        if (length <= 0 || length > MAX_RECORD_SIZE || position + RECORD_HEADER_SIZE + length > size) {
+            return null;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(payload, position + RECORD_HEADER_SIZE);
+        CRC32 crc = new CRC32();
+        crc.update(payload.array(), 0, length);
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload.array()))) {
+            Record record = new Record();
+            record.length = length;
+            int keyCount = in.readUnsignedShort();
+            record.keys = new ArrayList<>(keyCount);
+            for (int i = 0; i < keyCount; i++) {
+                record.keys.add(in.readUTF());
+            }
+            record.globalId = in.readLong();
+            record.contentId = in.readLong();
+            record.groupId = readNullable(in);
+            record.artifactId = readNullable(in);
+            record.version = readNullable(in);
+            record.rawSchema = new byte[in.readInt()];
+            in.readFully(record.rawSchema);
+            return record;
+        } catch (EOFException | IllegalArgumentException | NegativeArraySizeException e) {
+            return null;
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of schema cache file " + file);
+            }
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static final class Slot {
+
+        private final long position;
+        private final long globalId;
+        private final long contentId;
+
+        private Slot(long position, long globalId, long contentId) {
+            this.position = position;
+            this.globalId = globalId;
+            this.contentId = contentId;
+        }
+    }
+
+    private static final class Record {
+
+        private int length;
+        private List<String> keys;
+        private long globalId;
+        private long contentId;
+        private String groupId;
+        private String artifactId;
+        private String version;
+        private byte[] rawSchema;
+    }
+}
@@ -32,6 +32,8 @@ public class SchemaLookupResult<T> {
     private String artifactId;
     private String version;
 
+    private ArtifactReference artifactReference;
+
     private SchemaLookupResult() {
         //empty initialize manually
     }
@@ -85,7 +87,15 @@ public class SchemaLookupResult<T> {
         return version;
     }
 
+    /**
+     * @return the reference to this schema, created once when the result is built because serializers need it for
+     * every record
+     */
     public ArtifactReference toArtifactReference() {
+        return artifactReference;
+    }
+
+    private ArtifactReference createArtifactReference() {
         return ArtifactReference.builder()
                 .globalId(this.getGlobalId())
                 .contentId(this.getContentId())
@@ -143,6 +153,7 @@ public class SchemaLookupResult<T> {
         }
 
         public SchemaLookupResult<T> build() {
+            this.result.artifactReference = this.result.createArtifactReference();
             return this.result;
         }
 
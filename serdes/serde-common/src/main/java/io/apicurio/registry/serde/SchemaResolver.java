@@ -17,7 +17,11 @@
 package io.apicurio.registry.serde;
 
 import java.io.Closeable;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 import org.apache.kafka.common.header.Headers;
 
 import io.apicurio.registry.rest.client.RegistryClient;
@@ -60,6 +64,30 @@ public interface SchemaResolver<SCHEMA, DATA> extends Closeable {
      */
     public SchemaLookupResult<SCHEMA> resolveSchemaByArtifactReference(ArtifactReference reference);
 
+    /**
+     * Loads the schema for the given {@link ArtifactReference} into the cache without blocking the caller,
+     * so that a later call to {@link #resolveSchemaByArtifactReference(ArtifactReference)} is served from the cache.
+     * The default implementation resolves the schema on the common fork join pool.
+     * @param reference
+     * @return a stage completed with the resolved schema
+     */
+    default CompletionStage<SchemaLookupResult<SCHEMA>> prefetch(ArtifactReference reference) {
+        return CompletableFuture.supplyAsync(() -> resolveSchemaByArtifactReference(reference));
+    }
+
+    /**
+     * Resolves and parses the schemas for the given {@link ArtifactReference}s ahead of time, so that the first records
+     * do not have to wait for the Registry.
+     * The default implementation prefetches all of them.
+     * @param references
+     * @return a stage completed when all the schemas are resolved, or exceptionally if any of them could not be resolved
+     */
+    default CompletionStage<Void> warmup(Collection<ArtifactReference> references) {
+        return CompletableFuture.allOf(references.stream()
+                .map(reference -> prefetch(reference).toCompletableFuture())
+                .toArray(CompletableFuture[]::new));
+    }
+
     /**
      * Hard reset cache
      */
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.Gauge;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.Avg;
+import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.metrics.stats.Meter;
+import org.apache.kafka.common.metrics.stats.Percentile;
+import org.apache.kafka.common.metrics.stats.Percentiles;
+import org.apache.kafka.common.metrics.stats.WindowedCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Instrumentation of a schema resolver, registered in the shared {@link SerdeMetrics} registry when
+ * {@link SerdeConfig#METRICS_ENABLED} is set:
+ * <ul>
+ * <li>cache-hit, cache-miss and cache-expiration rates and totals, per lookup (global-id, content-id, content, artifact-reference)</li>
+ * <li>registry-lookup latency (avg, max, p50, p95 and p99, in milliseconds) and count, per operation (the lookups above and auto-register)</li>
+ * <li>retry rate and total, for lookups retried because the Registry rate limited them</li>
+ * <li>cache-size, the number of parsed schemas in the cache</li>
+ * </ul>
+ * Every Registry lookup is also traced in the log of this class, at TRACE level.
+ * <p>
+ * The {@link #DISABLED} instance records nothing, so the overhead of disabled metrics is a field read per call.
+ * <p>
+ * Resolvers with the same tags (e.g. several serdes configured with the same client id) share their sensors, which
+ * are reference counted and removed when the last of these resolvers is closed.  Their cache-size is the sum of
+ * their caches.
+ */
+public class SchemaResolverMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaResolverMetrics.class);
+
+    /**
+     * Highest latency, in milliseconds, tracked by the latency percentiles.
+     */
+    private static final double MAX_LATENCY_MS = 30_000;
+    private static final int PERCENTILES_SIZE_IN_BYTES = 4 * 1024;
+
+    public static final SchemaResolverMetrics DISABLED = new SchemaResolverMetrics();
+
+    private static final Map<String, Integer> sensorReferences = new HashMap<>();
+    private static final Map<MetricName, List<Supplier<Integer>>> cacheSizeProviders = new HashMap<>();
+
+    public enum Operation {
+        GLOBAL_ID("global-id"),
+        CONTENT_ID("content-id"),
+        CONTENT("content"),
+        ARTIFACT_REFERENCE("artifact-reference"),
+        AUTO_REGISTER("auto-register");
+
+        private final String tag;
+
+        Operation(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    private final boolean enabled;
+    private final Sensor[] hits;
+    private final Sensor[] misses;
+    private final Sensor[] expirations;
+    private final Sensor[] lookups;
+    private final Sensor retries;
+    private final List<String> sensorNames = new ArrayList<>();
+    private final Supplier<Integer> cacheSizeProvider;
+    private MetricName cacheSize;
+
+    private SchemaResolverMetrics() {
+        this.enabled = false;
+        this.hits = null;
+        this.misses = null;
+        this.expirations = null;
+        this.lookups = null;
+        this.retries = null;
+        this.cacheSizeProvider = null;
+    }
+
+    /**
+     * @param tags the tags identifying the resolver, see {@link SerdeMetrics#tags(Map, boolean)}
+     * @param cacheSizeProvider provides the number of parsed schemas in the cache
+     */
+    public SchemaResolverMetrics(Map<String, String> tags, Supplier<Integer> cacheSizeProvider) {
+        this.enabled = true;
+        Metrics metrics = SerdeMetrics.metrics();
+        String prefix = "apicurio-serde." + tags.get("client-id") + "." + tags.get("part") + ".";
+
+        Operation[] operations = Operation.values();
+        this.hits = new Sensor[operations.length];
+        this.misses = new Sensor[operations.length];
+        this.expirations = new Sensor[operations.length];
+        this.lookups = new Sensor[operations.length];
+        for (Operation operation : operations) {
+            Map<String, String> operationTags = new HashMap<>(tags);
+            operationTags.put("operation", operation.tag());
+            int i = operation.ordinal();
+            if (operation != Operation.AUTO_REGISTER) {
+                hits[i] = meter(metrics, prefix, "cache-hit", "cache lookups served from the cache", operationTags);
+                misses[i] = meter(metrics, prefix, "cache-miss", "cache lookups loaded from the Registry", operationTags);
+                expirations[i] = meter(metrics, prefix, "cache-expiration", "expired cache entries that were reloaded", operationTags);
+            }
+
+            String group = SerdeMetrics.RESOLVER_GROUP;
+            lookups[i] = sensor(metrics, prefix + "registry-lookup." + operation.tag(), lookup -> {
+                lookup.add(metrics.metricName("registry-lookup-time-avg", group, "The average time of the Registry lookups in ms", operationTags), new Avg());
+                lookup.add(metrics.metricName("registry-lookup-time-max", group, "The maximum time of the Registry lookups in ms", operationTags), new Max());
+                lookup.add(metrics.metricName("registry-lookup-total", group, "The number of Registry lookups", operationTags), new WindowedCount());
+                lookup.add(new Percentiles(PERCENTILES_SIZE_IN_BYTES, MAX_LATENCY_MS, Percentiles.BucketSizing.LINEAR,
+                        new Percentile(metrics.metricName("registry-lookup-time-p50", group, "The median time of the Registry lookups in ms", operationTags), 50),
+                        new Percentile(metrics.metricName("registry-lookup-time-p95", group, "The 95th percentile time of the Registry lookups in ms", operationTags), 95),
+                        new Percentile(metrics.metricName("registry-lookup-time-p99", group, "The 99th percentile time of the Registry lookups in ms", operationTags), 99)));
+            });
+        }
+        this.retries = meter(metrics, prefix, "retry", "Registry lookups retried because of rate limiting", tags);
+
+        this.cacheSizeProvider = cacheSizeProvider;
+        MetricName cacheSizeName = metrics.metricName("cache-size", SerdeMetrics.RESOLVER_GROUP, "The number of parsed schemas in the cache", tags);
+        synchronized (cacheSizeProviders) {
+            List<Supplier<Integer>> providers = cacheSizeProviders.get(cacheSizeName);
+            if (providers == null) {
+                List<Supplier<Integer>> shared = new ArrayList<>();
+                providers = shared;
+                cacheSizeProviders.put(cacheSizeName, shared);
+                SerdeMetrics.add(cacheSizeName, (Gauge<Integer>) (config, now) -> totalCacheSize(shared));
+            }
+            providers.add(cacheSizeProvider);
+        }
+        this.cacheSize = cacheSizeName;
+    }
+
+    private static int totalCacheSize(List<Supplier<Integer>> providers) {
+        synchronized (cacheSizeProviders) {
+            int total = 0;
+            for (Supplier<Integer> provider : providers) {
+                total += provider.get();
+            }
+            return total;
+        }
+    }
+
+    /**
+     * @return the sensor with the given name, created with the given stats unless it is already used by another resolver
+     */
+    private Sensor sensor(Metrics metrics, String name, Consumer<Sensor> stats) {
+        sensorNames.add(name);
+        synchronized (sensorReferences) {
+            Sensor sensor = metrics.sensor(name);
+            if (sensorReferences.merge(name, 1, Integer::sum) == 1) {
+                stats.accept(sensor);
+            }
+            return sensor;
+        }
+    }
+
+    private Sensor meter(Metrics metrics, String prefix, String name, String description, Map<String, String> tags) {
+        return sensor(metrics, prefix + name + "." + tags.getOrDefault("operation", ""), sensor -> sensor.add(new Meter(TimeUnit.SECONDS,
+                metrics.metricName(name + "-rate", SerdeMetrics.RESOLVER_GROUP, "The number per second of " + description, tags),
+                metrics.metricName(name + "-total", SerdeMetrics.RESOLVER_GROUP, "The total number of " + description, tags))));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void hit(Operation operation) {
+        if (enabled) {
+            hits[operation.ordinal()].record();
+        }
+    }
+
+    public void miss(Operation operation) {
+        if (enabled) {
+            misses[operation.ordinal()].record();
+        }
+    }
+
+    public void expiration(Operation operation) {
+        if (enabled) {
+            expirations[operation.ordinal()].record();
+        }
+    }
+
+    public void retry() {
+        if (enabled) {
+            retries.record();
+        }
+    }
+
+    /**
+     * Runs the given Registry lookup, recording how long it took.
+     */
+    public <R> R time(Operation operation, Supplier<R> lookup) {
+        if (!enabled && !log.isTraceEnabled()) {
+            return lookup.get();
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            R result = lookup.get();
+            failed = false;
+            return result;
+        } finally {
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+            if (enabled) {
+                lookups[operation.ordinal()].record(millis);
+            }
+            log.trace("Registry lookup by {} {} in {} ms", operation.tag(), failed ? "failed" : "completed", millis);
+        }
+    }
+
+    /**
+     * Removes the metrics of the resolver from the shared registry, unless they are still used by another resolver.
+     */
+    public void close() {
+        if (enabled) {
+            Metrics metrics = SerdeMetrics.metrics();
+            synchronized (sensorReferences) {
+                for (String name : sensorNames) {
+                    if (sensorReferences.computeIfPresent(name, (key, references) -> references > 1 ? references - 1 : null) == null) {
+                        metrics.removeSensor(name);
+                    }
+                }
+                sensorNames.clear();
+            }
+            synchronized (cacheSizeProviders) {
+                List<Supplier<Integer>> providers = cacheSizeProviders.get(cacheSize);
+                if (providers != null && providers.remove(cacheSizeProvider) && providers.isEmpty()) {
+                    cacheSizeProviders.remove(cacheSize);
+                    SerdeMetrics.remove(cacheSize);
+                }
+            }
+        }
+    }
+}
@@ -186,6 +186,74 @@ public class SerdeConfig {
     public static final String RETRY_BACKOFF_MS = "apicurio.registry.retry-backoff-ms";
     public static final long RETRY_BACKOFF_MS_DEFAULT = 300;
 
+    /**
+     * If enabled, the schema resolver also creates a non blocking Registry client, used by
+     * {@link SchemaResolver#prefetch(io.apicurio.registry.serde.strategy.ArtifactReference)} to load schemas
+     * into the cache without blocking the thread processing the records.
+     */
+    public static final String ASYNC_PREFETCH = "apicurio.registry.async-prefetch";
+    public static final boolean ASYNC_PREFETCH_DEFAULT = false;
+
+    /**
+     * If positive, the schema resolver collects the schemas that are not cached and are requested by globalId
+     * or contentId within this window, in milliseconds, and loads all of them with a single batch lookup request.
+     * Requires a Registry that supports the batch lookup of the ids API.  Disabled by default.
+     */
+    public static final String BATCH_LOOKUP_WINDOW_MS = "apicurio.registry.batch-lookup.window-ms";
+    public static final long BATCH_LOOKUP_WINDOW_MS_DEFAULT = 0;
+
+    /**
+     * The maximum number of ids of a single batch lookup request, a batch is sent as soon as it reaches this size.
+     */
+    public static final String BATCH_LOOKUP_MAX_SIZE = "apicurio.registry.batch-lookup.max-size";
+    public static final long BATCH_LOOKUP_MAX_SIZE_DEFAULT = 100;
+
+    /**
+     * If set, the schema resolver also stores the resolved schemas in an append-only file in this directory, one file per
+     * Registry url.  The file is loaded on start, so schemas referenced by globalId or contentId, which never change,
+     * are resolved without calling the Registry.  Schemas resolved by artifact coordinates or by content are served from
+     * the file only while the Registry is unreachable.  Disabled by default.
+     */
+    public static final String SCHEMA_CACHE_DIR = "apicurio.registry.schema-cache.dir";
+
+    /**
+     * Comma separated list of artifacts the schema resolver resolves and pins in its cache when it is configured,
+     * before the first record is processed.  Every artifact is given as <code>groupId/artifactId</code>, for the latest
+     * version, or <code>groupId/artifactId/version</code>.
+     */
+    public static final String WARMUP_ARTIFACTS = "apicurio.registry.warmup.artifacts";
+
+    /**
+     * Comma separated list of groups, the latest versions of all the artifacts of these groups are resolved
+     * when the schema resolver is configured, see {@link #WARMUP_ARTIFACTS}.
+     */
+    public static final String WARMUP_GROUPS = "apicurio.registry.warmup.groups";
+
+    /**
+     * Comma separated list of globalIds resolved when the schema resolver is configured, see {@link #WARMUP_ARTIFACTS}.
+     */
+    public static final String WARMUP_GLOBAL_IDS = "apicurio.registry.warmup.global-ids";
+
+    /**
+     * The number of schemas resolved concurrently during the warmup.
+     */
+    public static final String WARMUP_CONCURRENCY = "apicurio.registry.warmup.concurrency";
+    public static final long WARMUP_CONCURRENCY_DEFAULT = 4;
+
+    /**
+     * How long, in milliseconds, the configuration of the schema resolver waits for the warmup.  The schemas that are
+     * not resolved by then are resolved on first use, as usual.
+     */
+    public static final String WARMUP_TIMEOUT_MS = "apicurio.registry.warmup.timeout-ms";
+    public static final long WARMUP_TIMEOUT_MS_DEFAULT = 60000;
+
+    /**
+     * If enabled, the schema resolver reports cache hits and misses, Registry lookup latencies and retries through the
+     * Kafka metrics registry shared by the serdes, see {@link SerdeMetrics} and {@link SchemaResolverMetrics}.
+     */
+    public static final String METRICS_ENABLED = "apicurio.registry.metrics.enabled";
+    public static final boolean METRICS_ENABLED_DEFAULT = false;
+
     /**
      * Configures the serdes to use the specified {@link IdOption} as the identifier for the artifacts.
      * Instructs the serializer to write the specified id into the kafka records and
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.JmxReporter;
+import org.apache.kafka.common.metrics.KafkaMetricsContext;
+import org.apache.kafka.common.metrics.MetricConfig;
+import org.apache.kafka.common.metrics.MetricValueProvider;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.utils.Time;
+
+/**
+ * Kafka {@link Metrics} registry shared by all the serdes of the JVM, reported through JMX with the
+ * {@value #JMX_PREFIX} prefix.  The metrics of a serde are tagged with the client id of its producer or consumer
+ * and with whether it handles record keys or values.
+ */
+public final class SerdeMetrics {
+
+    public static final String JMX_PREFIX = "apicurio.registry.serde";
+    public static final String RESOLVER_GROUP = "schema-resolver-metrics";
+
+    private static final String CLIENT_ID_CONFIG = "client.id";
+    private static final AtomicInteger anonymousClients = new AtomicInteger();
+
+    private static Metrics metrics;
+
+    private SerdeMetrics() {
+    }
+
+    /**
+     * @return the shared registry, created on first use
+     */
+    public static synchronized Metrics metrics() {
+        if (metrics == null) {
+            metrics = new Metrics(new MetricConfig(), Collections.singletonList(new JmxReporter()), Time.SYSTEM,
+                    new KafkaMetricsContext(JMX_PREFIX));
+        }
+        return metrics;
+    }
+
+    /**
+     * @param configs the serde configuration, Kafka producers and consumers pass their client id to their serdes
+     * @param isKey whether the serde handles record keys or values
+     * @return the tags identifying the metrics of one serde
+     */
+    public static Map<String, String> tags(Map<String, ?> configs, boolean isKey) {
+        Object clientId = configs.get(CLIENT_ID_CONFIG);
+        Map<String, String> tags = new HashMap<>();
+        tags.put("client-id", clientId != null ? clientId.toString() : "serde-" + anonymousClients.incrementAndGet());
+        tags.put("part", isKey ? "key" : "value");
+        return tags;
+    }
+
+    /**
+     * Registers the given metric, unless a metric with the same name is already registered.
+     * @return the name of the registered metric, to be passed to {@link #remove(MetricName)}, or null if the name was already taken
+     */
+    public static MetricName add(MetricName name, MetricValueProvider<?> provider) {
+        try {
+            metrics().addMetric(name, provider);
+            return name;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Removes a metric registered by {@link #add(MetricName, MetricValueProvider)}.
+     */
+    public static void remove(MetricName name) {
+        if (name != null) {
+            metrics().removeMetric(name);
+        }
+    }
+}
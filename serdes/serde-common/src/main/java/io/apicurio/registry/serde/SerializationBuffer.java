@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.serde;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Unsynchronized, growable output buffer reused by a serializer thread for every record it serializes.  The magic
+ * byte, the id and the serialized data are written into this buffer, and {@link #toByteArray()} copies them into
+ * the exactly sized array returned to Kafka, which is the only allocation per record.
+ * <p>
+ * A buffer that grew bigger than {@link #MAX_RETAINED_SIZE} while serializing an unusually large record is not
+ * kept for the next records.
+ */
+final class SerializationBuffer extends OutputStream {
+
+    static final int INITIAL_SIZE = 1024;
+    static final int MAX_RETAINED_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<SerializationBuffer> buffers = new ThreadLocal<>();
+
+    private byte[] buf;
+    private int count;
+    private boolean inUse;
+
+    private SerializationBuffer() {
+        this.buf = new byte[INITIAL_SIZE];
+    }
+
+    /**
+     * @return the empty buffer of the current thread, or a new buffer if the thread's buffer is in use, e.g. because
+     * a serializer is called while serializing another record
+     */
+    static SerializationBuffer acquire() {
+        SerializationBuffer buffer = buffers.get();
+        if (buffer == null || buffer.inUse) {
+            buffer = new SerializationBuffer();
+            if (buffers.get() == null) {
+                buffers.set(buffer);
+            }
+        }
+        buffer.inUse = true;
+        buffer.count = 0;
+        return buffer;
+    }
+
+    /**
+     * Makes this buffer available to the next record serialized by the current thread.
+     */
+    void release() {
+        inUse = false;
+        count = 0;
+        if (buf.length > MAX_RETAINED_SIZE) {
+            buf = new byte[INITIAL_SIZE];
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    int size() {
+        return count;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Record too large");
+        }
+        if (minCapacity > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(minCapacity, buf.length << 1));
+        }
+    }
+}
@@ -19,8 +19,10 @@ package io.apicurio.registry.serde.config;
 import static io.apicurio.registry.serde.SerdeConfig.*;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.common.config.ConfigDef.Importance;
@@ -52,6 +54,16 @@ public class DefaultSchemaResolverConfig extends BaseKafkaSerDeConfig {
                 .define(CHECK_PERIOD_MS, Type.LONG, CHECK_PERIOD_MS_DEFAULT, Importance.MEDIUM, "TODO docs")
                 .define(RETRY_COUNT, Type.LONG, RETRY_COUNT_DEFAULT, Importance.MEDIUM, "TODO docs")
                 .define(RETRY_BACKOFF_MS, Type.LONG, RETRY_BACKOFF_MS_DEFAULT, Importance.MEDIUM, "TODO docs")
+                .define(ASYNC_PREFETCH, Type.BOOLEAN, ASYNC_PREFETCH_DEFAULT, Importance.LOW, "TODO docs")
+                .define(BATCH_LOOKUP_WINDOW_MS, Type.LONG, BATCH_LOOKUP_WINDOW_MS_DEFAULT, Importance.LOW, "TODO docs")
+                .define(BATCH_LOOKUP_MAX_SIZE, Type.LONG, BATCH_LOOKUP_MAX_SIZE_DEFAULT, Importance.LOW, "TODO docs")
+                .define(SCHEMA_CACHE_DIR, Type.STRING, null, Importance.LOW, "TODO docs")
+                .define(WARMUP_ARTIFACTS, Type.LIST, "", Importance.LOW, "TODO docs")
+                .define(WARMUP_GROUPS, Type.LIST, "", Importance.LOW, "TODO docs")
+                .define(WARMUP_GLOBAL_IDS, Type.LIST, "", Importance.LOW, "TODO docs")
+                .define(WARMUP_CONCURRENCY, Type.LONG, WARMUP_CONCURRENCY_DEFAULT, Importance.LOW, "TODO docs")
+                .define(WARMUP_TIMEOUT_MS, Type.LONG, WARMUP_TIMEOUT_MS_DEFAULT, Importance.LOW, "TODO docs")
+                .define(METRICS_ENABLED, Type.BOOLEAN, METRICS_ENABLED_DEFAULT, Importance.LOW, "TODO docs")
 
                 .define(EXPLICIT_ARTIFACT_GROUP_ID, Type.STRING, null, Importance.MEDIUM, "TODO docs")
                 .define(EXPLICIT_ARTIFACT_ID, Type.STRING, null, Importance.MEDIUM, "TODO docs");
@@ -127,6 +139,56 @@ public class DefaultSchemaResolverConfig extends BaseKafkaSerDeConfig {
         return extractDurationMillis(this.get(RETRY_BACKOFF_MS), RETRY_BACKOFF_MS);
     }
 
+    public boolean asyncPrefetch() {
+        return this.getBoolean(ASYNC_PREFETCH);
+    }
+
+    public Duration getBatchLookupWindow() {
+        return extractDurationMillis(this.get(BATCH_LOOKUP_WINDOW_MS), BATCH_LOOKUP_WINDOW_MS);
+    }
+
+    public int getBatchLookupMaxSize() {
+        long result = extractLong(this.get(BATCH_LOOKUP_MAX_SIZE), BATCH_LOOKUP_MAX_SIZE);
+        if (result <= 0 || result > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Config param '" + BATCH_LOOKUP_MAX_SIZE + "' must be positive. Got '" + result + "'.");
+        }
+        return (int) result;
+    }
+
+    public String getSchemaCacheDir() {
+        return this.getString(SCHEMA_CACHE_DIR);
+    }
+
+    public List<String> getWarmupArtifacts() {
+        return this.getList(WARMUP_ARTIFACTS);
+    }
+
+    public List<String> getWarmupGroups() {
+        return this.getList(WARMUP_GROUPS);
+    }
+
+    public List<Long> getWarmupGlobalIds() {
+        return this.getList(WARMUP_GLOBAL_IDS).stream()
+                .map(globalId -> extractLong(globalId, WARMUP_GLOBAL_IDS))
+                .collect(Collectors.toList());
+    }
+
+    public int getWarmupConcurrency() {
+        long result = extractLong(this.get(WARMUP_CONCURRENCY), WARMUP_CONCURRENCY);
+        if (result <= 0 || result > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Config param '" + WARMUP_CONCURRENCY + "' must be positive. Got '" + result + "'.");
+        }
+        return (int) result;
+    }
+
+    public Duration getWarmupTimeout() {
+        return extractDurationMillis(this.get(WARMUP_TIMEOUT_MS), WARMUP_TIMEOUT_MS);
+    }
+
+    public boolean metricsEnabled() {
+        return this.getBoolean(METRICS_ENABLED);
+    }
+
     public String getExplicitArtifactGroupId() {
         return this.getString(EXPLICIT_ARTIFACT_GROUP_ID);
     }
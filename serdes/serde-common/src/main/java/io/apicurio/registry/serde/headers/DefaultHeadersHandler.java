@@ -16,12 +16,16 @@
 
 package io.apicurio.registry.serde.headers;
 
-import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeader;
 
 import io.apicurio.registry.serde.config.IdOption;
 import io.apicurio.registry.serde.strategy.ArtifactReference;
@@ -39,6 +43,17 @@ public class DefaultHeadersHandler implements HeadersHandler {
     private String versionHeaderName;
     private IdOption idOption;
 
+    /**
+     * The headers written for the last reference, a serializer usually writes the same reference
+     * (the same cached instance) for all of its records.
+     */
+    private volatile WrittenHeaders lastWritten;
+
+    /**
+     * The strings read from the last headers, by header name.
+     */
+    private final Map<String, ReadHeader> lastRead = new ConcurrentHashMap<>();
+
     /**
      * @see io.apicurio.registry.serde.headers.HeadersHandler#configure(java.util.Map, boolean)
      */
@@ -66,27 +81,34 @@ public class DefaultHeadersHandler implements HeadersHandler {
      */
     @Override
     public void writeHeaders(Headers headers, ArtifactReference reference) {
+        WrittenHeaders written = lastWritten;
+        if (written == null || written.reference != reference) {
+            written = new WrittenHeaders(reference, createHeaders(reference));
+            lastWritten = written;
+        }
+        // the headers are immutable, so the same instances can be added to every record
+        for (Header header : written.headers) {
+            headers.add(header);
+        }
+    }
+
+    private Header[] createHeaders(ArtifactReference reference) {
+        List<Header> headers = new ArrayList<>(3);
         if (idOption == IdOption.contentId) {
             if (reference.getContentId() == null) {
                 throw new SerializationException("Missing contentId. IdOption is contentId but there is no contentId in the ArtifactReference");
             }
-            ByteBuffer buff = ByteBuffer.allocate(8);
-            buff.putLong(reference.getContentId());
-            headers.add(contentIdHeaderName, buff.array());
-            return;
-        }
-
-        if (reference.getGlobalId() != null) {
-            ByteBuffer buff = ByteBuffer.allocate(8);
-            buff.putLong(reference.getGlobalId());
-            headers.add(globalIdHeaderName, buff.array());
+            headers.add(new RecordHeader(contentIdHeaderName, toBytes(reference.getContentId())));
+        } else if (reference.getGlobalId() != null) {
+            headers.add(new RecordHeader(globalIdHeaderName, toBytes(reference.getGlobalId())));
         } else {
-            headers.add(groupIdHeaderName, IoUtil.toBytes(reference.getGroupId()));
-            headers.add(artifactIdHeaderName, IoUtil.toBytes(reference.getArtifactId()));
+            headers.add(new RecordHeader(groupIdHeaderName, IoUtil.toBytes(reference.getGroupId())));
+            headers.add(new RecordHeader(artifactIdHeaderName, IoUtil.toBytes(reference.getArtifactId())));
             if (reference.getVersion() != null) {
-                headers.add(versionHeaderName, IoUtil.toBytes(reference.getVersion()));
+                headers.add(new RecordHeader(versionHeaderName, IoUtil.toBytes(reference.getVersion())));
             }
         }
+        return headers.toArray(new Header[0]);
     }
 
     /**
@@ -104,27 +126,15 @@ public class DefaultHeadersHandler implements HeadersHandler {
     }
 
     private String getGroupId(Headers headers) {
-        Header header = headers.lastHeader(groupIdHeaderName);
-        if (header == null) {
-            return null;
-        }
-        return IoUtil.toString(header.value());
+        return readString(headers, groupIdHeaderName);
     }
 
     private String getArtifactId(Headers headers) {
-        Header header = headers.lastHeader(artifactIdHeaderName);
-        if (header == null) {
-            return null;
-        }
-        return IoUtil.toString(header.value());
+        return readString(headers, artifactIdHeaderName);
     }
 
     private String getVersion(Headers headers) {
-        Header header = headers.lastHeader(versionHeaderName);
-        if (header == null) {
-            return null;
-        }
-        return IoUtil.toString(header.value());
+        return readString(headers, versionHeaderName);
     }
 
     private Long getGlobalId(Headers headers) {
@@ -132,7 +142,7 @@ public class DefaultHeadersHandler implements HeadersHandler {
         if (header == null) {
             return null;
         } else {
-            return ByteBuffer.wrap(header.value()).getLong();
+            return toLong(header.value());
         }
     }
 
@@ -141,7 +151,67 @@ public class DefaultHeadersHandler implements HeadersHandler {
         if (header == null) {
             return null;
         } else {
-            return ByteBuffer.wrap(header.value()).getLong();
+            return toLong(header.value());
+        }
+    }
+
+    /**
+     * Decodes the value of the given header, reusing the string decoded from the previous record if the value is the same.
+     */
+    private String readString(Headers headers, String headerName) {
+        Header header = headers.lastHeader(headerName);
+        if (header == null) {
+            return null;
+        }
+        byte[] value = header.value();
+        ReadHeader last = lastRead.get(headerName);
+        if (last != null && Arrays.equals(last.value, value)) {
+            return last.string;
+        }
+        String string = IoUtil.toString(value);
+        lastRead.put(headerName, new ReadHeader(value.clone(), string));
+        return string;
+    }
+
+    private static byte[] toBytes(long id) {
+        byte[] bytes = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) id;
+            id >>>= 8;
+        }
+        return bytes;
+    }
+
+    private static long toLong(byte[] bytes) {
+        if (bytes.length < 8) {
+            throw new SerializationException("Invalid id header, expected 8 bytes but got " + bytes.length);
+        }
+        long id = 0;
+        for (int i = 0; i < 8; i++) {
+            id = (id << 8) | (bytes[i] & 0xFF);
+        }
+        return id;
+    }
+
+    private static final class WrittenHeaders {
+
+        private final ArtifactReference reference;
+        private final Header[] headers;
+
+        private WrittenHeaders(ArtifactReference reference, Header[] headers) {
+            this.reference = reference;
+            this.headers = headers;
+        }
+    }
+
+    private static final class ReadHeader {
+
+        private final byte[] value;
+        private final String string;
+
+        private ReadHeader(byte[] value, String string) {
+            this.value = value;
+            this.string = string;
         }
     }
 
@@ -50,6 +50,7 @@ import io.apicurio.registry.storage.dto.RoleMappingDto;
 import io.apicurio.registry.storage.dto.RuleConfigurationDto;
 import io.apicurio.registry.storage.dto.SearchFilter;
 import io.apicurio.registry.storage.dto.StoredArtifactDto;
+import io.apicurio.registry.storage.dto.StoredContentDto;
 import io.apicurio.registry.storage.dto.VersionSearchResultsDto;
 import io.apicurio.registry.storage.impexp.EntityInputStream;
 import io.apicurio.registry.storage.impl.AbstractRegistryStorage;
@@ -74,7 +75,6 @@ import io.apicurio.registry.utils.impexp.GroupEntity;
 import io.apicurio.registry.utils.impexp.ManifestEntity;
 import io.apicurio.registry.utils.kafka.KafkaUtil;
 import io.quarkus.security.identity.SecurityIdentity;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
@@ -334,15 +334,12 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
      * @param artifactType
      */
     private String ensureContent(ContentHandle content, String groupId, String artifactId, ArtifactType artifactType) {
-        byte[] contentBytes = content.bytes();
-        String contentHash = DigestUtils.sha256Hex(contentBytes);
+        String contentHash = content.getSha256Hash();
 
         if (!sqlStore.isContentExists(contentHash)) {
             long contentId = nextClusterContentId();
 
-            ContentHandle canonicalContent = this.canonicalizeContent(artifactType, content);
-            byte[] canonicalContentBytes = canonicalContent.bytes();
-            String canonicalContentHash = DigestUtils.sha256Hex(canonicalContentBytes);
+            String canonicalContentHash = this.canonicalizeContent(artifactType, content).getSha256Hash();
 
             CompletableFuture<UUID> future = submitter.submitContent(tenantContext.tenantId(), contentId, contentHash, ActionType.CREATE, canonicalContentHash, content);
             UUID uuid = ConcurrentUtil.get(future);
@@ -448,6 +445,22 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         return sqlStore.getArtifactByContentHash(contentHash);
     }
 
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#getArtifactVersionsContent(java.util.Collection)
+     */
+    @Override
+    public List<StoredContentDto> getArtifactVersionsContent(Collection<Long> globalIds) throws RegistryStorageException {
+        return sqlStore.getArtifactVersionsContent(globalIds);
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#getContent(java.util.Collection, java.util.Collection)
+     */
+    @Override
+    public List<StoredContentDto> getContent(Collection<Long> contentIds, Collection<String> contentHashes) throws RegistryStorageException {
+        return sqlStore.getContent(contentIds, contentHashes);
+    }
+
     /**
      * @see io.apicurio.registry.storage.RegistryStorage#updateArtifact(java.lang.String, java.lang.String, java.lang.String, io.apicurio.registry.types.ArtifactType, io.apicurio.registry.content.ContentHandle)
      */
@@ -524,6 +537,22 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         return sqlStore.getArtifactMetaData(id);
     }
 
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#getArtifactCreatedBy(java.lang.String, java.lang.String)
+     */
+    @Override
+    public String getArtifactCreatedBy(String groupId, String artifactId) throws ArtifactNotFoundException, RegistryStorageException {
+        return sqlStore.getArtifactCreatedBy(groupId, artifactId);
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#getArtifactCreatedBy(long)
+     */
+    @Override
+    public String getArtifactCreatedBy(long globalId) throws ArtifactNotFoundException, RegistryStorageException {
+        return sqlStore.getArtifactCreatedBy(globalId);
+    }
+
     /**
      * @see io.apicurio.registry.storage.RegistryStorage#updateArtifactMetaData(java.lang.String, java.lang.String, io.apicurio.registry.storage.dto.EditableArtifactMetaDataDto)
      */
@@ -1086,6 +1115,27 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         sqlStore.deleteAllExpiredDownloads();
     }
 
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#deleteOrphanedContent(int)
+     */
+    @Override
+    public int deleteOrphanedContent(int batchSize) throws RegistryStorageException {
+        // Note: nothing to do, the content is collected while applying the deletes of the journal, see
+        // KafkaSqlStore.  Deleting it here, outside of the journal order, would make the nodes diverge.
+        return 0;
+    }
+
+    /**
+     * @see io.apicurio.registry.storage.RegistryStorage#deleteUserDataBatch(int)
+     */
+    @Override
+    public int deleteUserDataBatch(int batchSize) throws RegistryStorageException {
+        // Note: the deletion must be applied by every node, so it goes through the journal as a single
+        // action, and every node deletes the data from its own database.
+        deleteAllUserData();
+        return 0;
+    }
+
     protected void importEntity(Entity entity) throws RegistryStorageException {
         switch (entity.getEntityType()) {
             case ArtifactRule:
@@ -1170,8 +1220,7 @@ public class KafkaSqlRegistryStorage extends AbstractRegistryStorage {
         try {
             ArtifactTypeUtilProvider provider = factory.getArtifactTypeProvider(artifactType);
             ContentCanonicalizer canonicalizer = provider.getContentCanonicalizer();
-            ContentHandle canonicalContent = canonicalizer.canonicalize(content);
-            return canonicalContent;
+            return content.canonical(artifactType, canonicalizer::canonicalize);
         } catch (Exception e) {
             log.debug("Failed to canonicalize content of type: {}", artifactType.name());
             return content;
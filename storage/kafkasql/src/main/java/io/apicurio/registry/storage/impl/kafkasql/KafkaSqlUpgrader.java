@@ -25,7 +25,6 @@ import java.util.stream.Stream;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 
 import io.apicurio.registry.content.ContentHandle;
@@ -100,8 +99,7 @@ public class KafkaSqlUpgrader {
 
             ContentHandle content = ContentHandle.create(contentEntity.contentBytes);
             ContentHandle canonicalContent = canonicalizeContent(content);
-            byte[] canonicalContentBytes = canonicalContent.bytes();
-            String canonicalContentHash = DigestUtils.sha256Hex(canonicalContentBytes);
+            String canonicalContentHash = canonicalContent.getSha256Hash();
 
             if (canonicalContentHash.equals(tenantContentEntity.contentEntity.canonicalHash)) {
                 //canonical hash is correct, skipping
@@ -50,6 +50,17 @@ public class KafkaSqlStore extends AbstractSqlRegistryStorage {
     @Inject
     HandleFactory handles;
 
+    /**
+     * Every replica applies the deletes of the journal to its own database, in the journal order, so the
+     * queued content is collected there.  Collecting it later, on the schedule of each replica, would let a
+     * replica reuse content that the others already deleted.
+     * @see io.apicurio.registry.storage.impl.sql.AbstractSqlRegistryStorage#isContentGcDrainedInline()
+     */
+    @Override
+    protected boolean isContentGcDrainedInline() {
+        return true;
+    }
+
     @Transactional
     public long nextGlobalId() {
         return handles.withHandleNoException( handle -> {
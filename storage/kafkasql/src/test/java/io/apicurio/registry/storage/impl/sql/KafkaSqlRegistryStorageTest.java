@@ -39,5 +39,13 @@ public class KafkaSqlRegistryStorageTest extends AbstractRegistryStorageTest {
     protected RegistryStorage storage() {
         return storage;
     }
+
+    /**
+     * @see io.apicurio.registry.storage.AbstractRegistryStorageTest#isContentGcDrainedInline()
+     */
+    @Override
+    protected boolean isContentGcDrainedInline() {
+        return true;
+    }
     
 }
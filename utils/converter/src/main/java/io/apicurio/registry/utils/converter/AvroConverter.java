@@ -38,6 +38,7 @@ import java.util.Map;
  */
 public class AvroConverter<T> extends SerdeBasedConverter<org.apache.avro.Schema, T> {
     private AvroData avroData;
+    private IdentitySchemaCache<Schema, org.apache.avro.Schema> avroSchemas;
 
     public AvroConverter() {
         super();
@@ -71,14 +72,20 @@ public class AvroConverter<T> extends SerdeBasedConverter<org.apache.avro.Schema
 
         super.configure(copy, isKey);
 
-        avroData = new AvroData(new AvroDataConfig(copy));
+        AvroDataConfig avroDataConfig = new AvroDataConfig(copy);
+        avroData = new AvroData(avroDataConfig);
+        avroSchemas = new IdentitySchemaCache<>(avroDataConfig.getSchemasCacheSize());
     }
 
     @SuppressWarnings("unchecked")
     @Override
     protected T applySchema(Schema schema, Object value) {
         //noinspection unchecked
-        return (T) avroData.fromConnectData(schema, value);
+        if (schema == null) {
+            return (T) avroData.fromConnectData(null, value);
+        }
+        // looked up by identity first, AvroData's own cache hashes the whole Connect schema for every record
+        return (T) avroData.fromConnectData(schema, avroSchemas.get(schema, avroData::fromConnectSchema), value);
     }
 
     @Override
@@ -37,6 +37,8 @@ import org.apache.kafka.connect.data.SchemaAndValue;
 import org.apache.kafka.connect.json.JsonConverter;
 import org.apache.kafka.connect.json.JsonConverterConfig;
 import org.apache.kafka.connect.storage.Converter;
+import org.apache.kafka.connect.storage.ConverterConfig;
+import org.apache.kafka.connect.storage.ConverterType;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -52,6 +54,8 @@ public class ExtJsonConverter extends SchemaResolverConfigurer<JsonNode, Object>
     private final JsonConverter jsonConverter;
     private final ObjectMapper mapper;
     private FormatStrategy formatStrategy;
+    private IdentitySchemaCache<Schema, ParsedSchema<JsonNode>> parsedSchemas;
+    private IdentitySchemaCache<JsonNode, Schema> connectSchemas;
 
 
     public ExtJsonConverter() {
@@ -75,7 +79,12 @@ public class ExtJsonConverter extends SchemaResolverConfigurer<JsonNode, Object>
         super.configure(configs, isKey, this);
         Map<String, Object> wrapper = new HashMap<>(configs);
         wrapper.put(JsonConverterConfig.SCHEMAS_ENABLE_CONFIG, false);
+        wrapper.put(ConverterConfig.TYPE_CONFIG, (isKey ? ConverterType.KEY : ConverterType.VALUE).getName());
         jsonConverter.configure(wrapper, isKey);
+
+        int cacheSize = new JsonConverterConfig(wrapper).schemaCacheSize();
+        parsedSchemas = new IdentitySchemaCache<>(cacheSize);
+        connectSchemas = new IdentitySchemaCache<>(cacheSize);
     }
 
     @Override
@@ -88,11 +97,9 @@ public class ExtJsonConverter extends SchemaResolverConfigurer<JsonNode, Object>
         if (schema == null && value == null) {
             return null;
         }
-        JsonNode jsonSchema = jsonConverter.asJsonSchema(schema);
-        String schemaString = jsonSchema != null ? jsonSchema.toString() : null;
-        ParsedSchema<JsonNode> parsedSchema = new ParsedSchemaImpl<JsonNode>()
-                .setParsedSchema(jsonSchema)
-                .setRawSchema(IoUtil.toBytes(schemaString));
+        // the JSON schema of every Connect schema is converted and serialized only once, the same
+        // (immutable) parsed schema is passed to the resolver for all the records with that schema
+        ParsedSchema<JsonNode> parsedSchema = schema != null ? parsedSchemas.get(schema, this::toParsedSchema) : toParsedSchema(null);
 
         SchemaLookupResult<JsonNode> schemaLookupResult = getSchemaResolver().resolveSchema(topic, headers, value, parsedSchema);
 
@@ -102,6 +109,14 @@ public class ExtJsonConverter extends SchemaResolverConfigurer<JsonNode, Object>
 
     }
 
+    private ParsedSchema<JsonNode> toParsedSchema(Schema schema) {
+        JsonNode jsonSchema = jsonConverter.asJsonSchema(schema);
+        String schemaString = jsonSchema != null ? jsonSchema.toString() : null;
+        return new ParsedSchemaImpl<JsonNode>()
+                .setParsedSchema(jsonSchema)
+                .setRawSchema(IoUtil.toBytes(schemaString));
+    }
+
     @Override
     public SchemaAndValue toConnectData(String topic, byte[] value) {
         FormatStrategy.IdPayload ip = formatStrategy.toConnectData(value);
@@ -110,7 +125,8 @@ public class ExtJsonConverter extends SchemaResolverConfigurer<JsonNode, Object>
 
         SchemaLookupResult<JsonNode> schemaLookupResult = getSchemaResolver().resolveSchemaByArtifactReference(ArtifactReference.builder().globalId(globalId).build());
 
-        Schema schema = jsonConverter.asConnectSchema(schemaLookupResult.getSchema());
+        // the resolver returns the same parsed JSON schema instance for a globalId while it is cached
+        Schema schema = connectSchemas.get(schemaLookupResult.getSchema(), jsonConverter::asConnectSchema);
 
         byte[] payload = ip.getPayload();
         SchemaAndValue sav = jsonConverter.toConnectData(topic, payload);
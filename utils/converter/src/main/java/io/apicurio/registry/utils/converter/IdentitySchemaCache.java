@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils.converter;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of values derived from schema instances, looked up by identity.
+ * <p>
+ * Connectors usually pass the same schema instance with every record, so an identity lookup avoids computing the
+ * hashCode of the schema, which for Connect schemas walks the whole schema on every call.  The entries are only
+ * dropped, all at once, when the cache is full, which is enough for the handful of schemas a converter sees.
+ */
+class IdentitySchemaCache<K, V> {
+
+    private final Map<K, V> cache = new IdentityHashMap<>();
+    private final int maxSize;
+
+    IdentitySchemaCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the value derived from the given schema, computing it outside of the lock if it is not cached.
+     */
+    V get(K schema, Function<K, V> loader) {
+        V value;
+        synchronized (cache) {
+            value = cache.get(schema);
+        }
+        if (value == null) {
+            value = loader.apply(schema);
+            synchronized (cache) {
+                if (cache.size() >= maxSize) {
+                    cache.clear();
+                }
+                V existing = cache.putIfAbsent(schema, value);
+                if (existing != null) {
+                    value = existing;
+                }
+            }
+        }
+        return value;
+    }
+
+    int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
@@ -369,6 +369,14 @@ public class AvroData {
         return fromConnectData(schema, avroSchema, value, true, false, enhancedSchemaSupport);
     }
 
+    /**
+     * Convert this object, in Connect data format, into an Avro object, using the given Avro schema
+     * previously converted from the Connect schema with {@link #fromConnectSchema(Schema)}.
+     */
+    public Object fromConnectData(Schema schema, org.apache.avro.Schema avroSchema, Object value) {
+        return fromConnectData(schema, avroSchema, value, true, false, enhancedSchemaSupport);
+    }
+
     /**
      * Convert from Connect data format to Avro. This version assumes the Avro schema has already
      * been converted and makes the use of NonRecordContainer optional
@@ -26,4 +26,11 @@ public interface ContentExporter {
     Long writeContent(String contentHash, String canonicalContentHash, byte[] contentBytes,
             VersionMetaData meta);
 
+    /**
+     * Restores a content that was written by a previous, interrupted, export.
+     * @param contentHash the hash of the written content
+     * @param contentId the id of the written content
+     */
+    void restoreContent(String contentHash, Long contentId);
+
 }
\ No newline at end of file
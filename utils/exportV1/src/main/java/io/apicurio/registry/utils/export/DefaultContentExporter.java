@@ -61,4 +61,15 @@ public class DefaultContentExporter implements ContentExporter {
         });
     }
 
+    /**
+     * @see io.apicurio.registry.utils.export.ContentExporter#restoreContent(java.lang.String, java.lang.Long)
+     */
+    @Override
+    public void restoreContent(String contentHash, Long contentId) {
+        contentIndex.put(contentHash, contentId);
+        if (contentIdSeq.get() <= contentId) {
+            contentIdSeq.set(contentId.intValue() + 1);
+        }
+    }
+
 }
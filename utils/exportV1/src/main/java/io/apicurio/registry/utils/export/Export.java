@@ -19,14 +19,25 @@ package io.apicurio.registry.utils.export;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.zip.ZipOutputStream;
 
@@ -48,6 +59,9 @@ import io.apicurio.registry.types.provider.ArtifactTypeUtilProviderImpl;
 import io.apicurio.registry.utils.IoUtil;
 import io.apicurio.registry.utils.impexp.ArtifactRuleEntity;
 import io.apicurio.registry.utils.impexp.ArtifactVersionEntity;
+import io.apicurio.registry.utils.impexp.ContentEntity;
+import io.apicurio.registry.utils.impexp.Entity;
+import io.apicurio.registry.utils.impexp.EntityType;
 import io.apicurio.registry.utils.impexp.EntityWriter;
 import io.apicurio.registry.utils.impexp.GlobalRuleEntity;
 import io.apicurio.registry.utils.impexp.ManifestEntity;
@@ -64,6 +78,12 @@ public class Export implements QuarkusApplication {
 
     private boolean matchContentId = false;
 
+    private int concurrency = 1;
+
+    private boolean resume = false;
+
+    private final Map<String, String> canonicalHashes = new ConcurrentHashMap<>();
+
     /**
      * @see io.quarkus.runtime.QuarkusApplication#run(java.lang.String[])
      */
@@ -81,26 +101,38 @@ public class Export implements QuarkusApplication {
 
         remainingArgs = parseMatchContentId(remainingArgs);
 
+        remainingArgs = parseConcurrency(remainingArgs);
+
+        remainingArgs = parseResume(remainingArgs);
+
         Map<String, Object> conf = parseClientProps(remainingArgs);
 
         RegistryRestClient client = RegistryRestClientFactory.create(url, conf);
 
-        File output = new File("registry-export.zip");
-        try (FileOutputStream fos = new FileOutputStream(output)) {
+        return export(client, new File("registry-export.zip"));
+    }
 
-            System.out.println("Exporting registry data to " + output.getName());
+    int export(RegistryRestClient client, File output) throws Exception {
+        ExportCheckpoint checkpoint = new ExportCheckpoint(output, matchContentId, resume);
+        File previous = null;
+        if (checkpoint.getEntries() > 0) {
+            previous = new File(output.getPath() + ".partial");
+            // a previous resume may have been interrupted while copying, the partial export is then still there
+            if (!previous.isFile()) {
+                if (!output.isFile()) {
+                    checkpoint.close();
+                    System.out.println("Unable to resume, " + output.getName() + " does not exist");
+                    return 1;
+                }
+                Files.move(output.toPath(), previous.toPath());
+            }
+        }
 
-            ZipOutputStream zip = new ZipOutputStream(fos, StandardCharsets.UTF_8);
-            EntityWriter writer = new EntityWriter(zip);
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        try (FileOutputStream fos = new FileOutputStream(output)) {
 
-            // Add a basic Manifest to the export
-            ManifestEntity manifest = new ManifestEntity();
-            manifest.exportedBy = "export-utility-v1";
-            manifest.exportedOn = new Date();
-            manifest.systemDescription = "Unknown remote registry (export created using v1 export utility).";
-            manifest.systemName = "Remote Registry";
-            manifest.systemVersion = "n/a";
-            writer.writeEntity(manifest);
+            ZipOutputStream zip = new ZipOutputStream(fos, StandardCharsets.UTF_8);
+            CheckpointEntityWriter writer = new CheckpointEntityWriter(zip, checkpoint);
 
             ContentExporter contentExporter;
             if (matchContentId) {
@@ -109,84 +141,49 @@ public class Export implements QuarkusApplication {
                 contentExporter = new DefaultContentExporter(writer);
             }
 
-            List<String> ids = client.listArtifacts();
-            for (String id : ids) {
-                List<Long> versions = client.listArtifactVersions(id);
-
-                versions.sort(Comparator.naturalOrder());
-
-                for (int i = 0; i < versions.size(); i++) {
-                    Long version = versions.get(i);
-                    boolean isLatest = (versions.size() - 1) == i;
-
-                    VersionMetaData meta = client.getArtifactVersionMetaData(id, version.intValue());
-
-                    byte[] contentBytes;
-
-                    if (ArtifactState.DISABLED.equals(meta.getState())) {
-                        try {
-                            var temporalstate = new UpdateState();
-                            temporalstate.setState(ArtifactState.ENABLED);
-                            client.updateArtifactVersionState(id, version.intValue(), temporalstate);
-
-                            InputStream contentStream = client.getArtifactVersion(id, version.intValue());
-                            contentBytes = IoUtil.toBytes(contentStream);
-
-                        } finally {
-                            var disabledagain = new UpdateState();
-                            disabledagain.setState(ArtifactState.DISABLED);
-                            client.updateArtifactVersionState(id, version.intValue(), disabledagain);
-                        }
-                    } else {
-                        InputStream contentStream = client.getArtifactVersion(id, version.intValue());
-                        contentBytes = IoUtil.toBytes(contentStream);
-                    }
-
-                    if (contentBytes == null) {
-                        System.out.println("[WARNING] An error ocurred getting the content for the artifact " + id + " version " + version);
-                    }
-
-                    String contentHash = DigestUtils.sha256Hex(contentBytes);
-                    ContentHandle canonicalContent = this.canonicalizeContent(meta.getType(), ContentHandle.create(contentBytes));
-                    byte[] canonicalContentBytes = canonicalContent.bytes();
-                    String canonicalContentHash = DigestUtils.sha256Hex(canonicalContentBytes);
-
-                    Long contentId = contentExporter.writeContent(contentHash, canonicalContentHash, contentBytes, meta);
-
-                    ArtifactVersionEntity versionEntity = new ArtifactVersionEntity();
-                    versionEntity.artifactId = meta.getId();
-                    versionEntity.artifactType = meta.getType();
-                    versionEntity.contentId = contentId;
-                    versionEntity.createdBy = meta.getCreatedBy();
-                    versionEntity.createdOn = meta.getCreatedOn();
-                    versionEntity.description = meta.getDescription();
-                    versionEntity.globalId = meta.getGlobalId();
-                    versionEntity.groupId = null;
-                    versionEntity.isLatest = isLatest;
-                    versionEntity.labels = meta.getLabels();
-                    versionEntity.name = meta.getName();
-                    versionEntity.properties = meta.getProperties();
-                    versionEntity.state = meta.getState();
-                    versionEntity.version = String.valueOf(meta.getVersion());
-                    versionEntity.versionId = meta.getVersion();
-
-                    writer.writeEntity(versionEntity);
-                }
-
-
-                List<RuleType> artifactRules = client.listArtifactRules(id);
-                for (RuleType ruleType : artifactRules) {
-                    Rule rule = client.getArtifactRuleConfig(id, ruleType);
-
-                    ArtifactRuleEntity ruleEntity = new ArtifactRuleEntity();
-                    ruleEntity.artifactId = id;
-                    ruleEntity.configuration = rule.getConfig();
-                    ruleEntity.groupId = null;
-                    ruleEntity.type = ruleType;
+            if (previous != null) {
+                System.out.println("Resuming export of registry data to " + output.getName() + ", "
+                        + checkpoint.getCompleted().size() + " artifacts already exported");
+                checkpoint.copyEntries(previous, zip);
+                writer.entries = checkpoint.getEntries();
+                checkpoint.getContents().forEach(contentExporter::restoreContent);
+                Files.delete(previous.toPath());
+            } else {
+                System.out.println("Exporting registry data to " + output.getName());
+
+                // Add a basic Manifest to the export
+                ManifestEntity manifest = new ManifestEntity();
+                manifest.exportedBy = "export-utility-v1";
+                manifest.exportedOn = new Date();
+                manifest.systemDescription = "Unknown remote registry (export created using v1 export utility).";
+                manifest.systemName = "Remote Registry";
+                manifest.systemVersion = "n/a";
+                writer.writeEntity(manifest);
+            }
 
-                    writer.writeEntity(ruleEntity);
+            List<String> ids = client.listArtifacts().stream()
+                    .filter(id -> !checkpoint.getCompleted().contains(id))
+                    .collect(Collectors.toList());
+
+            // The artifacts are fetched concurrently, but written in order by this thread, so that the content
+            // of a version is always written before the version itself, and a bounded number of artifacts is
+            // held in memory.
+            Deque<Future<ArtifactExport>> inFlight = new ArrayDeque<>();
+            Iterator<String> pending = ids.iterator();
+            while (pending.hasNext() || !inFlight.isEmpty()) {
+                while (pending.hasNext() && inFlight.size() < concurrency * 2) {
+                    String id = pending.next();
+                    inFlight.add(pool.submit(() -> exportArtifact(client, id)));
                 }
-
+                ArtifactExport artifact;
+                try {
+                    artifact = inFlight.poll().get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+                writeArtifact(artifact, contentExporter, writer);
+                zip.flush();
+                checkpoint.artifactCompleted(writer.entries, artifact.id);
             }
 
             List<RuleType> globalRules = client.listGlobalRules();
@@ -202,11 +199,113 @@ public class Export implements QuarkusApplication {
 
             zip.flush();
             zip.close();
+        } finally {
+            pool.shutdownNow();
+            checkpoint.close();
         }
 
+        checkpoint.delete();
         return 0;
     }
 
+    /**
+     * Fetches the versions, content and rules of a single artifact.  Called concurrently by the worker threads.
+     */
+    private ArtifactExport exportArtifact(RegistryRestClient client, String id) {
+        ArtifactExport artifact = new ArtifactExport(id);
+
+        List<Long> versions = client.listArtifactVersions(id);
+
+        versions.sort(Comparator.naturalOrder());
+
+        for (int i = 0; i < versions.size(); i++) {
+            Long version = versions.get(i);
+            boolean isLatest = (versions.size() - 1) == i;
+
+            VersionMetaData meta = client.getArtifactVersionMetaData(id, version.intValue());
+
+            byte[] contentBytes;
+
+            if (ArtifactState.DISABLED.equals(meta.getState())) {
+                try {
+                    var temporalstate = new UpdateState();
+                    temporalstate.setState(ArtifactState.ENABLED);
+                    client.updateArtifactVersionState(id, version.intValue(), temporalstate);
+
+                    InputStream contentStream = client.getArtifactVersion(id, version.intValue());
+                    contentBytes = IoUtil.toBytes(contentStream);
+
+                } finally {
+                    var disabledagain = new UpdateState();
+                    disabledagain.setState(ArtifactState.DISABLED);
+                    client.updateArtifactVersionState(id, version.intValue(), disabledagain);
+                }
+            } else {
+                InputStream contentStream = client.getArtifactVersion(id, version.intValue());
+                contentBytes = IoUtil.toBytes(contentStream);
+            }
+
+            if (contentBytes == null) {
+                System.out.println("[WARNING] An error ocurred getting the content for the artifact " + id + " version " + version);
+            }
+
+            String contentHash = DigestUtils.sha256Hex(contentBytes);
+            // the same content is often shared by many versions, it is canonicalized only once
+            String canonicalContentHash = canonicalHashes.computeIfAbsent(contentHash, k -> {
+                ContentHandle canonicalContent = this.canonicalizeContent(meta.getType(), ContentHandle.create(contentBytes));
+                return DigestUtils.sha256Hex(canonicalContent.bytes());
+            });
+
+            artifact.versions.add(new VersionExport(meta, contentBytes, contentHash, canonicalContentHash, isLatest));
+        }
+
+        List<RuleType> artifactRules = client.listArtifactRules(id);
+        for (RuleType ruleType : artifactRules) {
+            Rule rule = client.getArtifactRuleConfig(id, ruleType);
+
+            ArtifactRuleEntity ruleEntity = new ArtifactRuleEntity();
+            ruleEntity.artifactId = id;
+            ruleEntity.configuration = rule.getConfig();
+            ruleEntity.groupId = null;
+            ruleEntity.type = ruleType;
+
+            artifact.rules.add(ruleEntity);
+        }
+
+        return artifact;
+    }
+
+    private void writeArtifact(ArtifactExport artifact, ContentExporter contentExporter, EntityWriter writer) throws IOException {
+        for (VersionExport version : artifact.versions) {
+            VersionMetaData meta = version.meta;
+
+            Long contentId = contentExporter.writeContent(version.contentHash, version.canonicalContentHash, version.contentBytes, meta);
+
+            ArtifactVersionEntity versionEntity = new ArtifactVersionEntity();
+            versionEntity.artifactId = meta.getId();
+            versionEntity.artifactType = meta.getType();
+            versionEntity.contentId = contentId;
+            versionEntity.createdBy = meta.getCreatedBy();
+            versionEntity.createdOn = meta.getCreatedOn();
+            versionEntity.description = meta.getDescription();
+            versionEntity.globalId = meta.getGlobalId();
+            versionEntity.groupId = null;
+            versionEntity.isLatest = version.isLatest;
+            versionEntity.labels = meta.getLabels();
+            versionEntity.name = meta.getName();
+            versionEntity.properties = meta.getProperties();
+            versionEntity.state = meta.getState();
+            versionEntity.version = String.valueOf(meta.getVersion());
+            versionEntity.versionId = meta.getVersion();
+
+            writer.writeEntity(versionEntity);
+        }
+
+        for (ArtifactRuleEntity ruleEntity : artifact.rules) {
+            writer.writeEntity(ruleEntity);
+        }
+    }
+
     private Map<String, Object> parseClientProps(String[] remainingArgs) {
         Map<String, Object> conf = new HashMap<>();
         if (remainingArgs.length > 2 && remainingArgs[0].equals("--client-props")) {
@@ -220,6 +319,24 @@ public class Export implements QuarkusApplication {
         return conf;
     }
 
+    private String[] parseConcurrency(String[] remainingArgs) {
+        if (remainingArgs.length > 1 && remainingArgs[0].equals("--concurrency")) {
+            this.concurrency = Math.max(1, Integer.parseInt(remainingArgs[1]));
+            remainingArgs = Arrays.copyOfRange(remainingArgs, 2, remainingArgs.length);
+            System.out.println("Going to export " + concurrency + " artifacts concurrently");
+        }
+        return remainingArgs;
+    }
+
+    private String[] parseResume(String[] remainingArgs) {
+        if (remainingArgs.length > 0 && remainingArgs[0].equals("--resume")) {
+            remainingArgs = Arrays.copyOfRange(remainingArgs, 1, remainingArgs.length);
+            this.resume = true;
+            System.out.println("Going to resume the previous export");
+        }
+        return remainingArgs;
+    }
+
     private String[] parseMatchContentId(String[] remainingArgs) {
         if (remainingArgs.length > 1 && remainingArgs[0].equals("--match-content-id")) {
             remainingArgs = Arrays.copyOfRange(remainingArgs, 1, remainingArgs.length);
@@ -241,4 +358,59 @@ public class Export implements QuarkusApplication {
         }
     }
 
+    private static class ArtifactExport {
+
+        private final String id;
+        private final List<VersionExport> versions = new ArrayList<>();
+        private final List<ArtifactRuleEntity> rules = new ArrayList<>();
+
+        private ArtifactExport(String id) {
+            this.id = id;
+        }
+    }
+
+    private static class VersionExport {
+
+        private final VersionMetaData meta;
+        private final byte[] contentBytes;
+        private final String contentHash;
+        private final String canonicalContentHash;
+        private final boolean isLatest;
+
+        private VersionExport(VersionMetaData meta, byte[] contentBytes, String contentHash, String canonicalContentHash, boolean isLatest) {
+            this.meta = meta;
+            this.contentBytes = contentBytes;
+            this.contentHash = contentHash;
+            this.canonicalContentHash = canonicalContentHash;
+            this.isLatest = isLatest;
+        }
+    }
+
+    /**
+     * Counts the zip entries and records every written content in the checkpoint.
+     */
+    private static class CheckpointEntityWriter extends EntityWriter {
+
+        private final ExportCheckpoint checkpoint;
+        private int entries;
+
+        private CheckpointEntityWriter(ZipOutputStream zip, ExportCheckpoint checkpoint) {
+            super(zip);
+            this.checkpoint = checkpoint;
+        }
+
+        @Override
+        public void writeEntity(Entity entity) throws IOException {
+            super.writeEntity(entity);
+            if (entity.getEntityType() == EntityType.Content) {
+                ContentEntity content = (ContentEntity) entity;
+                checkpoint.contentWritten(content.contentId, content.contentHash);
+                // the meta-data and the data entries
+                entries += 2;
+            } else {
+                entries++;
+            }
+        }
+    }
+
 }
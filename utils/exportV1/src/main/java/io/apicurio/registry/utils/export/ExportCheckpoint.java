@@ -0,0 +1,183 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils.export;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import io.apicurio.registry.utils.IoUtil;
+
+/**
+ * Records the progress of an export, so that an interrupted export can be resumed.
+ * <p>
+ * The checkpoint is a text file next to the export zip, with one line per event:
+ * <ul>
+ * <li><code>H &lt;matchContentId&gt;</code> the header, written when the export starts</li>
+ * <li><code>C &lt;contentId&gt; &lt;contentHash&gt;</code> a content entity was written to the zip</li>
+ * <li><code>A &lt;entries&gt; &lt;artifactId&gt;</code> all the entities of an artifact were written, and the zip
+ * contains that many complete entries</li>
+ * </ul>
+ * Only the lines up to the last <code>A</code> line are used when resuming, the entries written after it
+ * are discarded.
+ */
+public class ExportCheckpoint implements Closeable {
+
+    private final File file;
+    private final Set<String> completed = new HashSet<>();
+    private final Map<String, Long> contents = new LinkedHashMap<>();
+    private int entries;
+    private BufferedWriter writer;
+
+    /**
+     * Creates a checkpoint for the given export file.  When resuming, the state of a previous export is
+     * loaded from an existing checkpoint, otherwise any existing checkpoint is replaced.
+     * @param output the export zip file
+     * @param matchContentId the export mode, a checkpoint can only be resumed with the same mode
+     * @param resume true to resume a previous export
+     */
+    public ExportCheckpoint(File output, boolean matchContentId, boolean resume) throws IOException {
+        this.file = new File(output.getPath() + ".checkpoint");
+        if (resume && file.isFile()) {
+            load(matchContentId);
+        }
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+        writer.write("H " + matchContentId + "\n");
+        // rewrite the state that is still valid, dropping anything after the last completed artifact
+        for (Map.Entry<String, Long> content : contents.entrySet()) {
+            writer.write("C " + content.getValue() + " " + content.getKey() + "\n");
+        }
+        for (String artifactId : completed) {
+            writer.write("A " + entries + " " + artifactId + "\n");
+        }
+        writer.flush();
+    }
+
+    private void load(boolean matchContentId) throws IOException {
+        Map<String, Long> pendingContents = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(" ", 3);
+                switch (parts[0]) {
+                    case "H":
+                        if (Boolean.parseBoolean(parts[1]) != matchContentId) {
+                            throw new IllegalStateException("The export being resumed was started " +
+                                    (matchContentId ? "without" : "with") + " --match-content-id");
+                        }
+                        break;
+                    case "C":
+                        pendingContents.put(parts[2], Long.valueOf(parts[1]));
+                        break;
+                    case "A":
+                        if (parts.length == 3) {
+                            contents.putAll(pendingContents);
+                            pendingContents.clear();
+                            entries = Integer.parseInt(parts[1]);
+                            completed.add(parts[2]);
+                        }
+                        break;
+                    default:
+                        // a torn last line, written while the export was interrupted
+                        break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the ids of the artifacts that are already exported
+     */
+    public Set<String> getCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return the contentId of every content that is already exported, by content hash
+     */
+    public Map<String, Long> getContents() {
+        return contents;
+    }
+
+    /**
+     * @return the number of complete zip entries of the already exported artifacts
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    /**
+     * Copies the complete entries of a previous export into the given zip.  The zip of an interrupted
+     * export has no central directory, so it is read entry by entry from the local headers.
+     * @param previous the zip of the previous export
+     * @param zip the zip of the resumed export
+     */
+    public void copyEntries(File previous, ZipOutputStream zip) throws IOException {
+        try (ZipInputStream in = new ZipInputStream(new FileInputStream(previous), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < entries; i++) {
+                ZipEntry entry = in.getNextEntry();
+                if (entry == null) {
+                    throw new IOException("The export being resumed is missing entries, expected " + entries + " but found " + i);
+                }
+                zip.putNextEntry(new ZipEntry(entry.getName()));
+                IoUtil.copy(in, zip);
+                zip.closeEntry();
+            }
+        }
+    }
+
+    public void contentWritten(Long contentId, String contentHash) throws IOException {
+        writer.write("C " + contentId + " " + contentHash + "\n");
+    }
+
+    /**
+     * Records that all the entities of the given artifact are written.  The zip must be flushed before.
+     * @param entries the number of zip entries written so far
+     * @param artifactId the artifact id
+     */
+    public void artifactCompleted(int entries, String artifactId) throws IOException {
+        writer.write("A " + entries + " " + artifactId + "\n");
+        writer.flush();
+    }
+
+    /**
+     * Deletes the checkpoint, once the export is complete.
+     */
+    public void delete() throws IOException {
+        close();
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -69,4 +69,12 @@ public class MatchContentIdContentExporter implements ContentExporter {
         return contentEntity.contentId;
     }
 
-}
\ No newline at end of file
+    /**
+     * @see io.apicurio.registry.utils.export.ContentExporter#restoreContent(java.lang.String, java.lang.Long)
+     */
+    @Override
+    public void restoreContent(String contentHash, Long contentId) {
+        contentIndex.put(contentHash, contentId);
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils.impexp;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The formats of a registry export archive.
+ */
+public enum ArchiveFormat {
+
+    /**
+     * A zip with one JSON entry per entity, written by {@link EntityWriter}.
+     */
+    ZIP("application/zip"),
+
+    /**
+     * The compact binary format, written by {@link BinaryEntityWriter}.
+     */
+    BINARY("application/vnd.apicurio.registry.export"),
+    ;
+
+    private final String contentType;
+
+    private ArchiveFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Detects the format of an archive from its first bytes, without consuming them.
+     * @param data the archive, must support {@link InputStream#mark(int)}
+     */
+    public static ArchiveFormat detect(InputStream data) throws IOException {
+        if (!data.markSupported()) {
+            throw new IllegalArgumentException("The input stream must support mark/reset");
+        }
+        data.mark(4);
+        try {
+            int magic = 0;
+            for (int i = 0; i < 4; i++) {
+                int b = data.read();
+                if (b < 0) {
+                    return ZIP;
+                }
+                magic = (magic << 8) | b;
+            }
+            return magic == BinaryEntityWriter.MAGIC ? BINARY : ZIP;
+        } finally {
+            data.reset();
+        }
+    }
+}
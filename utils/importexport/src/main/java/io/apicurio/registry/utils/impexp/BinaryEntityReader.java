@@ -0,0 +1,151 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils.impexp;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads an archive written by {@link BinaryEntityWriter}.  The entities are read in the order of the
+ * sections, which is the order in which they must be imported.
+ */
+public class BinaryEntityReader implements EntityInput {
+
+    private final InputStream input;
+    private final Inflater inflater = new Inflater();
+    private final DataInputStream body;
+    private final EntityType[] types;
+    private final int[] counts;
+    private final long[] lengths;
+    private final Set<String> sharedContentHashes = new HashSet<>();
+    private final Map<String, byte[]> sharedContent = new HashMap<>();
+
+    private int section = -1;
+    private int remaining;
+    private long consumed;
+
+    /**
+     * Constructor, reads the index of the archive.
+     * @param input the archive
+     */
+    public BinaryEntityReader(InputStream input) throws IOException {
+        this.input = input;
+        DataInputStream index = new DataInputStream(input);
+        if (index.readInt() != BinaryEntityWriter.MAGIC) {
+            throw new IOException("Not a binary registry export archive");
+        }
+        int version = index.readInt();
+        if (version != BinaryEntityWriter.VERSION) {
+            throw new IOException("Unsupported binary registry export archive version: " + version);
+        }
+        int sections = index.readInt();
+        types = new EntityType[sections];
+        counts = new int[sections];
+        lengths = new long[sections];
+        for (int i = 0; i < sections; i++) {
+            types[i] = EntityType.valueOf(index.readUTF());
+            counts[i] = index.readInt();
+            lengths[i] = index.readLong();
+        }
+        int shared = index.readInt();
+        for (int i = 0; i < shared; i++) {
+            sharedContentHashes.add(BinaryRecords.readString(index));
+        }
+        body = new DataInputStream(new BufferedInputStream(new InflaterInputStream(input, inflater, 64 * 1024), 64 * 1024));
+    }
+
+    /**
+     * @param type the entity type
+     * @return the number of entities of the given type in the archive
+     */
+    public int getCount(EntityType type) {
+        int count = 0;
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == type) {
+                count += counts[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @see io.apicurio.registry.utils.impexp.EntityInput#readEntity()
+     */
+    @Override
+    public Entity readEntity() throws IOException {
+        while (remaining == 0) {
+            if (section >= 0 && consumed != lengths[section]) {
+                throw new IOException("Corrupt binary registry export archive, the " + types[section] +
+                        " section has " + consumed + " bytes instead of " + lengths[section]);
+            }
+            if (section + 1 == types.length) {
+                return null;
+            }
+            section++;
+            remaining = counts[section];
+            consumed = 0;
+        }
+
+        int length = body.readInt();
+        byte[] record = new byte[length];
+        body.readFully(record);
+        remaining--;
+        consumed += 4 + length;
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        if (types[section] == EntityType.Content) {
+            return readContent(in);
+        }
+        return BinaryRecords.read(in, types[section]);
+    }
+
+    private ContentEntity readContent(DataInputStream in) throws IOException {
+        ContentEntity entity = new ContentEntity();
+        entity.contentId = in.readLong();
+        entity.contentHash = BinaryRecords.readString(in);
+        entity.canonicalHash = BinaryRecords.readString(in);
+        if (in.readByte() == BinaryEntityWriter.CONTENT_SHARED) {
+            entity.contentBytes = sharedContent.get(entity.contentHash);
+            if (entity.contentBytes == null) {
+                throw new IOException("Corrupt binary registry export archive, missing content " + entity.contentHash);
+            }
+        } else {
+            entity.contentBytes = new byte[in.readInt()];
+            in.readFully(entity.contentBytes);
+            // only the bytes that are referenced again later are kept
+            if (sharedContentHashes.contains(entity.contentHash)) {
+                sharedContent.put(entity.contentHash, entity.contentBytes);
+            }
+        }
+        return entity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        input.close();
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils.impexp;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes registry data in the compact binary archive format, an alternative to the zip with one JSON entry
+ * per entity written by {@link EntityWriter}.
+ * <p>
+ * The archive starts with a small, uncompressed index: the magic number, the format version, the number of
+ * records and the size of every section, and the hashes of the contents that are shared by several content
+ * entities.  The index is followed by a single deflate stream holding the sections, one per entity type,
+ * in the order the entities must be imported.  Every section is a sequence of length-prefixed binary records.
+ * Content records carry the content bytes inline, except when the same bytes (by content hash) were already
+ * written, so every distinct content is stored only once.
+ * <p>
+ * The sections are spooled to temporary files while the entities are written, and the archive is written
+ * to the output by {@link #finish()}.  {@link #close()} deletes the temporary files, but does not close the
+ * output.
+ */
+public class BinaryEntityWriter implements Closeable {
+
+    /**
+     * The first four bytes of the archive, "AREX".
+     */
+    static final int MAGIC = 0x41524558;
+    static final int VERSION = 1;
+
+    /**
+     * The order of the sections in the archive, which is the order in which the entities are imported.
+     */
+    static final EntityType[] SECTIONS = {
+        EntityType.Manifest, EntityType.GlobalRule, EntityType.Content,
+        EntityType.Group, EntityType.ArtifactVersion, EntityType.ArtifactRule
+    };
+
+    static final byte CONTENT_INLINE = 0;
+    static final byte CONTENT_SHARED = 1;
+
+    private final OutputStream output;
+    private final Map<EntityType, Section> sections = new EnumMap<>(EntityType.class);
+    private final Set<String> contentHashes = new HashSet<>();
+    private final Set<String> sharedContentHashes = new LinkedHashSet<>();
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+
+    /**
+     * Constructor.
+     * @param output the stream the archive is written to
+     */
+    public BinaryEntityWriter(OutputStream output) {
+        this.output = output;
+    }
+
+    /**
+     * Writes the given entity to its section.
+     * @param entity
+     * @throws IOException
+     */
+    public void writeEntity(Entity entity) throws IOException {
+        record.reset();
+        if (entity.getEntityType() == EntityType.Content) {
+            ContentEntity content = (ContentEntity) entity;
+            recordOut.writeLong(content.contentId);
+            BinaryRecords.writeString(recordOut, content.contentHash);
+            BinaryRecords.writeString(recordOut, content.canonicalHash);
+            if (content.contentHash != null && !contentHashes.add(content.contentHash)) {
+                sharedContentHashes.add(content.contentHash);
+                recordOut.writeByte(CONTENT_SHARED);
+            } else {
+                recordOut.writeByte(CONTENT_INLINE);
+                recordOut.writeInt(content.contentBytes.length);
+                recordOut.write(content.contentBytes);
+            }
+        } else {
+            BinaryRecords.write(recordOut, entity);
+        }
+        recordOut.flush();
+
+        Section section = sections.get(entity.getEntityType());
+        if (section == null) {
+            section = new Section(entity.getEntityType());
+            sections.put(entity.getEntityType(), section);
+        }
+        section.out.writeInt(record.size());
+        record.writeTo(section.out);
+        section.count++;
+        section.length += 4 + record.size();
+    }
+
+    /**
+     * Writes the index and all the sections to the output.
+     */
+    public void finish() throws IOException {
+        for (Section section : sections.values()) {
+            section.out.close();
+        }
+
+        DataOutputStream index = new DataOutputStream(output);
+        index.writeInt(MAGIC);
+        index.writeInt(VERSION);
+        index.writeInt(SECTIONS.length);
+        for (EntityType type : SECTIONS) {
+            Section section = sections.get(type);
+            index.writeUTF(type.name());
+            index.writeInt(section == null ? 0 : section.count);
+            index.writeLong(section == null ? 0 : section.length);
+        }
+        index.writeInt(sharedContentHashes.size());
+        for (String hash : sharedContentHashes) {
+            BinaryRecords.writeString(index, hash);
+        }
+        index.flush();
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            DeflaterOutputStream body = new DeflaterOutputStream(output, deflater, 64 * 1024);
+            for (EntityType type : SECTIONS) {
+                Section section = sections.get(type);
+                if (section != null) {
+                    Files.copy(section.file.toPath(), body);
+                }
+            }
+            body.finish();
+        } finally {
+            deflater.end();
+        }
+        output.flush();
+    }
+
+    /**
+     * Deletes the temporary section files.
+     */
+    @Override
+    public void close() throws IOException {
+        for (Section section : sections.values()) {
+            section.out.close();
+            Files.deleteIfExists(section.file.toPath());
+        }
+    }
+
+    private static class Section {
+
+        private final File file;
+        private final DataOutputStream out;
+        private int count;
+        private long length;
+
+        private Section(EntityType type) throws IOException {
+            this.file = File.createTempFile("registry-export-" + type.name() + "-", ".section");
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+        }
+    }
+}
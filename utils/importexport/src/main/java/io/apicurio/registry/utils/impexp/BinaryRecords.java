@@ -0,0 +1,243 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils.impexp;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.apicurio.registry.types.ArtifactState;
+import io.apicurio.registry.types.ArtifactType;
+import io.apicurio.registry.types.RuleType;
+
+/**
+ * The encoding of the entities in the binary archive format, see {@link BinaryEntityWriter}.
+ * Strings, lists and maps are prefixed by their length, -1 for null.
+ */
+final class BinaryRecords {
+
+    private BinaryRecords() {
+    }
+
+    static void write(DataOutput out, Entity entity) throws IOException {
+        switch (entity.getEntityType()) {
+            case Manifest: {
+                ManifestEntity e = (ManifestEntity) entity;
+                writeString(out, e.systemVersion);
+                writeString(out, e.systemName);
+                writeString(out, e.systemDescription);
+                writeString(out, e.exportVersion);
+                out.writeLong(e.exportedOn == null ? -1 : e.exportedOn.getTime());
+                writeString(out, e.exportedBy);
+                break;
+            }
+            case GlobalRule: {
+                GlobalRuleEntity e = (GlobalRuleEntity) entity;
+                writeEnum(out, e.ruleType);
+                writeString(out, e.configuration);
+                break;
+            }
+            case Group: {
+                GroupEntity e = (GroupEntity) entity;
+                writeString(out, e.groupId);
+                writeString(out, e.description);
+                writeEnum(out, e.artifactsType);
+                writeString(out, e.createdBy);
+                out.writeLong(e.createdOn);
+                writeString(out, e.modifiedBy);
+                out.writeLong(e.modifiedOn);
+                writeMap(out, e.properties);
+                break;
+            }
+            case ArtifactVersion: {
+                ArtifactVersionEntity e = (ArtifactVersionEntity) entity;
+                out.writeLong(e.globalId);
+                writeString(out, e.groupId);
+                writeString(out, e.artifactId);
+                writeString(out, e.version);
+                out.writeInt(e.versionId);
+                writeEnum(out, e.artifactType);
+                writeEnum(out, e.state);
+                writeString(out, e.name);
+                writeString(out, e.description);
+                writeString(out, e.createdBy);
+                out.writeLong(e.createdOn);
+                writeList(out, e.labels);
+                writeMap(out, e.properties);
+                out.writeBoolean(e.isLatest);
+                out.writeLong(e.contentId);
+                break;
+            }
+            case ArtifactRule: {
+                ArtifactRuleEntity e = (ArtifactRuleEntity) entity;
+                writeString(out, e.groupId);
+                writeString(out, e.artifactId);
+                writeEnum(out, e.type);
+                writeString(out, e.configuration);
+                break;
+            }
+            default:
+                // content is written by the writer itself, see BinaryEntityWriter
+                throw new IllegalArgumentException("Unhandled entity type: " + entity.getEntityType().name());
+        }
+    }
+
+    static Entity read(DataInput in, EntityType type) throws IOException {
+        switch (type) {
+            case Manifest: {
+                ManifestEntity e = new ManifestEntity();
+                e.systemVersion = readString(in);
+                e.systemName = readString(in);
+                e.systemDescription = readString(in);
+                e.exportVersion = readString(in);
+                long exportedOn = in.readLong();
+                e.exportedOn = exportedOn == -1 ? null : new Date(exportedOn);
+                e.exportedBy = readString(in);
+                return e;
+            }
+            case GlobalRule: {
+                GlobalRuleEntity e = new GlobalRuleEntity();
+                e.ruleType = readEnum(in, RuleType.class);
+                e.configuration = readString(in);
+                return e;
+            }
+            case Group: {
+                GroupEntity e = new GroupEntity();
+                e.groupId = readString(in);
+                e.description = readString(in);
+                e.artifactsType = readEnum(in, ArtifactType.class);
+                e.createdBy = readString(in);
+                e.createdOn = in.readLong();
+                e.modifiedBy = readString(in);
+                e.modifiedOn = in.readLong();
+                e.properties = readMap(in);
+                return e;
+            }
+            case ArtifactVersion: {
+                ArtifactVersionEntity e = new ArtifactVersionEntity();
+                e.globalId = in.readLong();
+                e.groupId = readString(in);
+                e.artifactId = readString(in);
+                e.version = readString(in);
+                e.versionId = in.readInt();
+                e.artifactType = readEnum(in, ArtifactType.class);
+                e.state = readEnum(in, ArtifactState.class);
+                e.name = readString(in);
+                e.description = readString(in);
+                e.createdBy = readString(in);
+                e.createdOn = in.readLong();
+                e.labels = readList(in);
+                e.properties = readMap(in);
+                e.isLatest = in.readBoolean();
+                e.contentId = in.readLong();
+                return e;
+            }
+            case ArtifactRule: {
+                ArtifactRuleEntity e = new ArtifactRuleEntity();
+                e.groupId = readString(in);
+                e.artifactId = readString(in);
+                e.type = readEnum(in, RuleType.class);
+                e.configuration = readString(in);
+                return e;
+            }
+            default:
+                throw new IllegalArgumentException("Unhandled entity type: " + type.name());
+        }
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        writeString(out, value == null ? null : value.name());
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInput in, Class<E> type) throws IOException {
+        String name = readString(in);
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    private static void writeList(DataOutput out, List<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readList(DataInput in) throws IOException {
+        int size = in.readInt();
+        if (size == -1) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static void writeMap(DataOutput out, Map<String, String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.size());
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, String> readMap(DataInput in) throws IOException {
+        int size = in.readInt();
+        if (size == -1) {
+            return null;
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            values.put(readString(in), readString(in));
+        }
+        return values;
+    }
+}
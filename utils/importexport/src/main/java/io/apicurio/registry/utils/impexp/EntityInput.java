@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils.impexp;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads the entities of a registry export archive, in the order they were written.
+ */
+public interface EntityInput extends Closeable {
+
+    /**
+     * @return the next entity, or null when all the entities are read
+     */
+    Entity readEntity() throws IOException;
+
+    /**
+     * Opens an archive in any of the supported {@link ArchiveFormat}s.
+     * @param data the archive
+     */
+    static EntityInput open(InputStream data) throws IOException {
+        InputStream in = data.markSupported() ? data : new BufferedInputStream(data);
+        if (ArchiveFormat.detect(in) == ArchiveFormat.BINARY) {
+            return new BinaryEntityReader(in);
+        }
+        return new EntityReader(new ZipInputStream(in, StandardCharsets.UTF_8));
+    }
+}
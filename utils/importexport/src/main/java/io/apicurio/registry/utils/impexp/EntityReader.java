@@ -29,7 +29,7 @@ import io.apicurio.registry.utils.IoUtil;
 /**
  * @author eric.wittmann@gmail.com
  */
-public class EntityReader {
+public class EntityReader implements EntityInput {
 
     private static final ObjectMapper mapper;
     static {
@@ -48,6 +48,10 @@ public class EntityReader {
         this.zip = zip;
     }
 
+    /**
+     * @see io.apicurio.registry.utils.impexp.EntityInput#readEntity()
+     */
+    @Override
     public Entity readEntity() throws IOException {
         ZipEntry entry = zip.getNextEntry();
         if (entry != null) {
@@ -74,6 +78,11 @@ public class EntityReader {
         return null;
     }
 
+    @Override
+    public void close() throws IOException {
+        zip.close();
+    }
+
     private ContentEntity readContent(ZipEntry entry) throws IOException {
         if (entry.getName().endsWith(".json")) {
             ContentEntity entity = this.readEntry(entry, ContentEntity.class);
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.utils.impexp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Verifies that the binary archive format round trips the same entities as the zip format.
+ */
+class BinaryEntityWriterTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testRoundTrip() throws Exception {
+        List<Entity> entities = readAll(EntityInput.open(resourceToInputStream("export.zip")));
+
+        byte[] binary = writeBinary(entities);
+        try (EntityInput input = EntityInput.open(new ByteArrayInputStream(binary))) {
+            Assertions.assertTrue(input instanceof BinaryEntityReader);
+            Assertions.assertEquals(1003, ((BinaryEntityReader) input).getCount(EntityType.Content));
+            assertSameEntities(entities, readAll(input));
+        }
+
+        Assertions.assertEquals(ArchiveFormat.ZIP, ArchiveFormat.detect(new ByteArrayInputStream(writeZip(entities))));
+        Assertions.assertEquals(ArchiveFormat.BINARY, ArchiveFormat.detect(new ByteArrayInputStream(binary)));
+    }
+
+    @Test
+    void testSharedContent() throws Exception {
+        List<Entity> entities = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ContentEntity content = new ContentEntity();
+            content.contentId = i;
+            content.contentHash = i == 1 ? "hash-1" : "hash-0";
+            content.canonicalHash = "canonical";
+            content.contentBytes = ("content " + content.contentHash).getBytes(StandardCharsets.UTF_8);
+            entities.add(content);
+        }
+        ArtifactVersionEntity version = new ArtifactVersionEntity();
+        version.artifactId = "artifact";
+        version.version = "1";
+        version.contentId = 2;
+        entities.add(version);
+
+        try (EntityInput input = EntityInput.open(new ByteArrayInputStream(writeBinary(entities)))) {
+            assertSameEntities(entities, readAll(input));
+        }
+    }
+
+    @Test
+    void testArchiveSize() throws Exception {
+        List<Entity> entities = readAll(EntityInput.open(resourceToInputStream("export.zip")));
+
+        byte[] zip = writeZip(entities);
+        byte[] binary = writeBinary(entities);
+
+        // both archives hold the same entities, and the content shared by many versions is only stored once in the binary one
+        Assertions.assertEquals(entities.size(), readAll(EntityInput.open(new ByteArrayInputStream(zip))).size());
+        Assertions.assertEquals(entities.size(), readAll(EntityInput.open(new ByteArrayInputStream(binary))).size());
+        Assertions.assertTrue(binary.length < zip.length, "binary archive of " + binary.length + " bytes is not smaller than the zip archive of " + zip.length + " bytes");
+    }
+
+    private static byte[] writeZip(List<Entity> entities) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        EntityWriter writer = new EntityWriter(zip);
+        for (Entity entity : entities) {
+            writer.writeEntity(entity);
+        }
+        zip.close();
+        return out.toByteArray();
+    }
+
+    private static byte[] writeBinary(List<Entity> entities) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryEntityWriter writer = new BinaryEntityWriter(out)) {
+            for (Entity entity : entities) {
+                writer.writeEntity(entity);
+            }
+            writer.finish();
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Entity> readAll(EntityInput input) throws IOException {
+        List<Entity> entities = new ArrayList<>();
+        try (input) {
+            Entity entity;
+            while ((entity = input.readEntity()) != null) {
+                entities.add(entity);
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * The binary format groups the entities by type, so only the order within a type is compared.
+     */
+    private static void assertSameEntities(List<Entity> expected, List<Entity> actual) throws IOException {
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (EntityType type : EntityType.values()) {
+            List<String> expectedJson = new ArrayList<>();
+            List<String> actualJson = new ArrayList<>();
+            for (Entity entity : expected) {
+                if (entity.getEntityType() == type) {
+                    expectedJson.add(toJson(entity));
+                }
+            }
+            for (Entity entity : actual) {
+                if (entity.getEntityType() == type) {
+                    actualJson.add(toJson(entity));
+                }
+            }
+            Assertions.assertEquals(expectedJson, actualJson, type.name());
+        }
+    }
+
+    private static String toJson(Entity entity) throws IOException {
+        String json = mapper.writeValueAsString(entity);
+        if (entity instanceof ContentEntity) {
+            json += new String(((ContentEntity) entity).contentBytes, StandardCharsets.UTF_8);
+        }
+        return json;
+    }
+
+    private InputStream resourceToInputStream(String resourceName) {
+        InputStream stream = getClass().getResourceAsStream(resourceName);
+        Assertions.assertNotNull(stream, "Resource not found: " + resourceName);
+        return stream;
+    }
+}
@@ -67,6 +67,13 @@ public abstract class AbstractRegistryMojo extends AbstractMojo {
     @Parameter(property = "password")
     String password;
 
+    /**
+     * The number of artifacts processed concurrently.  With the default of 1, the artifacts are
+     * processed one by one, in the configured order.
+     */
+    @Parameter(property = "registry.threads", defaultValue = "1")
+    int threads = 1;
+
     private RegistryClient client;
     private ApicurioHttpClient httpClient;
 
@@ -158,4 +165,8 @@ public abstract class AbstractRegistryMojo extends AbstractMojo {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.maven;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Runs one task per configured artifact, using up to the given number of threads, so that a task only
+ * starts after all the tasks it depends on have completed successfully.  The tasks that depend (directly
+ * or transitively) on a failed task are not run at all.
+ * <p>
+ * With a single thread the tasks are run on the calling thread, one at a time, always running the first
+ * configured task whose dependencies have completed, so the configured order is kept as long as it is
+ * consistent with the dependencies.
+ */
+class ArtifactScheduler {
+
+    private final int threads;
+
+    ArtifactScheduler(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Runs the tasks.
+     * @param count the number of tasks
+     * @param dependencies for every task, the indices of the tasks that must complete before it, may be null
+     * @param task runs the task with the given index, returns false if the task failed
+     * @param skipped called for every task that is not run because one of its dependencies failed
+     * @return the number of failed and skipped tasks
+     */
+    int run(int count, List<Set<Integer>> dependencies, IntPredicate task, IntConsumer skipped) throws MojoExecutionException {
+        List<List<Integer>> dependents = new ArrayList<>(count);
+        int[] pending = new int[count];
+        for (int idx = 0; idx < count; idx++) {
+            dependents.add(new ArrayList<>());
+        }
+        if (dependencies != null) {
+            for (int idx = 0; idx < count; idx++) {
+                for (Integer dependency : dependencies.get(idx)) {
+                    dependents.get(dependency).add(idx);
+                    pending[idx]++;
+                }
+            }
+        }
+
+        if (threads == 1) {
+            return runInOrder(count, dependents, pending, task, skipped);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "apicurio-registry-maven-plugin");
+            t.setDaemon(true);
+            return t;
+        });
+        CompletionService<TaskResult> completion = new ExecutorCompletionService<>(pool);
+
+        int errorCount = 0;
+        int running = 0;
+        try {
+            for (int idx = 0; idx < count; idx++) {
+                if (pending[idx] == 0) {
+                    submit(completion, task, idx);
+                    running++;
+                }
+            }
+            while (running > 0) {
+                TaskResult result = completion.take().get();
+                running--;
+                if (result.success) {
+                    for (int dependent : dependents.get(result.idx)) {
+                        if (--pending[dependent] == 0) {
+                            submit(completion, task, dependent);
+                            running++;
+                        }
+                    }
+                } else {
+                    errorCount++;
+                    errorCount += skip(result.idx, dependents, pending, skipped);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while waiting for the artifact tasks to complete.", e);
+        } catch (ExecutionException e) {
+            throw new MojoExecutionException("Unexpected error while running the artifact tasks.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return errorCount;
+    }
+
+    private static int runInOrder(int count, List<List<Integer>> dependents, int[] pending, IntPredicate task, IntConsumer skipped) {
+        PriorityQueue<Integer> ready = new PriorityQueue<>();
+        for (int idx = 0; idx < count; idx++) {
+            if (pending[idx] == 0) {
+                ready.add(idx);
+            }
+        }
+        int errorCount = 0;
+        while (!ready.isEmpty()) {
+            int idx = ready.poll();
+            if (task.test(idx)) {
+                for (int dependent : dependents.get(idx)) {
+                    if (--pending[dependent] == 0) {
+                        ready.add(dependent);
+                    }
+                }
+            } else {
+                errorCount++;
+                errorCount += skip(idx, dependents, pending, skipped);
+            }
+        }
+        return errorCount;
+    }
+
+    private static void submit(CompletionService<TaskResult> completion, IntPredicate task, int idx) {
+        completion.submit(() -> new TaskResult(idx, task.test(idx)));
+    }
+
+    /**
+     * Marks all the tasks that transitively depend on the given failed task as skipped.
+     */
+    private static int skip(int failed, List<List<Integer>> dependents, int[] pending, IntConsumer skipped) {
+        int count = 0;
+        Deque<Integer> queue = new ArrayDeque<>(dependents.get(failed));
+        while (!queue.isEmpty()) {
+            int idx = queue.poll();
+            // a negative count marks a task that is already skipped
+            if (pending[idx] >= 0) {
+                pending[idx] = -1;
+                skipped.accept(idx);
+                count++;
+                queue.addAll(dependents.get(idx));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the tasks that can never run because they are part of, or depend on, a dependency cycle.
+     * @param dependencies for every task, the indices of the tasks that must complete before it
+     * @return the indices of those tasks, empty if the dependencies are acyclic
+     */
+    static Set<Integer> unschedulable(List<Set<Integer>> dependencies) {
+        int count = dependencies.size();
+        List<List<Integer>> dependents = new ArrayList<>(count);
+        int[] pending = new int[count];
+        for (int idx = 0; idx < count; idx++) {
+            dependents.add(new ArrayList<>());
+        }
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int idx = 0; idx < count; idx++) {
+            for (Integer dependency : dependencies.get(idx)) {
+                dependents.get(dependency).add(idx);
+            }
+            pending[idx] = dependencies.get(idx).size();
+            if (pending[idx] == 0) {
+                ready.add(idx);
+            }
+        }
+        while (!ready.isEmpty()) {
+            for (int dependent : dependents.get(ready.poll())) {
+                if (--pending[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        Set<Integer> result = new TreeSet<>();
+        for (int idx = 0; idx < count; idx++) {
+            if (pending[idx] > 0) {
+                result.add(idx);
+            }
+        }
+        return result;
+    }
+
+    private static class TaskResult {
+
+        private final int idx;
+        private final boolean success;
+
+        private TaskResult(int idx, boolean success) {
+            this.idx = idx;
+            this.success = success;
+        }
+    }
+}
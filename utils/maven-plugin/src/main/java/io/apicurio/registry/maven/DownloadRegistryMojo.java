@@ -26,6 +26,8 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 
+import io.apicurio.registry.rest.client.RegistryClient;
+
 /**
  * Download artifacts.
  *
@@ -85,7 +87,9 @@ public class DownloadRegistryMojo extends AbstractRegistryMojo {
 
         int errorCount = 0;
         if (artifacts != null) {
-            for (DownloadArtifact artifact : artifacts) {
+            RegistryClient client = getClient();
+            errorCount = new ArtifactScheduler(threads).run(artifacts.size(), null, idx -> {
+                DownloadArtifact artifact = artifacts.get(idx);
                 String groupId = artifact.getGroupId();
                 String artifactId = artifact.getArtifactId();
                 String version = artifact.getVersion();
@@ -94,8 +98,8 @@ public class DownloadRegistryMojo extends AbstractRegistryMojo {
                 getLog().info(String.format("Downloading artifact [%s] / [%s] (version %s).", groupId, artifactId, version));
 
                 try (InputStream content = version == null ?
-                            getClient().getLatestArtifact(groupId, artifactId) :
-                            getClient().getArtifactVersion(groupId, artifactId, version)) {
+                            client.getLatestArtifact(groupId, artifactId) :
+                            client.getArtifactVersion(groupId, artifactId, version)) {
 
                     if (!artifact.getFile().getParentFile().exists()) {
                         artifact.getFile().getParentFile().mkdirs();
@@ -107,12 +111,13 @@ public class DownloadRegistryMojo extends AbstractRegistryMojo {
                         Files.copy(content, artifact.getFile().toPath());
                     }
                 } catch (Exception e) {
-                    errorCount++;
                     getLog().error(String.format("Exception while downloading artifact [%s] / [%s]", groupId, artifactId), e);
+                    return false;
                 }
 
                 getLog().info(String.format("Downloaded artifact [%s] / [%s] to %s.", groupId, artifactId, artifact.getFile()));
-            }
+                return true;
+            }, idx -> { });
         }
 
         if (errorCount > 0) {
@@ -17,6 +17,7 @@
 package io.apicurio.registry.maven;
 
 import java.io.File;
+import java.util.List;
 
 import io.apicurio.registry.rest.v2.beans.IfExists;
 import io.apicurio.registry.types.ArtifactType;
@@ -34,6 +35,7 @@ public class RegisterArtifact {
     private IfExists ifExists;
     private Boolean canonicalize;
     private String contentType;
+    private List<RegisterArtifactReference> references;
 
     /**
      * Constructor.
@@ -153,4 +155,18 @@ public class RegisterArtifact {
         this.contentType = contentType;
     }
 
+    /**
+     * @return the artifacts that must be registered before this one
+     */
+    public List<RegisterArtifactReference> getReferences() {
+        return references;
+    }
+
+    /**
+     * @param references the references to set
+     */
+    public void setReferences(List<RegisterArtifactReference> references) {
+        this.references = references;
+    }
+
 }
@@ -18,18 +18,37 @@
 package io.apicurio.registry.maven;
 
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 
+import io.apicurio.registry.rest.client.RegistryClient;
+import io.apicurio.registry.rest.client.exception.ArtifactNotFoundException;
 import io.apicurio.registry.rest.v2.beans.ArtifactMetaData;
+import io.apicurio.registry.rest.v2.beans.BatchLookupRequest;
+import io.apicurio.registry.rest.v2.beans.BatchLookupResult;
 import io.apicurio.registry.rest.v2.beans.IfExists;
 import io.apicurio.registry.types.ArtifactType;
 
 /**
  * Register artifacts against registry.
+ * <p>
+ * When more than one thread is configured, independent artifacts are registered concurrently.  An artifact
+ * is only registered after the artifacts it references (see {@link RegisterArtifact#getReferences()}),
+ * and after the artifacts with the same coordinates that are configured before it.
  *
  * @author Ales Justin
  */
@@ -42,6 +61,14 @@ public class RegisterRegistryMojo extends AbstractRegistryMojo {
     @Parameter(required = true)
     List<RegisterArtifact> artifacts;
 
+    /**
+     * Skip the registration of artifacts whose content is the same as the content of the latest version
+     * in the registry (or of the configured version, when one is set).  The content is compared by its
+     * SHA-256 hash, so the registry only has to send back the content that is not changed.
+     */
+    @Parameter(property = "registry.skipUnchanged", defaultValue = "false")
+    boolean skipUnchanged;
+
     /**
      * Validate the configuration.
      */
@@ -68,22 +95,86 @@ public class RegisterRegistryMojo extends AbstractRegistryMojo {
                     errorCount++;
                 }
 
+                if (artifact.getReferences() != null) {
+                    for (RegisterArtifactReference reference : artifact.getReferences()) {
+                        if (reference.getArtifactId() == null) {
+                            getLog().error(String.format("ArtifactId is required for an artifact reference.  Missing from artifacts[%s].", idx));
+                            errorCount++;
+                        }
+                    }
+                }
+
                 idx++;
             }
 
+            if (errorCount == 0) {
+                Set<Integer> unschedulable = ArtifactScheduler.unschedulable(dependencies());
+                for (Integer cyclic : unschedulable) {
+                    RegisterArtifact artifact = artifacts.get(cyclic);
+                    getLog().error(String.format("Artifact [%s] / [%s] can not be registered, its references contain a cycle (artifacts[%d]).",
+                            artifact.getGroupId(), artifact.getArtifactId(), cyclic));
+                    errorCount++;
+                }
+            }
+
             if (errorCount > 0) {
                 throw new MojoExecutionException("Invalid configuration of the Register Artifact(s) mojo. See the output log for details.");
             }
         }
     }
 
+    /**
+     * For every configured artifact, the indices of the artifacts that must be registered before it: the
+     * configured artifacts it references and the previous artifact with the same coordinates.  References
+     * to artifacts that are not configured are expected to already exist in the registry.
+     */
+    private List<Set<Integer>> dependencies() {
+        Map<List<String>, List<Integer>> byCoordinates = new HashMap<>();
+        for (int idx = 0; idx < artifacts.size(); idx++) {
+            RegisterArtifact artifact = artifacts.get(idx);
+            byCoordinates.computeIfAbsent(Arrays.asList(artifact.getGroupId(), artifact.getArtifactId()), k -> new ArrayList<>()).add(idx);
+        }
+        List<Set<Integer>> dependencies = new ArrayList<>(artifacts.size());
+        for (int idx = 0; idx < artifacts.size(); idx++) {
+            RegisterArtifact artifact = artifacts.get(idx);
+            Set<Integer> dependsOn = new LinkedHashSet<>();
+            List<Integer> same = byCoordinates.get(Arrays.asList(artifact.getGroupId(), artifact.getArtifactId()));
+            int position = same.indexOf(idx);
+            if (position > 0) {
+                dependsOn.add(same.get(position - 1));
+            }
+            if (artifact.getReferences() != null) {
+                for (RegisterArtifactReference reference : artifact.getReferences()) {
+                    String groupId = reference.getGroupId() == null ? artifact.getGroupId() : reference.getGroupId();
+                    List<Integer> referenced = byCoordinates.getOrDefault(Arrays.asList(groupId, reference.getArtifactId()), Collections.emptyList());
+                    if (referenced.isEmpty()) {
+                        getLog().debug(String.format("Artifact [%s] / [%s] references [%s] / [%s], which is not configured for registration.",
+                                artifact.getGroupId(), artifact.getArtifactId(), groupId, reference.getArtifactId()));
+                    }
+                    for (Integer other : referenced) {
+                        if (other != idx) {
+                            dependsOn.add(other);
+                        }
+                    }
+                }
+            }
+            dependencies.add(dependsOn);
+        }
+        return dependencies;
+    }
+
     @Override
     protected void executeInternal() throws MojoExecutionException {
         validate();
 
         int errorCount = 0;
-        if (artifacts != null) {
-            for (RegisterArtifact artifact : artifacts) {
+        if (artifacts != null && !artifacts.isEmpty()) {
+            RegistryClient client = getClient();
+            String[] hashes = skipUnchanged ? hashes() : null;
+            Map<String, Long> registered = skipUnchanged ? registeredContent(client, hashes) : Collections.emptyMap();
+
+            errorCount = new ArtifactScheduler(threads).run(artifacts.size(), dependencies(), idx -> {
+                RegisterArtifact artifact = artifacts.get(idx);
                 String groupId = artifact.getGroupId();
                 String artifactId = artifact.getArtifactId();
                 String version = artifact.getVersion();
@@ -91,14 +182,21 @@ public class RegisterRegistryMojo extends AbstractRegistryMojo {
                 IfExists ifExists = artifact.getIfExists();
                 Boolean canonicalize = artifact.getCanonicalize();
                 String contentType = contentType(artifact);
-                try (InputStream data = new FileInputStream(artifact.getFile())) {
-                    ArtifactMetaData amd = this.getClient().createArtifact(groupId, artifactId, version, type, ifExists, canonicalize, null, null, contentType, data);
-                    getLog().info(String.format("Successfully registered artifact [%s] / [%s].  GlobalId is [%d]", groupId, artifactId, amd.getGlobalId()));
+                try {
+                    if (hashes != null && isUnchanged(client, artifact, registered.get(hashes[idx]))) {
+                        return true;
+                    }
+                    try (InputStream data = new FileInputStream(artifact.getFile())) {
+                        ArtifactMetaData amd = client.createArtifact(groupId, artifactId, version, type, ifExists, canonicalize, null, null, contentType, data);
+                        getLog().info(String.format("Successfully registered artifact [%s] / [%s].  GlobalId is [%d]", groupId, artifactId, amd.getGlobalId()));
+                    }
+                    return true;
                 } catch (Exception e) {
-                    errorCount++;
                     getLog().error(String.format("Exception while registering artifact [%s] / [%s]", groupId, artifactId), e);
+                    return false;
                 }
-            }
+            }, idx -> getLog().error(String.format("Skipped registering artifact [%s] / [%s], because an artifact it references failed to register.",
+                    artifacts.get(idx).getGroupId(), artifacts.get(idx).getArtifactId())));
         }
 
         if (errorCount > 0) {
@@ -106,6 +204,64 @@ public class RegisterRegistryMojo extends AbstractRegistryMojo {
         }
     }
 
+    /**
+     * @return the SHA-256 hashes of the configured artifact files, the same hashes the registry uses for content
+     */
+    private String[] hashes() throws MojoExecutionException {
+        String[] hashes = new String[artifacts.size()];
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (int idx = 0; idx < hashes.length; idx++) {
+                byte[] hash = digest.digest(Files.readAllBytes(artifacts.get(idx).getFile().toPath()));
+                StringBuilder hex = new StringBuilder(hash.length * 2);
+                for (byte b : hash) {
+                    hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                }
+                hashes[idx] = hex.toString();
+            }
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new MojoExecutionException("Error while hashing the artifacts to register.", e);
+        }
+        return hashes;
+    }
+
+    /**
+     * Looks up which of the given content hashes already exist in the registry, with a single request.
+     * @return the contentId for every existing hash
+     */
+    private Map<String, Long> registeredContent(RegistryClient client, String[] hashes) {
+        BatchLookupRequest request = new BatchLookupRequest();
+        request.setContentHashes(new ArrayList<>(new LinkedHashSet<>(Arrays.asList(hashes))));
+        try {
+            Map<String, Long> registered = new HashMap<>();
+            for (BatchLookupResult result : client.lookupBatch(request).getResults()) {
+                registered.put(result.getContentHash(), result.getContentId());
+            }
+            return registered;
+        } catch (Exception e) {
+            getLog().warn("Unable to look up the content of the artifacts in the registry, all artifacts will be registered: " + e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    private boolean isUnchanged(RegistryClient client, RegisterArtifact artifact, Long contentId) {
+        if (contentId == null) {
+            return false;
+        }
+        ArtifactMetaData amd;
+        try {
+            amd = client.getArtifactMetaData(artifact.getGroupId(), artifact.getArtifactId());
+        } catch (ArtifactNotFoundException e) {
+            return false;
+        }
+        if (!contentId.equals(amd.getContentId()) || (artifact.getVersion() != null && !artifact.getVersion().equals(amd.getVersion()))) {
+            return false;
+        }
+        getLog().info(String.format("Artifact [%s] / [%s] is unchanged, skipping registration.  GlobalId is [%d]",
+                artifact.getGroupId(), artifact.getArtifactId(), amd.getGlobalId()));
+        return true;
+    }
+
     private String contentType(RegisterArtifact registerArtifact) {
         String contentType = registerArtifact.getContentType();
         if(contentType != null) {
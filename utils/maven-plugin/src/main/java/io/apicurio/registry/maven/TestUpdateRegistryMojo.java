@@ -24,6 +24,8 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 
+import io.apicurio.registry.rest.client.RegistryClient;
+
 /**
  * Test artifact against current artifact rules,
  * if an update is possible / valid.
@@ -80,18 +82,21 @@ public class TestUpdateRegistryMojo extends AbstractRegistryMojo {
 
         int errorCount = 0;
         if (artifacts != null) {
-            for (TestArtifact artifact : artifacts) {
+            RegistryClient client = getClient();
+            errorCount = new ArtifactScheduler(threads).run(artifacts.size(), null, idx -> {
+                TestArtifact artifact = artifacts.get(idx);
                 String groupId = artifact.getGroupId();
                 String artifactId = artifact.getArtifactId();
                 String contentType = contentType(artifact);
                 try (InputStream data = new FileInputStream(artifact.getFile())) {
-                    getClient().testUpdateArtifact(groupId, artifactId, contentType, data);
+                    client.testUpdateArtifact(groupId, artifactId, contentType, data);
                     getLog().info(String.format("[%s] / [%s] :: Artifact successfully tested (updating is allowed for the given content).", groupId, artifactId));
+                    return true;
                 } catch (Exception e) {
-                    errorCount++;
                     getLog().error(String.format("[%s] / [%s] :: Artifact test FAILED (updating is not allowed for the given content).", groupId, artifactId), e);
+                    return false;
                 }
-            }
+            }, idx -> { });
         }
 
         if (errorCount > 0) {
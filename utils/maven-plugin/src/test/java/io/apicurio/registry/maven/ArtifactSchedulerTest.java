@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 Red Hat
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.apicurio.registry.maven;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ArtifactSchedulerTest {
+
+    @Test
+    void testSingleThreadKeepsDeclaredOrder() throws Exception {
+        // 1 depends on 0 and 3 on 2, the independent tasks must not be run first
+        List<Set<Integer>> dependencies = dependencies(4);
+        dependencies.get(1).add(0);
+        dependencies.get(3).add(2);
+
+        List<Integer> order = new ArrayList<>();
+        int errors = new ArtifactScheduler(1).run(4, dependencies, idx -> order.add(idx), idx -> Assertions.fail());
+
+        Assertions.assertEquals(0, errors);
+        Assertions.assertEquals(Arrays.asList(0, 1, 2, 3), order);
+    }
+
+    @Test
+    void testSingleThreadRunsDependenciesFirst() throws Exception {
+        // 0 is declared before the task it depends on
+        List<Set<Integer>> dependencies = dependencies(3);
+        dependencies.get(0).add(2);
+
+        List<Integer> order = new ArrayList<>();
+        new ArtifactScheduler(1).run(3, dependencies, idx -> order.add(idx), idx -> Assertions.fail());
+
+        Assertions.assertEquals(Arrays.asList(1, 2, 0), order);
+    }
+
+    @Test
+    void testDependenciesCompleteFirst() throws Exception {
+        // a chain 0 <- 1 <- 2 and many independent tasks, run on several threads
+        int count = 50;
+        List<Set<Integer>> dependencies = dependencies(count);
+        dependencies.get(1).add(0);
+        dependencies.get(2).add(1);
+        dependencies.get(count - 1).addAll(Arrays.asList(0, 2, 10));
+
+        Set<Integer> completed = ConcurrentHashMap.newKeySet();
+        int errors = new ArtifactScheduler(4).run(count, dependencies, idx -> {
+            for (Integer dependency : dependencies.get(idx)) {
+                Assertions.assertTrue(completed.contains(dependency), idx + " started before " + dependency);
+            }
+            completed.add(idx);
+            return true;
+        }, idx -> Assertions.fail());
+
+        Assertions.assertEquals(0, errors);
+        Assertions.assertEquals(count, completed.size());
+    }
+
+    @Test
+    void testFailureSkipsDependents() throws Exception {
+        List<Set<Integer>> dependencies = dependencies(4);
+        dependencies.get(1).add(0);
+        dependencies.get(2).add(1);
+
+        for (int threads : new int[] {1, 4}) {
+            Set<Integer> run = ConcurrentHashMap.newKeySet();
+            Set<Integer> skipped = ConcurrentHashMap.newKeySet();
+            int errors = new ArtifactScheduler(threads).run(4, dependencies, idx -> run.add(idx) && idx != 0, skipped::add);
+
+            Assertions.assertEquals(3, errors);
+            Assertions.assertEquals(new HashSet<>(Arrays.asList(0, 3)), run);
+            Assertions.assertEquals(new HashSet<>(Arrays.asList(1, 2)), skipped);
+        }
+    }
+
+    @Test
+    void testUnschedulable() {
+        List<Set<Integer>> dependencies = dependencies(4);
+        dependencies.get(0).add(1);
+        dependencies.get(1).add(0);
+        dependencies.get(2).add(1);
+
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(0, 1, 2)), ArtifactScheduler.unschedulable(dependencies));
+        Assertions.assertEquals(Collections.emptySet(), ArtifactScheduler.unschedulable(dependencies(3)));
+    }
+
+    private static List<Set<Integer>> dependencies(int count) {
+        List<Set<Integer>> dependencies = new ArrayList<>(count);
+        for (int idx = 0; idx < count; idx++) {
+            dependencies.add(new HashSet<>());
+        }
+        return dependencies;
+    }
+}